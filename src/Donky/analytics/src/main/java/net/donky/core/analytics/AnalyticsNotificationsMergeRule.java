@@ -0,0 +1,43 @@
+package net.donky.core.analytics;
+
+import net.donky.core.network.ClientNotification;
+import net.donky.core.network.ClientNotificationMergeRule;
+
+import org.json.JSONObject;
+
+/**
+ * Collapses duplicated 'App Launch' and 'App Session' client notifications e.g. queued twice for the same application start.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class AnalyticsNotificationsMergeRule extends ClientNotificationMergeRule {
+
+    AnalyticsNotificationsMergeRule() {
+        super(net.donky.core.analytics.ClientNotification.Type.AppLaunch.toString(),
+                net.donky.core.analytics.ClientNotification.Type.AppSession.toString());
+    }
+
+    @Override
+    public String getKey(ClientNotification notification) {
+
+        JSONObject json = notification.getJson();
+
+        if (json == null) {
+            return null;
+        }
+
+        if (net.donky.core.analytics.ClientNotification.Type.AppLaunch.toString().equals(notification.getBaseNotificationType())) {
+            String launchTime = json.optString("launchTimeUtc", null);
+            return launchTime != null ? notification.getBaseNotificationType() + launchTime : null;
+        } else {
+            String startTime = json.optString("startTimeUtc", null);
+            String endTime = json.optString("endTimeUtc", null);
+            return startTime != null && endTime != null ? notification.getBaseNotificationType() + startTime + endTime : null;
+        }
+    }
+
+    @Override
+    public ClientNotification merge(ClientNotification earlier, ClientNotification later) {
+        return earlier;
+    }
+}
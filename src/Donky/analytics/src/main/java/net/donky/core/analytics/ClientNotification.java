@@ -20,7 +20,7 @@ class ClientNotification extends net.donky.core.network.ClientNotification {
     /**
      * Client Notifications result.
      */
-    private enum Type {
+    enum Type {
 
         AppLaunch,
         AppSession;
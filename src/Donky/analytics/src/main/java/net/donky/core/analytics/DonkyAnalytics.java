@@ -9,6 +9,7 @@ import net.donky.core.ModuleDefinition;
 import net.donky.core.events.ApplicationStartEvent;
 import net.donky.core.events.ApplicationStopEvent;
 import net.donky.core.events.DonkyEventListener;
+import net.donky.core.network.ClientNotificationCoalescer;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -78,6 +79,8 @@ public class DonkyAnalytics {
 
                 DonkyCore.registerModule(new ModuleDefinition(DonkyAnalytics.class.getSimpleName(), version));
 
+                ClientNotificationCoalescer.getInstance().registerRule(new AnalyticsNotificationsMergeRule());
+
                 DonkyCore.subscribeToLocalEvent(new DonkyEventListener<ApplicationStartEvent>(ApplicationStartEvent.class) {
 
                     @Override
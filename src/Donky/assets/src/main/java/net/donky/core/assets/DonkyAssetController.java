@@ -28,7 +28,6 @@ import net.donky.core.assets.utils.MimeUtils;
 import net.donky.core.helpers.IdHelper;
 import net.donky.core.helpers.MainThreadHandlerHelper;
 import net.donky.core.logging.DLog;
-import net.donky.core.model.ConfigurationDAO;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
 import net.donky.core.network.assets.Asset;
@@ -611,7 +610,7 @@ public class DonkyAssetController {
                 query = assetId;
             }
 
-            String urlFormat = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_AssetDownloadUrlFormat);
+            String urlFormat = DonkyDataController.getInstance().getConfigurationDAO().getAssetDownloadUrlFormat();
 
             if (!TextUtils.isEmpty(urlFormat) && !TextUtils.isEmpty(query)) {
                 return urlFormat.replace(ASSET_URL_ID_REPLACEMENT, query);
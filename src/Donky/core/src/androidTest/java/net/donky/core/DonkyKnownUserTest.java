@@ -33,6 +33,7 @@ import net.donky.core.mock.Service;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
 import net.donky.core.network.ServerNotification;
+import net.donky.core.network.ServerNotificationIdFilter;
 import net.donky.core.network.TagDescription;
 import net.donky.core.network.content.ContentNotification;
 import net.donky.core.network.content.audience.AudienceMember;
@@ -560,7 +561,7 @@ public class DonkyKnownUserTest extends ApplicationTestCase<Application> {
     @Test
     public void testIgnoringNotifications() throws JSONException, InterruptedException, ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
 
-        int max = 200;
+        int max = ServerNotificationIdFilter.MAX_SIZE + 100;
 
         List<String> ids = new ArrayList<>();
 
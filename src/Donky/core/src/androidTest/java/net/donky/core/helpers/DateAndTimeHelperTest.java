@@ -0,0 +1,58 @@
+package net.donky.core.helpers;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Checks that {@link DateAndTimeHelper} parses and formats dates the same way as SimpleDateFormat.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class DateAndTimeHelperTest extends ApplicationTestCase<Application> {
+
+    public DateAndTimeHelperTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testMatchesSimpleDateFormat() throws ParseException {
+
+        SimpleDateFormat serverFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        serverFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        SimpleDateFormat utcFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
+        utcFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        SimpleDateFormat localFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
+
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+
+            long time = (long) (random.nextDouble() * 4102444800000L);
+
+            assertEquals(utcFormat.format(new Date(time)), DateAndTimeHelper.getUTCTimeFormated(time));
+            assertEquals(localFormat.format(new Date(time)), DateAndTimeHelper.getLocalTimeFormatted(time));
+
+            String serverDate = serverFormat.format(new Date(time));
+            assertEquals(time, DateAndTimeHelper.parseUtcMillis(serverDate));
+            assertEquals(serverFormat.parse(serverDate), DateAndTimeHelper.parseUtcDate(serverDate));
+        }
+
+        assertEquals(1426081614000L, DateAndTimeHelper.parseUtcMillis("2015-03-11T13:46:54Z"));
+        assertEquals(1426081614500L, DateAndTimeHelper.parseUtcMillis("2015-03-11T13:46:54.5Z"));
+        assertEquals(1426081614123L, DateAndTimeHelper.parseUtcMillis("2015-03-11T13:46:54.1234567Z"));
+        assertEquals(1426081614123L, DateAndTimeHelper.parseUtcMillis("2015-03-11T14:46:54.123+01:00"));
+        assertEquals(DateAndTimeHelper.INVALID_TIMESTAMP, DateAndTimeHelper.parseUtcMillis("2015-03-11"));
+
+    }
+}
@@ -0,0 +1,52 @@
+package net.donky.core.helpers;
+
+import android.app.Application;
+import android.os.Looper;
+import android.test.ApplicationTestCase;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that callbacks dispatched to the main thread are delivered in order.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class MainThreadDispatcherTest extends ApplicationTestCase<Application> {
+
+    private static final int TIME_OUT = 30000;
+
+    public MainThreadDispatcherTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testDeliversCallbacksInOrder() throws InterruptedException {
+
+        int callbacks = 1000;
+
+        final CountDownLatch latch = new CountDownLatch(callbacks);
+        final AtomicInteger next = new AtomicInteger(0);
+        final AtomicInteger outOfOrder = new AtomicInteger(0);
+
+        for (int i = 0; i < callbacks; i++) {
+            final int index = i;
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    if (next.getAndIncrement() != index || Looper.myLooper() != Looper.getMainLooper()) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(TIME_OUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, outOfOrder.get());
+
+    }
+}
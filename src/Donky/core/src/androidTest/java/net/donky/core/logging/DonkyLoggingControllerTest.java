@@ -0,0 +1,59 @@
+package net.donky.core.logging;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import net.donky.core.helpers.IdHelper;
+import net.donky.core.settings.AppSettings;
+
+import org.junit.Test;
+
+/**
+ * Checks that log messages below the minimum log level are not saved to the log file.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class DonkyLoggingControllerTest extends ApplicationTestCase<Application> {
+
+    public DonkyLoggingControllerTest() {
+        super(Application.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        createApplication();
+        AppSettings.getInstance().init(getApplication());
+        DonkyLoggingController.getInstance().init(getApplication());
+    }
+
+    @Test
+    public void testMinimumLogLevel() {
+
+        DonkyLoggingController controller = DonkyLoggingController.getInstance();
+
+        DonkyLoggingController.LogLevel minimumLogLevel = controller.getMinimumLogLevel();
+
+        try {
+
+            controller.setMinimumLogLevel(DonkyLoggingController.LogLevel.ERROR);
+
+            assertEquals(DonkyLoggingController.LogLevel.ERROR, controller.getMinimumLogLevel());
+
+            String id = IdHelper.generateId();
+
+            DLog log = new DLog("TEST");
+            log.warning("TEST_WARNING_%s", id);
+            log.error("TEST_ERROR_" + id);
+
+            String savedLog = controller.getLog();
+
+            assertFalse(savedLog.contains("TEST_WARNING_" + id));
+            assertTrue(savedLog.contains("TEST_ERROR_" + id));
+
+        } finally {
+            controller.setMinimumLogLevel(minimumLogLevel);
+        }
+
+    }
+}
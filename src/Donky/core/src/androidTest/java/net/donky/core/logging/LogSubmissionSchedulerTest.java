@@ -0,0 +1,62 @@
+package net.donky.core.logging;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import net.donky.core.DonkyListener;
+import net.donky.core.network.restapi.secured.UploadLog;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that bursts of automatic log submission requests result in a limited number of uploads.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class LogSubmissionSchedulerTest extends ApplicationTestCase<Application> {
+
+    private static final int REQUESTS = 50;
+
+    public LogSubmissionSchedulerTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testErrorBurstIsCoalesced() throws InterruptedException {
+
+        final AtomicInteger uploads = new AtomicInteger(0);
+
+        final AtomicReference<DonkyListener> inProgress = new AtomicReference<>();
+
+        final CountDownLatch firstUpload = new CountDownLatch(1);
+
+        LogSubmissionScheduler scheduler = new LogSubmissionScheduler(new LogSubmissionScheduler.SubmissionPerformer() {
+            @Override
+            public void submit(UploadLog.SubmissionReason reason, DonkyListener listener) {
+                uploads.incrementAndGet();
+                inProgress.set(listener);
+                firstUpload.countDown();
+            }
+        });
+
+        scheduler.submit(UploadLog.SubmissionReason.AutomaticByDevice, null);
+
+        assertTrue(firstUpload.await(60, TimeUnit.SECONDS));
+
+        for (int i = 1; i < REQUESTS; i++) {
+            scheduler.submit(UploadLog.SubmissionReason.AutomaticByDevice, null);
+        }
+
+        // Requests received during the upload are performed together after it finishes.
+        inProgress.get().success();
+
+        assertEquals(REQUESTS, scheduler.getSubmissionsRequested());
+        assertEquals(REQUESTS - 2, scheduler.getSubmissionsCoalesced());
+        assertTrue(scheduler.getSubmissionsPerformed() <= 2);
+    }
+}
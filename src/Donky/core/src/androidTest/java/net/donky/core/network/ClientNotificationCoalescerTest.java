@@ -0,0 +1,73 @@
+package net.donky.core.network;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that client notifications queued for the Donky Network are collapsed with registered merge rules.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ClientNotificationCoalescerTest extends ApplicationTestCase<Application> {
+
+    public ClientNotificationCoalescerTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testCoalescingWithTwoRulesOnSameType() {
+
+        // Keeps the later of two notifications with the same id.
+        ClientNotificationMergeRule byId = new ClientNotificationMergeRule("Type", "OtherType") {
+            @Override
+            public String getKey(ClientNotification notification) {
+                return notification.getId();
+            }
+
+            @Override
+            public ClientNotification merge(ClientNotification earlier, ClientNotification later) {
+                return later;
+            }
+        };
+
+        // Keeps only the first notification of Type.
+        ClientNotificationMergeRule byType = new ClientNotificationMergeRule("Type") {
+            @Override
+            public String getKey(ClientNotification notification) {
+                return notification.getBaseNotificationType();
+            }
+
+            @Override
+            public ClientNotification merge(ClientNotification earlier, ClientNotification later) {
+                return earlier;
+            }
+        };
+
+        ClientNotificationCoalescer coalescer = ClientNotificationCoalescer.getInstance();
+
+        coalescer.registerRule(byId);
+        coalescer.registerRule(byType);
+
+        try {
+
+            ClientNotification first = ClientNotification.createClientNotification("Type", "1", null, "{}");
+            ClientNotification second = ClientNotification.createClientNotification("Type", "2", null, "{}");
+            ClientNotification third = ClientNotification.createClientNotification("OtherType", "3", null, "{}");
+            ClientNotification fourth = ClientNotification.createClientNotification("OtherType", "2", null, "{}");
+
+            // Second is collapsed by the byType rule, so the byId rule must not merge fourth with the notification kept after it.
+            List<ClientNotification> result = coalescer.coalesce(Arrays.asList(first, second, third, fourth));
+
+            assertEquals(Arrays.asList(first, third, fourth), result);
+
+        } finally {
+            coalescer.unregisterRule(byId);
+            coalescer.unregisterRule(byType);
+        }
+    }
+}
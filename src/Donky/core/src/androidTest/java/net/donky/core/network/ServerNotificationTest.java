@@ -0,0 +1,61 @@
+package net.donky.core.network;
+
+import android.app.Application;
+import android.os.Bundle;
+import android.test.ApplicationTestCase;
+
+import com.google.gson.Gson;
+import com.google.gson.internal.LinkedTreeMap;
+
+import net.donky.core.gcm.AssemblingManager;
+
+import org.json.JSONException;
+import org.junit.Test;
+
+/**
+ * Checks that {@link ServerNotification} reads the same payload from a GCM bundle and from a synchronisation response.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ServerNotificationTest extends ApplicationTestCase<Application> {
+
+    public ServerNotificationTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testPayloadFromBundleAndTreeMap() throws JSONException {
+
+        String payload = "{\"customType\":\"ChangeColor\",\"data\":{\"color\":\"red\",\"count\":2,\"items\":[1,2]},\"flag\":true}";
+
+        Bundle bundle = new Bundle();
+        bundle.putString(AssemblingManager.DIRECT_NOTIFICATION_ID, "id");
+        bundle.putString(AssemblingManager.DIRECT_MESSAGE_NOTIFICATION_TYPE, ServerNotification.NOTIFICATION_CATEGORY_CUSTOM);
+        bundle.putString(AssemblingManager.DIRECT_MESSAGE_PAYLOAD, payload);
+
+        ServerNotification fromBundle = new ServerNotification(bundle);
+
+        assertEquals("ChangeColor", fromBundle.getCustomType());
+        assertEquals("red", fromBundle.getData().getAsJsonObject("data").get("color").getAsString());
+        assertSame(fromBundle.getData(), fromBundle.getData());
+
+        String json = "{\"id\":\"id\",\"type\":\"Custom\",\"createdOn\":\"2015-07-20T14:58:25.995Z\",\"data\":" + payload + "}";
+
+        ServerNotification fromTreeMap = new ServerNotification(new Gson().fromJson(json, LinkedTreeMap.class));
+
+        assertEquals("id", fromTreeMap.getId());
+        assertEquals("ChangeColor", fromTreeMap.getCustomType());
+        assertEquals(2, fromTreeMap.getData().getAsJsonObject("data").get("count").getAsInt());
+        assertTrue(fromTreeMap.getData().get("flag").getAsBoolean());
+        assertEquals(fromBundle.getData(), fromTreeMap.getData());
+
+        Bundle malformed = new Bundle();
+        malformed.putString(AssemblingManager.DIRECT_MESSAGE_PAYLOAD, "{\"customType\":");
+
+        ServerNotification fromMalformed = new ServerNotification(malformed);
+
+        assertNull(fromMalformed.getCustomType());
+        assertNull(fromMalformed.getData());
+
+    }
+}
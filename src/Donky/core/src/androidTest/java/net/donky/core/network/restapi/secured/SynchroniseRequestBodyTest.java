@@ -0,0 +1,54 @@
+package net.donky.core.network.restapi.secured;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import net.donky.core.helpers.IdHelper;
+import net.donky.core.network.ClientNotification;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Checks that synchronise request body streams client notifications in the format expected by the Donky Network.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SynchroniseRequestBodyTest extends ApplicationTestCase<Application> {
+
+    public SynchroniseRequestBodyTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testWriteTo() throws Exception {
+
+        List<ClientNotification> notifications = new LinkedList<>();
+
+        JSONArray expected = new JSONArray();
+
+        for (int i = 0; i < 10; i++) {
+
+            JSONObject json = new JSONObject();
+            json.put("type", ClientNotification.Type.Acknowledgement.toString());
+            json.put("serverNotificationId", IdHelper.generateId());
+
+            notifications.add(ClientNotification.createClientNotification(ClientNotification.Type.Acknowledgement.toString(), IdHelper.generateId(), null, json.toString()));
+            expected.put(json);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SynchroniseRequestBody(notifications, true).writeTo(out);
+
+        JSONObject synchronise = new JSONObject(out.toString("UTF-8"));
+
+        assertEquals(expected.toString(), synchronise.getJSONArray("clientNotifications").toString());
+        assertTrue(synchronise.getBoolean("isBackground"));
+
+    }
+}
@@ -0,0 +1,64 @@
+package net.donky.core.observables;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+
+import net.donky.core.ModuleDefinition;
+import net.donky.core.NotificationListener;
+import net.donky.core.Subscription;
+import net.donky.core.network.ServerNotification;
+
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Checks that subscriptions are found for the type of received server notification.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SubscriptionControllerTest extends ApplicationTestCase<Application> {
+
+    public SubscriptionControllerTest() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testSubscriptionsForServerNotificationType() {
+
+        ModuleDefinition moduleDefinition = new ModuleDefinition("Subscriptions Test", "1.0.0.0");
+
+        List<Subscription<ServerNotification>> subscriptions = new LinkedList<>();
+
+        for (int i = 0; i < 10; i++) {
+            subscriptions.add(new Subscription<>("indexedType" + i,
+                    new NotificationListener<ServerNotification>() {
+                        @Override
+                        public void onNotification(ServerNotification notification) {
+
+                        }
+                    }));
+        }
+
+        SubscriptionController.subscribeToContentNotifications(moduleDefinition, subscriptions);
+
+        SubscriptionController subscriptionController = SubscriptionController.getInstance();
+
+        for (int i = 0; i < 10; i++) {
+            List<SubscriptionInternal<ServerNotification>> found = subscriptionController.getSubscriptionsForServerNotification(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, "indexedType" + i);
+            assertEquals(1, found.size());
+            assertEquals("indexedType" + i, found.get(0).getNotificationType());
+        }
+
+        assertTrue(subscriptionController.getSubscriptionsForServerNotification(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, "unknownType").isEmpty());
+        assertTrue(subscriptionController.getSubscriptionsForServerNotification(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, null).isEmpty());
+
+        for (Subscription<ServerNotification> subscription : subscriptions) {
+            SubscriptionController.unsubscribeFromContentNotification(moduleDefinition, subscription);
+        }
+
+        assertTrue(subscriptionController.getSubscriptionsForServerNotification(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, "indexedType0").isEmpty());
+
+    }
+}
@@ -0,0 +1,107 @@
+package net.donky.core.helpers;
+
+import android.app.Application;
+import android.os.Debug;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Compares date parsing and formatting in {@link DateAndTimeHelper} with the SimpleDateFormat based implementation it replaced.
+ * Results are written to logcat with tag DateAndTimeBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class DateAndTimeBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "DateAndTimeBenchmark";
+
+    private static final int ITERATIONS = 10000;
+
+    public DateAndTimeBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testPerformance() throws ParseException {
+
+        long time = System.currentTimeMillis();
+
+        String serverDate = legacyServerDate(time);
+
+        long legacyParse = 0;
+        long parse = 0;
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyParse += legacyParse(serverDate).getTime();
+        }
+        long legacyParseNanos = System.nanoTime() - start;
+        int legacyParseAllocations = Debug.getThreadAllocCount();
+
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse += DateAndTimeHelper.parseUtcMillis(serverDate);
+        }
+        long parseNanos = System.nanoTime() - start;
+        int parseAllocations = Debug.getThreadAllocCount();
+
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyFormatUtc(time + i);
+        }
+        long legacyFormatNanos = System.nanoTime() - start;
+        int legacyFormatAllocations = Debug.getThreadAllocCount();
+
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            DateAndTimeHelper.getUTCTimeFormated(time + i);
+        }
+        long formatNanos = System.nanoTime() - start;
+        int formatAllocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+
+        assertEquals(legacyParse, parse);
+
+        Log.i(TAG, "Parse: SimpleDateFormat " + legacyParseNanos / ITERATIONS + " ns, " + legacyParseAllocations / ITERATIONS + " allocations per call. "
+                + "DateAndTimeHelper " + parseNanos / ITERATIONS + " ns, " + parseAllocations / ITERATIONS + " allocations per call.");
+        Log.i(TAG, "Format: SimpleDateFormat " + legacyFormatNanos / ITERATIONS + " ns, " + legacyFormatAllocations / ITERATIONS + " allocations per call. "
+                + "DateAndTimeHelper " + formatNanos / ITERATIONS + " ns, " + formatAllocations / ITERATIONS + " allocations per call.");
+    }
+
+    private static String legacyServerDate(long time) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(new Date(time));
+    }
+
+    private static Date legacyParse(String dateStr) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.S'Z'", Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.parse(dateStr);
+    }
+
+    private static String legacyFormatUtc(long time) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(time);
+    }
+
+    private static String legacyFormatLocal(long time) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
+        return sdf.format(new Date(time));
+    }
+}
@@ -0,0 +1,123 @@
+package net.donky.core.helpers;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+import android.view.Choreographer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures frame times while a synthetic synchronisation delivers callbacks on the main thread, posting every callback separately
+ * against dispatching them through {@link MainThreadDispatcher}. Results are written to logcat with tag MainThreadDispatchBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class MainThreadDispatchBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "MainThreadDispatchBenchmark";
+
+    /**
+     * 200 notifications delivered to 5 subscribers.
+     */
+    private static final int CALLBACKS = 200 * 5;
+
+    /**
+     * Work done by a single subscriber callback.
+     */
+    private static final long CALLBACK_WORK_MS = 1;
+
+    public MainThreadDispatchBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testFrameTimes() throws Exception {
+
+        FrameStats legacy = measure(false);
+        FrameStats batched = measure(true);
+
+        Log.i(TAG, CALLBACKS + " callbacks. Separate posts: " + legacy + ". Dispatcher: " + batched + ".");
+    }
+
+    private FrameStats measure(final boolean useDispatcher) throws Exception {
+
+        final FrameStats stats = new FrameStats();
+        final CountDownLatch delivered = new CountDownLatch(CALLBACKS);
+
+        final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                stats.onFrame(frameTimeNanos);
+                if (delivered.getCount() > 0) {
+                    Choreographer.getInstance().postFrameCallback(this);
+                }
+            }
+        };
+
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                Choreographer.getInstance().postFrameCallback(frameCallback);
+            }
+        });
+
+        Runnable callback = new Runnable() {
+            @Override
+            public void run() {
+                long end = SystemClock.uptimeMillis() + CALLBACK_WORK_MS;
+                while (SystemClock.uptimeMillis() < end) {
+                    // Simulated subscriber work.
+                }
+                delivered.countDown();
+            }
+        };
+
+        for (int i = 0; i < CALLBACKS; i++) {
+            if (useDispatcher) {
+                MainThreadDispatcher.getInstance().dispatch(callback);
+            } else {
+                new Handler(Looper.getMainLooper()).post(callback);
+            }
+        }
+
+        assertTrue(delivered.await(60, TimeUnit.SECONDS));
+
+        return stats;
+    }
+
+    private static class FrameStats {
+
+        private long lastFrameNanos;
+
+        private long maxFrameMs;
+
+        private long totalFrameMs;
+
+        private int frames;
+
+        synchronized void onFrame(long frameTimeNanos) {
+            if (lastFrameNanos != 0) {
+                long frameMs = (frameTimeNanos - lastFrameNanos) / 1000000;
+                maxFrameMs = Math.max(maxFrameMs, frameMs);
+                totalFrameMs += frameMs;
+                frames++;
+            }
+            lastFrameNanos = frameTimeNanos;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return frames + " frames, max " + maxFrameMs + " ms, average " + (frames > 0 ? totalFrameMs / frames : 0) + " ms";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.donky.core.logging;
+
+import android.app.Application;
+import android.os.Debug;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+
+import org.junit.Test;
+
+/**
+ * Counts allocations of log calls made during a full synchronisation, with message concatenation against format overloads and with
+ * debug level enabled against the default minimum log level. Results are written to logcat with tag DLogAllocationBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class DLogAllocationBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "DLogAllocationBenchmark";
+
+    /**
+     * Number of simulated synchronisations.
+     */
+    private static final int SYNCHRONISATIONS = 100;
+
+    /**
+     * Server notifications received in a single synchronisation.
+     */
+    private static final int NOTIFICATIONS = 50;
+
+    private final DLog log = new DLog("Benchmark");
+
+    public DLogAllocationBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testAllocations() {
+
+        DonkyLoggingController controller = DonkyLoggingController.getInstance();
+
+        DonkyLoggingController.LogLevel saved = controller.getMinimumLogLevel();
+
+        try {
+
+            controller.setMinimumLogLevel(DonkyLoggingController.LogLevel.ERROR);
+
+            long concatenated = countAllocations(true);
+            long formatted = countAllocations(false);
+
+            Log.i(TAG, SYNCHRONISATIONS + " synchronisations, minimum level ERROR. Concatenated messages: " + concatenated
+                    + " allocations. Format overloads: " + formatted + " allocations.");
+
+            controller.setMinimumLogLevel(DonkyLoggingController.LogLevel.DEBUG);
+
+            long enabled = countAllocations(false);
+
+            Log.i(TAG, SYNCHRONISATIONS + " synchronisations, minimum level DEBUG. Format overloads: " + enabled + " allocations.");
+
+            controller.flush();
+
+            assertTrue(formatted <= concatenated);
+
+        } finally {
+            controller.setMinimumLogLevel(saved);
+        }
+    }
+
+    private long countAllocations(boolean concatenate) {
+
+        Object syncTaskInfo = new Object() {
+            @Override
+            public String toString() {
+                return "SyncTaskInfo{id=1234, startTime=1476795600000}";
+            }
+        };
+
+        String[] ids = new String[NOTIFICATIONS];
+        for (int n = 0; n < NOTIFICATIONS; n++) {
+            ids[n] = "notification-" + n;
+        }
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+
+        for (int i = 0; i < SYNCHRONISATIONS; i++) {
+
+            if (concatenate) {
+                log.info("Starting: " + syncTaskInfo);
+                for (int n = 0; n < NOTIFICATIONS; n++) {
+                    log.debug("Server notification already received " + ids[n]);
+                }
+                log.debug("Collapsed " + n(3) + " of " + n(10) + " client notifications.");
+                log.info("Stopping: " + syncTaskInfo);
+            } else {
+                log.info("Starting: %s", syncTaskInfo);
+                for (int n = 0; n < NOTIFICATIONS; n++) {
+                    log.debug("Server notification already received %s", ids[n]);
+                }
+                log.debug("Collapsed %d of %d client notifications.", n(3), n(10));
+                log.info("Stopping: %s", syncTaskInfo);
+            }
+        }
+
+        Debug.stopAllocCounting();
+
+        return Debug.getThreadAllocCount();
+    }
+
+    /**
+     * Prevents the compiler from folding constant messages.
+     */
+    private static int n(int value) {
+        return value;
+    }
+}
@@ -0,0 +1,152 @@
+package net.donky.core.network.restapi.secured;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+
+import net.donky.core.helpers.IdHelper;
+import net.donky.core.network.AcknowledgementDetail;
+import net.donky.core.network.ClientNotification;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares encode time and peak heap of the streaming synchronise request body against building a json tree, string and byte array.
+ * Results are written to logcat with tag SyncEncodingBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SynchroniseEncodingBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "SyncEncodingBenchmark";
+
+    public SynchroniseEncodingBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testEncode1k() throws Exception {
+        benchmark(1000);
+    }
+
+    @Test
+    public void testEncode10k() throws Exception {
+        benchmark(10000);
+    }
+
+    private void benchmark(int count) throws Exception {
+
+        List<ClientNotification> notifications = createNotifications(count);
+
+        // Legacy path holds the json tree, the string and the byte array at the same time.
+        long baseline = usedMemory();
+        long start = System.nanoTime();
+        byte[] bytes = encodeLegacy(notifications);
+        long legacyTime = System.nanoTime() - start;
+        long legacyPeak = usedMemory() - baseline;
+        int legacySize = bytes.length;
+        bytes = null;
+
+        baseline = usedMemory();
+        PeakSamplingOutputStream sink = new PeakSamplingOutputStream();
+        start = System.nanoTime();
+        new SynchroniseRequestBody(notifications, true).writeTo(sink);
+        long streamingTime = System.nanoTime() - start;
+        long streamingPeak = sink.peak - baseline;
+
+        Log.i(TAG, count + " notifications, " + legacySize + " bytes. Legacy: " + legacyTime / 1000000 + " ms, ~" + legacyPeak / 1024 + " KB. Streaming: " + streamingTime / 1000000 + " ms, ~" + streamingPeak / 1024 + " KB.");
+
+        assertEquals(legacySize, sink.count);
+    }
+
+    private byte[] encodeLegacy(List<ClientNotification> notifications) throws Exception {
+
+        JSONObject jsonObjectSynchronise = new JSONObject();
+        JSONArray jsonArray = new JSONArray();
+
+        for (ClientNotification notification : notifications) {
+            jsonArray.put(new JSONObject(notification.getJsonString()));
+        }
+
+        jsonObjectSynchronise.put("clientNotifications", jsonArray);
+        jsonObjectSynchronise.put("isBackground", true);
+
+        return jsonObjectSynchronise.toString().getBytes("UTF-8");
+    }
+
+    private List<ClientNotification> createNotifications(int count) throws Exception {
+
+        List<ClientNotification> notifications = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            AcknowledgementDetail acknowledgementDetail = new AcknowledgementDetail();
+            acknowledgementDetail.setServerNotificationId(IdHelper.generateId());
+            acknowledgementDetail.setType("Custom");
+            acknowledgementDetail.setResult(AcknowledgementDetail.Result.Delivered.toString());
+            acknowledgementDetail.setSentTime("2026-10-18T10:00:00.000Z");
+            acknowledgementDetail.setCustomNotificationType("changeColour");
+
+            JSONObject detail = new JSONObject();
+            detail.put("serverNotificationId", acknowledgementDetail.getServerNotificationId());
+            detail.put("type", acknowledgementDetail.getType());
+            detail.put("result", acknowledgementDetail.getResult());
+            detail.put("sentTime", acknowledgementDetail.getSentTime());
+            detail.put("customNotificationType", acknowledgementDetail.getCustomNotificationType());
+
+            JSONObject json = new JSONObject();
+            json.put("type", ClientNotification.Type.Acknowledgement.toString());
+            json.put("acknowledgementDetail", detail);
+
+            notifications.add(ClientNotification.createClientNotification(ClientNotification.Type.Acknowledgement.toString(), IdHelper.generateId(), acknowledgementDetail, json.toString()));
+        }
+
+        return notifications;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Discards written bytes, counts them and samples heap usage every 64 KB.
+     */
+    private static class PeakSamplingOutputStream extends OutputStream {
+
+        long count;
+
+        long peak;
+
+        private long nextSample;
+
+        @Override
+        public void write(int b) throws IOException {
+            count++;
+            sample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count += len;
+            sample();
+        }
+
+        private void sample() {
+            if (count >= nextSample) {
+                Runtime runtime = Runtime.getRuntime();
+                peak = Math.max(peak, runtime.totalMemory() - runtime.freeMemory());
+                nextSample = count + 64 * 1024;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.donky.core.observables;
+
+import android.app.Application;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+
+import net.donky.core.ModuleDefinition;
+import net.donky.core.NotificationBatchListener;
+import net.donky.core.NotificationListener;
+import net.donky.core.Subscription;
+import net.donky.core.network.ServerNotification;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares the cost of finding subscriptions for a notification type by scanning all subscriptions against the type index, for growing number of subscribers.
+ * Results are written to logcat with tag SubscriptionDispatchBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SubscriptionDispatchBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "SubscriptionDispatchBenchmark";
+
+    private static final int LOOKUPS = 100000;
+
+    public SubscriptionDispatchBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testDispatchLookupCost() {
+        for (int subscribers : new int[]{10, 100, 1000}) {
+            benchmark(subscribers);
+        }
+    }
+
+    private void benchmark(int subscribers) {
+
+        NotificationObservable<ServerNotification> observable = createObservable(subscribers);
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += scan(observable, "Type" + (i % subscribers)).size();
+        }
+        long scanTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int foundIndexed = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            foundIndexed += observable.getSubscriptions("Type" + (i % subscribers)).size();
+        }
+        long indexTime = System.nanoTime() - start;
+
+        Log.i(TAG, subscribers + " subscribers. Scan: " + scanTime / LOOKUPS + " ns per lookup. Index: " + indexTime / LOOKUPS + " ns per lookup.");
+
+        assertEquals(found, foundIndexed);
+    }
+
+    /**
+     * Lookup as it was done before the type index.
+     */
+    private List<SubscriptionInternal<ServerNotification>> scan(NotificationObservable<ServerNotification> observable, String type) {
+
+        List<SubscriptionInternal<ServerNotification>> result = new LinkedList<>();
+
+        for (SubscriptionInternal<ServerNotification> subscription : observable.getSubscriptions()) {
+            if (subscription.getNotificationType() != null && subscription.getNotificationType().equals(type)) {
+                result.add(subscription);
+            }
+        }
+
+        return result;
+    }
+
+    private NotificationObservable<ServerNotification> createObservable(int subscribers) {
+
+        NotificationObservable<ServerNotification> observable = new NotificationObservable<>();
+
+        List<Subscription<ServerNotification>> subscriptions = new LinkedList<>();
+
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(new Subscription<>("Type" + i, createListener()));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            Set<String> types = new HashSet<>();
+            types.add("Type" + i);
+            types.add("Type" + (i + 1));
+            subscriptions.add(new Subscription<>(types, new NotificationBatchListener<ServerNotification>() {
+                @Override
+                public void onNotification(ServerNotification notification) {
+                }
+
+                @Override
+                public void onNotification(List<ServerNotification> notifications) {
+                }
+            }));
+        }
+
+        observable.subscribeToNotifications(new ModuleDefinition("Benchmark", "1.0.0.0"), subscriptions, ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, true);
+
+        return observable;
+    }
+
+    private NotificationListener<ServerNotification> createListener() {
+        return new NotificationListener<ServerNotification>() {
+            @Override
+            public void onNotification(ServerNotification notification) {
+            }
+        };
+    }
+}
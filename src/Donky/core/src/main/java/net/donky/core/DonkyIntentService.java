@@ -3,6 +3,7 @@ package net.donky.core;
 import android.app.IntentService;
 import android.content.Intent;
 
+import net.donky.core.lifecycle.LifeCycleObserver;
 import net.donky.core.logging.DLog;
 import net.donky.core.network.DonkyNetworkController;
 
@@ -28,7 +29,9 @@ public class DonkyIntentService extends IntentService {
 
             try {
 
-                DonkyNetworkController.getInstance().synchroniseSynchronously();
+                long interval = LifeCycleObserver.getInstance().getSynchronisationTimerInterval();
+
+                DonkyNetworkController.getInstance().getSynchronisationScheduler().performScheduledSynchronisation(interval);
 
             } catch (Exception e) {
 
@@ -209,6 +209,10 @@ public class DonkyAccountController {
 
         DonkyDataController.getInstance().getConfigurationDAO().setUserSuspended(isSuspended);
 
+        if (isSuspended) {
+            DonkyNetworkController.getInstance().getSynchronisationScheduler().cancelRetries();
+        }
+
     }
 
     /**
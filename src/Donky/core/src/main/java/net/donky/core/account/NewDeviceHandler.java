@@ -7,13 +7,12 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.support.v4.app.NotificationCompat;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
 
 import net.donky.core.DonkyCore;
 import net.donky.core.R;
 import net.donky.core.events.NewDeviceEvent;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.logging.DLog;
 import net.donky.core.network.ServerNotification;
 import net.donky.core.settings.AppSettings;
@@ -51,9 +50,7 @@ public class NewDeviceHandler {
 
             for (ServerNotification notification : notifications) {
 
-                Gson gson = new GsonBuilder().create();
-
-                DeviceDetails newDevice = gson.fromJson(notification.getData(), DeviceDetails.class);
+                DeviceDetails newDevice = GsonHelper.getGson().fromJson(notification.getData(), DeviceDetails.class);
 
                 if (newDevice != null) {
 
@@ -2,13 +2,12 @@ package net.donky.core.account;
 
 import android.text.TextUtils;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
 
 import net.donky.core.DonkyCore;
 import net.donky.core.events.RegistrationChangedEvent;
 import net.donky.core.helpers.DateAndTimeHelper;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.logging.DLog;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.ServerNotification;
@@ -57,12 +56,10 @@ public class UserUpdatedHandler {
      */
     private void processNotification(ServerNotification notification, long createdOn) {
 
-        Gson gson = new GsonBuilder().create();
-
         UserUpdated userUpdated = null;
 
         try {
-            userUpdated = gson.fromJson(notification.getData(), UserUpdated.class);
+            userUpdated = GsonHelper.getGson().fromJson(notification.getData(), UserUpdated.class);
         } catch (Exception exception) {
             new DLog("UserUpdatedHandler").error("Error parsing user updated notification.", exception);
         }
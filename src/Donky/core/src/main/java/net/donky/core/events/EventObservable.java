@@ -1,8 +1,6 @@
 package net.donky.core.events;
 
-import android.os.Handler;
-import android.os.Looper;
-
+import net.donky.core.helpers.MainThreadDispatcher;
 import net.donky.core.logging.DLog;
 
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -73,7 +71,7 @@ public class EventObservable {
         for (final DonkyEventListener observer : getInstance().observers) {
             if (observer.getEventType() != null && observer.getEventType().equals(event.getLocalEventType())) {
 
-                new Handler(Looper.getMainLooper()).post(new Runnable() {
+                MainThreadDispatcher.getInstance().dispatch(new Runnable() {
                     @Override
                     public void run() {
                         observer.onDonkyEvent(event);
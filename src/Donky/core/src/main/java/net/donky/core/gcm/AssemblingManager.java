@@ -170,7 +170,7 @@ public class AssemblingManager {
                     jObj.put(EXP_BODY_KEY, expBody);
                 }
 
-                log.debug("Payload after assembling " + jObj.toString());
+                log.debug("Payload after assembling %s", jObj);
                 ma.mainBundle.putString(AssemblingManager.DIRECT_MESSAGE_PAYLOAD, jObj.toString());
                 Bundle newBundle = new Bundle(ma.mainBundle);
                 assemblyMap.remove(id);
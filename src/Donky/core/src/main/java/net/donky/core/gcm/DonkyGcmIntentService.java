@@ -10,6 +10,7 @@ import net.donky.core.DonkyCore;
 import net.donky.core.DonkyException;
 import net.donky.core.account.DonkyAccountController;
 import net.donky.core.logging.DLog;
+import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
 import net.donky.core.network.ServerNotification;
 import net.donky.core.network.SynchronisationHandler;
@@ -52,6 +53,7 @@ public class DonkyGcmIntentService extends GcmListenerService {
 
             if (!TextUtils.isEmpty(type)) {
                 handleDonkyMessage(data, type);
+                flushQueuedNotifications();
             }
         }
     }
@@ -75,6 +77,26 @@ public class DonkyGcmIntentService extends GcmListenerService {
         } catch (JSONException e) {
             log.warning("Direct GCM message processed with error.");
             DonkyNetworkController.getInstance().setReRunNotificationExchange(true);
+        } finally {
+            flushQueuedNotifications();
+        }
+    }
+
+    /**
+     * Writes client notifications queued while handling GCM message, e.g. message received notifications, as the process can be killed once the service finishes.
+     */
+    private static void flushQueuedNotifications() {
+
+        try {
+
+            if (DonkyCore.isInitialised()) {
+                DonkyDataController.getInstance().getNotificationDAO().flush();
+            }
+
+        } catch (Exception e) {
+
+            Log.e("DonkyGcmIntentService", "Error saving queued notifications.");
+
         }
     }
 
@@ -4,12 +4,7 @@ import android.text.TextUtils;
 
 import net.donky.core.logging.DLog;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
-import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +17,22 @@ import java.util.concurrent.TimeUnit;
  */
 public class DateAndTimeHelper {
 
+    /**
+     * Returned by {@link #parseUtcMillis(String)} when the date string cannot be parsed.
+     */
+    public static final long INVALID_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    /**
+     * How long the default time zone is cached before checking if it changed.
+     */
+    private static final long DEFAULT_TIME_ZONE_CACHE_MS = 60 * 1000;
+
+    private static volatile TimeZone defaultTimeZone;
+
+    private static volatile long defaultTimeZoneExpiry;
+
     /**
      * Convert date string to Date object.
      * @param dateStr String with date in expected format.
@@ -29,25 +40,31 @@ public class DateAndTimeHelper {
      */
     public static Date parseUtcDate(String dateStr) {
 
-        if (dateStr != null) {
+        long time = parseUtcMillis(dateStr);
 
-            DateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.S'Z'", Locale.US);
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            Date date = null;
-            try {
-                date = sdf.parse(dateStr);
-            } catch (ParseException e) {
-                DLog log = new DLog("DateAndTimeHelper");
-                log.error("Error parsing date " + dateStr, e);
-            }
+        return time != INVALID_TIMESTAMP ? new Date(time) : null;
+    }
 
-            return date;
+    /**
+     * Parse date string in format used by the Donky Network e.g. 2015-03-11T13:46:54.123Z, without creating Date objects.
+     * Fraction of a second and time zone are optional, time without time zone is treated as UTC.
+     *
+     * @param dateStr String with date in expected format.
+     * @return Milliseconds since epoch or {@link #INVALID_TIMESTAMP} if the string cannot be parsed.
+     */
+    public static long parseUtcMillis(String dateStr) {
 
-        } else {
+        if (dateStr == null) {
+            return INVALID_TIMESTAMP;
+        }
 
-            return null;
+        long time = parseIso8601(dateStr);
 
+        if (time == INVALID_TIMESTAMP) {
+            new DLog("DateAndTimeHelper").error("Error parsing date " + dateStr);
         }
+
+        return time;
     }
 
     /**
@@ -56,8 +73,17 @@ public class DateAndTimeHelper {
      * @return String representation of current local time in format expected by Donky Network.
      */
     public static String getCurrentLocalTime() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
-        return sdf.format(Calendar.getInstance().getTime());
+        return getLocalTimeFormatted(System.currentTimeMillis());
+    }
+
+    /**
+     * String representation of given time as local time in format expected by Donky Network.
+     *
+     * @param time Time in milliseconds since epoch.
+     * @return String representation of given time as local time in format expected by Donky Network.
+     */
+    public static String getLocalTimeFormatted(long time) {
+        return formatIso8601(time, getDefaultTimeZone().getOffset(time), true);
     }
 
     /**
@@ -66,9 +92,7 @@ public class DateAndTimeHelper {
      * @return String representation of current UTC time in format expected by Donky Network.
      */
     public static String getCurrentUTCTime() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(Calendar.getInstance().getTime());
+        return formatIso8601(System.currentTimeMillis(), 0, true);
     }
 
     /**
@@ -77,12 +101,7 @@ public class DateAndTimeHelper {
      * @return String representation of current UTC time in format expected by Donky Network.
      */
     public static String getCurrentUTCDateTimeWithoutTimezone() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        String str = sdf.format(Calendar.getInstance().getTime());
-        String[] parts = str.split("\\+");
-        String beforePlus = parts[0];
-        return beforePlus;
+        return formatIso8601(System.currentTimeMillis(), 0, false);
     }
 
     /**
@@ -91,12 +110,7 @@ public class DateAndTimeHelper {
      * @return String representation of current UTC time in format expected by Donky Network.
      */
     public static String getUTCDateTimeWithoutTimezone(long time) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        String str = sdf.format(time);
-        String[] parts = str.split("\\+");
-        String beforePlus = parts[0];
-        return beforePlus;
+        return formatIso8601(time, 0, false);
     }
 
     /**
@@ -105,9 +119,238 @@ public class DateAndTimeHelper {
      * @return String representation of UTC time in format expected by Donky Network.
      */
     public static String getUTCTimeFormated(long time) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(time);
+        return formatIso8601(time, 0, true);
+    }
+
+    /**
+     * Parse yyyy-MM-ddTHH:mm:ss[.fraction][Z|+HH:mm|+HHmm].
+     *
+     * @return Milliseconds since epoch or {@link #INVALID_TIMESTAMP}.
+     */
+    private static long parseIso8601(String str) {
+
+        int length = str.length();
+
+        if (length < 19 || str.charAt(4) != '-' || str.charAt(7) != '-' || (str.charAt(10) != 'T' && str.charAt(10) != ' ')
+                || str.charAt(13) != ':' || str.charAt(16) != ':') {
+            return INVALID_TIMESTAMP;
+        }
+
+        int year = parseDigits(str, 0, 4);
+        int month = parseDigits(str, 5, 2);
+        int day = parseDigits(str, 8, 2);
+        int hour = parseDigits(str, 11, 2);
+        int minute = parseDigits(str, 14, 2);
+        int second = parseDigits(str, 17, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return INVALID_TIMESTAMP;
+        }
+
+        int position = 19;
+
+        int millis = 0;
+
+        if (position < length && str.charAt(position) == '.') {
+
+            position++;
+
+            int digits = 0;
+
+            while (position < length && str.charAt(position) >= '0' && str.charAt(position) <= '9') {
+                if (digits < 3) {
+                    millis = millis * 10 + (str.charAt(position) - '0');
+                }
+                digits++;
+                position++;
+            }
+
+            if (digits == 0) {
+                return INVALID_TIMESTAMP;
+            }
+
+            for (int i = digits; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+
+        int offsetMillis = 0;
+
+        if (position < length) {
+
+            char zone = str.charAt(position);
+
+            if (zone == 'Z' || zone == 'z') {
+                position++;
+            } else if (zone == '+' || zone == '-') {
+
+                int offsetHours = parseDigits(str, position + 1, 2);
+                int offsetMinutes;
+
+                if (position + 6 <= length && str.charAt(position + 3) == ':') {
+                    offsetMinutes = parseDigits(str, position + 4, 2);
+                    position += 6;
+                } else {
+                    offsetMinutes = parseDigits(str, position + 3, 2);
+                    position += 5;
+                }
+
+                if (offsetHours < 0 || offsetMinutes < 0) {
+                    return INVALID_TIMESTAMP;
+                }
+
+                offsetMillis = (offsetHours * 60 + offsetMinutes) * 60 * 1000;
+
+                if (zone == '-') {
+                    offsetMillis = -offsetMillis;
+                }
+            }
+        }
+
+        if (position != length) {
+            return INVALID_TIMESTAMP;
+        }
+
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY + ((hour * 60 + minute) * 60 + second) * 1000L + millis - offsetMillis;
+    }
+
+    /**
+     * @return Value of given number of decimal digits or -1 if not all characters are digits.
+     */
+    private static int parseDigits(String str, int start, int count) {
+
+        if (start + count > str.length()) {
+            return -1;
+        }
+
+        int value = 0;
+
+        for (int i = start; i < start + count; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    /**
+     * Format time as yyyy-MM-ddTHH:mm:ss.SSS+HH:mm or yyyy-MM-ddTHH:mm:ss.
+     *
+     * @param time           Milliseconds since epoch.
+     * @param offsetMillis   Time zone offset.
+     * @param withMillisAndZone True to append milliseconds and the time zone offset.
+     */
+    private static String formatIso8601(long time, int offsetMillis, boolean withMillisAndZone) {
+
+        long localTime = time + offsetMillis;
+
+        long days = floorDiv(localTime, MILLIS_PER_DAY);
+        int millisOfDay = (int) (localTime - days * MILLIS_PER_DAY);
+
+        // Convert days since epoch to the civil date.
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        char[] buffer = new char[withMillisAndZone ? 29 : 19];
+
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, millisOfDay / 3600000, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, millisOfDay / 60000 % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, millisOfDay / 1000 % 60, 2);
+
+        if (withMillisAndZone) {
+            buffer[19] = '.';
+            writeDigits(buffer, 20, millisOfDay % 1000, 3);
+            buffer[23] = offsetMillis < 0 ? '-' : '+';
+            int offsetMinutes = Math.abs(offsetMillis) / 60000;
+            writeDigits(buffer, 24, offsetMinutes / 60, 2);
+            buffer[26] = ':';
+            writeDigits(buffer, 27, offsetMinutes % 60, 2);
+        }
+
+        return new String(buffer);
+    }
+
+    private static void writeDigits(char[] buffer, int start, int value, int count) {
+        for (int i = start + count - 1; i >= start; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * @return Number of days since epoch of the civil date.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        int yearOfEra = (int) (year - era * 400);
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return q;
+    }
+
+    /**
+     * Default time zone is cached as {@link TimeZone#getDefault()} creates a copy on every call. Changes of the default time zone are picked up within a minute.
+     *
+     * @return Default time zone.
+     */
+    private static TimeZone getDefaultTimeZone() {
+
+        long now = System.currentTimeMillis();
+
+        TimeZone timeZone = defaultTimeZone;
+
+        if (timeZone == null || now > defaultTimeZoneExpiry) {
+            timeZone = TimeZone.getDefault();
+            defaultTimeZone = timeZone;
+            defaultTimeZoneExpiry = now + DEFAULT_TIME_ZONE_CACHE_MS;
+        }
+
+        return timeZone;
+    }
+
+    /**
+     * Check if message expired or passed its availability period.
+     *
+     * @param sentTime Time in milliseconds when message was sent or {@link #INVALID_TIMESTAMP} if not known.
+     * @param expiryTime Expiry time in milliseconds or {@link #INVALID_TIMESTAMP} if not known.
+     * @param currentTime Current time in milliseconds.
+     * @param availabilityDays Number of days any message should be available.
+     * @return True if message can be seen.
+     */
+    public static boolean isExpired(long sentTime, long expiryTime, long currentTime, Integer availabilityDays) {
+
+        if (sentTime != INVALID_TIMESTAMP && availabilityDays != null && currentTime - sentTime > TimeUnit.DAYS.toMillis(availabilityDays)) {
+            return true;
+        }
+
+        return expiryTime != INVALID_TIMESTAMP && currentTime > expiryTime;
     }
 
     /**
@@ -189,18 +432,16 @@ public class DateAndTimeHelper {
 
     public static long getUTCFromGMT(long gmtTimeMilliseconds) {
 
-        Calendar cal= Calendar.getInstance();
-        int offset = cal.get(Calendar.ZONE_OFFSET)
-                + cal.get(Calendar.DST_OFFSET);
+        int offset = getDefaultTimeZone().getOffset(System.currentTimeMillis());
 
         return gmtTimeMilliseconds - offset;
     }
 
     public static long parseUTCStringToUTCLong(String dateStr) {
 
-        Date date = parseUtcDate(dateStr);
-        if (date != null) {
-            return getUTCFromGMT(date.getTime());
+        long time = parseUtcMillis(dateStr);
+        if (time != INVALID_TIMESTAMP) {
+            return getUTCFromGMT(time);
         }
 
         return 0;
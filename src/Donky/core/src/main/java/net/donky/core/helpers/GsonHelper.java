@@ -0,0 +1,167 @@
+package net.donky.core.helpers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.network.AcknowledgementDetail;
+import net.donky.core.network.AcknowledgementDetailTypeAdapter;
+import net.donky.core.network.ServerNotificationTypeAdapter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Helper class providing shared, pre-configured Gson instance. Every Gson instance builds its own cache of type adapters so creating one per notification
+ * repeats the reflection work for every message. Modules register hand-written type adapters for the models they decode from server notifications.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class GsonHelper {
+
+    private static final Map<Type, TypeAdapter<?>> typeAdapters = new LinkedHashMap<>();
+
+    private static volatile Gson gson;
+
+    static {
+        typeAdapters.put(AcknowledgementDetail.class, new AcknowledgementDetailTypeAdapter());
+        gson = registerTypeAdapters(new GsonBuilder()).create();
+    }
+
+    /**
+     * @return Shared Gson instance with all registered type adapters.
+     */
+    public static Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Register type adapter in shared Gson instance.
+     *
+     * @param type        Type the adapter reads and writes.
+     * @param typeAdapter Type adapter.
+     */
+    public static synchronized void registerTypeAdapter(Type type, TypeAdapter<?> typeAdapter) {
+
+        if (typeAdapters.get(type) != typeAdapter) {
+            typeAdapters.put(type, typeAdapter);
+            gson = registerTypeAdapters(new GsonBuilder()).create();
+        }
+    }
+
+    /**
+     * Register all type adapters known to the shared Gson instance with given builder.
+     *
+     * @param gsonBuilder Builder to configure.
+     * @return The same builder.
+     */
+    public static synchronized GsonBuilder registerTypeAdapters(GsonBuilder gsonBuilder) {
+
+        gsonBuilder.registerTypeAdapterFactory(ServerNotificationTypeAdapter.FACTORY);
+
+        for (Map.Entry<Type, TypeAdapter<?>> entry : typeAdapters.entrySet()) {
+            gsonBuilder.registerTypeAdapter(entry.getKey(), entry.getValue());
+        }
+
+        return gsonBuilder;
+    }
+
+    /**
+     * Read string value. Numbers and booleans are read as strings.
+     *
+     * @param reader Json reader positioned at the value.
+     * @return String value or null.
+     * @throws IOException
+     */
+    public static String readString(JsonReader reader) throws IOException {
+
+        JsonToken token = reader.peek();
+
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+
+        return reader.nextString();
+    }
+
+    /**
+     * Read boolean value. Strings are parsed like Gson does for boolean fields.
+     *
+     * @param reader       Json reader positioned at the value.
+     * @param defaultValue Value returned for null.
+     * @return Boolean value.
+     * @throws IOException
+     */
+    public static boolean readBoolean(JsonReader reader, boolean defaultValue) throws IOException {
+
+        JsonToken token = reader.peek();
+
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return defaultValue;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+
+        return reader.nextBoolean();
+    }
+
+    /**
+     * Read json object with string values.
+     *
+     * @param reader Json reader positioned at the object.
+     * @return Map of json object properties or null.
+     * @throws IOException
+     */
+    public static Map<String, String> readStringMap(JsonReader reader) throws IOException {
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        Map<String, String> map = new LinkedHashMap<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            map.put(name, readString(reader));
+        }
+
+        reader.endObject();
+
+        return map;
+    }
+
+    /**
+     * Write map as json object with string values.
+     *
+     * @param writer Json writer.
+     * @param map    Map to write.
+     * @throws IOException
+     */
+    public static void writeStringMap(JsonWriter writer, Map<String, String> map) throws IOException {
+
+        if (map == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginObject();
+
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writer.name(entry.getKey()).value(entry.getValue());
+        }
+
+        writer.endObject();
+    }
+}
@@ -0,0 +1,128 @@
+package net.donky.core.helpers;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers callbacks on the main thread. Callbacks dispatched together e.g. during synchronisation are run from a single main looper message,
+ * limited to a time budget per message so that the delivery doesn't block drawing of a frame.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class MainThreadDispatcher {
+
+    /**
+     * Maximum time spent delivering callbacks in a single main looper message. Remaining callbacks are delivered in the next one.
+     */
+    private static final long FRAME_BUDGET_MS = 8;
+
+    private final Handler handler;
+
+    private final ConcurrentLinkedQueue<Runnable> pending;
+
+    private final AtomicBoolean isDrainScheduled;
+
+    private final Runnable drain;
+
+    // Private constructor. Prevents instantiation from other classes.
+    private MainThreadDispatcher() {
+
+        handler = new Handler(Looper.getMainLooper());
+        pending = new ConcurrentLinkedQueue<>();
+        isDrainScheduled = new AtomicBoolean(false);
+
+        drain = new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        };
+    }
+
+    /**
+     * Initializes singleton.
+     *
+     * SingletonHolder is loaded on the first execution of Singleton.getInstance()
+     * or the first access to SingletonHolder.INSTANCE, not before.
+     */
+    private static class SingletonHolder {
+        private static final MainThreadDispatcher INSTANCE = new MainThreadDispatcher();
+    }
+
+    /**
+     * @return Instance of Main Thread Dispatcher singleton.
+     */
+    public static MainThreadDispatcher getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Run the callback on the main thread after callbacks dispatched earlier.
+     *
+     * @param runnable Callback to run.
+     */
+    public void dispatch(Runnable runnable) {
+
+        if (runnable == null) {
+            return;
+        }
+
+        pending.offer(runnable);
+
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            handler.post(drain);
+        }
+    }
+
+    private void drain() {
+
+        long deadline = SystemClock.uptimeMillis() + FRAME_BUDGET_MS;
+
+        Runnable runnable;
+
+        while ((runnable = pending.poll()) != null) {
+
+            boolean isDelivered = false;
+
+            try {
+                runnable.run();
+                isDelivered = true;
+            } finally {
+                if (!isDelivered) {
+                    // Exception from the callback propagates to the looper as if it was posted on its own. Remaining callbacks are still delivered.
+                    scheduleRemaining();
+                }
+            }
+
+            if (SystemClock.uptimeMillis() >= deadline && !pending.isEmpty()) {
+                // Let the looper draw a frame before delivering the rest.
+                handler.post(drain);
+                return;
+            }
+        }
+
+        scheduleRemaining();
+    }
+
+    /**
+     * Post the next drain if callbacks are pending, otherwise allow the next dispatch to post it.
+     */
+    private void scheduleRemaining() {
+
+        if (!pending.isEmpty()) {
+            handler.post(drain);
+            return;
+        }
+
+        isDrainScheduled.set(false);
+
+        // Callback dispatched after the queue was drained but before the flag was cleared.
+        if (!pending.isEmpty() && isDrainScheduled.compareAndSet(false, true)) {
+            handler.post(drain);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import android.os.Bundle;
 import net.donky.core.DonkyCore;
 import net.donky.core.events.ApplicationStartEvent;
 import net.donky.core.events.ApplicationStopEvent;
+import net.donky.core.logging.DonkyLoggingController;
 import net.donky.core.model.LifeCycleDAO;
 import net.donky.core.network.DonkyNetworkController;
 
@@ -266,6 +267,9 @@ public class LifeCycleObserver {
 
                 setIsAppOpenedFromNotificationBanner(false);
 
+                // Save buffered logs while the process is still likely to be alive.
+                DonkyLoggingController.getInstance().flush();
+
             }
         };
 
@@ -304,6 +308,15 @@ public class LifeCycleObserver {
 
     }
 
+    /**
+     * Get the interval of periodic notification synchronisation when app is opened.
+     *
+     * @return Interval in milliseconds of periodic notification synchronisation.
+     */
+    public long getSynchronisationTimerInterval() {
+        return syncTimerHelper != null ? syncTimerHelper.delayInMilliseconds : 0;
+    }
+
     /**
      * Return the current global state of Application.
      *
@@ -8,7 +8,6 @@ import android.os.SystemClock;
 
 import net.donky.core.DonkyBroadcastReceiver;
 import net.donky.core.logging.DLog;
-import net.donky.core.model.ConfigurationDAO;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
 
@@ -52,19 +51,8 @@ public class SyncTimerHelper {
 
         try {
 
-            String maxMinutes = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_MaxMinutesWithoutNotificationExchange);
-
-            Integer delay = null;
-
-            try {
-
-                delay = Integer.parseInt(maxMinutes);
-
-            } catch (Exception e) {
-
-                // Configuration not available yet
-
-            }
+            // Null if configuration not available yet
+            Integer delay = DonkyDataController.getInstance().getConfigurationDAO().getMaxMinutesWithoutNotificationExchange();
 
             if (delay != null && delay > 0) {
 
@@ -2,11 +2,13 @@ package net.donky.core.logging;
 
 import android.util.Log;
 
-import net.donky.core.DonkyCore;
-import net.donky.core.events.LogMessageEvent;
 import net.donky.core.network.restapi.secured.UploadLog;
 import net.donky.core.settings.AppSettings;
 
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
 /**
  * Helper for log message commands.
  *
@@ -37,24 +39,7 @@ public class DLog {
      * @param msg The message you would like logged.
      */
     public void error(String msg) {
-
-        try {
-
-            if (isErrorLogsEnabled()) {
-                Log.e(tag, msg);
-            }
-
-            DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.ERROR, null);
-
-            if (DonkyLoggingController.getInstance().getAutoSubmit()) {
-                DonkyLoggingController.getInstance().submitLog(UploadLog.SubmissionReason.AutomaticByDevice, null);
-            }
-
-            DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.ERROR, msg, null));
-
-        } catch (Exception e) {
-            Log.e("Donky","Error logging");
-        }
+        error(msg, null);
     }
 
     /**
@@ -67,17 +52,24 @@ public class DLog {
 
         try {
 
+            DonkyLoggingController controller = DonkyLoggingController.getInstance();
+
+            if (!controller.isLoggable(DonkyLoggingController.LogLevel.ERROR)) {
+                return;
+            }
+
             if (isErrorLogsEnabled()) {
                 Log.e(tag, msg);
             }
 
-            DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.ERROR, exception);
+            if (controller.isSaved(DonkyLoggingController.LogLevel.ERROR)) {
 
-            if (DonkyLoggingController.getInstance().getAutoSubmit()) {
-                DonkyLoggingController.getInstance().submitLog(UploadLog.SubmissionReason.AutomaticByDevice, null);
-            }
+                controller.writeLog(msg, DonkyLoggingController.LogLevel.ERROR, exception);
 
-            DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.ERROR, msg, exception));
+                if (controller.getAutoSubmit()) {
+                    controller.submitLog(UploadLog.SubmissionReason.AutomaticByDevice, null);
+                }
+            }
 
         } catch (Exception e) {
             Log.e("Donky","Error logging");
@@ -91,12 +83,66 @@ public class DLog {
      */
     public void warning(String msg) {
 
+        if (!DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.WARNING)) {
+            return;
+        }
+
         if (isWarningLogsEnabled()) {
             Log.w(tag, msg);
         }
 
-        DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.WARNING, null);
-        DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.WARNING, msg, null));
+        save(msg, DonkyLoggingController.LogLevel.WARNING);
+    }
+
+    /**
+     * Send an WARNING log message formatted with {@link String#format(String, Object...)}. The message is formatted only if warning logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg Format argument.
+     */
+    public void warning(String format, Object arg) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.WARNING)) {
+            warning(format(format, arg));
+        }
+    }
+
+    /**
+     * Send an WARNING log message formatted with {@link String#format(String, Object...)}. The message is formatted only if warning logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     */
+    public void warning(String format, Object arg1, Object arg2) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.WARNING)) {
+            warning(format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Send an WARNING log message formatted with {@link String#format(String, Object...)}. The message is formatted only if warning logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     * @param arg3 Format argument.
+     */
+    public void warning(String format, Object arg1, Object arg2, Object arg3) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.WARNING)) {
+            warning(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Send an WARNING log message formatted with {@link String#format(String, Object...)}. The message is formatted only if warning logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param args Format arguments.
+     */
+    public void warning(String format, Object... args) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.WARNING)) {
+            warning(format(format, args));
+        }
     }
 
     /**
@@ -106,12 +152,66 @@ public class DLog {
      */
     public void info(String msg) {
 
+        if (!DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.INFO)) {
+            return;
+        }
+
         if (isInfoLogsEnabled()) {
             Log.i(tag, msg);
         }
 
-        DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.INFO, null);
-        DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.INFO, msg, null));
+        save(msg, DonkyLoggingController.LogLevel.INFO);
+    }
+
+    /**
+     * Send an INFO log message formatted with {@link String#format(String, Object...)}. The message is formatted only if info logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg Format argument.
+     */
+    public void info(String format, Object arg) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.INFO)) {
+            info(format(format, arg));
+        }
+    }
+
+    /**
+     * Send an INFO log message formatted with {@link String#format(String, Object...)}. The message is formatted only if info logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     */
+    public void info(String format, Object arg1, Object arg2) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.INFO)) {
+            info(format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Send an INFO log message formatted with {@link String#format(String, Object...)}. The message is formatted only if info logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     * @param arg3 Format argument.
+     */
+    public void info(String format, Object arg1, Object arg2, Object arg3) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.INFO)) {
+            info(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Send an INFO log message formatted with {@link String#format(String, Object...)}. The message is formatted only if info logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param args Format arguments.
+     */
+    public void info(String format, Object... args) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.INFO)) {
+            info(format(format, args));
+        }
     }
 
     /**
@@ -121,12 +221,66 @@ public class DLog {
      */
     public void debug(String msg) {
 
+        if (!DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.DEBUG)) {
+            return;
+        }
+
         if (isDebugLogsEnabled()) {
             Log.d(tag, msg);
         }
 
-        DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.DEBUG, null);
-        DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.DEBUG, msg, null));
+        save(msg, DonkyLoggingController.LogLevel.DEBUG);
+    }
+
+    /**
+     * Send an DEBUG log message formatted with {@link String#format(String, Object...)}. The message is formatted only if debug logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg Format argument.
+     */
+    public void debug(String format, Object arg) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.DEBUG)) {
+            debug(format(format, arg));
+        }
+    }
+
+    /**
+     * Send an DEBUG log message formatted with {@link String#format(String, Object...)}. The message is formatted only if debug logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     */
+    public void debug(String format, Object arg1, Object arg2) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.DEBUG)) {
+            debug(format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Send an DEBUG log message formatted with {@link String#format(String, Object...)}. The message is formatted only if debug logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     * @param arg3 Format argument.
+     */
+    public void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.DEBUG)) {
+            debug(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Send an DEBUG log message formatted with {@link String#format(String, Object...)}. The message is formatted only if debug logs have any output.
+     *
+     * @param format Format of the message you would like logged.
+     * @param args Format arguments.
+     */
+    public void debug(String format, Object... args) {
+        if (DonkyLoggingController.getInstance().isLoggable(DonkyLoggingController.LogLevel.DEBUG)) {
+            debug(format(format, args));
+        }
     }
 
     /**
@@ -138,10 +292,88 @@ public class DLog {
 
         if (isSensitiveLogsEnabled()) {
             Log.d(tag, msg);
-            DonkyLoggingController.getInstance().writeLog(msg, DonkyLoggingController.LogLevel.SENSITIVE, null);
-            DonkyCore.publishLocalEvent(new LogMessageEvent(DonkyLoggingController.LogLevel.SENSITIVE, msg, null));
+            save(msg, DonkyLoggingController.LogLevel.SENSITIVE);
+        }
+
+    }
+
+    /**
+     * Send an SENSITIVE log message formatted with {@link String#format(String, Object...)}. The message is formatted only if sensitive logs are enabled.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg Format argument.
+     */
+    public void sensitive(String format, Object arg) {
+        if (isSensitiveLogsEnabled()) {
+            sensitive(format(format, arg));
         }
+    }
+
+    /**
+     * Send an SENSITIVE log message formatted with {@link String#format(String, Object...)}. The message is formatted only if sensitive logs are enabled.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     */
+    public void sensitive(String format, Object arg1, Object arg2) {
+        if (isSensitiveLogsEnabled()) {
+            sensitive(format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Send an SENSITIVE log message formatted with {@link String#format(String, Object...)}. The message is formatted only if sensitive logs are enabled.
+     *
+     * @param format Format of the message you would like logged.
+     * @param arg1 Format argument.
+     * @param arg2 Format argument.
+     * @param arg3 Format argument.
+     */
+    public void sensitive(String format, Object arg1, Object arg2, Object arg3) {
+        if (isSensitiveLogsEnabled()) {
+            sensitive(format(format, arg1, arg2, arg3));
+        }
+    }
 
+    /**
+     * Send an SENSITIVE log message formatted with {@link String#format(String, Object...)}. The message is formatted only if sensitive logs are enabled.
+     *
+     * @param format Format of the message you would like logged.
+     * @param args Format arguments.
+     */
+    public void sensitive(String format, Object... args) {
+        if (isSensitiveLogsEnabled()) {
+            sensitive(format(format, args));
+        }
+    }
+
+    /**
+     * @param logLevel Log level to check.
+     * @return True if log messages with given level are printed to LogCat or saved to internal storage log file.
+     */
+    public boolean isLoggable(DonkyLoggingController.LogLevel logLevel) {
+        return logLevel != null && DonkyLoggingController.getInstance().isLoggable(logLevel);
+    }
+
+    /**
+     * Save the message to internal storage log file and publish {@link net.donky.core.events.LogMessageEvent} if the log level is above the minimum.
+     */
+    private void save(String msg, DonkyLoggingController.LogLevel logLevel) {
+
+        DonkyLoggingController controller = DonkyLoggingController.getInstance();
+
+        if (controller.isSaved(logLevel)) {
+            controller.writeLog(msg, logLevel, null);
+        }
+    }
+
+    private static String format(String format, Object... args) {
+        try {
+            return String.format(Locale.US, format, args);
+        } catch (IllegalFormatException e) {
+            return format + " " + Arrays.toString(args);
+        }
     }
 
     /**
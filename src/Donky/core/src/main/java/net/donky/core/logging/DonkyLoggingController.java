@@ -20,9 +20,16 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -34,16 +41,35 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class DonkyLoggingController {
 
-    private static final int LOG_FILE_SIZE_LIMIT_KB = 2;
+    /**
+     * Size of a single log file used if not set in {@link AppSettings}.
+     */
+    private static final int DEFAULT_LOG_FILE_SIZE_LIMIT_KB = 64;
+
+    /**
+     * Capacity of log message buffer used if not set in {@link AppSettings}.
+     */
+    private static final int DEFAULT_LOG_BUFFER_CAPACITY = 512;
 
+    /**
+     * Older log file.
+     */
     private static final String LOG_FILE_NAME_FIRST = "DonkySdkLogs";
 
+    /**
+     * Log file currently written to.
+     */
     private static final String LOG_FILE_NAME_SECOND = "DonkySdkLogs2";
 
-    private long lastSubmissionTimestamp;
+    /**
+     * Logs taken for submission and not yet successfully uploaded.
+     */
+    private static final String LOG_FILE_NAME_PENDING = "DonkySdkLogsPending";
+
+    private final LogSubmissionScheduler submissionScheduler;
 
     /**
-     * Object to lock the thread on
+     * Object to lock the log files on. Held only by the log writer, never by threads adding log messages.
      */
     private static final Object sharedLock = new Object();
 
@@ -79,17 +105,56 @@ public class DonkyLoggingController {
         public String toString() {
             return stringValue;
         }
+
+        /**
+         * @param value Integer value of the log level.
+         * @return Log level for given integer value or null if not recognised.
+         */
+        static LogLevel fromValue(int value) {
+            for (LogLevel logLevel : values()) {
+                if (logLevel.intValue == value) {
+                    return logLevel;
+                }
+            }
+            return null;
+        }
     }
 
     /**
-     * File output stream to save Donky SDK logs.
+     * Minimum log level saved to the log file if not set by the integrator.
      */
-    private FileOutputStream outputStream;
+    private static final LogLevel DEFAULT_MINIMUM_LOG_LEVEL = LogLevel.INFO;
 
     /**
-     * File input stream to load Donky SDK logs.
+     * Minimum log level saved to the log file and published as {@link LogMessageEvent}.
      */
-    private FileInputStream inputStream;
+    private volatile int minimumLogLevel;
+
+    /**
+     * Minimum log level with any output, either the log file or LogCat. Messages below are dropped by {@link DLog} before being formatted.
+     */
+    private volatile int loggableLevel;
+
+    /**
+     * Log messages waiting to be saved to the log file.
+     */
+    private volatile LogRingBuffer<LogEntry> buffer;
+
+    /**
+     * Single thread saving log messages to the log file.
+     */
+    private final ExecutorService writeExecutor;
+
+    private final AtomicBoolean isWriteScheduled;
+
+    private final Runnable write;
+
+    /**
+     * Channel of the log file currently written to. Accessed only while holding the shared lock.
+     */
+    private FileChannel outputChannel;
+
+    private long fileSizeLimitBytes;
 
     /**
      * Application context.
@@ -99,7 +164,26 @@ public class DonkyLoggingController {
     // Private constructor. Prevents instantiation from other classes.
     private DonkyLoggingController() {
         autoSubmit = new AtomicBoolean(true);
-        lastSubmissionTimestamp = 0;
+        submissionScheduler = new LogSubmissionScheduler(new LogSubmissionScheduler.SubmissionPerformer() {
+            @Override
+            public void submit(UploadLog.SubmissionReason reason, DonkyListener listener) {
+                performSubmission(reason, listener);
+            }
+        });
+        minimumLogLevel = DEFAULT_MINIMUM_LOG_LEVEL.intValue;
+        loggableLevel = DEFAULT_MINIMUM_LOG_LEVEL.intValue;
+        writeExecutor = Executors.newSingleThreadExecutor();
+        isWriteScheduled = new AtomicBoolean(false);
+        write = new Runnable() {
+            @Override
+            public void run() {
+                isWriteScheduled.set(false);
+                drain(false);
+                if (buffer != null && !buffer.isEmpty()) {
+                    scheduleWrite();
+                }
+            }
+        };
     }
 
     /**
@@ -125,92 +209,245 @@ public class DonkyLoggingController {
      * @param application Application instance.
      */
     public void init(Application application) {
-        this.context = application.getApplicationContext();
+
+        synchronized (sharedLock) {
+
+            this.context = application.getApplicationContext();
+
+            int fileSizeLimitKB = AppSettings.getInstance().getLogFileSizeLimitKB();
+            fileSizeLimitBytes = 1024L * (fileSizeLimitKB > 0 ? fileSizeLimitKB : DEFAULT_LOG_FILE_SIZE_LIMIT_KB);
+
+            if (buffer == null) {
+                int capacity = AppSettings.getInstance().getLogBufferCapacity();
+                buffer = new LogRingBuffer<>(capacity > 0 ? capacity : DEFAULT_LOG_BUFFER_CAPACITY);
+            }
+        }
+
+        updateLoggableLevel();
+    }
+
+    /**
+     * Load minimum log level set by the integrator. This method should only be used by Donky Core.
+     *
+     * @param configurationDAO Configuration storage.
+     */
+    public void loadMinimumLogLevel(ConfigurationDAO configurationDAO) {
+
+        LogLevel logLevel = LogLevel.fromValue(configurationDAO.getMinimumLogLevel(DEFAULT_MINIMUM_LOG_LEVEL.intValue));
+
+        minimumLogLevel = logLevel != null ? logLevel.intValue : DEFAULT_MINIMUM_LOG_LEVEL.intValue;
+
+        updateLoggableLevel();
+    }
+
+    /**
+     * Set minimum level of log messages saved to the internal log file and published as {@link LogMessageEvent}. The setting is persisted.
+     * Printing to LogCat is controlled separately by {@link AppSettings}.
+     *
+     * @param logLevel Minimum log level.
+     */
+    public void setMinimumLogLevel(LogLevel logLevel) {
+
+        if (logLevel == null) {
+            return;
+        }
+
+        minimumLogLevel = logLevel.intValue;
+
+        updateLoggableLevel();
+
+        ConfigurationDAO configurationDAO = DonkyDataController.getInstance().getConfigurationDAO();
+        if (configurationDAO != null) {
+            configurationDAO.setMinimumLogLevel(logLevel.intValue);
+        }
+    }
+
+    /**
+     * @return Minimum level of log messages saved to the internal log file and published as {@link LogMessageEvent}.
+     */
+    public LogLevel getMinimumLogLevel() {
+        return LogLevel.fromValue(minimumLogLevel);
+    }
+
+    /**
+     * @param logLevel Log level to check.
+     * @return True if log messages with given level have any output.
+     */
+    boolean isLoggable(LogLevel logLevel) {
+        return logLevel.intValue >= loggableLevel;
+    }
+
+    /**
+     * @param logLevel Log level to check.
+     * @return True if log messages with given level should be saved to the log file.
+     */
+    boolean isSaved(LogLevel logLevel) {
+        return logLevel.intValue >= minimumLogLevel;
     }
 
     /**
-     * Add log to internal logging file.
+     * Calculate the lowest log level with any output.
+     */
+    private void updateLoggableLevel() {
+
+        AppSettings settings = AppSettings.getInstance();
+
+        int level = minimumLogLevel;
+
+        if (settings.isLoggingEnabled()) {
+            if (settings.isSensitiveLogsEnabled()) {
+                level = Math.min(level, LogLevel.SENSITIVE.intValue);
+            } else if (settings.isDebugLogsEnabled()) {
+                level = Math.min(level, LogLevel.DEBUG.intValue);
+            } else if (settings.isInfoLogsEnabled()) {
+                level = Math.min(level, LogLevel.INFO.intValue);
+            } else if (settings.isWarningLogsEnabled()) {
+                level = Math.min(level, LogLevel.WARNING.intValue);
+            } else if (settings.isErrorLogsEnabled()) {
+                level = Math.min(level, LogLevel.ERROR.intValue);
+            }
+        }
+
+        loggableLevel = level;
+    }
+
+    /**
+     * Add log to internal logging file regardless of the minimum log level. Log message is saved asynchronously, if too many messages are waiting to be saved the message is dropped.
      *
      * @param message Log text that should be added to internal log file.
      */
     public void writeLog(final String message, final LogLevel logLevel, final Exception exception) {
 
+        try {
+
+            LogRingBuffer<LogEntry> buffer = this.buffer;
+
+            if (buffer == null) {
+                return;
+            }
+
+            if (buffer.offer(new LogEntry(System.currentTimeMillis(), message, logLevel, exception))) {
+                scheduleWrite();
+            }
+
+            DonkyCore.publishLocalEvent(new LogMessageEvent(logLevel, message, exception));
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Save all buffered log messages to the log file and flush the file to the storage. Blocks until completed.
+     */
+    public void flush() {
+        drain(true);
+    }
+
+    private void scheduleWrite() {
+
+        if (isWriteScheduled.compareAndSet(false, true)) {
+            try {
+                writeExecutor.execute(write);
+            } catch (RejectedExecutionException e) {
+                isWriteScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Save buffered log messages to the log file.
+     *
+     * @param force True if the log file should be flushed to the storage.
+     */
+    private void drain(boolean force) {
+
         synchronized (sharedLock) {
+
             try {
 
-                if (context == null) {
-                    sharedLock.notifyAll();
+                if (context == null || buffer == null) {
                     return;
                 }
 
-                File dir = context.getFilesDir();
+                StringBuilder sb = new StringBuilder();
 
-                File fileFirst = new File(dir, LOG_FILE_NAME_FIRST);
-                File fileSecond = new File(dir, LOG_FILE_NAME_SECOND);
+                long dropped = buffer.takeDroppedCount();
 
-                float fileSizeFirst = fileFirst.length() / 1024.0f; //In kilobytes
-                float fileSizeSecond = fileSecond.length() / 1024.0f; //In kilobytes
-
-                if (fileSizeFirst < LOG_FILE_SIZE_LIMIT_KB) {
-                    outputStream = context.openFileOutput(LOG_FILE_NAME_FIRST, Context.MODE_APPEND);
-                } else if (fileSizeSecond < LOG_FILE_SIZE_LIMIT_KB) {
-                    outputStream = context.openFileOutput(LOG_FILE_NAME_SECOND, Context.MODE_APPEND);
-                } else {
-                    fileFirst.delete();
-                    fileSecond.renameTo(fileFirst);
-                    outputStream = context.openFileOutput(LOG_FILE_NAME_FIRST, Context.MODE_APPEND);
+                if (dropped > 0) {
+                    new LogEntry(System.currentTimeMillis(), dropped + " log messages dropped, log buffer full.", LogLevel.WARNING, null).appendTo(sb);
                 }
 
-                StringBuilder sb = new StringBuilder();
+                LogEntry entry;
 
-                sb.append(DateAndTimeHelper.getCurrentLocalTime());
-                sb.append(" ");
-                sb.append(logLevel.toString());
-                sb.append(": ");
-                sb.append(message);
-                sb.append('\n');
+                while ((entry = buffer.poll()) != null) {
+                    entry.appendTo(sb);
+                }
 
-                if (exception != null) {
+                if (sb.length() > 0) {
+                    write(sb.toString().getBytes(Charset.forName("UTF-8")));
+                }
 
-                    StackTraceElement[] stackTrace = exception.getStackTrace();
-                    for (StackTraceElement element : stackTrace) {
-                        sb.append(element.toString());
-                        sb.append('\n');
-                    }
+                if (force && outputChannel != null) {
+                    outputChannel.force(false);
+                }
 
-                    if (exception.getCause() != null) {
+            } catch (Exception e) {
+                e.printStackTrace();
+                closeOutputChannel();
+            }
+        }
+    }
 
-                        StackTraceElement[] stackTraceCause = exception.getCause().getStackTrace();
-                        for (StackTraceElement element : stackTraceCause) {
-                            sb.append(element.toString());
-                            sb.append('\n');
-                        }
+    /**
+     * Append bytes to the current log file, rotating the log files when the current one reached the size limit. Must be called holding the shared lock.
+     */
+    private void write(byte[] bytes) throws IOException {
 
-                    }
-                }
+        File dir = context.getFilesDir();
 
-                if (outputStream != null) {
-                    outputStream.write(sb.toString().getBytes(Charset.forName("UTF-8")));
-                    outputStream.flush();
-                    outputStream.close();
-                }
+        if (outputChannel != null && outputChannel.size() >= fileSizeLimitBytes) {
+            closeOutputChannel();
+            File fileFirst = new File(dir, LOG_FILE_NAME_FIRST);
+            fileFirst.delete();
+            new File(dir, LOG_FILE_NAME_SECOND).renameTo(fileFirst);
+        }
+
+        if (outputChannel == null) {
+            outputChannel = new FileOutputStream(new File(dir, LOG_FILE_NAME_SECOND), true).getChannel();
+        }
 
-                DonkyCore.publishLocalEvent(new LogMessageEvent(logLevel, message, exception));
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
 
-            } catch (Exception e) {
+        while (byteBuffer.hasRemaining()) {
+            outputChannel.write(byteBuffer);
+        }
+    }
+
+    /**
+     * Close the log file channel. Must be called holding the shared lock.
+     */
+    private void closeOutputChannel() {
+
+        if (outputChannel != null) {
+            try {
+                outputChannel.close();
+            } catch (IOException e) {
                 e.printStackTrace();
             }
-            sharedLock.notifyAll();
+            outputChannel = null;
         }
     }
 
     /**
-     * Get recent Donky SDK logs.
+     * Get recent Donky SDK logs, including logs waiting for submission. Buffered log messages are saved before reading.
      *
      * @return Content of recent log file.
      */
     public String getLog() {
 
+        flush();
+
         StringBuilder sb = new StringBuilder();
 
         synchronized (sharedLock) {
@@ -219,140 +456,284 @@ public class DonkyLoggingController {
 
                 File dir = context.getFilesDir();
 
-                File fileFirst = new File(dir, LOG_FILE_NAME_FIRST);
+                readLogFile(new File(dir, LOG_FILE_NAME_PENDING), sb);
+                readLogFile(new File(dir, LOG_FILE_NAME_FIRST), sb);
+                readLogFile(new File(dir, LOG_FILE_NAME_SECOND), sb);
 
-                if (fileFirst.exists()) {
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
 
-                    inputStream = new FileInputStream(fileFirst);
+        return sb.toString();
+    }
 
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+    /**
+     * Append lines of the log file to the builder.
+     */
+    private void readLogFile(File file, StringBuilder sb) throws IOException {
 
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        sb.append(line).append('\n');
-                    }
-                    reader.close();
+        if (file.exists()) {
 
-                }
+            FileInputStream inputStream = new FileInputStream(file);
 
-                File fileSecond = new File(dir, LOG_FILE_NAME_SECOND);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, Charset.forName("UTF-8")));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+            reader.close();
+
+        }
+    }
 
-                if (fileSecond.exists()) {
+    /**
+     * Move saved log messages to the file with logs pending submission, so messages logged during the upload are not removed after it succeeds.
+     * Logs left from a failed upload are kept and submitted again, limited to the size of both log files.
+     *
+     * @return Logs not yet submitted.
+     */
+    private String takeLogForSubmission() {
 
-                    inputStream = new FileInputStream(fileSecond);
+        flush();
 
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+        StringBuilder sb = new StringBuilder();
 
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        sb.append(line).append("\n");
-                    }
-                    reader.close();
+        synchronized (sharedLock) {
+
+            try {
+
+                closeOutputChannel();
+
+                File dir = context.getFilesDir();
+
+                File filePending = new File(dir, LOG_FILE_NAME_PENDING);
+                File fileFirst = new File(dir, LOG_FILE_NAME_FIRST);
+                File fileSecond = new File(dir, LOG_FILE_NAME_SECOND);
 
+                FileChannel pendingChannel = new FileOutputStream(filePending, true).getChannel();
+
+                try {
+                    appendLogFile(fileFirst, pendingChannel);
+                    appendLogFile(fileSecond, pendingChannel);
+                } finally {
+                    pendingChannel.close();
                 }
 
+                fileFirst.delete();
+                fileSecond.delete();
+
+                trimLogFile(filePending, 2 * fileSizeLimitBytes);
+
+                readLogFile(filePending, sb);
+
             } catch (Exception e) {
                 e.printStackTrace();
             }
-            sharedLock.notifyAll();
         }
 
         return sb.toString();
     }
 
     /**
-     * Delete files storing last logging activity.
+     * Append content of the log file to the channel.
      */
-    private void clearLogFiles() {
+    private void appendLogFile(File file, FileChannel target) throws IOException {
 
-        synchronized (sharedLock) {
+        if (file.exists()) {
 
-            File dir = context.getFilesDir();
+            FileChannel source = new FileInputStream(file).getChannel();
 
-            File fileFirst = new File(dir, LOG_FILE_NAME_FIRST);
-            File fileSecond = new File(dir, LOG_FILE_NAME_SECOND);
+            try {
+                long position = 0;
+                long size = source.size();
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+            } finally {
+                source.close();
+            }
+        }
+    }
 
-            fileFirst.delete();
-            fileSecond.delete();
+    /**
+     * Remove the oldest lines of the log file above the size limit.
+     */
+    private void trimLogFile(File file, long maxSizeBytes) throws IOException {
+
+        long size = file.length();
 
-            sharedLock.notifyAll();
+        if (size <= maxSizeBytes) {
+            return;
+        }
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+        try {
+
+            byte[] tail = new byte[(int) maxSizeBytes];
+            randomAccessFile.seek(size - maxSizeBytes);
+            randomAccessFile.readFully(tail);
+
+            // Start from a full line.
+            int start = 0;
+            while (start < tail.length && tail[start] != '\n') {
+                start++;
+            }
+            start = Math.min(start + 1, tail.length);
+
+            randomAccessFile.seek(0);
+            randomAccessFile.write(tail, start, tail.length - start);
+            randomAccessFile.setLength(tail.length - start);
+
+        } finally {
+            randomAccessFile.close();
         }
     }
 
     /**
-     * Submit saved log entries to the Donky Network, reset log files and update the automatic logging configuration.
+     * Delete logs successfully submitted to the Donky Network.
+     */
+    private void clearSubmittedLog() {
+
+        synchronized (sharedLock) {
+
+            new File(context.getFilesDir(), LOG_FILE_NAME_PENDING).delete();
+        }
+    }
+
+    /**
+     * Submit saved log entries to the Donky Network and update the automatic logging configuration.
+     * Automatic submissions are grouped and rate limited, see {@link LogSubmissionScheduler}. Only logs not yet submitted are uploaded.
      *
      * @param reason   The reason {@link net.donky.core.network.restapi.secured.UploadLog.SubmissionReason} to submit logs to the notwork
      * @param listener The callback to invoke when the process completes.
      */
     public void submitLog(UploadLog.SubmissionReason reason, final DonkyListener listener) {
+        submissionScheduler.submit(reason, listener);
+    }
 
-        if (canSubmitLogs()) {
+    /**
+     * @return Scheduler of log submissions with counters of performed and suppressed uploads.
+     */
+    public LogSubmissionScheduler getLogSubmissionScheduler() {
+        return submissionScheduler;
+    }
 
-            lastSubmissionTimestamp = System.currentTimeMillis();
+    /**
+     * Upload logs not yet submitted.
+     *
+     * @param reason   The reason to submit logs to the network.
+     * @param listener The callback to invoke when the upload completes.
+     */
+    private void performSubmission(UploadLog.SubmissionReason reason, final DonkyListener listener) {
 
-            DonkyNetworkController.getInstance().submitLog(getLog(), reason, new DonkyResultListener<UploadLogResponse>() {
+        if (context == null) {
+            listener.error(new DonkyException("Logging not initialised."), null);
+            return;
+        }
 
-                @Override
-                public void success(UploadLogResponse result) {
+        String log = takeLogForSubmission();
 
+        if (log.isEmpty()) {
+            listener.success();
+            return;
+        }
 
-                    setAutoSubmit(result.isAlwaysSubmitErrors());
+        DonkyNetworkController.getInstance().submitLog(log, reason, new DonkyResultListener<UploadLogResponse>() {
 
-                    try {
+            @Override
+            public void success(UploadLogResponse result) {
 
-                        DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().put(ConfigurationDAO.KEY_CONFIGURATION_AlwaysSubmitErrors, Boolean.valueOf(result.isAlwaysSubmitErrors()).toString());
+                clearSubmittedLog();
 
-                        clearLogFiles();
+                setAutoSubmit(result.isAlwaysSubmitErrors());
 
-                        if (listener != null) {
-                            listener.success();
-                        }
+                try {
 
-                    } catch (Exception e) {
+                    DonkyDataController.getInstance().getConfigurationDAO().setConfigurationItem(ConfigurationDAO.KEY_CONFIGURATION_AlwaysSubmitErrors, Boolean.valueOf(result.isAlwaysSubmitErrors()).toString());
 
-                        DonkyException donkyException = new DonkyException("Error in submit log success callback.");
-                        donkyException.initCause(e);
+                } catch (Exception e) {
 
-                        if (listener != null) {
-                            listener.error(donkyException, null);
-                        }
+                    DonkyException donkyException = new DonkyException("Error in submit log success callback.");
+                    donkyException.initCause(e);
 
-                    }
-                    if (listener != null) {
-                        listener.success();
-                    }
+                    listener.error(donkyException, null);
+                    return;
                 }
 
-                @Override
-                public void error(DonkyException donkyException, Map<String, String> validationErrors) {
-                    if (listener != null) {
-                        listener.error(donkyException, validationErrors);
-                    }
-                }
-            });
-        }
+                listener.success();
+            }
 
+            @Override
+            public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+                listener.error(donkyException, validationErrors);
+            }
+        });
     }
 
     /**
-     * Check if delay since last submission of logs was greater then the value defined by settings.
-     * @return
+     * Submit saved log entries to the Donky Network, reset log files and update the automatic logging configuration.
+     *
+     * @param listener The callback to invoke when the process completes.
      */
-    private boolean canSubmitLogs() {
+    public void submitLog(final DonkyListener listener) {
 
-        return ((System.currentTimeMillis() - lastSubmissionTimestamp) > 1000 * AppSettings.getInstance().getMinTimeSubmittingLogsSeconds());
+        submitLog(UploadLog.SubmissionReason.ManualRequest, listener);
 
     }
 
     /**
-     * Submit saved log entries to the Donky Network, reset log files and update the automatic logging configuration.
-     *
-     * @param listener The callback to invoke when the process completes.
+     * Log message waiting to be saved to the log file.
      */
-    public void submitLog(final DonkyListener listener) {
+    private static class LogEntry {
 
-        submitLog(UploadLog.SubmissionReason.ManualRequest, listener);
+        private final long timestamp;
+
+        private final String message;
+
+        private final LogLevel logLevel;
+
+        private final Exception exception;
 
+        LogEntry(long timestamp, String message, LogLevel logLevel, Exception exception) {
+            this.timestamp = timestamp;
+            this.message = message;
+            this.logLevel = logLevel;
+            this.exception = exception;
+        }
+
+        /**
+         * Append formatted log message to the builder.
+         */
+        void appendTo(StringBuilder sb) {
+
+            sb.append(DateAndTimeHelper.getLocalTimeFormatted(timestamp));
+            sb.append(" ");
+            sb.append(logLevel.toString());
+            sb.append(": ");
+            sb.append(message);
+            sb.append('\n');
+
+            if (exception != null) {
+
+                StackTraceElement[] stackTrace = exception.getStackTrace();
+                for (StackTraceElement element : stackTrace) {
+                    sb.append(element.toString());
+                    sb.append('\n');
+                }
+
+                if (exception.getCause() != null) {
+
+                    StackTraceElement[] stackTraceCause = exception.getCause().getStackTrace();
+                    for (StackTraceElement element : stackTraceCause) {
+                        sb.append(element.toString());
+                        sb.append('\n');
+                    }
+
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
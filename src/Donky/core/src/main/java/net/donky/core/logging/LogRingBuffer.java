@@ -0,0 +1,118 @@
+package net.donky.core.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free buffer of log entries with many producers and a single consumer.
+ * When the buffer is full new entries are dropped and counted, so logging never blocks the calling thread.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class LogRingBuffer<T> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<T> slots;
+
+    /**
+     * Sequence number of each slot. Slot is free to write when its sequence equals the write position and ready to read when it equals read position + 1.
+     */
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong writePosition;
+
+    /**
+     * Read position, updated only by the consumer.
+     */
+    private volatile long readPosition;
+
+    private final AtomicLong droppedCount;
+
+    /**
+     * @param capacity Maximum number of entries, rounded up to the power of two.
+     */
+    LogRingBuffer(int capacity) {
+
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        writePosition = new AtomicLong(0);
+        droppedCount = new AtomicLong(0);
+    }
+
+    /**
+     * Add entry to the buffer. Can be called from any thread.
+     *
+     * @param entry Entry to add.
+     * @return False if the buffer was full and the entry was dropped.
+     */
+    boolean offer(T entry) {
+
+        while (true) {
+
+            long position = writePosition.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+
+            if (sequence == position) {
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // Consumer didn't free the slot yet.
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            // Another producer claimed this position, retry with the next one.
+        }
+    }
+
+    /**
+     * Take the oldest entry from the buffer. Must be called from a single consumer at a time.
+     *
+     * @return The oldest entry or null if the buffer is empty.
+     */
+    T poll() {
+
+        int index = (int) (readPosition & mask);
+
+        if (sequences.get(index) != readPosition + 1) {
+            return null;
+        }
+
+        T entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, readPosition + mask + 1);
+        readPosition++;
+
+        return entry;
+    }
+
+    /**
+     * @return True if there are no entries ready to read.
+     */
+    boolean isEmpty() {
+        return writePosition.get() == readPosition;
+    }
+
+    /**
+     * Get and reset the number of entries dropped because the buffer was full.
+     *
+     * @return Number of dropped entries since the last call.
+     */
+    long takeDroppedCount() {
+        return droppedCount.getAndSet(0);
+    }
+}
@@ -0,0 +1,285 @@
+package net.donky.core.logging;
+
+import net.donky.core.DonkyException;
+import net.donky.core.DonkyListener;
+import net.donky.core.network.restapi.secured.UploadLog;
+import net.donky.core.settings.AppSettings;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules submission of logs to the Donky Network. Automatic submission requests received within {@link AppSettings#getLogSubmissionWindowSeconds()}
+ * are performed as a single upload and uploads are rate limited by a token bucket, so bursts of errors don't result in bursts of network calls.
+ * Manual submissions are performed immediately. Only one upload is performed at a time.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class LogSubmissionScheduler {
+
+    private final ScheduledExecutorService executor;
+
+    private final SubmissionPerformer performer;
+
+    /**
+     * Listeners waiting for the next upload.
+     */
+    private final List<DonkyListener> pendingListeners;
+
+    private boolean isSubmissionRequested;
+
+    private boolean isManualSubmissionRequested;
+
+    private boolean isSubmissionInProgress;
+
+    private ScheduledFuture<?> pendingSubmission;
+
+    private long pendingSubmissionTime;
+
+    /**
+     * Uploads available without waiting, refilled by one every {@link AppSettings#getMinTimeSubmittingLogsSeconds()}.
+     */
+    private double tokens;
+
+    private long lastRefillTime;
+
+    private final AtomicLong submissionsRequested;
+
+    private final AtomicLong submissionsPerformed;
+
+    private final AtomicLong submissionsCoalesced;
+
+    private final AtomicLong submissionsRateLimited;
+
+    /**
+     * Uploads the logs on behalf of the scheduler.
+     */
+    interface SubmissionPerformer {
+
+        /**
+         * Upload logs not submitted yet. Non blocking method.
+         *
+         * @param reason   The reason to submit logs.
+         * @param listener Callback to be invoked when completed.
+         */
+        void submit(UploadLog.SubmissionReason reason, DonkyListener listener);
+    }
+
+    LogSubmissionScheduler(SubmissionPerformer performer) {
+        this.performer = performer;
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+        this.pendingListeners = new LinkedList<>();
+        this.tokens = -1;
+        this.submissionsRequested = new AtomicLong(0);
+        this.submissionsPerformed = new AtomicLong(0);
+        this.submissionsCoalesced = new AtomicLong(0);
+        this.submissionsRateLimited = new AtomicLong(0);
+    }
+
+    /**
+     * Request submission of logs.
+     *
+     * @param reason   The reason to submit logs. Manual submissions are not delayed or rate limited.
+     * @param listener Callback to be invoked when the upload completes. Can be null.
+     */
+    public synchronized void submit(UploadLog.SubmissionReason reason, DonkyListener listener) {
+
+        submissionsRequested.incrementAndGet();
+
+        if (listener != null) {
+            pendingListeners.add(listener);
+        }
+
+        boolean isManual = UploadLog.SubmissionReason.ManualRequest.equals(reason);
+
+        if (isSubmissionRequested && !isManual) {
+            submissionsCoalesced.incrementAndGet();
+            return;
+        }
+
+        isSubmissionRequested = true;
+        isManualSubmissionRequested |= isManual;
+
+        if (!isSubmissionInProgress) {
+            long now = System.currentTimeMillis();
+            schedule(isManual ? now : now + TimeUnit.SECONDS.toMillis(AppSettings.getInstance().getLogSubmissionWindowSeconds()));
+        }
+    }
+
+    /**
+     * @return Number of log submission requests received.
+     */
+    public long getSubmissionsRequested() {
+        return submissionsRequested.get();
+    }
+
+    /**
+     * @return Number of log uploads performed.
+     */
+    public long getSubmissionsPerformed() {
+        return submissionsPerformed.get();
+    }
+
+    /**
+     * @return Number of submission requests merged into an already requested upload.
+     */
+    public long getSubmissionsCoalesced() {
+        return submissionsCoalesced.get();
+    }
+
+    /**
+     * @return Number of times an upload was postponed by the rate limit.
+     */
+    public long getSubmissionsRateLimited() {
+        return submissionsRateLimited.get();
+    }
+
+    /**
+     * @return Number of submission requests that didn't result in a separate upload.
+     */
+    public long getSubmissionsSuppressed() {
+        return submissionsCoalesced.get() + submissionsRateLimited.get();
+    }
+
+    /**
+     * Schedule the upload no later than at given time.
+     *
+     * @param time Time of the upload.
+     */
+    private void schedule(long time) {
+
+        if (pendingSubmission != null && !pendingSubmission.isDone()) {
+            if (pendingSubmissionTime <= time) {
+                return;
+            }
+            pendingSubmission.cancel(false);
+        }
+
+        pendingSubmissionTime = time;
+        pendingSubmission = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                performSubmission();
+            }
+        }, Math.max(0, time - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void performSubmission() {
+
+        final List<DonkyListener> listeners;
+
+        final UploadLog.SubmissionReason reason;
+
+        synchronized (this) {
+
+            pendingSubmission = null;
+
+            if (isSubmissionInProgress || !isSubmissionRequested) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+
+            if (!isManualSubmissionRequested && !tryAcquireToken(now)) {
+                submissionsRateLimited.incrementAndGet();
+                schedule(now + getRefillIntervalMs());
+                return;
+            }
+
+            reason = isManualSubmissionRequested ? UploadLog.SubmissionReason.ManualRequest : UploadLog.SubmissionReason.AutomaticByDevice;
+
+            listeners = new LinkedList<>(pendingListeners);
+            pendingListeners.clear();
+            isSubmissionRequested = false;
+            isManualSubmissionRequested = false;
+            isSubmissionInProgress = true;
+        }
+
+        submissionsPerformed.incrementAndGet();
+
+        try {
+
+            performer.submit(reason, new DonkyListener() {
+
+                @Override
+                public void success() {
+                    onSubmissionFinished();
+                    for (DonkyListener listener : listeners) {
+                        listener.success();
+                    }
+                }
+
+                @Override
+                public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+                    onSubmissionFinished();
+                    for (DonkyListener listener : listeners) {
+                        listener.error(donkyException, validationErrors);
+                    }
+                }
+            });
+
+        } catch (Exception e) {
+
+            onSubmissionFinished();
+
+            DonkyException donkyException = new DonkyException("Error submitting logs.");
+            donkyException.initCause(e);
+
+            for (DonkyListener listener : listeners) {
+                listener.error(donkyException, null);
+            }
+        }
+    }
+
+    /**
+     * Upload finished, schedule the next one if requested in the meantime.
+     */
+    private synchronized void onSubmissionFinished() {
+
+        isSubmissionInProgress = false;
+
+        if (isSubmissionRequested) {
+            long now = System.currentTimeMillis();
+            schedule(isManualSubmissionRequested ? now : now + TimeUnit.SECONDS.toMillis(AppSettings.getInstance().getLogSubmissionWindowSeconds()));
+        }
+    }
+
+    /**
+     * Take a token from the bucket if available. Must be called holding the lock.
+     *
+     * @param now Current time.
+     * @return True if the token was available.
+     */
+    private boolean tryAcquireToken(long now) {
+
+        int capacity = Math.max(1, AppSettings.getInstance().getLogSubmissionBurst());
+
+        if (tokens < 0) {
+            tokens = capacity;
+        } else {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillTime) / getRefillIntervalMs());
+        }
+
+        lastRefillTime = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return Time to refill a single token.
+     */
+    private long getRefillIntervalMs() {
+        return Math.max(1000, TimeUnit.SECONDS.toMillis(AppSettings.getInstance().getMinTimeSubmittingLogsSeconds()));
+    }
+}
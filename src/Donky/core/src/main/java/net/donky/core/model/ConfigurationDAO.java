@@ -1,10 +1,12 @@
 package net.donky.core.model;
 
 import android.content.Context;
+import android.text.TextUtils;
 
 import net.donky.core.ModuleDefinition;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Database Access Object for configuration settings.
@@ -41,6 +43,7 @@ public class ConfigurationDAO extends SharedPreferencesBaseDAO {
     private static final String KEY_TOKEN_EXPIRES_IN_SECONDS = "tokenExpiresInSeconds";
     private static final String KEY_MODULES_KEY_SET = "extVerKeySet";
     private static final String KEY_CONFIGURATION_ITEMS = "configurationItemsKeySet";
+    private static final String KEY_MINIMUM_LOG_LEVEL = "minimumLogLevel";
 
     public static final String KEY_CONFIGURATION_DefaultGCMSenderId = "DefaultGCMSenderId";
 //    public static final String KEY_CONFIGURATION_MinimumClientVersion = "MinimumClientVersion";
@@ -66,6 +69,11 @@ public class ConfigurationDAO extends SharedPreferencesBaseDAO {
 
     public static int DEFAULT_RICH_MESSAGE_AVAILABILITY_DAYS = 30;
 
+    /**
+     * Configuration values parsed from the last seen snapshot of saved data.
+     */
+    private volatile ParsedConfiguration parsedConfiguration;
+
     public ConfigurationDAO(Context context) {
         super(context, SHARED_PREFERENCES_FILENAME_INTERNAL);
     }
@@ -268,6 +276,21 @@ public class ConfigurationDAO extends SharedPreferencesBaseDAO {
         setInteger(KEY_TOKEN_EXPIRES_IN_SECONDS, tokenExpirySeconds);
     }
 
+    /**
+     * @param defaultValue Value returned if the minimum log level was never set.
+     * @return Value of the minimum log level saved to the internal log file.
+     */
+    public int getMinimumLogLevel(int defaultValue) {
+        return getInteger(KEY_MINIMUM_LOG_LEVEL, defaultValue);
+    }
+
+    /**
+     * @param minimumLogLevel Value of the minimum log level saved to the internal log file.
+     */
+    public void setMinimumLogLevel(int minimumLogLevel) {
+        setInteger(KEY_MINIMUM_LOG_LEVEL, minimumLogLevel);
+    }
+
     /**
      * Save Module definition
      * @param moduleDefinition Module definition
@@ -302,21 +325,149 @@ public class ConfigurationDAO extends SharedPreferencesBaseDAO {
         return getStringMap(KEY_CONFIGURATION_ITEMS);
     }
 
+    /**
+     * Gets single configuration item without copying all of them.
+     *
+     * @param key Configuration item key e.g. {@link #KEY_CONFIGURATION_LocationUpdateIntervalSeconds}
+     * @return Configuration item value or null if not available.
+     */
+    public String getConfigurationItem(String key) {
+        return getConfigurationItem(getValues(), key);
+    }
+
+    /**
+     * Save single configuration item.
+     *
+     * @param key   Configuration item key.
+     * @param value Configuration item value.
+     */
+    public void setConfigurationItem(String key, String value) {
+        addToStringMap(KEY_CONFIGURATION_ITEMS, key, value);
+    }
+
     /**
      * Gets max availability days for network content.
      *
      * @return Max availability days for network content.
      */
     public Integer getMaxAvailabilityDays() {
+        return getParsedConfiguration().richMessageAvailabilityDays;
+    }
+
+    /**
+     * @return Max size of custom content notification in bytes or null if not limited.
+     */
+    public Integer getCustomContentMaxSizeBytes() {
+        return getParsedConfiguration().customContentMaxSizeBytes;
+    }
+
+    /**
+     * @return Max time in minutes between notification exchanges with the Donky Network or null if not available.
+     */
+    public Integer getMaxMinutesWithoutNotificationExchange() {
+        return getParsedConfiguration().maxMinutesWithoutNotificationExchange;
+    }
+
+    /**
+     * @return True if logs should be submitted to the Donky Network whenever an error is logged.
+     */
+    public boolean isAlwaysSubmitErrors() {
+        return getParsedConfiguration().alwaysSubmitErrors;
+    }
+
+    /**
+     * @return Format of the url to download assets from the Donky Network or null if not available.
+     */
+    public String getAssetDownloadUrlFormat() {
+        return getParsedConfiguration().assetDownloadUrlFormat;
+    }
 
-        Integer availabilityDays;
+    /**
+     * @return Authorization header value built from the saved token type and authorisation token.
+     */
+    public String getAuthorization() {
+        return getParsedConfiguration().authorization;
+    }
+
+    /**
+     * Gets values parsed from the current snapshot of saved configuration. Parsing is repeated only after the configuration was updated.
+     *
+     * @return Parsed configuration.
+     */
+    private ParsedConfiguration getParsedConfiguration() {
+
+        Map<String, Object> values = getValues();
+
+        ParsedConfiguration parsed = parsedConfiguration;
+
+        if (parsed == null || parsed.values != values) {
+            parsed = new ParsedConfiguration(values);
+            parsedConfiguration = parsed;
+        }
+
+        return parsed;
+    }
+
+    private static String getConfigurationItem(Map<String, Object> values, String key) {
+
+        Object keySet = values.get(KEY_CONFIGURATION_ITEMS);
+
+        if (keySet instanceof Set && ((Set<?>) keySet).contains(key)) {
+            Object value = values.get(key);
+            return value instanceof String ? (String) value : null;
+        }
+
+        return null;
+    }
 
-        try {
-            availabilityDays = Integer.parseInt(DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_RichMessageAvailabilityDays));
-        } catch (NumberFormatException exception) {
-            availabilityDays = ConfigurationDAO.DEFAULT_RICH_MESSAGE_AVAILABILITY_DAYS;
+    private static Integer parseInteger(String value) {
+
+        if (!TextUtils.isEmpty(value)) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException exception) {
+                return null;
+            }
         }
 
-        return availabilityDays;
+        return null;
+    }
+
+    /**
+     * Immutable configuration values parsed from a single snapshot of saved data.
+     */
+    private static class ParsedConfiguration {
+
+        private final Map<String, Object> values;
+
+        private final Integer customContentMaxSizeBytes;
+
+        private final Integer maxMinutesWithoutNotificationExchange;
+
+        private final int richMessageAvailabilityDays;
+
+        private final boolean alwaysSubmitErrors;
+
+        private final String assetDownloadUrlFormat;
+
+        private final String authorization;
+
+        ParsedConfiguration(Map<String, Object> values) {
+
+            this.values = values;
+
+            this.customContentMaxSizeBytes = parseInteger(getConfigurationItem(values, KEY_CONFIGURATION_CustomContentMaxSizeBytes));
+            this.maxMinutesWithoutNotificationExchange = parseInteger(getConfigurationItem(values, KEY_CONFIGURATION_MaxMinutesWithoutNotificationExchange));
+
+            Integer availabilityDays = parseInteger(getConfigurationItem(values, KEY_CONFIGURATION_RichMessageAvailabilityDays));
+            this.richMessageAvailabilityDays = availabilityDays != null ? availabilityDays : DEFAULT_RICH_MESSAGE_AVAILABILITY_DAYS;
+
+            this.alwaysSubmitErrors = Boolean.parseBoolean(getConfigurationItem(values, KEY_CONFIGURATION_AlwaysSubmitErrors));
+            this.assetDownloadUrlFormat = getConfigurationItem(values, KEY_CONFIGURATION_AssetDownloadUrlFormat);
+
+            Object tokenType = values.get(KEY_TOKEN_TYPE);
+            Object authorisationToken = values.get(KEY_AUTHORISATION_TOKEN);
+            this.authorization = tokenType + " " + authorisationToken;
+        }
     }
 }
@@ -29,6 +29,18 @@ public class DatabaseSQLContract {
         public static final String COLUMN_NAME_ACK_NOTIFICATION_SENT_TIME = "sentTime";
         public static final String COLUMN_NAME_ACK_NOTIFICATION_CUSTOM_NOTIFICATION_TYPE = "customNotificationType";
 
+        public static final String INDEX_NAME_NOTIFICATION_ID = "ClientNotificationsNotificationIdIndex";
+
+    }
+
+    /* Defines the table contents for ids of recently received Donky Server Notifications */
+    public static abstract class ReceivedServerNotificationEntry implements BaseColumns {
+
+        public static final String TABLE_NAME = "ReceivedServerNotifications";
+
+        public static final String COLUMN_NAME_NOTIFICATION_ID = "notificationId";
+        public static final String COLUMN_NAME_RECEIVED_TIMESTAMP = "receivedTimestamp";
+
     }
 
 }
@@ -22,7 +22,7 @@ public class DatabaseSQLHelper extends SQLiteOpenHelper {
     /**
      * If the database schema change, the database version will be incremented.
      */
-    public static final int DATABASE_VERSION = 2;
+    public static final int DATABASE_VERSION = 4;
 
     /**
      * File name for SQLite database.
@@ -49,6 +49,16 @@ public class DatabaseSQLHelper extends SQLiteOpenHelper {
                     DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_SENT_TIME + TEXT_TYPE + COMMA_SEP +
                     DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_CUSTOM_NOTIFICATION_TYPE + TEXT_TYPE + ")";
 
+    private static final String SQL_CREATE_CLIENT_NOTIFICATIONS_ID_INDEX =
+            "CREATE INDEX IF NOT EXISTS " + DatabaseSQLContract.ClientNotificationEntry.INDEX_NAME_NOTIFICATION_ID + " ON " +
+                    DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME + "(" +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + ")";
+
+    private static final String SQL_CREATE_RECEIVED_SERVER_NOTIFICATIONS_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + DatabaseSQLContract.ReceivedServerNotificationEntry.TABLE_NAME + "(" +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " TEXT PRIMARY KEY" + COMMA_SEP +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP + " INTEGER)";
+
     private static final String SQL_DELETE_CLIENT_NOTIFICATIONS_ENTRIES =
             "DROP TABLE IF EXISTS " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME;
 
@@ -74,6 +84,8 @@ public class DatabaseSQLHelper extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
 
         db.execSQL(SQL_CREATE_CLIENT_NOTIFICATIONS_TABLE);
+        db.execSQL(SQL_CREATE_CLIENT_NOTIFICATIONS_ID_INDEX);
+        db.execSQL(SQL_CREATE_RECEIVED_SERVER_NOTIFICATIONS_TABLE);
 
         for (AbstractDonkySQLiteHelper helper : additionalQSLiteHelperInterfaces) {
             helper.onCreate(db);
@@ -90,6 +102,14 @@ public class DatabaseSQLHelper extends SQLiteOpenHelper {
      */
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
 
+        if (oldVersion < 3) {
+            db.execSQL(SQL_CREATE_CLIENT_NOTIFICATIONS_ID_INDEX);
+        }
+
+        if (oldVersion < 4) {
+            db.execSQL(SQL_CREATE_RECEIVED_SERVER_NOTIFICATIONS_TABLE);
+        }
+
         for (AbstractDonkySQLiteHelper helper : additionalQSLiteHelperInterfaces) {
             helper.onUpgrade(db, oldVersion, newVersion);
         }
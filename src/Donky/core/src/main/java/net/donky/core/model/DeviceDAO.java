@@ -1,9 +1,6 @@
 package net.donky.core.model;
 
-import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.os.Build;
 
 import net.donky.core.account.DeviceDetails;
 
@@ -44,16 +41,14 @@ public class DeviceDAO extends SharedPreferencesBaseDAO {
      *
      * @param deviceDetails Device registration details.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public boolean setDeviceDetails(DeviceDetails deviceDetails) {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(getSharedPreferencesFileName(), Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
+        SharedPreferencesSnapshot.Edit edit = edit();
 
-        editor.putString(KEY_DEVICE_NAME, deviceDetails.getDeviceName())
+        edit.putString(KEY_DEVICE_NAME, deviceDetails.getDeviceName())
                 .putString(KEY_DEVICE_TYPE, deviceDetails.getDeviceType());
 
-        return editor.commit() && setStringMap(KEY_DEVICE_ADDITIONAL_PROPERTIES_KEY_SET, deviceDetails.getAdditionalProperties());
+        return edit.apply() && setStringMap(KEY_DEVICE_ADDITIONAL_PROPERTIES_KEY_SET, deviceDetails.getAdditionalProperties());
     }
 
     /**
@@ -1,7 +1,12 @@
 package net.donky.core.model;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
+import net.donky.core.DonkyCore;
+import net.donky.core.events.ApplicationStopEvent;
+import net.donky.core.events.DonkyEventListener;
 import net.donky.core.logging.DLog;
 import net.donky.core.logging.DonkyLoggingController;
 
@@ -38,6 +43,8 @@ public class DonkyDataController {
 
     private NotificationDAO notificationDAO;
 
+    private ReceivedServerNotificationDAO receivedServerNotificationDAO;
+
     private DatabaseSQLHelper databaseSQLHelper;
 
     // Private constructor. Prevents instantiation from other classes.
@@ -69,12 +76,42 @@ public class DonkyDataController {
         databaseSQLHelper = new DatabaseSQLHelper(application.getApplicationContext());
 
         notificationDAO = new NotificationDAO(databaseSQLHelper);
+        receivedServerNotificationDAO = new ReceivedServerNotificationDAO(databaseSQLHelper);
         deviceDAO = new DeviceDAO(application.getApplicationContext());
         userDAO = new UserDAO(application.getApplicationContext());
         configurationDAO = new ConfigurationDAO(application.getApplicationContext());
         softwareVersionsDAO = new SoftwareVersionsDAO(application.getApplicationContext());
 
-        DonkyLoggingController.getInstance().setAutoSubmit(Boolean.getBoolean(DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_AlwaysSubmitErrors)));
+        registerForApplicationStop();
+
+        DonkyLoggingController.getInstance().setAutoSubmit(DonkyDataController.getInstance().getConfigurationDAO().isAlwaysSubmitErrors());
+        DonkyLoggingController.getInstance().loadMinimumLogLevel(configurationDAO);
+    }
+
+    /**
+     * Write queued client notifications to the database when the application goes to the background, as the process can be killed from there.
+     */
+    private void registerForApplicationStop() {
+
+        DonkyCore.subscribeToLocalEvent(new DonkyEventListener<ApplicationStopEvent>(ApplicationStopEvent.class) {
+
+            @Override
+            public void onDonkyEvent(ApplicationStopEvent event) {
+
+                // Re-post so that notifications queued by other modules in response to this event are written as well.
+                new Handler(Looper.getMainLooper()).post(new Runnable() {
+                    @Override
+                    public void run() {
+                        DonkyCore.getInstance().processInBackground(new Runnable() {
+                            @Override
+                            public void run() {
+                                notificationDAO.flush();
+                            }
+                        });
+                    }
+                });
+            }
+        });
     }
 
     /**
@@ -105,6 +142,13 @@ public class DonkyDataController {
         return notificationDAO;
     }
 
+    /**
+     * @return Received server notification ids Database Access Object.
+     */
+    public ReceivedServerNotificationDAO getReceivedServerNotificationDAO() {
+        return receivedServerNotificationDAO;
+    }
+
     /**
      * Gets Database open helper
      * @return SQLite Database helper
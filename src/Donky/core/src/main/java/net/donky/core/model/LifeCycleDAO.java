@@ -1,7 +1,6 @@
 package net.donky.core.model;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
 /**
  * Created by Marcin Swierczek
@@ -60,14 +59,8 @@ public class LifeCycleDAO extends SharedPreferencesBaseDAO {
 
     public boolean resetTimestamps() {
 
-        SharedPreferences settings = context.getSharedPreferences(SHARED_PREFERENCES_FILENAME_ANALYTICS, Context.MODE_PRIVATE);
-
-        SharedPreferences.Editor editor = settings.edit();
-
-        editor.putLong(DONKY_START_TIME, 0);
-
-        editor.putLong(DONKY_STOP_TIME, 0);
-
-        return editor.commit();
+        return edit().putLong(DONKY_START_TIME, 0)
+                .putLong(DONKY_STOP_TIME, 0)
+                .apply();
     }
 }
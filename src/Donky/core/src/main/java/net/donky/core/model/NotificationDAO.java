@@ -1,17 +1,26 @@
 package net.donky.core.model;
 
-import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
-import android.text.TextUtils;
+import android.database.sqlite.SQLiteStatement;
 
+import net.donky.core.lifecycle.LifeCycleObserver;
 import net.donky.core.logging.DLog;
 import net.donky.core.network.AcknowledgementDetail;
 import net.donky.core.network.ClientNotification;
 import net.donky.core.network.content.ContentNotification;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Database Access Object for outbound notifications.
@@ -26,6 +35,65 @@ public class NotificationDAO {
 
     private final DatabaseSQLHelper databaseSQLHelper;
 
+    private static final String SQL_INSERT_CLIENT_NOTIFICATION =
+            "INSERT INTO " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME + "(" +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_TYPE + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_JSON_STRING + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_ID + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_TYPE + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_RESULT + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_SENT_TIME + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_CUSTOM_NOTIFICATION_TYPE +
+                    ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT_CONTENT_NOTIFICATION =
+            "INSERT INTO " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME + "(" +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_TYPE + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + ", " +
+                    DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_JSON_STRING +
+                    ") VALUES (?, ?, ?)";
+
+    private static final String SQL_DELETE_CLIENT_NOTIFICATION =
+            "DELETE FROM " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME +
+                    " WHERE " + DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " = ?";
+
+    private static final String SQL_DELETE_CLIENT_NOTIFICATIONS_WITHOUT_ID =
+            "DELETE FROM " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME +
+                    " WHERE " + DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " IS NULL";
+
+    /**
+     * Database instance for which the cached statements below were compiled.
+     */
+    private SQLiteDatabase statementsDatabase;
+
+    private SQLiteStatement insertClientNotificationStatement;
+
+    private SQLiteStatement insertContentNotificationStatement;
+
+    private SQLiteStatement deleteClientNotificationStatement;
+
+    /**
+     * Delay after which queued notifications are written to the database.
+     */
+    private static final long WRITE_BUFFER_FLUSH_DELAY_MS = 500;
+
+    /**
+     * Number of queued notifications that triggers immediate write to the database.
+     */
+    private static final int WRITE_BUFFER_FLUSH_THRESHOLD = 50;
+
+    /**
+     * Client and content notifications queued for the database in the order they were queued.
+     */
+    private final ConcurrentLinkedQueue<Object> writeBuffer;
+
+    private final AtomicInteger writeBufferSize;
+
+    private final AtomicBoolean isFlushScheduled;
+
+    private final ScheduledExecutorService flushExecutor;
+
     /**
      * Database Access Object for Donky Client Notifications.
      *
@@ -35,12 +103,158 @@ public class NotificationDAO {
 
         log = new DLog("ClientNotificationDAO");
         this.databaseSQLHelper = databaseSQLHelper;
+        writeBuffer = new ConcurrentLinkedQueue<>();
+        writeBufferSize = new AtomicInteger(0);
+        isFlushScheduled = new AtomicBoolean(false);
+        flushExecutor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /**
+     * Queue Donky client notification for the database without blocking the caller. Queued notifications are written in a single transaction
+     * shortly after, when {@link #WRITE_BUFFER_FLUSH_THRESHOLD} is reached, before they are read or on {@link #flush()}.
+     * When the application is not in the foreground the notification is written before this method returns.
+     *
+     * @param clientNotification Donky Client notification to be saved.
+     */
+    public void queueNotification(ClientNotification clientNotification) {
+        if (clientNotification != null) {
+            enqueue(clientNotification);
+        }
+    }
+
+    /**
+     * Queue Donky client notifications for the database without blocking the caller.
+     *
+     * @param clientNotifications Donky Client notifications to be saved.
+     * @see #queueNotification(ClientNotification)
+     */
+    public void queueNotifications(List<ClientNotification> clientNotifications) {
+        if (clientNotifications != null) {
+            for (ClientNotification clientNotification : clientNotifications) {
+                queueNotification(clientNotification);
+            }
+        }
+    }
+
+    /**
+     * Queue Donky content notification for the database without blocking the caller.
+     *
+     * @param contentNotification Donky content notification to be saved.
+     * @see #queueNotification(ClientNotification)
+     */
+    public void queueContentNotification(ContentNotification contentNotification) {
+        if (contentNotification != null) {
+            enqueue(contentNotification);
+        }
+    }
+
+    /**
+     * Queue Donky content notifications for the database without blocking the caller.
+     *
+     * @param contentNotifications Donky content notifications to be saved.
+     * @see #queueNotification(ClientNotification)
+     */
+    public void queueContentNotifications(List<ContentNotification> contentNotifications) {
+        if (contentNotifications != null) {
+            for (ContentNotification contentNotification : contentNotifications) {
+                queueContentNotification(contentNotification);
+            }
+        }
+    }
+
+    private void enqueue(Object notification) {
+
+        writeBuffer.offer(notification);
+
+        if (!LifeCycleObserver.getInstance().isApplicationForegrounded()) {
+            // In background the process can be killed at any moment, e.g. right after a GCM message is handled, so write straight away.
+            writeBufferSize.incrementAndGet();
+            flush();
+        } else if (writeBufferSize.incrementAndGet() % WRITE_BUFFER_FLUSH_THRESHOLD == 0) {
+            scheduleFlush(0);
+        } else if (isFlushScheduled.compareAndSet(false, true)) {
+            scheduleFlush(WRITE_BUFFER_FLUSH_DELAY_MS);
+        }
+    }
+
+    private void scheduleFlush(long delayMs) {
+        try {
+            flushExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    isFlushScheduled.set(false);
+                    flush();
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            flush();
+        }
+    }
+
+    /**
+     * Write all queued notifications to the database in a single transaction. Blocking method.
+     * Called before the queue is read, when the application is stopped and when a GCM message has been handled so no queued notification is lost.
+     */
+    public synchronized void flush() {
+
+        if (writeBuffer.isEmpty()) {
+            return;
+        }
+
+        // Notifications stay in the queue until the transaction commits, so a failed write is retried by the next flush instead of losing them.
+        List<Object> batch = new ArrayList<>(writeBuffer);
+
+        SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
+
+        boolean isWritten = false;
+
+        db.beginTransaction();
+
+        try {
+
+            for (Object notification : batch) {
+                if (notification instanceof ContentNotification) {
+                    addContentNotification(getInsertContentNotificationStatement(db), (ContentNotification) notification);
+                } else if (notification instanceof ClientNotification) {
+                    addClientNotification(getInsertClientNotificationStatement(db), (ClientNotification) notification);
+                }
+            }
+
+            db.setTransactionSuccessful();
+            isWritten = true;
+
+        } catch (SQLException e) {
+            log.error("Error when writing queued notifications to DB.", e);
+        } finally {
+            db.endTransaction();
+        }
+
+        if (isWritten) {
+            // Only flush removes from the queue, so the batch is still at its head.
+            for (int i = 0; i < batch.size(); i++) {
+                writeBuffer.poll();
+                writeBufferSize.decrementAndGet();
+            }
+        }
     }
 
     /**
      * @return List of saved Client notifications.
      */
     public synchronized List<ClientNotification> getNotifications() {
+        return getNotifications(0, 0);
+    }
+
+    /**
+     * Gets the oldest saved Client notifications that fit in a single notification exchange page.
+     *
+     * @param maxNotifications Maximum number of notifications to return. Zero or less means no limit.
+     * @param maxBytes         Approximate budget for the json size of returned notifications. Zero or less means no limit. At least one notification is always returned if any is pending.
+     * @return List of saved Client notifications in insertion order.
+     */
+    public synchronized List<ClientNotification> getNotifications(int maxNotifications, int maxBytes) {
+
+        flush();
 
         LinkedList<ClientNotification> clientNotifications = new LinkedList<>();
 
@@ -70,7 +284,8 @@ public class NotificationDAO {
                         null,                            // The values for the WHERE clause
                         null,                                     // don't group the rows
                         null,                                     // don't filter by row groups
-                        null                                 // don't sort
+                        DatabaseSQLContract.ClientNotificationEntry._ID, // oldest first
+                        maxNotifications > 0 ? String.valueOf(maxNotifications) : null
                 );
             } catch (Exception e) {
                 log.error("Error querying database", e);
@@ -80,6 +295,8 @@ public class NotificationDAO {
 
             if (cursor != null) {
 
+                int pageSizeBytes = 0;
+
                 if (cursor.moveToFirst()) {
 
                     do {
@@ -111,6 +328,13 @@ public class NotificationDAO {
                                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_JSON_STRING));
 
 
+                        if (maxBytes > 0) {
+                            pageSizeBytes += json != null ? json.length() : 0;
+                            if (pageSizeBytes > maxBytes && !clientNotifications.isEmpty()) {
+                                break;
+                            }
+                        }
+
                         ClientNotification notification = ClientNotification.createClientNotification(type, id, acknowledgementDetail, json);
 
                         clientNotifications.add(notification);
@@ -128,17 +352,35 @@ public class NotificationDAO {
     }
 
     /**
-     * Add Donky client notifications to database.
+     * Add Donky client notifications to database. All rows are written in a single transaction.
      *
      * @param clientNotifications Donky Client notifications to be saved.
      */
     public synchronized void addNotifications(List<ClientNotification> clientNotifications) {
 
+        // Write queued notifications first to keep the order.
+        flush();
+
         if (clientNotifications != null && !clientNotifications.isEmpty()) {
+
             SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
 
-            for (ClientNotification clientNotification : clientNotifications) {
-                addClientNotification(db, clientNotification);
+            db.beginTransaction();
+
+            try {
+
+                SQLiteStatement statement = getInsertClientNotificationStatement(db);
+
+                for (ClientNotification clientNotification : clientNotifications) {
+                    addClientNotification(statement, clientNotification);
+                }
+
+                db.setTransactionSuccessful();
+
+            } catch (SQLException e) {
+                log.error("Error when inserting to DB client notifications.", e);
+            } finally {
+                db.endTransaction();
             }
         }
     }
@@ -149,35 +391,56 @@ public class NotificationDAO {
      * @param clientNotification Donky Client notification to be saved.
      */
     public synchronized void addNotification(ClientNotification clientNotification) {
+
+        // Write queued notifications first to keep the order.
+        flush();
         if (clientNotification != null) {
             SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
-            addClientNotification(db, clientNotification);
+            try {
+                addClientNotification(getInsertClientNotificationStatement(db), clientNotification);
+            } catch (SQLException e) {
+                log.error("Error when inserting to DB client notification.", e);
+            }
         }
     }
 
     /**
-     * Remove Donky client notifications from database.
+     * Remove Donky client notifications from database. All rows are deleted in a single transaction.
      *
      * @param clientNotifications Donky Client notifications to be removed.
      */
     public synchronized void removeNotifications(List<ClientNotification> clientNotifications) {
 
+        flush();
+
         if (clientNotifications != null && !clientNotifications.isEmpty()) {
 
             SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
 
-            String[] selectionArgs = new String[clientNotifications.size()];
+            db.beginTransaction();
 
-            for (int i = 0; i < clientNotifications.size(); i++) {
-                selectionArgs[i] = "'" + clientNotifications.get(i).getId() + "'";
-            }
+            try {
 
-            String args = TextUtils.join(", ", selectionArgs);
+                SQLiteStatement statement = getDeleteClientNotificationStatement(db);
 
-            db.execSQL(String.format("DELETE FROM " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME + " WHERE " + DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " IN (%s);", args));
+                for (ClientNotification clientNotification : clientNotifications) {
+
+                    if (clientNotification != null && clientNotification.getId() != null) {
+                        statement.clearBindings();
+                        statement.bindString(1, clientNotification.getId());
+                        statement.executeUpdateDelete();
+                    }
+                }
 
-            db.execSQL(String.format("DELETE FROM " + DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME + " WHERE " + DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " IS NULL;"));
+                db.execSQL(SQL_DELETE_CLIENT_NOTIFICATIONS_WITHOUT_ID);
 
+                db.setTransactionSuccessful();
+
+            } catch (SQLException e) {
+                log.error("Error when removing from DB client notifications.", e);
+            } finally {
+                db.endTransaction();
+            }
         }
     }
 
@@ -186,6 +449,10 @@ public class NotificationDAO {
      */
     public synchronized boolean isNotificationPending() {
 
+        if (!writeBuffer.isEmpty()) {
+            return true;
+        }
+
         SQLiteDatabase db = databaseSQLHelper.getReadableDatabase();
 
         if (db != null) {
@@ -211,17 +478,35 @@ public class NotificationDAO {
     }
 
     /**
-     * Add Donky content notifications to database.
+     * Add Donky content notifications to database. All rows are written in a single transaction.
      *
      * @param contentNotifications Donky content notifications to be saved.
      */
-    public void addContentNotifications(List<ContentNotification> contentNotifications) {
+    public synchronized void addContentNotifications(List<ContentNotification> contentNotifications) {
+
+        // Write queued notifications first to keep the order.
+        flush();
 
         if (contentNotifications != null && !contentNotifications.isEmpty()) {
+
             SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
 
-            for (ContentNotification contentNotification : contentNotifications) {
-                addContentNotification(db, contentNotification);
+            db.beginTransaction();
+
+            try {
+
+                SQLiteStatement statement = getInsertContentNotificationStatement(db);
+
+                for (ContentNotification contentNotification : contentNotifications) {
+                    addContentNotification(statement, contentNotification);
+                }
+
+                db.setTransactionSuccessful();
+
+            } catch (SQLException e) {
+                log.error("Error when inserting to DB content notifications.", e);
+            } finally {
+                db.endTransaction();
             }
         }
     }
@@ -231,83 +516,139 @@ public class NotificationDAO {
      *
      * @param contentNotification Donky content notifications to be saved.
      */
-    public void addContentNotification(ContentNotification contentNotification) {
+    public synchronized void addContentNotification(ContentNotification contentNotification) {
+
+        // Write queued notifications first to keep the order.
+        flush();
 
         if (contentNotification != null) {
 
             SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
-            addContentNotification(db, contentNotification);
 
+            try {
+                addContentNotification(getInsertContentNotificationStatement(db), contentNotification);
+            } catch (SQLException e) {
+                log.error("Error when inserting to DB content notification.", e);
+            }
         }
     }
 
     /**
      * Add Donky content notification to database.
      *
-     * @param db                  SQLite Database.
+     * @param statement           Compiled insert statement.
      * @param contentNotification Donky content notification to be added.
      */
-    private void addContentNotification(SQLiteDatabase db, ContentNotification contentNotification) {
+    private void addContentNotification(SQLiteStatement statement, ContentNotification contentNotification) {
 
         if (contentNotification != null) {
 
-            // New value for one column
-            ContentValues values = new ContentValues();
+            statement.clearBindings();
 
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_JSON_STRING, contentNotification.getJsonString());
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_TYPE, contentNotification.getBaseNotificationType());
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID, contentNotification.getId());
+            bindString(statement, 1, contentNotification.getBaseNotificationType());
+            bindString(statement, 2, contentNotification.getId());
+            bindString(statement, 3, contentNotification.getJsonString());
 
-            // Insert the new row, returning the primary key value of the new row
-            long newRowId;
-            newRowId = db.insert(
-                    DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME,
-                    null,
-                    values);
-
-            if (newRowId == -1) {
+            if (statement.executeInsert() == -1) {
                 log.error("Error when inserting to DB content notification.");
             }
-
         }
     }
 
     /**
      * Add single Donky client notification to database.
      *
-     * @param db                 SQLite Database.
+     * @param statement          Compiled insert statement.
      * @param clientNotification Donky Client notification to be saved.
      */
-    private synchronized void addClientNotification(SQLiteDatabase db, ClientNotification clientNotification) {
+    private void addClientNotification(SQLiteStatement statement, ClientNotification clientNotification) {
 
         if (clientNotification != null) {
 
-            // New value for one column
-            ContentValues values = new ContentValues();
+            statement.clearBindings();
 
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_TYPE, clientNotification.getBaseNotificationType());
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_ID, clientNotification.getId());
-            values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_NOTIFICATION_JSON_STRING, clientNotification.getJsonString());
+            bindString(statement, 1, clientNotification.getBaseNotificationType());
+            bindString(statement, 2, clientNotification.getId());
+            bindString(statement, 3, clientNotification.getJsonString());
 
-            if (clientNotification.getAcknowledgementDetail() != null) {
-                values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_ID, clientNotification.getAcknowledgementDetail().getServerNotificationId());
-                values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_TYPE, clientNotification.getAcknowledgementDetail().getType());
-                values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_RESULT, clientNotification.getAcknowledgementDetail().getResult());
-                values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_SENT_TIME, clientNotification.getAcknowledgementDetail().getSentTime());
-                values.put(DatabaseSQLContract.ClientNotificationEntry.COLUMN_NAME_ACK_NOTIFICATION_CUSTOM_NOTIFICATION_TYPE, clientNotification.getAcknowledgementDetail().getCustomNotificationType());
-            }
+            AcknowledgementDetail acknowledgementDetail = clientNotification.getAcknowledgementDetail();
 
-            // Insert the new row, returning the primary key value of the new row
-            long newRowId;
-            newRowId = db.insert(
-                    DatabaseSQLContract.ClientNotificationEntry.TABLE_NAME,
-                    null,
-                    values);
+            if (acknowledgementDetail != null) {
+                bindString(statement, 4, acknowledgementDetail.getServerNotificationId());
+                bindString(statement, 5, acknowledgementDetail.getType());
+                bindString(statement, 6, acknowledgementDetail.getResult());
+                bindString(statement, 7, acknowledgementDetail.getSentTime());
+                bindString(statement, 8, acknowledgementDetail.getCustomNotificationType());
+            }
 
-            if (newRowId == -1) {
+            if (statement.executeInsert() == -1) {
                 log.error("Error when inserting to DB client notification of type " + clientNotification.getBaseNotificationType());
             }
+        }
+    }
+
+    /**
+     * Bind string value or null to compiled statement.
+     *
+     * @param statement Compiled statement.
+     * @param index     1-based index of the parameter to bind.
+     * @param value     Value to bind.
+     */
+    private void bindString(SQLiteStatement statement, int index, String value) {
+        if (value != null) {
+            statement.bindString(index, value);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    /**
+     * Compiled statements are bound to the database instance they were created for so they are recompiled when the helper hands out a new one.
+     *
+     * @param db SQLite Database.
+     */
+    private void invalidateStatementsIfNeeded(SQLiteDatabase db) {
+
+        if (statementsDatabase != db) {
+
+            if (insertClientNotificationStatement != null) {
+                insertClientNotificationStatement.close();
+                insertClientNotificationStatement = null;
+            }
+            if (insertContentNotificationStatement != null) {
+                insertContentNotificationStatement.close();
+                insertContentNotificationStatement = null;
+            }
+            if (deleteClientNotificationStatement != null) {
+                deleteClientNotificationStatement.close();
+                deleteClientNotificationStatement = null;
+            }
+
+            statementsDatabase = db;
+        }
+    }
+
+    private SQLiteStatement getInsertClientNotificationStatement(SQLiteDatabase db) {
+        invalidateStatementsIfNeeded(db);
+        if (insertClientNotificationStatement == null) {
+            insertClientNotificationStatement = db.compileStatement(SQL_INSERT_CLIENT_NOTIFICATION);
+        }
+        return insertClientNotificationStatement;
+    }
+
+    private SQLiteStatement getInsertContentNotificationStatement(SQLiteDatabase db) {
+        invalidateStatementsIfNeeded(db);
+        if (insertContentNotificationStatement == null) {
+            insertContentNotificationStatement = db.compileStatement(SQL_INSERT_CONTENT_NOTIFICATION);
+        }
+        return insertContentNotificationStatement;
+    }
 
+    private SQLiteStatement getDeleteClientNotificationStatement(SQLiteDatabase db) {
+        invalidateStatementsIfNeeded(db);
+        if (deleteClientNotificationStatement == null) {
+            deleteClientNotificationStatement = db.compileStatement(SQL_DELETE_CLIENT_NOTIFICATION);
         }
+        return deleteClientNotificationStatement;
     }
-}
\ No newline at end of file
+}
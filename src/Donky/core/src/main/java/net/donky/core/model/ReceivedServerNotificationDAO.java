@@ -0,0 +1,152 @@
+package net.donky.core.model;
+
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import net.donky.core.logging.DLog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Database Access Object for ids of recently received server notifications, used to ignore notifications delivered twice e.g. by GCM and synchronisation.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ReceivedServerNotificationDAO {
+
+    private final DLog log;
+
+    private final DatabaseSQLHelper databaseSQLHelper;
+
+    private static final String SQL_INSERT_RECEIVED_SERVER_NOTIFICATION =
+            "INSERT OR REPLACE INTO " + DatabaseSQLContract.ReceivedServerNotificationEntry.TABLE_NAME + "(" +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + ", " +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP +
+                    ") VALUES (?, ?)";
+
+    /**
+     * Removes expired rows and all but the newest rows above the limit.
+     */
+    private static final String SQL_COMPACT_RECEIVED_SERVER_NOTIFICATIONS =
+            "DELETE FROM " + DatabaseSQLContract.ReceivedServerNotificationEntry.TABLE_NAME +
+                    " WHERE " + DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP + " < ?" +
+                    " OR " + DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " NOT IN (SELECT " +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_NOTIFICATION_ID + " FROM " +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.TABLE_NAME + " ORDER BY " +
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP + " DESC LIMIT ?)";
+
+    /**
+     * Database Access Object for ids of recently received server notifications.
+     *
+     * @param databaseSQLHelper Helper class instance to translate to SQL
+     */
+    public ReceivedServerNotificationDAO(DatabaseSQLHelper databaseSQLHelper) {
+        log = new DLog("ReceivedServerNotificationDAO");
+        this.databaseSQLHelper = databaseSQLHelper;
+    }
+
+    /**
+     * Gets the ids of received server notifications.
+     *
+     * @param minTimestamp Ids received before this timestamp are skipped.
+     * @param maxCount     Maximum number of the newest ids to return.
+     * @return Received server notification ids mapped to the time they were received, the oldest first.
+     */
+    public synchronized Map<String, Long> getReceivedNotificationIds(long minTimestamp, int maxCount) {
+
+        Map<String, Long> ids = new LinkedHashMap<>();
+
+        SQLiteDatabase db = databaseSQLHelper.getReadableDatabase();
+
+        Cursor cursor = null;
+
+        try {
+
+            cursor = db.query(
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.TABLE_NAME,
+                    new String[]{DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_NOTIFICATION_ID, DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP},
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP + " >= ?",
+                    new String[]{Long.toString(minTimestamp)},
+                    null,
+                    null,
+                    DatabaseSQLContract.ReceivedServerNotificationEntry.COLUMN_NAME_RECEIVED_TIMESTAMP + " DESC",
+                    Integer.toString(maxCount));
+
+            // Reversed so that the oldest id is first.
+            if (cursor.moveToLast()) {
+                do {
+                    ids.put(cursor.getString(0), cursor.getLong(1));
+                } while (cursor.moveToPrevious());
+            }
+
+        } catch (SQLException e) {
+            log.error("Error when reading received server notification ids from DB.", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * Save ids of received server notifications in a single transaction.
+     *
+     * @param ids Received server notification ids mapped to the time they were received.
+     */
+    public synchronized void addReceivedNotificationIds(Map<String, Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
+
+        db.beginTransaction();
+
+        SQLiteStatement statement = null;
+
+        try {
+
+            statement = db.compileStatement(SQL_INSERT_RECEIVED_SERVER_NOTIFICATION);
+
+            for (Map.Entry<String, Long> id : ids.entrySet()) {
+                statement.clearBindings();
+                statement.bindString(1, id.getKey());
+                statement.bindLong(2, id.getValue());
+                statement.executeInsert();
+            }
+
+            db.setTransactionSuccessful();
+
+        } catch (SQLException e) {
+            log.error("Error when saving received server notification ids to DB.", e);
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Remove ids received before given time and all but the newest ids above the limit.
+     *
+     * @param minTimestamp Ids received before this timestamp are removed.
+     * @param maxCount     Maximum number of the newest ids to keep.
+     */
+    public synchronized void compact(long minTimestamp, int maxCount) {
+
+        SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
+
+        try {
+            db.execSQL(SQL_COMPACT_RECEIVED_SERVER_NOTIFICATIONS, new Object[]{minTimestamp, maxCount});
+        } catch (SQLException e) {
+            log.error("Error when compacting received server notification ids in DB.", e);
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package net.donky.core.model;
 
-import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.os.Build;
 import android.text.TextUtils;
 
 import java.util.LinkedHashSet;
@@ -13,6 +10,7 @@ import java.util.TreeMap;
 
 /**
  * Base class for all Database Access Objects based on Android Shared Preferences.
+ * Values are read from an in-memory {@link SharedPreferencesSnapshot} and persisted asynchronously.
  *
  * Created by Marcin Swierczek
  * 25/02/2015
@@ -24,9 +22,12 @@ class SharedPreferencesBaseDAO {
 
     final Context context;
 
+    private final SharedPreferencesSnapshot snapshot;
+
     SharedPreferencesBaseDAO(Context context, String sharedPreferencesFileName) {
         this.sharedPreferencesFileName = sharedPreferencesFileName;
         this.context = context;
+        this.snapshot = SharedPreferencesSnapshot.get(context, sharedPreferencesFileName);
     }
 
     /**
@@ -36,10 +37,9 @@ class SharedPreferencesBaseDAO {
      * @param defaultValue Default value that should be used when no value was saved.
      * @return Setting from internal shared preferences file.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean getBoolean(String key, boolean defaultValue) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName,Context.MODE_PRIVATE);
-        return sharedPreferences.getBoolean(key, defaultValue);
+        Object value = snapshot.getValues().get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
     }
 
     /**
@@ -49,10 +49,9 @@ class SharedPreferencesBaseDAO {
      * @param defaultValue Default value returned if no entry was found.
      * @return Setting from internal shared preferences file.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     int getInteger(String key, int defaultValue) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        return sharedPreferences.getInt(key, defaultValue);
+        Object value = snapshot.getValues().get(key);
+        return value instanceof Integer ? (Integer) value : defaultValue;
     }
 
     /**
@@ -62,10 +61,9 @@ class SharedPreferencesBaseDAO {
      * @param defaultValue Default value returned if no entry was found.
      * @return Setting from internal shared preferences file.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     long getLong(String key, long defaultValue) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        return sharedPreferences.getLong(key, defaultValue);
+        Object value = snapshot.getValues().get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
     }
 
     /**
@@ -75,10 +73,22 @@ class SharedPreferencesBaseDAO {
      * @param defaultValue Default value that should be used when no value was saved.
      * @return Setting from internal shared preferences file.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     String getString(String key, String defaultValue) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(key, defaultValue);
+        Object value = snapshot.getValues().get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    /**
+     * Get set of Strings from internal shared preferences file.
+     *
+     * @param key          Key for preference entry.
+     * @param defaultValue Default value that should be used when no value was saved.
+     * @return Unmodifiable setting from internal shared preferences file.
+     */
+    @SuppressWarnings("unchecked")
+    Set<String> getStringSet(String key, Set<String> defaultValue) {
+        Object value = snapshot.getValues().get(key);
+        return value instanceof Set ? (Set<String>) value : defaultValue;
     }
 
     /**
@@ -86,14 +96,10 @@ class SharedPreferencesBaseDAO {
      *
      * @param key   Key for internal preference entry.
      * @param value Value for internal preference entry.
-     * @return Returns true if the new values were successfully written
+     * @return Always true, new values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean setBoolean(String key, boolean value) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putBoolean(key, value);
-        return editor.commit();
+        return edit().putBoolean(key, value).apply();
     }
 
     /**
@@ -101,14 +107,10 @@ class SharedPreferencesBaseDAO {
      *
      * @param key Key for shared preference entry.
      * @param value Value for shared preference entry.
-     * @return Returns true if the new values were successfully written
+     * @return Always true, new values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean setInteger(String key, int value) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putInt(key, value);
-        return editor.commit();
+        return edit().putInt(key, value).apply();
     }
 
     /**
@@ -116,14 +118,10 @@ class SharedPreferencesBaseDAO {
      *
      * @param key Key for shared preference entry.
      * @param value Value for shared preference entry.
-     * @return Returns true if the new values were successfully written
+     * @return Always true, new values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean setLong(String key, long value) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putLong(key, value);
-        return editor.commit();
+        return edit().putLong(key, value).apply();
     }
 
     /**
@@ -131,14 +129,10 @@ class SharedPreferencesBaseDAO {
      *
      * @param key   Key for internal preference entry.
      * @param value Value for internal preference entry.
-     * @return Returns true if the new values were successfully written
+     * @return Always true, new values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean setString(String key, String value) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(key, value);
-        return editor.commit();
+        return edit().putString(key, value).apply();
     }
 
     /**
@@ -147,17 +141,17 @@ class SharedPreferencesBaseDAO {
      * @param keyForKeySet Key identifying the dictionary in Shared Preferences file.
      * @return Dictionary saved in Shared Preferences file.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     TreeMap<String, String> getStringMap(String keyForKeySet) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
+
+        Map<String, Object> values = snapshot.getValues();
 
         TreeMap<String, String> additionalProperties = new TreeMap<>();
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-            Set<String> additionalPropertiesKeySet = sharedPreferences.getStringSet(keyForKeySet, null);
-            if (additionalPropertiesKeySet != null) {
-                for (String key : additionalPropertiesKeySet) {
-                    additionalProperties.put(key, sharedPreferences.getString(key, null));
-                }
+
+        Object additionalPropertiesKeySet = values.get(keyForKeySet);
+        if (additionalPropertiesKeySet instanceof Set) {
+            for (Object key : (Set<?>) additionalPropertiesKeySet) {
+                Object value = values.get(key);
+                additionalProperties.put((String) key, value instanceof String ? (String) value : null);
             }
         }
         return additionalProperties;
@@ -168,52 +162,44 @@ class SharedPreferencesBaseDAO {
      *
      * @param keyToObtainSetOfKeys Key used to identify dictionary in Shared Preferences file.
      * @param mapToAdd Dictionary to be saved.
-     * @return Returns true if the new values were successfully written
+     * @return Always true, new values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean setStringMap(String keyToObtainSetOfKeys, Map<String, String> mapToAdd) {
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+        synchronized (snapshot) {
 
-            SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
+            SharedPreferencesSnapshot.Edit edit = edit();
 
-            SharedPreferences.Editor editor = sharedPreferences.edit();
-
-            Set<String> additionalPropertiesKeySet = sharedPreferences.getStringSet(keyToObtainSetOfKeys, null);
+            Set<String> additionalPropertiesKeySet = getStringSet(keyToObtainSetOfKeys, null);
 
             if (additionalPropertiesKeySet != null) {
 
                 for (String key : additionalPropertiesKeySet) {
 
-                    editor.remove(key);
+                    edit.remove(key);
 
                 }
 
             }
 
-            editor.putStringSet(keyToObtainSetOfKeys, null);
+            edit.remove(keyToObtainSetOfKeys);
 
             if (mapToAdd != null) {
 
                 Set<String> keySet = mapToAdd.keySet();
 
-                editor.putStringSet(keyToObtainSetOfKeys, keySet);
+                edit.putStringSet(keyToObtainSetOfKeys, keySet);
 
                 for (String key : keySet) {
 
-                    editor.putString(key, mapToAdd.get(key));
+                    edit.putString(key, mapToAdd.get(key));
 
                 }
 
             }
 
-
-            return editor.commit();
-
+            return edit.apply();
         }
-
-        return false;
-
     }
 
     /**
@@ -222,22 +208,21 @@ class SharedPreferencesBaseDAO {
      * @param keyToObtainSetOfKeys Key used to identify dictionary in Shared Preferences file.
      * @param key Key for dictionary entry to save.
      * @param value Value for dictionary entry to save.
-     * @return Returns true if the new values were successfully written
+     * @return False if there was nothing to add, otherwise true. New values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean addToStringMap(String keyToObtainSetOfKeys, String key, String value) {
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && !TextUtils.isEmpty(key)) {
-            SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-            Set<String> newSetOfKeys = sharedPreferences.getStringSet(keyToObtainSetOfKeys, new LinkedHashSet<String>());
-            newSetOfKeys.add(key);
+        if (!TextUtils.isEmpty(key)) {
 
-            SharedPreferences.Editor editor = sharedPreferences.edit();
+            synchronized (snapshot) {
 
-            editor.putStringSet(keyToObtainSetOfKeys, newSetOfKeys);
-            editor.putString(key, value);
+                Set<String> newSetOfKeys = new LinkedHashSet<>(getStringSet(keyToObtainSetOfKeys, new LinkedHashSet<String>()));
+                newSetOfKeys.add(key);
 
-            return editor.commit();
+                return edit().putStringSet(keyToObtainSetOfKeys, newSetOfKeys)
+                        .putString(key, value)
+                        .apply();
+            }
         }
         return false;
     }
@@ -247,28 +232,42 @@ class SharedPreferencesBaseDAO {
      *
      * @param keyToObtainSetOfKeys Key used to identify dictionary in Shared Preferences file.
      * @param mapToAdd Dictionary to be saved.
-     * @return Returns true if the new values were successfully written
+     * @return False if there was nothing to add, otherwise true. New values are visible immediately and written to disk in the background.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     boolean addToStringMap(String keyToObtainSetOfKeys, Map<String, String> mapToAdd) {
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && mapToAdd != null) {
+        if (mapToAdd != null) {
 
-            SharedPreferences sharedPreferences = context.getSharedPreferences(sharedPreferencesFileName, Context.MODE_PRIVATE);
-            Set<String> newSetOfKeys = sharedPreferences.getStringSet(keyToObtainSetOfKeys, new LinkedHashSet<String>());
-            SharedPreferences.Editor editor = sharedPreferences.edit();
+            synchronized (snapshot) {
 
-            for (String key : mapToAdd.keySet()) {
-                newSetOfKeys.add(key);
-                editor.putString(key, mapToAdd.get(key));
-            }
+                Set<String> newSetOfKeys = new LinkedHashSet<>(getStringSet(keyToObtainSetOfKeys, new LinkedHashSet<String>()));
+                SharedPreferencesSnapshot.Edit edit = edit();
+
+                for (String key : mapToAdd.keySet()) {
+                    newSetOfKeys.add(key);
+                    edit.putString(key, mapToAdd.get(key));
+                }
 
-            editor.putStringSet(keyToObtainSetOfKeys, newSetOfKeys);
-            return editor.commit();
+                return edit.putStringSet(keyToObtainSetOfKeys, newSetOfKeys).apply();
+            }
         }
         return false;
     }
 
+    /**
+     * @return New batch of changes to this Shared Preferences file. Changes are visible immediately after {@link SharedPreferencesSnapshot.Edit#apply()} and written to disk asynchronously.
+     */
+    SharedPreferencesSnapshot.Edit edit() {
+        return snapshot.edit();
+    }
+
+    /**
+     * @return Current unmodifiable values of this Shared Preferences file.
+     */
+    Map<String, Object> getValues() {
+        return snapshot.getValues();
+    }
+
     /**
      * @return File name where Shared Preferences are being stored.
      */
@@ -0,0 +1,184 @@
+package net.donky.core.model;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable in-memory copy of a single Shared Preferences file. Reads are served from the snapshot without touching Shared Preferences,
+ * updates replace the snapshot atomically and are persisted asynchronously with {@link SharedPreferences.Editor#apply()}.
+ * One instance is kept per file so all Database Access Objects using the same file see the same data.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class SharedPreferencesSnapshot {
+
+    private static final ConcurrentHashMap<String, SharedPreferencesSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final SharedPreferences sharedPreferences;
+
+    /**
+     * Current unmodifiable values. Replaced as a whole on every update.
+     */
+    private volatile Map<String, Object> values;
+
+    /**
+     * Get the snapshot of given Shared Preferences file.
+     *
+     * @param context  Application context.
+     * @param fileName Shared Preferences file name.
+     * @return Snapshot of the file.
+     */
+    static SharedPreferencesSnapshot get(Context context, String fileName) {
+
+        SharedPreferencesSnapshot snapshot = snapshots.get(fileName);
+
+        if (snapshot == null) {
+
+            snapshot = new SharedPreferencesSnapshot(context.getSharedPreferences(fileName, Context.MODE_PRIVATE));
+
+            SharedPreferencesSnapshot existing = snapshots.putIfAbsent(fileName, snapshot);
+
+            if (existing != null) {
+                snapshot = existing;
+            }
+        }
+
+        return snapshot;
+    }
+
+    private SharedPreferencesSnapshot(SharedPreferences sharedPreferences) {
+
+        this.sharedPreferences = sharedPreferences;
+
+        Map<String, Object> initialValues = new HashMap<>();
+
+        for (Map.Entry<String, ?> entry : sharedPreferences.getAll().entrySet()) {
+            initialValues.put(entry.getKey(), immutableValue(entry.getValue()));
+        }
+
+        this.values = Collections.unmodifiableMap(initialValues);
+    }
+
+    /**
+     * @return Current unmodifiable values. The returned map never changes, later updates are visible in the next call.
+     */
+    Map<String, Object> getValues() {
+        return values;
+    }
+
+    /**
+     * @return New batch of changes to apply to this snapshot.
+     */
+    Edit edit() {
+        return new Edit();
+    }
+
+    /**
+     * Apply batch of changes. Values set to null are removed.
+     *
+     * @param changes Changes to apply.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    @SuppressWarnings("unchecked")
+    private synchronized void apply(Map<String, Object> changes) {
+
+        Map<String, Object> updatedValues = new HashMap<>(values);
+
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+
+            String key = change.getKey();
+            Object value = change.getValue();
+
+            if (value == null) {
+                updatedValues.remove(key);
+                editor.remove(key);
+            } else {
+                updatedValues.put(key, value);
+                if (value instanceof String) {
+                    editor.putString(key, (String) value);
+                } else if (value instanceof Boolean) {
+                    editor.putBoolean(key, (Boolean) value);
+                } else if (value instanceof Integer) {
+                    editor.putInt(key, (Integer) value);
+                } else if (value instanceof Long) {
+                    editor.putLong(key, (Long) value);
+                } else if (value instanceof Set) {
+                    editor.putStringSet(key, (Set<String>) value);
+                }
+            }
+        }
+
+        values = Collections.unmodifiableMap(updatedValues);
+
+        // Applied while holding the lock so the order of writes on disk is the same as in memory.
+        editor.apply();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object immutableValue(Object value) {
+        if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<String>) value));
+        }
+        return value;
+    }
+
+    /**
+     * Batch of changes applied to the snapshot and persisted together.
+     */
+    class Edit {
+
+        private final Map<String, Object> changes = new LinkedHashMap<>();
+
+        Edit putString(String key, String value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        Edit putBoolean(String key, boolean value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        Edit putInt(String key, int value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        Edit putLong(String key, long value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        Edit putStringSet(String key, Set<String> value) {
+            changes.put(key, value != null ? immutableValue(value) : null);
+            return this;
+        }
+
+        Edit remove(String key) {
+            changes.put(key, null);
+            return this;
+        }
+
+        /**
+         * Update the snapshot and schedule writing the changes to the Shared Preferences file.
+         *
+         * @return Always true, the changes are written to disk asynchronously.
+         */
+        boolean apply() {
+            SharedPreferencesSnapshot.this.apply(changes);
+            return true;
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package net.donky.core.model;
 
-import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.os.Build;
 
 import net.donky.core.ModuleDefinition;
 
@@ -46,16 +43,14 @@ public class SoftwareVersionsDAO extends SharedPreferencesBaseDAO {
      * @param sdkVersion
      * @param moduleVersions
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public boolean setSoftwareVersions(String operatingSystemVersion, String sdkVersion, Map<String, String> moduleVersions) {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(getSharedPreferencesFileName(), Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
+        SharedPreferencesSnapshot.Edit edit = edit();
 
-        editor.putString(KEY_OS_VERSION, operatingSystemVersion)
+        edit.putString(KEY_OS_VERSION, operatingSystemVersion)
                 .putString(KEY_SDK_VERSION, sdkVersion);
 
-        return editor.commit() && setStringMap(KEY_MODULE_VERSIONS_KEY_SET, moduleVersions);
+        return edit.apply() && setStringMap(KEY_MODULE_VERSIONS_KEY_SET, moduleVersions);
     }
 
     /**
@@ -65,13 +60,11 @@ public class SoftwareVersionsDAO extends SharedPreferencesBaseDAO {
      * @param sdkVersion
      * @param modules
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public boolean setSoftwareVersions(String operatingSystemVersion, String sdkVersion, List<ModuleDefinition> modules) {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(getSharedPreferencesFileName(), Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
+        SharedPreferencesSnapshot.Edit edit = edit();
 
-        editor.putString(KEY_SDK_VERSION, operatingSystemVersion)
+        edit.putString(KEY_SDK_VERSION, operatingSystemVersion)
                 .putString(KEY_OS_VERSION, sdkVersion);
 
         Map<String, String> newModulesVersions = new TreeMap<>();
@@ -79,7 +72,7 @@ public class SoftwareVersionsDAO extends SharedPreferencesBaseDAO {
             newModulesVersions.put(moduleDefinition.getName(), moduleDefinition.getVersion());
         }
 
-        return editor.commit() && setStringMap(KEY_MODULE_VERSIONS_KEY_SET, newModulesVersions);
+        return edit.apply() && setStringMap(KEY_MODULE_VERSIONS_KEY_SET, newModulesVersions);
     }
 
 
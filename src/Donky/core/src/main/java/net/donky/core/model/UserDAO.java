@@ -1,12 +1,12 @@
 package net.donky.core.model;
 
-import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.os.Build;
 
 import net.donky.core.account.UserDetails;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Database Access Object for all user registration data.
  *
@@ -45,25 +45,24 @@ public class UserDAO extends SharedPreferencesBaseDAO {
     /**
      * @return Information about current user.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public UserDetails getUserDetails() {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(getSharedPreferencesFileName(), Context.MODE_PRIVATE);
-
         UserDetails user = new UserDetails();
 
-        user.setUserId(sharedPreferences.getString(KEY_USER_ID, null))
-                .setUserDisplayName(sharedPreferences.getString(KEY_USER_DISPLAY_NAME, null))
-                .setUserFirstName(sharedPreferences.getString(KEY_USER_FIRST_NAME, null))
-                .setUserLastName(sharedPreferences.getString(KEY_USER_LAST_NAME, null))
-                .setUserMobileNumber(sharedPreferences.getString(KEY_USER_PHONE_NUMBER, null))
-                .setCountryCode(sharedPreferences.getString(KEY_USER_COUNTRY_CODE, null))
-                .setUserEmailAddress(sharedPreferences.getString(KEY_USER_EMAIL_ADDRESS, null))
-                .setUserAvatarId(sharedPreferences.getString(KEY_USER_AVATAR_ID, null))
-                .setAnonymous(sharedPreferences.getBoolean(KEY_USER_IS_ANONYMOUS, true))
-                .setSelectedTags(sharedPreferences.getStringSet(KEY_USER_SELECTED_TAGS, null))
+        Set<String> selectedTags = getStringSet(KEY_USER_SELECTED_TAGS, null);
+
+        user.setUserId(getString(KEY_USER_ID, null))
+                .setUserDisplayName(getString(KEY_USER_DISPLAY_NAME, null))
+                .setUserFirstName(getString(KEY_USER_FIRST_NAME, null))
+                .setUserLastName(getString(KEY_USER_LAST_NAME, null))
+                .setUserMobileNumber(getString(KEY_USER_PHONE_NUMBER, null))
+                .setCountryCode(getString(KEY_USER_COUNTRY_CODE, null))
+                .setUserEmailAddress(getString(KEY_USER_EMAIL_ADDRESS, null))
+                .setUserAvatarId(getString(KEY_USER_AVATAR_ID, null))
+                .setAnonymous(getBoolean(KEY_USER_IS_ANONYMOUS, true))
+                .setSelectedTags(selectedTags != null ? new HashSet<>(selectedTags) : null)
                 .setUserAdditionalProperties(getStringMap(KEY_USER_ADDITIONAL_PROPERTIES_KEY_SET))
-                .setLastUpdated(sharedPreferences.getLong(KEY_USER_LAST_UPDATED, 0));
+                .setLastUpdated(getLong(KEY_USER_LAST_UPDATED, 0));
 
         return user;
     }
@@ -73,13 +72,11 @@ public class UserDAO extends SharedPreferencesBaseDAO {
      *
      * @param user {@link UserDetails} instance.
      */
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public boolean setUserDetails(UserDetails user) {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(getSharedPreferencesFileName(), Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
+        SharedPreferencesSnapshot.Edit edit = edit();
 
-        editor.putString(KEY_USER_ID, user.getUserId())
+        edit.putString(KEY_USER_ID, user.getUserId())
                 .putString(KEY_USER_DISPLAY_NAME, user.getUserDisplayName())
                 .putString(KEY_USER_FIRST_NAME, user.getUserFirstName())
                 .putString(KEY_USER_LAST_NAME, user.getUserLastName())
@@ -91,7 +88,7 @@ public class UserDAO extends SharedPreferencesBaseDAO {
                 .putStringSet(KEY_USER_SELECTED_TAGS, user.getSelectedTags())
                 .putLong(KEY_USER_LAST_UPDATED, user.getLastUpdated());
 
-        return editor.commit() && setStringMap(KEY_USER_ADDITIONAL_PROPERTIES_KEY_SET, user.getUserAdditionalProperties());
+        return edit.apply() && setStringMap(KEY_USER_ADDITIONAL_PROPERTIES_KEY_SET, user.getUserAdditionalProperties());
 
     }
 
@@ -0,0 +1,71 @@
+package net.donky.core.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.helpers.GsonHelper;
+
+import java.io.IOException;
+
+/**
+ * Type adapter reading and writing {@link AcknowledgementDetail} without reflection.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class AcknowledgementDetailTypeAdapter extends TypeAdapter<AcknowledgementDetail> {
+
+    @Override
+    public void write(JsonWriter out, AcknowledgementDetail value) throws IOException {
+
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("serverNotificationId").value(value.getServerNotificationId());
+        out.name("result").value(value.getResult());
+        out.name("sentTime").value(value.getSentTime());
+        out.name("type").value(value.getType());
+        out.name("customNotificationType").value(value.getCustomNotificationType());
+        out.endObject();
+    }
+
+    @Override
+    public AcknowledgementDetail read(JsonReader in) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        AcknowledgementDetail acknowledgementDetail = new AcknowledgementDetail();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+
+            String name = in.nextName();
+
+            if ("serverNotificationId".equals(name)) {
+                acknowledgementDetail.setServerNotificationId(GsonHelper.readString(in));
+            } else if ("result".equals(name)) {
+                acknowledgementDetail.setResult(GsonHelper.readString(in));
+            } else if ("sentTime".equals(name)) {
+                acknowledgementDetail.setSentTime(GsonHelper.readString(in));
+            } else if ("type".equals(name)) {
+                acknowledgementDetail.setType(GsonHelper.readString(in));
+            } else if ("customNotificationType".equals(name)) {
+                acknowledgementDetail.setCustomNotificationType(GsonHelper.readString(in));
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return acknowledgementDetail;
+    }
+}
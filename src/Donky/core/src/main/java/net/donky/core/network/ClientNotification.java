@@ -1,9 +1,8 @@
 package net.donky.core.network;
 
-import com.google.gson.Gson;
-
 import net.donky.core.DonkyException;
 import net.donky.core.Notification;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.helpers.IdHelper;
 
 import org.json.JSONException;
@@ -35,6 +34,11 @@ public class ClientNotification  extends Notification {
      */
     protected JSONObject data;
 
+    /**
+     * The Json string of client notification restored from the database. Parsed to {@link #data} only when needed.
+     */
+    private String jsonString;
+
     /**
      * Details of a notification being acknowledged
      */
@@ -85,11 +89,9 @@ public class ClientNotification  extends Notification {
 
         JSONObject jsonObject = new JSONObject();
 
-        Gson gson = new Gson();
-
         try {
             jsonObject.put("type", Type.Acknowledgement.toString());
-            jsonObject.put("acknowledgementDetail", new JSONObject(gson.toJson(acknowledgementDetail)));
+            jsonObject.put("acknowledgementDetail", new JSONObject(GsonHelper.getGson().toJson(acknowledgementDetail)));
 
         } catch (JSONException e) {
             e.printStackTrace();
@@ -114,16 +116,7 @@ public class ClientNotification  extends Notification {
 
         ClientNotification clientNotification = new ClientNotification(type, id);
 
-        try {
-
-            clientNotification.data = new JSONObject(json);
-
-        } catch (JSONException e) {
-
-            DonkyException exception = new DonkyException("Error converting json string.");
-            exception.initCause(e);
-
-        }
+        clientNotification.jsonString = json;
 
         clientNotification.acknowledgementDetail = acknowledgementDetail;
 
@@ -137,10 +130,28 @@ public class ClientNotification  extends Notification {
      * @return Json string
      */
     public String getJsonString() {
-        return data.toString();
+        if (jsonString != null) {
+            return jsonString;
+        }
+        return data != null ? data.toString() : null;
     }
 
     public JSONObject getJson() {
+
+        if (data == null && jsonString != null) {
+
+            try {
+
+                data = new JSONObject(jsonString);
+
+            } catch (JSONException e) {
+
+                DonkyException exception = new DonkyException("Error converting json string.");
+                exception.initCause(e);
+
+            }
+        }
+
         return data;
     }
 
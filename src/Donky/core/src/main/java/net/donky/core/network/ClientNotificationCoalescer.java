@@ -0,0 +1,188 @@
+package net.donky.core.network;
+
+import net.donky.core.logging.DLog;
+import net.donky.core.model.DonkyDataController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses redundant queued client notifications using rules registered by modules, before the queue is sent to the network.
+ * Collapsed notifications are removed from the database.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ClientNotificationCoalescer {
+
+    private final DLog log;
+
+    private final CopyOnWriteArrayList<ClientNotificationMergeRule> rules;
+
+    private final AtomicLong collapsedNotificationsCount;
+
+    // Private constructor. Prevents instantiation from other classes.
+    private ClientNotificationCoalescer() {
+        log = new DLog("ClientNotificationCoalescer");
+        rules = new CopyOnWriteArrayList<>();
+        collapsedNotificationsCount = new AtomicLong(0);
+    }
+
+    /**
+     * Initializes singleton.
+     *
+     * SingletonHolder is loaded on the first execution of Singleton.getInstance()
+     * or the first access to SingletonHolder.INSTANCE, not before.
+     */
+    private static class SingletonHolder {
+        private static final ClientNotificationCoalescer INSTANCE = new ClientNotificationCoalescer();
+    }
+
+    /**
+     * @return Instance of Client Notification Coalescer singleton.
+     */
+    public static ClientNotificationCoalescer getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Register rule for collapsing client notifications of given types.
+     *
+     * @param rule Rule to register.
+     */
+    public void registerRule(ClientNotificationMergeRule rule) {
+        if (rule != null && !rules.contains(rule)) {
+            rules.add(rule);
+        }
+    }
+
+    /**
+     * Remove rule for collapsing client notifications.
+     *
+     * @param rule Rule to remove.
+     */
+    public void unregisterRule(ClientNotificationMergeRule rule) {
+        rules.remove(rule);
+    }
+
+    /**
+     * @return Total number of client notifications collapsed since the application start.
+     */
+    public long getCollapsedNotificationsCount() {
+        return collapsedNotificationsCount.get();
+    }
+
+    /**
+     * Collapse redundant client notifications. Collapsed notifications are removed from the database.
+     *
+     * @param clientNotifications Queued client notifications in the order they were queued.
+     * @return Client notifications that should be sent, in the order they were queued.
+     */
+    public List<ClientNotification> coalesce(List<ClientNotification> clientNotifications) {
+
+        if (rules.isEmpty() || clientNotifications == null || clientNotifications.size() < 2) {
+            return clientNotifications;
+        }
+
+        Map<String, List<ClientNotificationMergeRule>> rulesByType = new HashMap<>();
+
+        for (ClientNotificationMergeRule rule : rules) {
+            for (String type : rule.getNotificationTypes()) {
+                List<ClientNotificationMergeRule> rulesForType = rulesByType.get(type);
+                if (rulesForType == null) {
+                    rulesForType = new LinkedList<>();
+                    rulesByType.put(type, rulesForType);
+                }
+                rulesForType.add(rule);
+            }
+        }
+
+        // Collapsed slots are set to null.
+        List<ClientNotification> kept = new ArrayList<>(clientNotifications.size());
+
+        List<ClientNotification> collapsed = new LinkedList<>();
+
+        Map<ClientNotificationMergeRule, Map<String, Integer>> keptIndexes = new HashMap<>();
+
+        for (ClientNotification notification : clientNotifications) {
+
+            List<ClientNotificationMergeRule> rulesForType = rulesByType.get(notification.getBaseNotificationType());
+
+            boolean isCollapsed = false;
+
+            // Keys are recorded only once the notification is kept, so no rule points at a slot that belongs to another notification.
+            Map<ClientNotificationMergeRule, String> keys = new HashMap<>();
+
+            if (rulesForType != null) {
+
+                for (ClientNotificationMergeRule rule : rulesForType) {
+
+                    String key = rule.getKey(notification);
+
+                    if (key == null) {
+                        continue;
+                    }
+
+                    Map<String, Integer> indexes = keptIndexes.get(rule);
+
+                    Integer index = indexes != null ? indexes.get(key) : null;
+
+                    if (index != null) {
+
+                        ClientNotification earlier = kept.get(index);
+
+                        ClientNotification merged = earlier != null ? rule.merge(earlier, notification) : null;
+
+                        if (merged == earlier && merged != null) {
+                            collapsed.add(notification);
+                            isCollapsed = true;
+                            break;
+                        } else if (merged == notification) {
+                            collapsed.add(earlier);
+                            kept.set(index, null);
+                        }
+                    }
+
+                    keys.put(rule, key);
+                }
+            }
+
+            if (!isCollapsed) {
+
+                for (Map.Entry<ClientNotificationMergeRule, String> entry : keys.entrySet()) {
+                    Map<String, Integer> indexes = keptIndexes.get(entry.getKey());
+                    if (indexes == null) {
+                        indexes = new HashMap<>();
+                        keptIndexes.put(entry.getKey(), indexes);
+                    }
+                    indexes.put(entry.getValue(), kept.size());
+                }
+
+                kept.add(notification);
+            }
+        }
+
+        if (collapsed.isEmpty()) {
+            return clientNotifications;
+        }
+
+        List<ClientNotification> result = new LinkedList<>();
+        for (ClientNotification notification : kept) {
+            if (notification != null) {
+                result.add(notification);
+            }
+        }
+
+        DonkyDataController.getInstance().getNotificationDAO().removeNotifications(collapsed);
+
+        collapsedNotificationsCount.addAndGet(collapsed.size());
+
+        log.debug("Collapsed %d of %d client notifications.", collapsed.size(), clientNotifications.size());
+
+        return result;
+    }
+}
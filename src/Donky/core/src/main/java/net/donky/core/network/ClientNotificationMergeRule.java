@@ -0,0 +1,50 @@
+package net.donky.core.network;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Rule used by {@link ClientNotificationCoalescer} to collapse redundant queued client notifications before they are sent to the network.
+ * Modules register rules for the client notification types they introduce.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public abstract class ClientNotificationMergeRule {
+
+    private final Set<String> notificationTypes;
+
+    /**
+     * Rule used to collapse redundant queued client notifications.
+     *
+     * @param notificationTypes Client notification types this rule applies to.
+     */
+    public ClientNotificationMergeRule(String... notificationTypes) {
+        this.notificationTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(notificationTypes)));
+    }
+
+    /**
+     * @return Client notification types this rule applies to.
+     */
+    public Set<String> getNotificationTypes() {
+        return notificationTypes;
+    }
+
+    /**
+     * Only notifications with equal keys are offered to {@link #merge(ClientNotification, ClientNotification)}.
+     *
+     * @param notification Queued client notification of one of the types this rule applies to.
+     * @return Key identifying notifications that may be merged e.g. message id, or null if this notification should never be merged.
+     */
+    public abstract String getKey(ClientNotification notification);
+
+    /**
+     * Merge two queued client notifications with equal keys.
+     *
+     * @param earlier Notification queued earlier.
+     * @param later   Notification queued later.
+     * @return The notification to send in place of both, which has to be either earlier or later. Null if both should be sent.
+     */
+    public abstract ClientNotification merge(ClientNotification earlier, ClientNotification later);
+}
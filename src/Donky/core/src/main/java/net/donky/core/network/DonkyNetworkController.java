@@ -19,11 +19,12 @@ import net.donky.core.DonkyException;
 import net.donky.core.DonkyListener;
 import net.donky.core.DonkyResultListener;
 import net.donky.core.account.DonkyAccountController;
+import net.donky.core.events.ApplicationStopEvent;
+import net.donky.core.events.DonkyEventListener;
 import net.donky.core.events.NetworkStateChangedEvent;
 import net.donky.core.helpers.DateAndTimeHelper;
 import net.donky.core.lifecycle.LifeCycleObserver;
 import net.donky.core.logging.DLog;
-import net.donky.core.model.ConfigurationDAO;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.assets.AssetType;
 import net.donky.core.network.content.ContentNotification;
@@ -67,7 +68,6 @@ import net.donky.core.settings.AppSettings;
 import org.json.JSONException;
 
 import java.io.File;
-import java.util.ArrayDeque;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -76,6 +76,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -90,6 +91,8 @@ public class DonkyNetworkController {
 
     private final SynchronisationManager synchronisationManager;
 
+    private final SynchronisationScheduler synchronisationScheduler;
+
     private SignalRController signalRController;
 
     private Handler mainThreadHandler;
@@ -113,15 +116,44 @@ public class DonkyNetworkController {
 
     private BroadcastReceiver connectivityChangesBroadcastReceiver;
 
-    private final ArrayDeque<String> lastNotificationsBuffer;
+    private final ServerNotificationIdFilter receivedNotificationIds;
 
     // Private constructor. Prevents instantiation from other classes.
     private DonkyNetworkController() {
         log = new DLog("NetworkController");
         synchronisationManager = new SynchronisationManager();
+        synchronisationScheduler = new SynchronisationScheduler(new SynchronisationScheduler.SynchronisationPerformer() {
+
+            @Override
+            public boolean isInternetConnectionAvailable() {
+                // Before the controller is initialised the synchronisation will be canceled anyway.
+                return context == null || DonkyNetworkController.this.isInternetConnectionAvailable();
+            }
+
+            @Override
+            public long getLastNotificationExchangeTimestamp() {
+                return synchronisationManager.getLastNotificationExchangeTimestamp();
+            }
+
+            @Override
+            public boolean canRetry() {
+                return DonkyCore.isInitialised() && DonkyAccountController.getInstance().isRegistered() && !DonkyAccountController.getInstance().isUserSuspended()
+                        && LifeCycleObserver.getInstance().isApplicationForegrounded();
+            }
+
+            @Override
+            public void synchronise(DonkyListener donkyListener) {
+                synchronisationManager.synchronise(donkyListener);
+            }
+
+            @Override
+            public void synchroniseSynchronously() {
+                synchronisationManager.synchroniseSynchronously();
+            }
+        });
         connectionType = ConnectionType.NOT_CONNECTED;
         mainThreadHandler = new Handler(Looper.getMainLooper());
-        lastNotificationsBuffer = new ArrayDeque<>();
+        receivedNotificationIds = new ServerNotificationIdFilter();
     }
 
     /**
@@ -151,6 +183,12 @@ public class DonkyNetworkController {
         this.apiKey = apiKey;
         signalRController = (SignalRController) DonkyCore.getInstance().getService(SignalRController.SERVICE_NAME);
         registerForConnectivityChanges();
+        DonkyCore.subscribeToLocalEvent(new DonkyEventListener<ApplicationStopEvent>(ApplicationStopEvent.class) {
+            @Override
+            public void onDonkyEvent(ApplicationStopEvent event) {
+                synchronisationScheduler.cancelRetries();
+            }
+        });
     }
 
     /**
@@ -174,19 +212,43 @@ public class DonkyNetworkController {
 
     /**
      * Performs a notification synchronisation. This method is non-blocking.
+     * Synchronisation requests received in a short time are performed as a single notification exchange, see {@link SynchronisationScheduler}.
      */
     public void synchronise() {
-        synchronisationManager.synchronise(null);
+        synchronisationScheduler.trigger(null);
     }
 
+    /**
+     * Performs a notification synchronisation. This method is non-blocking.
+     * Synchronisation requests received in a short time are performed as a single notification exchange, see {@link SynchronisationScheduler}.
+     *
+     * @param donkyListener Callback to be invoked when completed.
+     */
     public void synchronise(DonkyListener donkyListener) {
-        synchronisationManager.synchronise(donkyListener);
+        synchronisationScheduler.trigger(donkyListener);
+    }
+
+    /**
+     * @return Scheduler of notification synchronisation triggers.
+     */
+    public SynchronisationScheduler getSynchronisationScheduler() {
+        return synchronisationScheduler;
     }
 
     public void synchroniseSynchronously() {
         synchronisationManager.synchroniseSynchronously();
     }
 
+    /**
+     * Performs a notification synchronisation. This method is non-blocking.
+     * If the synchronisation is already in progress the returned future completes together with it.
+     *
+     * @return Future completed when the synchronisation finishes. Its get() methods are blocking and should not be called from the main thread.
+     */
+    public SynchronisationFuture synchroniseWithFuture() {
+        return synchronisationManager.synchroniseWithFuture();
+    }
+
     /**
      * Gets a specific server notification from the network
      *
@@ -227,16 +289,7 @@ public class DonkyNetworkController {
     }
 
     private Integer getCustomContentMaxSizeBytes() {
-
-        String customContentMaxSizeBytes = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_CustomContentMaxSizeBytes);
-
-        if (!TextUtils.isEmpty(customContentMaxSizeBytes)) {
-
-            return Integer.parseInt(customContentMaxSizeBytes);
-
-        }
-
-        return null;
+        return DonkyDataController.getInstance().getConfigurationDAO().getCustomContentMaxSizeBytes();
     }
 
     private boolean isContentNotificationRespectingSizeLimit(Integer customContentMaxSizeBytes, ContentNotification contentNotification) {
@@ -288,7 +341,7 @@ public class DonkyNetworkController {
                 for (ContentNotification notification : contentNotifications) {
 
                     if (isContentNotificationRespectingSizeLimit(sizeLimit, notification)) {
-                        DonkyDataController.getInstance().getNotificationDAO().addContentNotification(notification);
+                        DonkyDataController.getInstance().getNotificationDAO().queueContentNotification(notification);
                     } else {
                         validationResult.addFailure(notification, ValidationResult.REASON_SIZE_LIMIT_EXCEEDED);
                     }
@@ -299,7 +352,7 @@ public class DonkyNetworkController {
 
         } else {
 
-            DonkyDataController.getInstance().getNotificationDAO().addContentNotifications(contentNotifications);
+            DonkyDataController.getInstance().getNotificationDAO().queueContentNotifications(contentNotifications);
 
         }
 
@@ -320,7 +373,7 @@ public class DonkyNetworkController {
             if (isContentNotificationRespectingSizeLimit(getCustomContentMaxSizeBytes(), contentNotification)) {
 
                 if (DonkyAccountController.getInstance().isRegistered()) {
-                    DonkyDataController.getInstance().getNotificationDAO().addContentNotification(contentNotification);
+                    DonkyDataController.getInstance().getNotificationDAO().queueContentNotification(contentNotification);
                 } else {
                     log.warning("User not registered. Content notifications will not be queued.");
                 }
@@ -391,7 +444,7 @@ public class DonkyNetworkController {
      */
     public void queueClientNotifications(List<ClientNotification> clientNotifications) {
         if (DonkyAccountController.getInstance().isRegistered()) {
-            DonkyDataController.getInstance().getNotificationDAO().addNotifications(clientNotifications);
+            DonkyDataController.getInstance().getNotificationDAO().queueNotifications(clientNotifications);
         } else {
             log.warning("User not registered. Client notifications will not be queued.");
         }
@@ -404,7 +457,7 @@ public class DonkyNetworkController {
      */
     public void queueClientNotification(ClientNotification clientNotification) {
         if (DonkyAccountController.getInstance().isRegistered()) {
-            DonkyDataController.getInstance().getNotificationDAO().addNotification(clientNotification);
+            DonkyDataController.getInstance().getNotificationDAO().queueNotification(clientNotification);
         } else {
             log.warning("User not registered. Client notification will not be queued.");
         }
@@ -1161,10 +1214,7 @@ public class DonkyNetworkController {
 
                             DonkyCore.publishLocalEvent(new NetworkStateChangedEvent(isNetworkConnected, connectionType));
 
-                            if (synchronisationManager.getLastNotificationExchangeTimestamp() > AppSettings.getInstance().getSyncDelaySeconds() &&
-                                    DonkyDataController.getInstance().getNotificationDAO().isNotificationPending()) {
-                                synchronise();
-                            }
+                            synchronisationScheduler.onConnectionRestored();
                         }
                     }
                 }
@@ -1182,32 +1232,29 @@ public class DonkyNetworkController {
 
         if (tokenExpiry != null) {
 
-            Date expireDate = DateAndTimeHelper.parseUtcDate(tokenExpiry);
-
-            if (expireDate != null) {
+            long expiryTime = DateAndTimeHelper.parseUtcMillis(tokenExpiry);
 
-                if (expireDate.after(new Date())) {
-                    return true;
-                }
+            if (expiryTime != DateAndTimeHelper.INVALID_TIMESTAMP && expiryTime > System.currentTimeMillis()) {
+                return true;
             }
         }
         return false;
     }
 
-    public synchronized boolean shouldIgnoreServerNotification(String id) {
+    /**
+     * Checks if the server notification was already received e.g. by GCM before the synchronisation and remembers its id.
+     *
+     * @param id Server notification id.
+     * @return True if the server notification was already received and should be ignored.
+     */
+    public boolean shouldIgnoreServerNotification(String id) {
 
-        if (lastNotificationsBuffer.contains(id)) {
-            log.debug("ID Buffer: already contains " + id);
+        if (!receivedNotificationIds.add(id)) {
+            log.debug("Server notification already received %s", id);
             return true;
-        } else {
-            if (lastNotificationsBuffer.size() > 99) {
-                lastNotificationsBuffer.remove();
-                log.debug("ID Buffer: removed " + id);
-            }
-            lastNotificationsBuffer.add(id);
-            log.debug("ID Buffer: added " + id);
-            return false;
         }
+
+        return false;
     }
 
     /**
@@ -1216,7 +1263,7 @@ public class DonkyNetworkController {
      * @return Authorization header.
      */
     public String getAuthorization() {
-        return DonkyDataController.getInstance().getConfigurationDAO().getTokenType() + " " + DonkyDataController.getInstance().getConfigurationDAO().getAuthorisationToken();
+        return DonkyDataController.getInstance().getConfigurationDAO().getAuthorization();
     }
 
     public synchronized boolean isNotificationsSyncInProgress() {
@@ -1275,9 +1322,16 @@ public class DonkyNetworkController {
 
     /**
      * Class to encapsulate network/device synchronisation.
+     * Pending client notifications are sent in bounded pages (see {@link AppSettings#getSyncMaxNotificationsPerPage()} and {@link AppSettings#getSyncMaxPageSizeBytes()}).
+     * Each page is removed from the database once the network responded to it and the notification exchange is re-run while more notifications are pending.
      */
     private class SynchronisationManager {
 
+        /**
+         * Maximum time blocking synchronisation waits for the synchronisation in progress.
+         */
+        private static final long JOIN_SYNCHRONISATION_TIMEOUT_SECONDS = 60;
+
         private final Object sharedLock;
 
         private final Random randomGenerator;
@@ -1290,8 +1344,14 @@ public class DonkyNetworkController {
 
         private Set<Integer> startedSynchronisationIDs;
 
+        /**
+         * Listeners attached to the synchronisation in progress.
+         */
+        private final List<DonkyListener> syncListeners;
+
         SynchronisationManager() {
             sharedLock = new Object();
+            syncListeners = new LinkedList<>();
             randomGenerator = new Random();
             startedSynchronisationIDs = new HashSet<>();
             reRunNotificationExchange = new AtomicBoolean(false);
@@ -1300,107 +1360,120 @@ public class DonkyNetworkController {
 
         /**
          * Perform the network/device synchronisation. Blocking method.
+         * If the synchronisation is already in progress this method waits for it to finish.
          */
         void synchroniseSynchronously() {
             if (startSync()) {
+                DonkyException donkyException = null;
                 try {
                     //since this method is mainly used by GCM service the signalR will be switched off so no need for a channel alternative to REST API at the moment.
                     doSynchroniseSynchronouslyUsingREST();
+                    while (reRunNotificationExchange.getAndSet(false) && reStartSync()) {
+                        doSynchroniseSynchronouslyUsingREST();
+                    }
                 } catch (Exception exception) {
-                    DonkyException donkyException = new DonkyException(exception.getLocalizedMessage());
+                    donkyException = new DonkyException(exception.getLocalizedMessage());
                     donkyException.initCause(exception);
                     log.error("Error when synchronising synchronously.", donkyException);
                 } finally {
-                    stopSync();
+                    finishSync(donkyException, null);
                 }
-
-                if (reRunNotificationExchange.get()) {
-                    reRunNotificationExchange.set(false);
-                    synchroniseSynchronously();
+            } else if (isNotificationsSyncInProgress()) {
+                SynchronisationFuture future = new SynchronisationFuture();
+                if (joinSync(future.getListener())) {
+                    try {
+                        future.get(JOIN_SYNCHRONISATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (Exception exception) {
+                        log.warning("Joined synchronisation didn't finish successfully. " + exception.getLocalizedMessage());
+                    }
                 }
             }
         }
 
         /**
          * Perform the network/device synchronisation. Non blocking method.
+         * If the synchronisation is already in progress the listener joins it and will be notified when it finishes, including any automatic re-runs.
          *
          * @param donkyListener Callback to be invoked when completed.
          */
         void synchronise(final DonkyListener donkyListener) {
 
-            try {
+            if (!isSDKOperational()) {
+                postError(new DonkyException("Synchronisation canceled"), null, donkyListener);
+                return;
+            }
 
-                if (startSync()) {
+            if (joinSync(donkyListener)) {
+                log.debug("Synchronisation in progress. Joined %s", latestSyncTaskInfo);
+                return;
+            }
 
-                    if (shouldUseSignalRChannel()) {
+            if (startSync(donkyListener)) {
+                runNotificationExchange();
+            } else {
+                // Synchronisation finished in the meantime, start a new one.
+                synchronise(donkyListener);
+            }
+        }
 
-                        doSynchroniseUsingSignalR(new DonkyListener() {
+        /**
+         * Perform the network/device synchronisation. Non blocking method.
+         *
+         * @return Future completed when the synchronisation finishes.
+         */
+        SynchronisationFuture synchroniseWithFuture() {
+            SynchronisationFuture future = new SynchronisationFuture();
+            synchronise(future.getListener());
+            return future;
+        }
 
-                            @Override
-                            public void success() {
-                                stopSync();
-                                if (reRunNotificationExchange.get()) {
-                                    reRunNotificationExchange.set(false);
-                                    synchronise(donkyListener);
-                                } else {
-                                    postSuccess(donkyListener);
-                                }
-                            }
+        /**
+         * Perform single notification exchange using SignalR if available or REST API. When finished, the exchange is re-run if needed or the synchronisation is finished.
+         */
+        private void runNotificationExchange() {
 
-                            @Override
-                            public void error(DonkyException donkyException, Map<String, String> validationErrors) {
-
-                                doSynchroniseUsingREST(new DonkyListener() {
-
-                                    @Override
-                                    public void success() {
-                                        stopSync();
-                                        if (reRunNotificationExchange.get()) {
-                                            reRunNotificationExchange.set(false);
-                                            synchronise(donkyListener);
-                                        } else {
-                                            postSuccess(donkyListener);
-                                        }
-                                    }
-
-                                    @Override
-                                    public void error(DonkyException donkyException, Map<String, String> validationErrors) {
-                                        stopSync();
-                                        postError(donkyException, validationErrors, donkyListener);
-                                    }
-                                });
-                            }
-                        });
+            final DonkyListener exchangeListener = new DonkyListener() {
 
+                @Override
+                public void success() {
+                    if (reRunNotificationExchange.getAndSet(false) && reStartSync()) {
+                        runNotificationExchange();
                     } else {
+                        finishSync(null, null);
+                    }
+                }
 
-                        doSynchroniseUsingREST(new DonkyListener() {
-
-                            @Override
-                            public void success() {
-                                stopSync();
-                                if (reRunNotificationExchange.get()) {
-                                    reRunNotificationExchange.set(false);
-                                    synchronise(donkyListener);
-                                } else {
-                                    postSuccess(donkyListener);
-                                }
-                            }
+                @Override
+                public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+                    finishSync(donkyException, validationErrors);
+                }
+            };
+
+            try {
+
+                if (shouldUseSignalRChannel()) {
+
+                    doSynchroniseUsingSignalR(new DonkyListener() {
+
+                        @Override
+                        public void success() {
+                            exchangeListener.success();
+                        }
+
+                        @Override
+                        public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+                            doSynchroniseUsingREST(exchangeListener);
+                        }
+                    });
 
-                            @Override
-                            public void error(DonkyException donkyException, Map<String, String> validationErrors) {
-                                stopSync();
-                                postError(donkyException, validationErrors, donkyListener);
-                            }
-                        });
-                    }
                 } else {
-                    postError(new DonkyException("Synchronisation canceled"), null);
+                    doSynchroniseUsingREST(exchangeListener);
                 }
 
             } catch (Exception exception) {
-                stopSync();
-                postError(exception, donkyListener);
+                DonkyException donkyException = new DonkyException(exception.getLocalizedMessage());
+                donkyException.initCause(exception);
+                finishSync(donkyException, null);
             }
         }
 
@@ -1445,34 +1518,114 @@ public class DonkyNetworkController {
          * @return True if synchronisation state was changed to 'in progress'
          */
         boolean startSync() {
+            return isSDKOperational() && startSync(null);
+        }
+
+        /**
+         * Sets synchronisation state to 'in progress'
+         *
+         * @param donkyListener Callback to be invoked when the synchronisation finishes.
+         * @return True if synchronisation state was changed to 'in progress'
+         */
+        private boolean startSync(DonkyListener donkyListener) {
             boolean isStarted = false;
-            if (isSDKOperational()) {
-                synchronized (sharedLock) {
-                    if (!isNotificationsSyncInProgress()) {
-                        latestSyncTaskInfo = new SyncTaskInfo(randomGenerator.nextInt(10000));
-                        startedSynchronisationIDs.add(latestSyncTaskInfo.id);
-                        lastNotificationExchangeTimestamp.set(System.currentTimeMillis());
-                        log.info("Starting: " + latestSyncTaskInfo);
-                        isStarted = true;
+            synchronized (sharedLock) {
+                if (!isNotificationsSyncInProgress()) {
+                    latestSyncTaskInfo = new SyncTaskInfo(randomGenerator.nextInt(10000));
+                    startedSynchronisationIDs.add(latestSyncTaskInfo.id);
+                    lastNotificationExchangeTimestamp.set(System.currentTimeMillis());
+                    if (donkyListener != null) {
+                        syncListeners.add(donkyListener);
+                    }
+                    log.info("Starting: %s", latestSyncTaskInfo);
+                    isStarted = true;
+                } else {
+                    if (startedSynchronisationIDs.size() == 1) {
+                        log.debug("Synchronisation in progress. Cancel new one. %s Number of started synchronisations = %d", latestSyncTaskInfo, startedSynchronisationIDs.size());
                     } else {
-                        if (startedSynchronisationIDs.size() == 1) {
-                            log.debug("Synchronisation in progress. Cancel new one. " + latestSyncTaskInfo.toString() + " Number of started synchronisations = " + startedSynchronisationIDs.size());
-                        } else {
-                            log.warning("Synchronisation in progress. Cancel new one. " + latestSyncTaskInfo.toString() + " Unexpected(!) number of started synchronisations = " + startedSynchronisationIDs.size());
-                        }
+                        log.warning("Synchronisation in progress. Cancel new one. %s Unexpected(!) number of started synchronisations = %d", latestSyncTaskInfo, startedSynchronisationIDs.size());
                     }
-                    sharedLock.notifyAll();
                 }
+                sharedLock.notifyAll();
             }
             return isStarted;
         }
 
+        /**
+         * Attach the listener to the synchronisation in progress.
+         *
+         * @param donkyListener Callback to be invoked when the synchronisation finishes.
+         * @return True if the synchronisation is in progress and the listener will be notified when it finishes.
+         */
+        private boolean joinSync(DonkyListener donkyListener) {
+            synchronized (sharedLock) {
+                if (isNotificationsSyncInProgress()) {
+                    if (donkyListener != null) {
+                        syncListeners.add(donkyListener);
+                    }
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /**
+         * Starts the automatic re-run of the notification exchange within the synchronisation in progress.
+         *
+         * @return True if the notification exchange should be re-run.
+         */
+        private boolean reStartSync() {
+            if (!isSDKOperational()) {
+                return false;
+            }
+            synchronized (sharedLock) {
+                if (isNotificationsSyncInProgress()) {
+                    lastNotificationExchangeTimestamp.set(System.currentTimeMillis());
+                    log.info("Re-running: %s", latestSyncTaskInfo);
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /**
+         * Sets synchronisation state to 'finished' and notifies all listeners attached to the synchronisation.
+         *
+         * @param donkyException    Exception if the synchronisation failed, null otherwise.
+         * @param validationErrors  Validation errors if the synchronisation failed, null otherwise.
+         */
+        private void finishSync(DonkyException donkyException, Map<String, String> validationErrors) {
+
+            List<DonkyListener> listeners;
+
+            synchronized (sharedLock) {
+                listeners = new LinkedList<>(syncListeners);
+                syncListeners.clear();
+                stopSync();
+            }
+
+            for (DonkyListener listener : listeners) {
+                if (listener instanceof SynchronisationFuture.FutureListener) {
+                    // Futures are completed directly so waiting for them never depends on the main thread.
+                    if (donkyException == null && validationErrors == null) {
+                        listener.success();
+                    } else {
+                        listener.error(donkyException, validationErrors);
+                    }
+                } else if (donkyException == null && validationErrors == null) {
+                    postSuccess(listener);
+                } else {
+                    postError(donkyException, validationErrors, listener);
+                }
+            }
+        }
+
         /**
          * Sets synchronisation state to 'finished'
          *
          * @return True if synchronisation state was changed to 'finished'
          */
-        boolean stopSync() {
+        private boolean stopSync() {
             boolean isStopped = false;
             synchronized (sharedLock) {
                 if (isNotificationsSyncInProgress()) {
@@ -1481,7 +1634,7 @@ public class DonkyNetworkController {
                     } else {
                         log.warning("Synchronisation ID " + latestSyncTaskInfo.id + " not found in history.");
                     }
-                    log.info("Stopping: " + latestSyncTaskInfo);
+                    log.info("Stopping: %s", latestSyncTaskInfo);
                     latestSyncTaskInfo = null;
                     isStopped = true;
                 } else {
@@ -1500,7 +1653,7 @@ public class DonkyNetworkController {
 
             final Synchronise synchroniseRequest = new Synchronise();
 
-            log.sensitive(synchroniseRequest.toString());
+            log.sensitive("%s", synchroniseRequest);
 
             SynchroniseResponse result = null;
 
@@ -1524,7 +1677,7 @@ public class DonkyNetworkController {
 
             if (result != null) {
 
-                log.sensitive(result.toString());
+                log.sensitive("%s", result);
 
                 List<ClientNotification> clientNotifications = synchroniseRequest.getClientNotifications();
 
@@ -1537,9 +1690,7 @@ public class DonkyNetworkController {
                 }
 
                 // Notify listeners for outbound/client notifications
-                for (ClientNotification notification : clientNotifications) {
-                    SubscriptionController.getInstance().notifyAboutOutboundClientNotification(notification);
-                }
+                SubscriptionController.getInstance().notifyAboutOutboundClientNotifications(clientNotifications);
 
                 if (DonkyDataController.getInstance().getNotificationDAO().isNotificationPending() || result.isMoreNotificationsAvailable()) {
                     reRunNotificationExchange.set(true);
@@ -1557,7 +1708,9 @@ public class DonkyNetworkController {
          */
         private void doSynchroniseUsingSignalR(final DonkyListener listener) {
 
-            final List<ClientNotification> clientNotificationsToSend = DonkyDataController.getInstance().getNotificationDAO().getNotifications();
+            final List<ClientNotification> clientNotificationsToSend = ClientNotificationCoalescer.getInstance().coalesce(DonkyDataController.getInstance().getNotificationDAO().getNotifications(
+                    AppSettings.getInstance().getSyncMaxNotificationsPerPage(),
+                    AppSettings.getInstance().getSyncMaxPageSizeBytes()));
 
             signalRController.synchronise(clientNotificationsToSend, new DonkyResultListener<SynchroniseResponse>() {
 
@@ -1640,7 +1793,7 @@ public class DonkyNetworkController {
 
                         try {
 
-                            log.sensitive(result.toString());
+                            log.sensitive("%s", result);
 
                             //Remove sent client notifications from the database.
                             DonkyDataController.getInstance().getNotificationDAO().removeNotifications(clientNotificationsToSend);
@@ -1656,9 +1809,7 @@ public class DonkyNetworkController {
                                 return;
                             }
 
-                            for (ClientNotification notification : clientNotificationsToSend) {
-                                SubscriptionController.getInstance().notifyAboutOutboundClientNotification(notification);
-                            }
+                            SubscriptionController.getInstance().notifyAboutOutboundClientNotifications(clientNotificationsToSend);
 
                             if (DonkyDataController.getInstance().getNotificationDAO().isNotificationPending() || result.isMoreNotificationsAvailable()) {
                                 reRunNotificationExchange.set(true);
@@ -2,17 +2,26 @@ package net.donky.core.network;
 
 import android.os.Bundle;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.internal.LinkedTreeMap;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import net.donky.core.Notification;
 import net.donky.core.gcm.AssemblingManager;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.helpers.IdHelper;
+import net.donky.core.logging.DLog;
 
 import org.json.JSONException;
-import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
 
 /**
  * Notification received form server in synchronisation call.
@@ -117,7 +126,19 @@ public class ServerNotification extends Notification {
     private String id;
 
     @SerializedName("data")
-    private JsonObject data;
+    private volatile JsonObject data;
+
+    /**
+     * Payload not decoded yet. Json string or map parsed by Gson. Decoded into {@link #data} when first needed.
+     */
+    private Object undecodedData;
+
+    /**
+     * Custom notification type read from the payload.
+     */
+    private String customType;
+
+    private boolean isCustomTypeRead;
 
     @SerializedName("createdOn")
     private String createdOn;
@@ -129,9 +150,10 @@ public class ServerNotification extends Notification {
     }
 
     /**
-     * Constructor initialised with GCM bundle data.
+     * Constructor initialised with GCM bundle data. The json payload is parsed when first accessed.
      *
      * @param bundle GCM bundle data with Donky direct message.
+     * @throws JSONException Not thrown since the payload is no longer parsed in the constructor. Kept for compatibility.
      */
     public ServerNotification(final Bundle bundle) throws JSONException {
         super(null, IdHelper.generateId());
@@ -140,16 +162,12 @@ public class ServerNotification extends Notification {
             id = bundle.getString(AssemblingManager.DIRECT_NOTIFICATION_ID);
             createdOn = bundle.getString(AssemblingManager.DIRECT_MESSAGE_CREATED_ON);
             type = bundle.getString(AssemblingManager.DIRECT_MESSAGE_NOTIFICATION_TYPE);
-            String payload = bundle.getString(AssemblingManager.DIRECT_MESSAGE_PAYLOAD);
-            if (payload != null) {
-                JSONObject jObj = new JSONObject(payload);
-                data = new JsonParser().parse(jObj.toString()).getAsJsonObject();
-            }
+            undecodedData = bundle.getString(AssemblingManager.DIRECT_MESSAGE_PAYLOAD);
         }
     }
 
     /**
-     * Constructor initialised with json string parsed to tree map.
+     * Constructor initialised with json string parsed to tree map. The payload is converted to json tree when first accessed.
      *
      * @param notificationTreeMap Json string parsed to tree map.
      */
@@ -160,15 +178,48 @@ public class ServerNotification extends Notification {
             id = (String) notificationTreeMap.get("id");
             createdOn = (String) notificationTreeMap.get("createdOn");
             type = (String) notificationTreeMap.get("type");
-            LinkedTreeMap<?, ?> strData = (LinkedTreeMap<?,?>) notificationTreeMap.get("data");
-            if (strData != null) {
-                JSONObject jObj = new JSONObject(strData);
-                if (jObj != null) {
-                    data = new JsonParser().parse(jObj.toString()).getAsJsonObject();
+            Object mapData = notificationTreeMap.get("data");
+            if (mapData instanceof Map) {
+                undecodedData = mapData;
+            }
+        }
+
+    }
+
+    /**
+     * Constructor reading a single server notification json object from the stream. The payload data is parsed straight into a single json tree.
+     *
+     * @param reader Json reader positioned at the beginning of server notification object.
+     * @throws IOException
+     */
+    public ServerNotification(JsonReader reader) throws IOException {
+        super(null, IdHelper.generateId());
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if ("id".equals(name)) {
+                id = reader.nextString();
+            } else if ("type".equals(name)) {
+                type = reader.nextString();
+            } else if ("createdOn".equals(name)) {
+                createdOn = reader.nextString();
+            } else if ("data".equals(name)) {
+                JsonElement element = new JsonParser().parse(reader);
+                if (element.isJsonObject()) {
+                    data = element.getAsJsonObject();
                 }
+            } else {
+                reader.skipValue();
             }
         }
 
+        reader.endObject();
     }
 
     /**
@@ -186,10 +237,117 @@ public class ServerNotification extends Notification {
     }
 
     /**
-     * @return JSON serialised data
+     * @return JSON serialised data. Decoded from the source payload on first call.
      */
     public JsonObject getData() {
-        return data;
+
+        JsonObject result = data;
+
+        if (result == null) {
+
+            synchronized (this) {
+
+                if (data == null && undecodedData != null) {
+
+                    try {
+
+                        if (undecodedData instanceof String) {
+                            JsonElement element = new JsonParser().parse((String) undecodedData);
+                            data = element.isJsonObject() ? element.getAsJsonObject() : null;
+                        } else {
+                            JsonElement element = GsonHelper.getGson().toJsonTree(undecodedData);
+                            data = element.isJsonObject() ? element.getAsJsonObject() : null;
+                        }
+
+                    } catch (JsonParseException e) {
+
+                        new DLog("ServerNotification").error("Error parsing server notification data.", e);
+
+                    }
+
+                    undecodedData = null;
+                }
+
+                result = data;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets type of custom notification without decoding the whole payload if it wasn't needed yet.
+     *
+     * @return Type of custom notification from the payload 'customType' property or null if not available.
+     */
+    public synchronized String getCustomType() {
+
+        if (!isCustomTypeRead) {
+
+            if (data != null || undecodedData == null) {
+                customType = getStringProperty(data, "customType");
+            } else if (undecodedData instanceof Map) {
+                Object value = ((Map<?, ?>) undecodedData).get("customType");
+                customType = value instanceof String ? (String) value : null;
+            } else {
+                customType = readTopLevelString((String) undecodedData, "customType");
+            }
+
+            isCustomTypeRead = true;
+        }
+
+        return customType;
+    }
+
+    private static String getStringProperty(JsonObject jsonObject, String name) {
+
+        if (jsonObject != null) {
+
+            JsonElement element = jsonObject.get(name);
+
+            if (element != null && element.isJsonPrimitive()) {
+                return element.getAsString();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Read single string property of json object skipping all other values without building json tree.
+     *
+     * @param json Json object.
+     * @param name Property name.
+     * @return Property value or null if not available.
+     */
+    private static String readTopLevelString(String json, String name) {
+
+        JsonReader reader = new JsonReader(new StringReader(json));
+
+        try {
+
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+
+                if (name.equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+
+                reader.skipValue();
+            }
+
+        } catch (IOException e) {
+
+            // Malformed payload, reported when decoded.
+
+        } catch (IllegalStateException e) {
+
+            // Payload is not a json object.
+
+        }
+
+        return null;
     }
 
     /**
@@ -219,17 +377,19 @@ public class ServerNotification extends Notification {
 
         String divider = " | ";
 
-        return "ServerNotification: " + " type: " + type + divider + " serverNotificationId : " + id + divider + " data : " + data + divider + " createdOn : " + createdOn;
+        return "ServerNotification: " + " type: " + type + divider + " serverNotificationId : " + id + divider + " data : " + getData() + divider + " createdOn : " + createdOn;
     }
 
     /*
     Access methods for testes.
      */
 
-    protected void setMockData(String type, String id, JsonObject data, String createdOn) {
+    protected synchronized void setMockData(String type, String id, JsonObject data, String createdOn) {
         this.type = type;
         this.id = id;
         this.data = data;
+        this.undecodedData = null;
+        this.isCustomTypeRead = false;
         this.createdOn = createdOn;
     }
 
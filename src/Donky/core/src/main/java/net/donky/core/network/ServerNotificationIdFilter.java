@@ -0,0 +1,235 @@
+package net.donky.core.network;
+
+import net.donky.core.logging.DLog;
+import net.donky.core.model.DonkyDataController;
+import net.donky.core.model.ReceivedServerNotificationDAO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Size and time bounded set of recently received server notification ids, used to ignore notifications delivered more than once
+ * e.g. by GCM and the following synchronisation. Lookups are lock-free. Ids are saved to the database in the background so the set survives process restarts.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ServerNotificationIdFilter {
+
+    /**
+     * Maximum number of remembered server notification ids.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Maximum time a server notification id is remembered.
+     */
+    public static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(1);
+
+    private final DLog log;
+
+    /**
+     * Remembered ids mapped to the time they were received.
+     */
+    private final ConcurrentHashMap<String, Long> ids;
+
+    /**
+     * Remembered ids in the order they were received, the oldest first.
+     */
+    private final ConcurrentLinkedQueue<Entry> order;
+
+    private final AtomicInteger size;
+
+    /**
+     * Ids waiting to be saved to the database.
+     */
+    private final ConcurrentLinkedQueue<String> pendingWrites;
+
+    private final AtomicBoolean isWriteScheduled;
+
+    private final AtomicInteger writesSinceCompaction;
+
+    private final ExecutorService writeExecutor;
+
+    private volatile boolean isLoaded;
+
+    ServerNotificationIdFilter() {
+        log = new DLog("ServerNotificationIdFilter");
+        ids = new ConcurrentHashMap<>();
+        order = new ConcurrentLinkedQueue<>();
+        size = new AtomicInteger(0);
+        pendingWrites = new ConcurrentLinkedQueue<>();
+        isWriteScheduled = new AtomicBoolean(false);
+        writesSinceCompaction = new AtomicInteger(0);
+        writeExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Remember the server notification id.
+     *
+     * @param id Server notification id.
+     * @return True if the id wasn't remembered yet, as in {@link java.util.Set#add(Object)}. False if the notification was already received and should be ignored.
+     * Null id is not remembered and returns true.
+     */
+    public boolean add(String id) {
+
+        if (id == null) {
+            return true;
+        }
+
+        load();
+
+        long now = System.currentTimeMillis();
+
+        Long received = ids.putIfAbsent(id, now);
+
+        if (received != null) {
+            if (now - received < MAX_AGE_MS) {
+                return false;
+            } else if (!ids.replace(id, received, now)) {
+                // Replaced concurrently so the other caller handles the notification.
+                return false;
+            }
+        }
+
+        order.offer(new Entry(id, now));
+        size.incrementAndGet();
+
+        evict(now);
+
+        pendingWrites.offer(id);
+        scheduleWrite();
+
+        return true;
+    }
+
+    /**
+     * @param id Server notification id.
+     * @return True if the id is remembered.
+     */
+    public boolean contains(String id) {
+        load();
+        Long received = id != null ? ids.get(id) : null;
+        return received != null && System.currentTimeMillis() - received < MAX_AGE_MS;
+    }
+
+    /**
+     * Forget the oldest ids above the size limit and expired ids.
+     */
+    private void evict(long now) {
+
+        Entry oldest;
+
+        while ((oldest = order.peek()) != null && (size.get() > MAX_SIZE || now - oldest.received >= MAX_AGE_MS)) {
+            // The oldest entry is at the head so removing it doesn't scan the queue.
+            if (order.remove(oldest)) {
+                size.decrementAndGet();
+                // Removes the id only if it wasn't received again since.
+                ids.remove(oldest.id, oldest.received);
+            }
+        }
+    }
+
+    /**
+     * Load ids saved in the database before the first lookup.
+     */
+    private void load() {
+
+        if (isLoaded) {
+            return;
+        }
+
+        synchronized (this) {
+
+            if (isLoaded) {
+                return;
+            }
+
+            ReceivedServerNotificationDAO dao = DonkyDataController.getInstance().getReceivedServerNotificationDAO();
+
+            if (dao != null) {
+
+                Map<String, Long> saved = dao.getReceivedNotificationIds(System.currentTimeMillis() - MAX_AGE_MS, MAX_SIZE);
+
+                for (Map.Entry<String, Long> entry : saved.entrySet()) {
+                    if (ids.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                        order.offer(new Entry(entry.getKey(), entry.getValue()));
+                        size.incrementAndGet();
+                    }
+                }
+
+                log.debug("Loaded %d received server notification ids.", saved.size());
+
+                isLoaded = true;
+            }
+        }
+    }
+
+    private void scheduleWrite() {
+
+        if (isWriteScheduled.compareAndSet(false, true)) {
+            try {
+                writeExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        isWriteScheduled.set(false);
+                        write();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                isWriteScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Save pending ids in a single transaction and compact the table once it grew well above the size limit.
+     */
+    private void write() {
+
+        ReceivedServerNotificationDAO dao = DonkyDataController.getInstance().getReceivedServerNotificationDAO();
+
+        if (dao == null) {
+            pendingWrites.clear();
+            return;
+        }
+
+        Map<String, Long> batch = new LinkedHashMap<>();
+
+        String id;
+
+        while ((id = pendingWrites.poll()) != null) {
+            Long received = ids.get(id);
+            batch.put(id, received != null ? received : System.currentTimeMillis());
+        }
+
+        dao.addReceivedNotificationIds(batch);
+
+        if (writesSinceCompaction.addAndGet(batch.size()) >= MAX_SIZE) {
+            writesSinceCompaction.set(0);
+            dao.compact(System.currentTimeMillis() - MAX_AGE_MS, MAX_SIZE);
+        }
+    }
+
+    /**
+     * Remembered id with the time it was received.
+     */
+    private static class Entry {
+
+        final String id;
+
+        final Long received;
+
+        Entry(String id, Long received) {
+            this.id = id;
+            this.received = received;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.donky.core.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Type adapter reading and writing {@link ServerNotification} without reflection. Notification data is kept as a single json tree.
+ * Registered with {@link #FACTORY} so the data is written with json tree adapter of the same Gson instance.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class ServerNotificationTypeAdapter extends TypeAdapter<ServerNotification> {
+
+    /**
+     * Creates {@link ServerNotificationTypeAdapter} for {@link ServerNotification} type.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+
+            if (type.getRawType() != ServerNotification.class) {
+                return null;
+            }
+
+            return (TypeAdapter<T>) new ServerNotificationTypeAdapter(gson.getAdapter(JsonElement.class));
+        }
+    };
+
+    private final TypeAdapter<JsonElement> jsonElementAdapter;
+
+    private ServerNotificationTypeAdapter(TypeAdapter<JsonElement> jsonElementAdapter) {
+        this.jsonElementAdapter = jsonElementAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, ServerNotification value) throws IOException {
+
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("type").value(value.getType());
+        out.name("id").value(value.getId());
+        out.name("data");
+        if (value.getData() != null) {
+            jsonElementAdapter.write(out, value.getData());
+        } else {
+            out.nullValue();
+        }
+        out.name("createdOn").value(value.getCreatedOn());
+        out.endObject();
+    }
+
+    @Override
+    public ServerNotification read(JsonReader in) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return new ServerNotification(in);
+    }
+}
@@ -0,0 +1,111 @@
+package net.donky.core.network;
+
+import net.donky.core.DonkyCountDownLatch;
+import net.donky.core.DonkyException;
+import net.donky.core.DonkyListener;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of notification synchronisation. Completed when the notification exchange it joined (including automatic re-runs) finishes.
+ * Completion does not depend on the main thread, however {@link #get()} is blocking and should not be called from the main thread.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SynchronisationFuture implements Future<Void> {
+
+    private final DonkyCountDownLatch<Void> latch;
+
+    SynchronisationFuture() {
+        latch = new DonkyCountDownLatch<>(1);
+    }
+
+    /**
+     * Synchronisation is shared by all callers so it cannot be cancelled.
+     *
+     * @return False
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return latch.getCount() == 0;
+    }
+
+    /**
+     * Waits for the synchronisation to finish.
+     *
+     * @return Null
+     * @throws ExecutionException Synchronisation failed. Cause is {@link DonkyException}, see {@link #getValidationErrors()} for details.
+     */
+    @Override
+    public Void get() throws InterruptedException, ExecutionException {
+        latch.await();
+        return getResult();
+    }
+
+    /**
+     * Waits for the synchronisation to finish.
+     *
+     * @return Null
+     * @throws ExecutionException Synchronisation failed. Cause is {@link DonkyException}, see {@link #getValidationErrors()} for details.
+     * @throws TimeoutException Synchronisation didn't finish in given time.
+     */
+    @Override
+    public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!latch.await(timeout, unit)) {
+            throw new TimeoutException("Synchronisation in progress.");
+        }
+        return getResult();
+    }
+
+    /**
+     * @return Validation errors if synchronisation failed, null otherwise.
+     */
+    public Map<String, String> getValidationErrors() {
+        return latch.getValidationErrors();
+    }
+
+    private Void getResult() throws ExecutionException {
+        if (latch.getDonkyException() != null) {
+            throw new ExecutionException(latch.getDonkyException());
+        }
+        return null;
+    }
+
+    /**
+     * @return Listener completing this future.
+     */
+    DonkyListener getListener() {
+        return new FutureListener();
+    }
+
+    /**
+     * Listener completing the future. Should be called directly on the thread finishing the synchronisation, not posted to the main thread.
+     */
+    class FutureListener implements DonkyListener {
+
+        @Override
+        public void success() {
+            latch.countDown();
+        }
+
+        @Override
+        public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+            latch.setError(donkyException != null ? donkyException : new DonkyException("Synchronisation failed."), validationErrors);
+            latch.countDown();
+        }
+    }
+}
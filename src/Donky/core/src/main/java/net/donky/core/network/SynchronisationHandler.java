@@ -1,13 +1,12 @@
 package net.donky.core.network;
 
-import android.os.Handler;
-import android.os.Looper;
-
+import net.donky.core.helpers.MainThreadDispatcher;
 import net.donky.core.logging.DLog;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.observables.SubscriptionController;
 import net.donky.core.observables.SubscriptionInternal;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -69,6 +68,8 @@ public class SynchronisationHandler {
 
         List<ServerNotification> contentNotifications = new LinkedList<>();
 
+        List<ClientNotification> acknowledgements = new LinkedList<>();
+
         for (final ServerNotification serverNotification : serverNotifications) {
 
             boolean isCategoryCustom = serverNotification.getType().equals(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM);
@@ -79,13 +80,11 @@ public class SynchronisationHandler {
 
                 serverNotification.setCategory(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM);
 
-                try {
-
-                    type = serverNotification.getData().get("customType").getAsString();
+                type = serverNotification.getCustomType();
 
-                } catch (Exception e) {
+                if (type == null) {
 
-                    log.error("Error parsing custom server notification type", e);
+                    log.error("Error parsing custom server notification type");
 
                 }
 
@@ -95,7 +94,7 @@ public class SynchronisationHandler {
                     addNotificationToTheMap(type, serverNotification, customNotificationsByType);
                     contentNotifications.add(serverNotification);
                 } else {
-                    ackOnly(serverNotification, type);
+                    acknowledgements.add(ClientNotification.createAcknowledgment(serverNotification, type, false));
                 }
 
             } else {
@@ -110,34 +109,36 @@ public class SynchronisationHandler {
                     addNotificationToTheMap(type, serverNotification, donkyNotificationsByType);
                     donkyNotifications.add(serverNotification);
                 } else {
-                    ackOnly(serverNotification, type);
+                    acknowledgements.add(ClientNotification.createAcknowledgment(serverNotification, type, false));
                 }
             }
         }
 
+        Map<String, List<SubscriptionInternal<ServerNotification>>> donkySubscriptionsByType = acknowledgeNotificationsOfGivenCategory(ServerNotification.NOTIFICATION_CATEGORY_DONKY, donkyNotificationsByType, acknowledgements);
+
+        Map<String, List<SubscriptionInternal<ServerNotification>>> customSubscriptionsByType = acknowledgeNotificationsOfGivenCategory(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, customNotificationsByType, acknowledgements);
+
+        // Save acknowledgements before notifying subscribers, so they are not lost if a subscriber throws.
+        DonkyDataController.getInstance().getNotificationDAO().addNotifications(acknowledgements);
+
         if (shouldNotifyInMainThread == null) {
-            processNotificationOfGivenCategoryAndType(ServerNotification.NOTIFICATION_CATEGORY_DONKY, donkyNotificationsByType, false);
+            processNotificationOfGivenCategoryAndType(donkyNotificationsByType, donkySubscriptionsByType, false);
             processNotificationOfGivenCategoryForMultipleTypeSubscribers(ServerNotification.NOTIFICATION_CATEGORY_DONKY, donkyNotifications, false);
         } else {
-            processNotificationOfGivenCategoryAndType(ServerNotification.NOTIFICATION_CATEGORY_DONKY, donkyNotificationsByType, shouldNotifyInMainThread);
+            processNotificationOfGivenCategoryAndType(donkyNotificationsByType, donkySubscriptionsByType, shouldNotifyInMainThread);
             processNotificationOfGivenCategoryForMultipleTypeSubscribers(ServerNotification.NOTIFICATION_CATEGORY_DONKY, donkyNotifications, shouldNotifyInMainThread);
         }
 
         if (shouldNotifyInMainThread == null) {
-            processNotificationOfGivenCategoryAndType(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, customNotificationsByType, true);
+            processNotificationOfGivenCategoryAndType(customNotificationsByType, customSubscriptionsByType, true);
             processNotificationOfGivenCategoryForMultipleTypeSubscribers(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, contentNotifications, true);
         } else {
-            processNotificationOfGivenCategoryAndType(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, customNotificationsByType, shouldNotifyInMainThread);
+            processNotificationOfGivenCategoryAndType(customNotificationsByType, customSubscriptionsByType, shouldNotifyInMainThread);
             processNotificationOfGivenCategoryForMultipleTypeSubscribers(ServerNotification.NOTIFICATION_CATEGORY_CUSTOM, contentNotifications, shouldNotifyInMainThread);
         }
 
     }
 
-    private void ackOnly(ServerNotification serverNotification, String type) {
-        ClientNotification clientNotification = ClientNotification.createAcknowledgment(serverNotification, type, false);
-        DonkyDataController.getInstance().getNotificationDAO().addNotification(clientNotification);
-    }
-
     private void addNotificationToTheMap(String type, ServerNotification serverNotification, Map<String, List<ServerNotification>> notificationsByType) {
 
         if (notificationsByType.containsKey(type)) {
@@ -150,19 +151,38 @@ public class SynchronisationHandler {
 
     }
 
-    private void processNotificationOfGivenCategoryAndType(String category, LinkedHashMap<String, List<ServerNotification>> notificationsByType, boolean shouldNotifyInMainThread) {
+    /**
+     * Acknowledge notifications of given category.
+     *
+     * @param category            Category of server notifications.
+     * @param notificationsByType Server notifications grouped by type.
+     * @param acknowledgements    Acknowledgements to be saved together once all notifications are acknowledged.
+     * @return Subscriptions for every notification type.
+     */
+    private Map<String, List<SubscriptionInternal<ServerNotification>>> acknowledgeNotificationsOfGivenCategory(String category, LinkedHashMap<String, List<ServerNotification>> notificationsByType, List<ClientNotification> acknowledgements) {
 
-        for (Map.Entry<String, List<ServerNotification>> entry : notificationsByType.entrySet()) {
+        Map<String, List<SubscriptionInternal<ServerNotification>>> subscriptionsByType = new HashMap<>();
 
-            List<ServerNotification> notifications = entry.getValue();
+        for (Map.Entry<String, List<ServerNotification>> entry : notificationsByType.entrySet()) {
 
             List<SubscriptionInternal<ServerNotification>> subscriptions = SubscriptionController.getInstance().getSubscriptionsForServerNotification(category, entry.getKey());
 
-            for (ServerNotification serverNotification : notifications) {
-                acknowledgeNotification(serverNotification, subscriptions, entry.getKey());
+            for (ServerNotification serverNotification : entry.getValue()) {
+                acknowledgeNotification(serverNotification, subscriptions, entry.getKey(), acknowledgements);
             }
 
-            notifySubscribers(entry.getKey(), notifications, subscriptions, shouldNotifyInMainThread);
+            subscriptionsByType.put(entry.getKey(), subscriptions);
+
+        }
+
+        return subscriptionsByType;
+    }
+
+    private void processNotificationOfGivenCategoryAndType(LinkedHashMap<String, List<ServerNotification>> notificationsByType, Map<String, List<SubscriptionInternal<ServerNotification>>> subscriptionsByType, boolean shouldNotifyInMainThread) {
+
+        for (Map.Entry<String, List<ServerNotification>> entry : notificationsByType.entrySet()) {
+
+            notifySubscribers(entry.getKey(), entry.getValue(), subscriptionsByType.get(entry.getKey()), shouldNotifyInMainThread);
 
         }
 
@@ -182,8 +202,9 @@ public class SynchronisationHandler {
      * @param serverNotification Received Server Notification.
      * @param subscriptions      Server Notification subscriptions registered for incoming notification type.
      * @param customType         Type of custom notification.
+     * @param acknowledgements   Acknowledgements to be saved together once all notifications are acknowledged.
      */
-    private void acknowledgeNotification(final ServerNotification serverNotification, final List<SubscriptionInternal<ServerNotification>> subscriptions, final String customType) {
+    private void acknowledgeNotification(final ServerNotification serverNotification, final List<SubscriptionInternal<ServerNotification>> subscriptions, final String customType, final List<ClientNotification> acknowledgements) {
 
         boolean shouldSdkAcknowledgeNotification = true;
 
@@ -193,9 +214,7 @@ public class SynchronisationHandler {
 
         if (shouldSdkAcknowledgeNotification) {
 
-            ClientNotification clientNotification = ClientNotification.createAcknowledgment(serverNotification, customType, !subscriptions.isEmpty());
-
-            DonkyDataController.getInstance().getNotificationDAO().addNotification(clientNotification);
+            acknowledgements.add(ClientNotification.createAcknowledgment(serverNotification, customType, !subscriptions.isEmpty()));
 
         }
     }
@@ -208,14 +227,12 @@ public class SynchronisationHandler {
      */
     private void notifySubscribers(final String type, final List<ServerNotification> serverNotifications, final List<SubscriptionInternal<ServerNotification>> subscriptions, boolean shouldNotifyInMainThread) {
 
-        Handler handler = new Handler(Looper.getMainLooper());
-
         for (final SubscriptionInternal<ServerNotification> subscription : subscriptions) {
 
             if (type != null && type.equals(subscription.getNotificationType())) {
 
                 if (shouldNotifyInMainThread) {
-                    handler.post(new Runnable() {
+                    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
                         @Override
                         public void run() {
 
@@ -255,8 +272,6 @@ public class SynchronisationHandler {
 
         if (!serverNotifications.isEmpty() && !subscriptions.isEmpty()) {
 
-            Handler handler = new Handler(Looper.getMainLooper());
-
             for (final SubscriptionInternal<ServerNotification> subscription : subscriptions) {
 
                 Set<String> registeredTypes = subscription.getNotificationTypes();
@@ -273,7 +288,7 @@ public class SynchronisationHandler {
 
                     if (!notificationsToDeliver.isEmpty()) {
                         if (shouldNotifyInMainThread) {
-                            handler.post(new Runnable() {
+                            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
                                 @Override
                                 public void run() {
 
@@ -0,0 +1,343 @@
+package net.donky.core.network;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import net.donky.core.DonkyException;
+import net.donky.core.DonkyListener;
+import net.donky.core.logging.DLog;
+import net.donky.core.model.DonkyDataController;
+import net.donky.core.settings.AppSettings;
+
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central scheduler for notification synchronisation triggers.
+ * Bursts of triggers are performed as a single notification exchange, retries back off exponentially while internet connection is not available
+ * or the network responds with errors, and scheduled synchronisations are skipped when a recent notification exchange already happened.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SynchronisationScheduler {
+
+    /**
+     * Retry delay after the first failed notification exchange.
+     */
+    private static final long INITIAL_BACKOFF_MS = 5 * 1000;
+
+    private final DLog log;
+
+    private final ScheduledExecutorService executor;
+
+    private final SynchronisationPerformer performer;
+
+    private final Handler mainThreadHandler;
+
+    /**
+     * Listeners waiting for the next notification exchange.
+     */
+    private final List<DonkyListener> pendingListeners;
+
+    private ScheduledFuture<?> pendingSynchronisation;
+
+    private long pendingSynchronisationTime;
+
+    private long backoffMs;
+
+    private long nextAllowedSynchronisationTime;
+
+    private final AtomicLong triggersReceived;
+
+    private final AtomicLong exchangesPerformed;
+
+    private final AtomicLong scheduledSynchronisationsSkipped;
+
+    /**
+     * Performs the notification exchange on behalf of the scheduler.
+     */
+    interface SynchronisationPerformer {
+
+        /**
+         * @return True if internet connection is available.
+         */
+        boolean isInternetConnectionAvailable();
+
+        /**
+         * @return Timestamp of the last notification exchange.
+         */
+        long getLastNotificationExchangeTimestamp();
+
+        /**
+         * @return True if a failed notification exchange may be retried: SDK is initialised, user is registered and not suspended and the application is in the foreground.
+         */
+        boolean canRetry();
+
+        /**
+         * Perform the network/device synchronisation. Non blocking method.
+         *
+         * @param donkyListener Callback to be invoked when completed.
+         */
+        void synchronise(DonkyListener donkyListener);
+
+        /**
+         * Perform the network/device synchronisation. Blocking method.
+         */
+        void synchroniseSynchronously();
+    }
+
+    SynchronisationScheduler(SynchronisationPerformer performer) {
+        this.log = new DLog("SynchronisationScheduler");
+        this.performer = performer;
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+        this.pendingListeners = new LinkedList<>();
+        this.triggersReceived = new AtomicLong(0);
+        this.exchangesPerformed = new AtomicLong(0);
+        this.scheduledSynchronisationsSkipped = new AtomicLong(0);
+    }
+
+    /**
+     * Request notification synchronisation. Triggers received within {@link AppSettings#getSyncDebounceMilliseconds()} are performed together.
+     *
+     * @param donkyListener Callback to be invoked when the notification exchange completes. Can be null.
+     */
+    public synchronized void trigger(DonkyListener donkyListener) {
+        triggersReceived.incrementAndGet();
+        if (donkyListener != null) {
+            pendingListeners.add(donkyListener);
+        }
+        long now = System.currentTimeMillis();
+        schedule(Math.max(now + AppSettings.getInstance().getSyncDebounceMilliseconds(), nextAllowedSynchronisationTime));
+    }
+
+    /**
+     * Internet connection was restored. Perform pending or failed notification exchange immediately.
+     */
+    public synchronized void onConnectionRestored() {
+
+        boolean isRetryPending = backoffMs > 0;
+
+        backoffMs = 0;
+        nextAllowedSynchronisationTime = 0;
+
+        long sinceLastExchange = System.currentTimeMillis() - performer.getLastNotificationExchangeTimestamp();
+
+        if (isRetryPending || (DonkyDataController.getInstance().getNotificationDAO().isNotificationPending()
+                && sinceLastExchange > TimeUnit.SECONDS.toMillis(AppSettings.getInstance().getSyncDelaySeconds()))) {
+            triggersReceived.incrementAndGet();
+            schedule(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Cancel pending retry of failed notification exchange. Used when the application goes to the background or the user is suspended,
+     * as retrying can't succeed or isn't needed until the next trigger. Listeners waiting for the retry are notified with an error.
+     */
+    public synchronized void cancelRetries() {
+
+        if (backoffMs == 0) {
+            return;
+        }
+
+        backoffMs = 0;
+        nextAllowedSynchronisationTime = 0;
+
+        if (pendingSynchronisation != null) {
+            pendingSynchronisation.cancel(false);
+            pendingSynchronisation = null;
+        }
+
+        log.debug("Pending notification exchange retry canceled.");
+
+        if (!pendingListeners.isEmpty()) {
+            final List<DonkyListener> listeners = new LinkedList<>(pendingListeners);
+            pendingListeners.clear();
+            mainThreadHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    DonkyException donkyException = new DonkyException("Synchronisation canceled");
+                    for (DonkyListener listener : listeners) {
+                        listener.error(donkyException, null);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Perform the periodic synchronisation unless the notification exchange happened recently and there are no pending client notifications. Blocking method.
+     *
+     * @param intervalMs Interval of periodic synchronisation.
+     */
+    public void performScheduledSynchronisation(long intervalMs) {
+
+        triggersReceived.incrementAndGet();
+
+        long sinceLastExchange = System.currentTimeMillis() - performer.getLastNotificationExchangeTimestamp();
+
+        if (sinceLastExchange < intervalMs / 2 && !DonkyDataController.getInstance().getNotificationDAO().isNotificationPending()) {
+            scheduledSynchronisationsSkipped.incrementAndGet();
+            log.debug("Skipping scheduled synchronisation. Last notification exchange %d seconds ago.", sinceLastExchange / 1000);
+            return;
+        }
+
+        exchangesPerformed.incrementAndGet();
+        performer.synchroniseSynchronously();
+    }
+
+    /**
+     * @return Number of synchronisation triggers received.
+     */
+    public long getTriggersReceived() {
+        return triggersReceived.get();
+    }
+
+    /**
+     * @return Number of notification exchanges performed in response to the triggers.
+     */
+    public long getExchangesPerformed() {
+        return exchangesPerformed.get();
+    }
+
+    /**
+     * @return Number of scheduled synchronisations skipped because of a recent notification exchange.
+     */
+    public long getScheduledSynchronisationsSkipped() {
+        return scheduledSynchronisationsSkipped.get();
+    }
+
+    /**
+     * Schedule the notification exchange no later than at given time.
+     *
+     * @param time Time of the notification exchange.
+     */
+    private void schedule(long time) {
+
+        if (pendingSynchronisation != null && !pendingSynchronisation.isDone()) {
+            if (pendingSynchronisationTime <= time) {
+                return;
+            }
+            pendingSynchronisation.cancel(false);
+        }
+
+        pendingSynchronisationTime = time;
+        pendingSynchronisation = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                performSynchronisation();
+            }
+        }, Math.max(0, time - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void performSynchronisation() {
+
+        final List<DonkyListener> listeners;
+
+        synchronized (this) {
+            listeners = new LinkedList<>(pendingListeners);
+            pendingListeners.clear();
+            pendingSynchronisation = null;
+        }
+
+        if (!performer.isInternetConnectionAvailable()) {
+            final DonkyException donkyException = new ConnectionException("Internet connection not available.");
+            onFailure(donkyException);
+            if (!listeners.isEmpty()) {
+                mainThreadHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (DonkyListener listener : listeners) {
+                            listener.error(donkyException, null);
+                        }
+                    }
+                });
+            }
+            return;
+        }
+
+        exchangesPerformed.incrementAndGet();
+
+        performer.synchronise(new DonkyListener() {
+
+            @Override
+            public void success() {
+                onSuccess();
+                for (DonkyListener listener : listeners) {
+                    listener.success();
+                }
+            }
+
+            @Override
+            public void error(DonkyException donkyException, Map<String, String> validationErrors) {
+                onFailure(donkyException);
+                for (DonkyListener listener : listeners) {
+                    listener.error(donkyException, validationErrors);
+                }
+            }
+        });
+    }
+
+    private synchronized void onSuccess() {
+        backoffMs = 0;
+        nextAllowedSynchronisationTime = 0;
+    }
+
+    /**
+     * Schedule retry of failed notification exchange with exponential backoff. Errors that won't succeed on retry end the retries.
+     *
+     * @param donkyException Error of the notification exchange.
+     */
+    private synchronized void onFailure(DonkyException donkyException) {
+
+        if (!isTransientError(donkyException) || !performer.canRetry()) {
+            log.debug("Notification exchange failed. Not retrying.");
+            backoffMs = 0;
+            nextAllowedSynchronisationTime = 0;
+            return;
+        }
+
+        long maxBackoffMs = TimeUnit.SECONDS.toMillis(AppSettings.getInstance().getSyncMaxBackoffSeconds());
+
+        backoffMs = backoffMs == 0 ? INITIAL_BACKOFF_MS : Math.min(backoffMs * 2, maxBackoffMs);
+        nextAllowedSynchronisationTime = System.currentTimeMillis() + backoffMs;
+
+        log.debug("Notification exchange failed. Retry in %d seconds.", backoffMs / 1000);
+
+        schedule(nextAllowedSynchronisationTime);
+    }
+
+    /**
+     * Checks if the notification exchange failed because of connection problem or server error, which can succeed on retry.
+     *
+     * @param donkyException Error of the notification exchange.
+     * @return True if the error is transient.
+     */
+    static boolean isTransientError(DonkyException donkyException) {
+
+        Throwable cause = donkyException;
+
+        while (cause != null) {
+
+            if (cause instanceof ConnectionException) {
+                return true;
+            } else if (cause instanceof RetrofitError) {
+                Response response = ((RetrofitError) cause).getResponse();
+                return response == null || response.getStatus() >= 500;
+            }
+
+            cause = cause.getCause();
+        }
+
+        return false;
+    }
+}
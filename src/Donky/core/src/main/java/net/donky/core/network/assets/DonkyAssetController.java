@@ -13,7 +13,6 @@ import com.squareup.okhttp.Response;
 import com.squareup.okhttp.ResponseBody;
 
 import net.donky.core.logging.DLog;
-import net.donky.core.model.ConfigurationDAO;
 import net.donky.core.model.DonkyDataController;
 
 import java.io.IOException;
@@ -220,7 +219,7 @@ public class DonkyAssetController {
                 query = assetId;
             }
 
-            String urlFormat = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_AssetDownloadUrlFormat);
+            String urlFormat = DonkyDataController.getInstance().getConfigurationDAO().getAssetDownloadUrlFormat();
 
             if (!TextUtils.isEmpty(urlFormat) && !TextUtils.isEmpty(query)) {
                 return urlFormat.replace(ASSET_URL_ID_REPLACEMENT, query);
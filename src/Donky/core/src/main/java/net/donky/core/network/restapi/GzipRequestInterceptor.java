@@ -0,0 +1,65 @@
+package net.donky.core.network.restapi;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * Compresses bodies of requests declaring gzip content encoding e.g. log uploads. Other requests are sent unchanged.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+
+        Request originalRequest = chain.request();
+
+        if (originalRequest.body() == null || !CONTENT_ENCODING_GZIP.equalsIgnoreCase(originalRequest.header(HEADER_CONTENT_ENCODING))) {
+            return chain.proceed(originalRequest);
+        }
+
+        Request compressedRequest = originalRequest.newBuilder()
+                .method(originalRequest.method(), gzip(originalRequest.body()))
+                .build();
+
+        return chain.proceed(compressedRequest);
+    }
+
+    private RequestBody gzip(final RequestBody body) {
+
+        return new RequestBody() {
+
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                // Unknown until compressed.
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+                body.writeTo(gzipSink);
+                gzipSink.close();
+            }
+        };
+    }
+}
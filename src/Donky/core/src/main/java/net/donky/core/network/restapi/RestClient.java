@@ -6,6 +6,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
 import com.squareup.okhttp.OkHttpClient;
 
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.logging.DLog;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.settings.AppSettings;
@@ -14,7 +15,7 @@ import java.util.concurrent.TimeUnit;
 
 import retrofit.RestAdapter;
 import retrofit.client.OkClient;
-import retrofit.converter.GsonConverter;
+import retrofit.converter.Converter;
 
 /**
  * Perform initialisation of network clients and provides access to REST API.
@@ -34,7 +35,7 @@ public class RestClient {
 
     private OkClient okClient;
 
-    private GsonConverter gsonConverter;
+    private Converter gsonConverter;
 
     private RestAdapter.LogLevel logLevel;
 
@@ -142,6 +143,7 @@ public class RestClient {
         OkHttpClient client = new OkHttpClient();
         client.setConnectTimeout(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
         client.setReadTimeout(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        client.interceptors().add(new GzipRequestInterceptor());
 
         okHttpClient = client;
 
@@ -166,7 +168,7 @@ public class RestClient {
                         return false;
                     }
                 });
-        gsonConverter = new GsonConverter(gsonBuilder.create());
+        gsonConverter = new StreamingGsonConverter(GsonHelper.registerTypeAdapters(gsonBuilder).create());
     }
 
     /**
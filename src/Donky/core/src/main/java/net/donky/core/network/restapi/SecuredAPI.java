@@ -33,6 +33,7 @@ import retrofit.http.PUT;
 import retrofit.http.Path;
 import retrofit.mime.TypedFile;
 import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
 
 /**
  * REST api for secured network service.
@@ -49,7 +50,7 @@ public interface SecuredAPI {
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @POST("/api/notification/synchronise")
-    SynchroniseResponse synchronise(@Header("Authorization") String authorization, @Body TypedInput body);
+    SynchroniseResponse synchronise(@Header("Authorization") String authorization, @Body TypedOutput body);
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @GET("/api/notification/{id}")
@@ -89,7 +90,7 @@ public interface SecuredAPI {
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @POST("/api/debuglog")
-    UploadLogResponse uploadLog(@Header("Authorization") String authorization, @Body UploadLog body);
+    UploadLogResponse uploadLog(@Header("Authorization") String authorization, @Header("Content-Encoding") String contentEncoding, @Body UploadLog body);
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @GET("/api/registration/user/tags")
@@ -142,7 +143,7 @@ public interface SecuredAPI {
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @POST("/api/notification/synchronise")
-    void synchronise(@Header("Authorization") String authorization, @Body TypedInput body, Callback<SynchroniseResponse> cb);
+    void synchronise(@Header("Authorization") String authorization, @Body TypedOutput body, Callback<SynchroniseResponse> cb);
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @GET("/api/notification/{id}")
@@ -186,7 +187,7 @@ public interface SecuredAPI {
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @POST("/api/debuglog")
-    void uploadLog(@Header("Authorization") String authorization, @Body UploadLog body, Callback<UploadLogResponse> cb);
+    void uploadLog(@Header("Authorization") String authorization, @Header("Content-Encoding") String contentEncoding, @Body UploadLog body, Callback<UploadLogResponse> cb);
 
     @Headers({"Accept: application/json", "DonkyClientSystemIdentifier : DonkyAndroidModularSdk"})
     @GET("/api/registration/user/tags")
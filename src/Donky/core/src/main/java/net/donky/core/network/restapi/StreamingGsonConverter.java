@@ -0,0 +1,81 @@
+package net.donky.core.network.restapi;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import net.donky.core.network.restapi.secured.SynchroniseResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+
+import retrofit.converter.ConversionException;
+import retrofit.converter.Converter;
+import retrofit.converter.GsonConverter;
+import retrofit.mime.MimeUtil;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+/**
+ * Gson converter reading synchronisation responses straight from the response stream, one server notification at a time.
+ * Other requests and responses are converted by {@link GsonConverter}.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class StreamingGsonConverter implements Converter {
+
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
+    private final Gson gson;
+
+    private final GsonConverter gsonConverter;
+
+    /**
+     * Gson converter reading synchronisation responses straight from the response stream.
+     *
+     * @param gson Gson instance used for conversion.
+     */
+    public StreamingGsonConverter(Gson gson) {
+        this.gson = gson;
+        this.gsonConverter = new GsonConverter(gson, DEFAULT_CHARSET);
+    }
+
+    @Override
+    public Object fromBody(TypedInput body, Type type) throws ConversionException {
+
+        if (type != SynchroniseResponse.class) {
+            return gsonConverter.fromBody(body, type);
+        }
+
+        String charset = MimeUtil.parseCharset(body.mimeType(), DEFAULT_CHARSET);
+
+        JsonReader reader = null;
+
+        try {
+
+            InputStream in = body.in();
+
+            reader = new JsonReader(new InputStreamReader(in, charset));
+
+            return SynchroniseResponse.read(reader, gson);
+
+        } catch (IOException e) {
+            throw new ConversionException(e);
+        } catch (RuntimeException e) {
+            throw new ConversionException(e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    @Override
+    public TypedOutput toBody(Object object) {
+        return gsonConverter.toBody(object);
+    }
+}
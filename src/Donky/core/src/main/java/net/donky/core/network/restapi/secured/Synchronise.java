@@ -1,26 +1,20 @@
 package net.donky.core.network.restapi.secured;
 
-import net.donky.core.DonkyException;
 import net.donky.core.account.DonkyAccountController;
-import net.donky.core.logging.DLog;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.ClientNotification;
+import net.donky.core.network.ClientNotificationCoalescer;
 import net.donky.core.network.DonkyNetworkController;
 import net.donky.core.network.NetworkResultListener;
 import net.donky.core.network.restapi.RestClient;
+import net.donky.core.settings.AppSettings;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
-import java.io.UnsupportedEncodingException;
 import java.util.LinkedList;
 import java.util.List;
 
 import retrofit.Callback;
 import retrofit.RetrofitError;
-import retrofit.mime.TypedByteArray;
-import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
 
 /**
  * Network request to synchronise the notifications.
@@ -31,52 +25,21 @@ import retrofit.mime.TypedInput;
  */
 public class Synchronise extends GenericSecuredServiceRequest<SynchroniseResponse> {
 
-    private TypedInput typedInput;
+    private final TypedOutput typedOutput;
 
     private final List<ClientNotification> clientNotifications;
 
-    private DLog log = new DLog("SendContentRequest");
-
     public Synchronise() {
         super();
 
         clientNotifications = new LinkedList<>();
 
-        clientNotifications.addAll(DonkyDataController.getInstance().getNotificationDAO().getNotifications());
-
-        try {
-
-            JSONObject jsonObjectSynchronise = new JSONObject();
-
-            JSONArray jsonArray = new JSONArray();
-
-            for (ClientNotification notification : clientNotifications) {
-
-                jsonArray.put(notification.getJson());
-
-            }
-
-            jsonObjectSynchronise.put("clientNotifications",jsonArray);
-
-            jsonObjectSynchronise.put("isBackground",true);
-
-            typedInput = new TypedByteArray("application/json", jsonObjectSynchronise.toString().getBytes("UTF-8"));
-
-        } catch (UnsupportedEncodingException e) {
-
-            DonkyException exception = new DonkyException("Error converting json string.");
-            exception.initCause(e);
+        // Only one page of the queue is sent. Remaining notifications are sent by the following exchanges.
+        clientNotifications.addAll(ClientNotificationCoalescer.getInstance().coalesce(DonkyDataController.getInstance().getNotificationDAO().getNotifications(
+                AppSettings.getInstance().getSyncMaxNotificationsPerPage(),
+                AppSettings.getInstance().getSyncMaxPageSizeBytes())));
 
-            log.error("Error converting json string.", e);
-
-        } catch (JSONException e) {
-
-            DonkyException exception = new DonkyException("Error converting json string.");
-            exception.initCause(e);
-
-            log.error("Error converting json string.", e);
-
-        }
+        typedOutput = new SynchroniseRequestBody(clientNotifications, true);
     }
 
     public List<ClientNotification> getClientNotifications() {
@@ -102,13 +65,13 @@ public class Synchronise extends GenericSecuredServiceRequest<SynchroniseRespons
 
     @Override
     protected SynchroniseResponse doSynchronousCall(String apiKey) {
-        return RestClient.getAPI().synchronise(apiKey, typedInput);
+        return RestClient.getAPI().synchronise(apiKey, typedOutput);
     }
 
     @Override
     protected void doAsynchronousCall(String authorization, final NetworkResultListener<SynchroniseResponse> listener) {
 
-        RestClient.getAPI().synchronise(authorization, typedInput, new Callback<SynchroniseResponse>() {
+        RestClient.getAPI().synchronise(authorization, typedOutput, new Callback<SynchroniseResponse>() {
 
             @Override
             public void success(SynchroniseResponse synchroniseResponse, retrofit.client.Response response) {
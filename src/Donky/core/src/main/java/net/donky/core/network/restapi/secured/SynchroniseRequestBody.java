@@ -0,0 +1,89 @@
+package net.donky.core.network.restapi.secured;
+
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.network.ClientNotification;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.List;
+
+import retrofit.mime.TypedOutput;
+
+/**
+ * Request body for notification synchronisation. Stored client notification json strings are written straight to the connection output stream
+ * so the whole payload is never held in memory as a json tree or a byte array.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SynchroniseRequestBody implements TypedOutput {
+
+    private static final String MIME_TYPE = "application/json; charset=UTF-8";
+
+    private final List<ClientNotification> clientNotifications;
+
+    private final boolean isBackground;
+
+    /**
+     * Request body for notification synchronisation.
+     *
+     * @param clientNotifications Client notifications to send.
+     * @param isBackground        Value of isBackground flag.
+     */
+    public SynchroniseRequestBody(List<ClientNotification> clientNotifications, boolean isBackground) {
+        this.clientNotifications = clientNotifications;
+        this.isBackground = isBackground;
+    }
+
+    @Override
+    public String fileName() {
+        return null;
+    }
+
+    @Override
+    public String mimeType() {
+        return MIME_TYPE;
+    }
+
+    /**
+     * Length is not known up front so the body will be sent using chunked transfer encoding.
+     *
+     * @return -1
+     */
+    @Override
+    public long length() {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, "UTF-8")));
+
+        writer.beginObject();
+
+        writer.name("clientNotifications");
+
+        writer.beginArray();
+
+        if (clientNotifications != null) {
+            for (ClientNotification notification : clientNotifications) {
+                String json = notification.getJsonString();
+                if (json != null) {
+                    writer.jsonValue(json);
+                }
+            }
+        }
+
+        writer.endArray();
+
+        writer.name("isBackground").value(isBackground);
+
+        writer.endObject();
+
+        // Flush but do not close, the stream is owned by the http client.
+        writer.flush();
+    }
+}
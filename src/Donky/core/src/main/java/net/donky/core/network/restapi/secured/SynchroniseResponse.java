@@ -1,9 +1,16 @@
 package net.donky.core.network.restapi.secured;
 
+import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import net.donky.core.network.ServerNotification;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -24,6 +31,49 @@ public class SynchroniseResponse {
     @SerializedName("moreNotificationsAvailable")
     private boolean moreNotificationsAvailable;
 
+    private static final Type FAILED_CLIENT_NOTIFICATIONS_TYPE = new TypeToken<List<FailedClientNotification>>() {}.getType();
+
+    /**
+     * Read the response from the stream. Server notifications are read one at a time without building an intermediate json tree of the whole response.
+     *
+     * @param reader Json reader positioned at the beginning of the response object.
+     * @param gson   Gson instance used to read failed client notifications details.
+     * @return Network response for notifications synchronisation request.
+     * @throws IOException
+     */
+    public static SynchroniseResponse read(JsonReader reader, Gson gson) throws IOException {
+
+        SynchroniseResponse response = new SynchroniseResponse();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if ("serverNotifications".equals(name)) {
+                response.serverNotifications = new LinkedList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    response.serverNotifications.add(new ServerNotification(reader));
+                }
+                reader.endArray();
+            } else if ("failedClientNotifications".equals(name)) {
+                response.failedClientNotifications = gson.fromJson(reader, FAILED_CLIENT_NOTIFICATIONS_TYPE);
+            } else if ("moreNotificationsAvailable".equals(name)) {
+                response.moreNotificationsAvailable = reader.nextBoolean();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return response;
+    }
+
     /**
      * @return Server notifications to be processed by the modules.
      */
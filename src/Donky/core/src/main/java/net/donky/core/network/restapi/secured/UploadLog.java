@@ -8,7 +8,9 @@ import net.donky.core.account.DonkyAccountController;
 import net.donky.core.logging.DLog;
 import net.donky.core.logging.DonkyLoggingController;
 import net.donky.core.network.NetworkResultListener;
+import net.donky.core.network.restapi.GzipRequestInterceptor;
 import net.donky.core.network.restapi.RestClient;
+import net.donky.core.settings.AppSettings;
 
 import java.util.Map;
 
@@ -51,9 +53,15 @@ public class UploadLog extends GenericSecuredServiceRequest<UploadLogResponse> {
 
     private SubmissionReason reason;
 
+    /**
+     * Content encoding of the request body, null if not compressed.
+     */
+    private final String contentEncoding;
+
     public UploadLog(String data, SubmissionReason submissionReason) {
         super();
         this.data = data;
+        this.contentEncoding = AppSettings.getInstance().isLogUploadCompressionEnabled() ? GzipRequestInterceptor.CONTENT_ENCODING_GZIP : null;
         if (submissionReason != null){
             this.submissionReason = submissionReason.toString();
             this.reason = submissionReason;
@@ -65,13 +73,13 @@ public class UploadLog extends GenericSecuredServiceRequest<UploadLogResponse> {
 
     @Override
     protected UploadLogResponse doSynchronousCall(final String authorization) {
-        return RestClient.getAPI().uploadLog(authorization, this);
+        return RestClient.getAPI().uploadLog(authorization, contentEncoding, this);
     }
 
     @Override
     protected void doAsynchronousCall(final String authorization,final NetworkResultListener<UploadLogResponse> listener) {
 
-        RestClient.getAPI().uploadLog(authorization, this, new Callback<UploadLogResponse>() {
+        RestClient.getAPI().uploadLog(authorization, contentEncoding, this, new Callback<UploadLogResponse>() {
 
             @Override
             public void success(UploadLogResponse uploadLogResponse, retrofit.client.Response response) {
@@ -4,8 +4,12 @@ import net.donky.core.ModuleDefinition;
 import net.donky.core.Notification;
 import net.donky.core.Subscription;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -22,13 +26,18 @@ class NotificationObservable<T extends Notification> {
      */
     private final CopyOnWriteArrayList<SubscriptionInternal<T>> observersForNotifications = new CopyOnWriteArrayList<>();
 
+    /**
+     * Immutable index of the subscriptions by notification type, replaced whenever subscriptions change.
+     */
+    private volatile SubscriptionIndex<T> index = new SubscriptionIndex<>(Collections.<SubscriptionInternal<T>>emptyList());
+
     /**
      * Subscribes to notifications. Callbacks are made during the Synchronise flow.
      *
      * @param moduleDefinition The module details.
      * @param subscriptions    The subscriptions to register for this module.
      */
-    public void subscribeToNotifications(ModuleDefinition moduleDefinition, List<Subscription<T>> subscriptions) {
+    public synchronized void subscribeToNotifications(ModuleDefinition moduleDefinition, List<Subscription<T>> subscriptions) {
 
         List<SubscriptionInternal<T>> moduleSubscriptionsToAdd = new LinkedList<>();
 
@@ -40,6 +49,7 @@ class NotificationObservable<T extends Notification> {
         }
 
         observersForNotifications.addAll(moduleSubscriptionsToAdd);
+        index = new SubscriptionIndex<>(observersForNotifications);
     }
 
     /**
@@ -48,7 +58,7 @@ class NotificationObservable<T extends Notification> {
      * @param moduleDefinition The module details.
      * @param subscriptions    The subscriptions to register for this module.
      */
-    public void subscribeToNotifications(ModuleDefinition moduleDefinition, List<Subscription<T>> subscriptions, String category, boolean autoAcknowledge) {
+    public synchronized void subscribeToNotifications(ModuleDefinition moduleDefinition, List<Subscription<T>> subscriptions, String category, boolean autoAcknowledge) {
 
         List<SubscriptionInternal<T>> moduleSubscriptionsToAdd = new LinkedList<>();
 
@@ -60,6 +70,7 @@ class NotificationObservable<T extends Notification> {
         }
 
         observersForNotifications.addAll(moduleSubscriptionsToAdd);
+        index = new SubscriptionIndex<>(observersForNotifications);
     }
 
     /**
@@ -68,7 +79,7 @@ class NotificationObservable<T extends Notification> {
      * @param moduleDefinition The module details.
      * @param subscription     Subscriptions to remove.
      */
-    public void unsubscribeFromNotifications(ModuleDefinition moduleDefinition, Subscription<T> subscription) {
+    public synchronized void unsubscribeFromNotifications(ModuleDefinition moduleDefinition, Subscription<T> subscription) {
 
         if (subscription != null) {
 
@@ -93,6 +104,7 @@ class NotificationObservable<T extends Notification> {
             }
 
             observersForNotifications.removeAll(moduleSubscriptionsToRemove);
+            index = new SubscriptionIndex<>(observersForNotifications);
 
         }
     }
@@ -103,4 +115,72 @@ class NotificationObservable<T extends Notification> {
 
     }
 
+    /**
+     * Get subscriptions registered for a single notification type.
+     *
+     * @param type Notification type.
+     * @return Unmodifiable list of subscriptions for given notification type.
+     */
+    public List<SubscriptionInternal<T>> getSubscriptions(String type) {
+
+        List<SubscriptionInternal<T>> subscriptions = type != null ? index.subscriptionsByType.get(type) : null;
+
+        return subscriptions != null ? subscriptions : Collections.<SubscriptionInternal<T>>emptyList();
+
+    }
+
+    /**
+     * Get subscriptions registered for multiple notification types.
+     *
+     * @return Unmodifiable list of subscriptions registered for multiple notification types.
+     */
+    public List<SubscriptionInternal<T>> getSubscriptionsForMultipleTypes() {
+
+        return index.subscriptionsForMultipleTypes;
+
+    }
+
+    /**
+     * Subscriptions grouped by notification type.
+     */
+    private static class SubscriptionIndex<T extends Notification> {
+
+        final Map<String, List<SubscriptionInternal<T>>> subscriptionsByType;
+
+        final List<SubscriptionInternal<T>> subscriptionsForMultipleTypes;
+
+        SubscriptionIndex(List<SubscriptionInternal<T>> subscriptions) {
+
+            Map<String, List<SubscriptionInternal<T>>> byType = new HashMap<>();
+
+            List<SubscriptionInternal<T>> multipleTypes = new ArrayList<>();
+
+            for (SubscriptionInternal<T> subscription : subscriptions) {
+
+                if (subscription.getNotificationType() != null) {
+
+                    List<SubscriptionInternal<T>> subscriptionsForType = byType.get(subscription.getNotificationType());
+
+                    if (subscriptionsForType == null) {
+                        subscriptionsForType = new ArrayList<>();
+                        byType.put(subscription.getNotificationType(), subscriptionsForType);
+                    }
+
+                    subscriptionsForType.add(subscription);
+                }
+
+                if (subscription.getNotificationTypes() != null && !subscription.getNotificationTypes().isEmpty()) {
+                    multipleTypes.add(subscription);
+                }
+            }
+
+            for (Map.Entry<String, List<SubscriptionInternal<T>>> entry : byType.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+
+            subscriptionsByType = byType;
+            subscriptionsForMultipleTypes = Collections.unmodifiableList(multipleTypes);
+        }
+    }
+
 }
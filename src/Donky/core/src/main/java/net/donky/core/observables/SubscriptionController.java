@@ -1,16 +1,17 @@
 package net.donky.core.observables;
 
-import android.os.Handler;
-import android.os.Looper;
-
 import net.donky.core.ModuleDefinition;
 import net.donky.core.OutboundNotification;
 import net.donky.core.Subscription;
+import net.donky.core.helpers.MainThreadDispatcher;
 import net.donky.core.network.ClientNotification;
 import net.donky.core.network.ServerNotification;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for subscriptions for notifications being send or received.
@@ -141,97 +142,111 @@ public class SubscriptionController {
      */
     public List<SubscriptionInternal<ServerNotification>> getSubscriptionsForServerNotification(String category, String type) {
 
-        List<SubscriptionInternal<ServerNotification>> triggeredInboundNotificationSubscriptions = new LinkedList<>();
-
-        NotificationObservable<ServerNotification> observable = null;
-
-        if (ServerNotification.NOTIFICATION_CATEGORY_CUSTOM.equals(category)) {
-
-            observable = inboundContentNotificationObservable;
-
-        } else if (ServerNotification.NOTIFICATION_CATEGORY_DONKY.equals(category)) {
-
-            observable = inboundDonkyNotificationObservable;
+        NotificationObservable<ServerNotification> observable = getInboundObservable(category);
 
+        if (observable != null) {
+            return observable.getSubscriptions(type);
         }
 
-        if (type != null && observable != null) {
-
-            for (final SubscriptionInternal<ServerNotification> inboundNotificationSubscription : observable.getSubscriptions()) {
-
-                if (inboundNotificationSubscription.getNotificationType() != null && inboundNotificationSubscription.getNotificationType().equals(type)) {
-
-                    triggeredInboundNotificationSubscriptions.add(inboundNotificationSubscription);
+        return Collections.emptyList();
+    }
 
-                }
+    /**
+     * Get all subscriptions registered for multiple types of server notifications.
+     *
+     * @param category Category of server notification - {@link net.donky.core.network.ServerNotification#NOTIFICATION_CATEGORY_DONKY} or {@link net.donky.core.network.ServerNotification#NOTIFICATION_CATEGORY_CUSTOM}
+     * @return Subscriptions registered for multiple notification types.
+     */
+    public List<SubscriptionInternal<ServerNotification>> getSubscriptionsForServerNotificationWithMultipleTypes(String category) {
 
-            }
+        NotificationObservable<ServerNotification> observable = getInboundObservable(category);
 
+        if (observable != null) {
+            return observable.getSubscriptionsForMultipleTypes();
         }
 
-        return triggeredInboundNotificationSubscriptions;
+        return Collections.emptyList();
     }
 
-    public List<SubscriptionInternal<ServerNotification>> getSubscriptionsForServerNotificationWithMultipleTypes(String category) {
-
-        List<SubscriptionInternal<ServerNotification>> triggeredInboundNotificationSubscriptions = new LinkedList<>();
-
-        NotificationObservable<ServerNotification> observable = null;
+    private NotificationObservable<ServerNotification> getInboundObservable(String category) {
 
         if (ServerNotification.NOTIFICATION_CATEGORY_CUSTOM.equals(category)) {
 
-            observable = inboundContentNotificationObservable;
+            return inboundContentNotificationObservable;
 
         } else if (ServerNotification.NOTIFICATION_CATEGORY_DONKY.equals(category)) {
 
-            observable = inboundDonkyNotificationObservable;
+            return inboundDonkyNotificationObservable;
 
         }
 
-        if (observable != null) {
-
-            for (final SubscriptionInternal<ServerNotification> inboundNotificationSubscription : observable.getSubscriptions()) {
-
-                if (inboundNotificationSubscription.getNotificationTypes() != null && !inboundNotificationSubscription.getNotificationTypes().isEmpty()) {
-
-                    triggeredInboundNotificationSubscriptions.add(inboundNotificationSubscription);
+        return null;
+    }
 
-                }
+    /**
+     * Notify subscribers about outbound Client notifications.
+     *
+     * @param clientNotification Client notification to notify subscribers about.
+     */
+    public void notifyAboutOutboundClientNotification(final ClientNotification clientNotification) {
 
-            }
+        List<ClientNotification> clientNotifications = new LinkedList<>();
+        clientNotifications.add(clientNotification);
 
-        }
+        notifyAboutOutboundClientNotifications(clientNotifications);
 
-        return triggeredInboundNotificationSubscriptions;
     }
 
     /**
-     * Notify subscribers about outbound Client notifications.
+     * Notify subscribers about outbound Client notifications. Each subscriber is notified once on the main thread, batch listeners receive all notifications of subscribed type together.
      *
-     * @param clientNotification Client notification to notify subscribers about.
+     * @param clientNotifications Client notifications to notify subscribers about.
      */
-    public void notifyAboutOutboundClientNotification(final ClientNotification clientNotification) {
+    public void notifyAboutOutboundClientNotifications(final List<ClientNotification> clientNotifications) {
 
-        for (final SubscriptionInternal<OutboundNotification> outboundNotificationSubscriptionInternal : outboundNotificationObservable.getSubscriptions()) {
+        if (clientNotifications == null || clientNotifications.isEmpty()) {
+            return;
+        }
 
-            if (outboundNotificationSubscriptionInternal.getNotificationType() != null && outboundNotificationSubscriptionInternal.getNotificationType().equals(clientNotification.getBaseNotificationType())) {
+        Map<SubscriptionInternal<OutboundNotification>, List<OutboundNotification>> notificationsBySubscription = new LinkedHashMap<>();
 
-                final OutboundNotification outboundNotification = new OutboundNotification(clientNotification);
+        for (ClientNotification clientNotification : clientNotifications) {
 
-                new Handler(Looper.getMainLooper()).post(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (outboundNotificationSubscriptionInternal.getBatchListener() != null) {
-                            List<OutboundNotification> outboundNotifications = new LinkedList<>();
-                            outboundNotifications.add(outboundNotification);
-                            outboundNotificationSubscriptionInternal.getBatchListener().onNotification(outboundNotifications);
-                        } else if (outboundNotificationSubscriptionInternal.getListener() != null) {
-                            outboundNotificationSubscriptionInternal.getListener().onNotification(outboundNotification);
-                        }
+            List<SubscriptionInternal<OutboundNotification>> subscriptions = outboundNotificationObservable.getSubscriptions(clientNotification.getBaseNotificationType());
+
+            if (!subscriptions.isEmpty()) {
+
+                OutboundNotification outboundNotification = new OutboundNotification(clientNotification);
+
+                for (SubscriptionInternal<OutboundNotification> subscription : subscriptions) {
+
+                    List<OutboundNotification> outboundNotifications = notificationsBySubscription.get(subscription);
+
+                    if (outboundNotifications == null) {
+                        outboundNotifications = new LinkedList<>();
+                        notificationsBySubscription.put(subscription, outboundNotifications);
                     }
-                });
 
+                    outboundNotifications.add(outboundNotification);
+                }
             }
+        }
+
+        for (final Map.Entry<SubscriptionInternal<OutboundNotification>, List<OutboundNotification>> entry : notificationsBySubscription.entrySet()) {
+
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    SubscriptionInternal<OutboundNotification> subscription = entry.getKey();
+                    if (subscription.getBatchListener() != null) {
+                        subscription.getBatchListener().onNotification(entry.getValue());
+                    } else if (subscription.getListener() != null) {
+                        for (OutboundNotification outboundNotification : entry.getValue()) {
+                            subscription.getListener().onNotification(outboundNotification);
+                        }
+                    }
+                }
+            });
 
         }
 
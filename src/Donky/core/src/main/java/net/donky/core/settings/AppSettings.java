@@ -44,8 +44,26 @@ public class AppSettings extends AppSettingsBase {
 
     private static final String KEY_GCM_SENDER_ID = "GcmSenderId";
 
+    private static final String KEY_SYNC_MAX_NOTIFICATIONS_PER_PAGE = "SyncMaxNotificationsPerPage";
+
+    private static final String KEY_SYNC_MAX_PAGE_SIZE_BYTES = "SyncMaxPageSizeBytes";
+
+    private static final String KEY_SYNC_DEBOUNCE_MILLISECONDS = "SyncDebounceMilliseconds";
+
+    private static final String KEY_SYNC_MAX_BACKOFF_SECONDS = "SyncMaxBackoffSeconds";
+
     private static final String KEY_MINIMAL_TIME_BETWEEN_SUBMITTING_LOGS = "MinimalTimeBetweenSubmittingLogsSeconds";
 
+    private static final String KEY_LOG_FILE_SIZE_LIMIT_KB = "LogFileSizeLimitKB";
+
+    private static final String KEY_LOG_BUFFER_CAPACITY = "LogBufferCapacity";
+
+    private static final String KEY_LOG_SUBMISSION_BURST = "LogSubmissionBurst";
+
+    private static final String KEY_LOG_SUBMISSION_WINDOW_SECONDS = "LogSubmissionWindowSeconds";
+
+    private static final String KEY_LOG_UPLOAD_COMPRESSION_ENABLED = "LogUploadCompressionEnabled";
+
     private static final String KEY_NEW_DEVICE_MESSAGE = "NewDeviceMessage";
 
     private static final String KEY_NEW_DEVICE_NOTIFICATION_ENABLED = "NewDeviceNotificationEnabled";
@@ -69,10 +87,28 @@ public class AppSettings extends AppSettingsBase {
 
     private int syncDelaySeconds;
 
+    private int syncMaxNotificationsPerPage;
+
+    private int syncMaxPageSizeBytes;
+
+    private int syncDebounceMilliseconds;
+
+    private int syncMaxBackoffSeconds;
+
     private String gcmSenderId;
 
     private int minimalTimeBetweenSubmittingLogsSeconds;
 
+    private int logFileSizeLimitKB;
+
+    private int logBufferCapacity;
+
+    private int logSubmissionBurst;
+
+    private int logSubmissionWindowSeconds;
+
+    private boolean logUploadCompressionEnabled;
+
     private String newDeviceMessage;
     private String newDeviceTitle;
     private int newDeviceSmallIcon;
@@ -114,8 +150,17 @@ public class AppSettings extends AppSettingsBase {
         sensitiveLogsEnabled = getBoolean(context, KEY_SENSITIVE_LOGS_ENABLED, false);
         authRootUrl = getString(context, KEY_AUTH_ROOT_URL, DEFAULT_SERVICE_URL);
         syncDelaySeconds = getInt(context, KEY_NEXT_SYNCHRONISE_DELAY_SECONDS, 60);
+        syncMaxNotificationsPerPage = getInt(context, KEY_SYNC_MAX_NOTIFICATIONS_PER_PAGE, 100);
+        syncMaxPageSizeBytes = getInt(context, KEY_SYNC_MAX_PAGE_SIZE_BYTES, 128 * 1024);
+        syncDebounceMilliseconds = getInt(context, KEY_SYNC_DEBOUNCE_MILLISECONDS, 500);
+        syncMaxBackoffSeconds = getInt(context, KEY_SYNC_MAX_BACKOFF_SECONDS, 5 * 60);
         gcmSenderId = getString(context, KEY_GCM_SENDER_ID, DEFAULT_GCM_SENDER_ID);
         minimalTimeBetweenSubmittingLogsSeconds= getInt(context, KEY_MINIMAL_TIME_BETWEEN_SUBMITTING_LOGS, 30);
+        logFileSizeLimitKB = getInt(context, KEY_LOG_FILE_SIZE_LIMIT_KB, 64);
+        logBufferCapacity = getInt(context, KEY_LOG_BUFFER_CAPACITY, 512);
+        logSubmissionBurst = getInt(context, KEY_LOG_SUBMISSION_BURST, 3);
+        logSubmissionWindowSeconds = getInt(context, KEY_LOG_SUBMISSION_WINDOW_SECONDS, 10);
+        logUploadCompressionEnabled = getBoolean(context, KEY_LOG_UPLOAD_COMPRESSION_ENABLED, false);
 
         newDeviceNotificationEnabled = getBoolean(context, KEY_NEW_DEVICE_NOTIFICATION_ENABLED, true);
         newDeviceMessage = getString(context, KEY_NEW_DEVICE_MESSAGE, "A new device {"+ NewDeviceHandler.newDeviceModelTag+"} ({"+ NewDeviceHandler.newDeviceOperatingSystemTag+"}) has been registered against your account; if you did not register this device please let us know immediately.");
@@ -223,6 +268,42 @@ public class AppSettings extends AppSettingsBase {
         return syncDelaySeconds;
     }
 
+    /**
+     * Maximum number of client notifications sent to the network in a single notification exchange. Remaining notifications are sent in the following exchanges.
+     *
+     * @return Maximum number of client notifications in a single notification exchange. Zero or less means no limit.
+     */
+    public int getSyncMaxNotificationsPerPage() {
+        return syncMaxNotificationsPerPage;
+    }
+
+    /**
+     * Approximate maximum size of client notifications json sent to the network in a single notification exchange. At least one notification is always sent.
+     *
+     * @return Maximum size in bytes of client notifications in a single notification exchange. Zero or less means no limit.
+     */
+    public int getSyncMaxPageSizeBytes() {
+        return syncMaxPageSizeBytes;
+    }
+
+    /**
+     * Synchronisation triggers received within this time are performed as a single notification exchange.
+     *
+     * @return Delay in milliseconds between the first synchronisation trigger and the notification exchange.
+     */
+    public int getSyncDebounceMilliseconds() {
+        return syncDebounceMilliseconds;
+    }
+
+    /**
+     * Maximum delay before retrying the notification exchange after it failed or internet connection was not available.
+     *
+     * @return Maximum retry delay in seconds.
+     */
+    public int getSyncMaxBackoffSeconds() {
+        return syncMaxBackoffSeconds;
+    }
+
     /**
      * GCM sender id used to identify which server can send GCM messages. Needed to obtain registrationId used to identify device.
      *
@@ -250,6 +331,51 @@ public class AppSettings extends AppSettingsBase {
         return minimalTimeBetweenSubmittingLogsSeconds;
     }
 
+    /**
+     * Size of a single internal log file. Two log files are kept, the older one is deleted when the current one reaches this size.
+     *
+     * @return Size limit of a single internal log file in kilobytes.
+     */
+    public int getLogFileSizeLimitKB() {
+        return logFileSizeLimitKB;
+    }
+
+    /**
+     * Maximum number of log messages waiting to be saved to the internal log file. New messages are dropped when the buffer is full.
+     *
+     * @return Capacity of the log message buffer.
+     */
+    public int getLogBufferCapacity() {
+        return logBufferCapacity;
+    }
+
+    /**
+     * Maximum number of automatic log uploads performed one after another. Further uploads are performed every {@link #getMinTimeSubmittingLogsSeconds()}.
+     *
+     * @return Maximum number of automatic log uploads in a burst.
+     */
+    public int getLogSubmissionBurst() {
+        return logSubmissionBurst;
+    }
+
+    /**
+     * Automatic log submissions requested within this time are performed as a single upload.
+     *
+     * @return Delay in seconds between the first automatic log submission request and the upload.
+     */
+    public int getLogSubmissionWindowSeconds() {
+        return logSubmissionWindowSeconds;
+    }
+
+    /**
+     * Should uploaded logs be compressed with gzip? Requires the Donky Network to accept gzip content encoding.
+     *
+     * @return True if uploaded logs are compressed.
+     */
+    public boolean isLogUploadCompressionEnabled() {
+        return logUploadCompressionEnabled;
+    }
+
     /**
      * Message displayed in notification when new device registered against the user account.
      *
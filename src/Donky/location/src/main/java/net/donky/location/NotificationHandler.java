@@ -1,9 +1,9 @@
 package net.donky.location;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import net.donky.core.DonkyCore;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.network.ServerNotification;
 import net.donky.core.network.location.UserLocation;
 import net.donky.core.network.location.UserLocationRequest;
@@ -42,9 +42,7 @@ public class NotificationHandler {
 
                 JsonObject data = serverNotification.getData();
 
-                Gson gson = new Gson();
-
-                UserLocationRequest request = gson.fromJson(data.toString(), UserLocationRequest.class);
+                UserLocationRequest request = GsonHelper.getGson().fromJson(data, UserLocationRequest.class);
 
                 if (request != null) {
                     requests.add(request);
@@ -75,9 +73,7 @@ public class NotificationHandler {
 
                 JsonObject data = serverNotification.getData();
 
-                Gson gson = new Gson();
-
-                UserLocation location = gson.fromJson(data.toString(), UserLocation.class);
+                UserLocation location = GsonHelper.getGson().fromJson(data, UserLocation.class);
 
                 if (location != null) {
                     locations.add(location);
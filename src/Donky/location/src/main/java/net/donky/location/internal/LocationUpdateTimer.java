@@ -54,7 +54,7 @@ public class LocationUpdateTimer {
 
         try {
 
-            String interval = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItems().get(ConfigurationDAO.KEY_CONFIGURATION_LocationUpdateIntervalSeconds);
+            String interval = DonkyDataController.getInstance().getConfigurationDAO().getConfigurationItem(ConfigurationDAO.KEY_CONFIGURATION_LocationUpdateIntervalSeconds);
 
             if (interval != null) {
 
@@ -3,6 +3,9 @@ package net.donky.core.messaging.logic;
 import android.app.Application;
 import android.test.ApplicationTestCase;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
 import net.donky.core.DonkyCore;
 import net.donky.core.DonkyException;
 import net.donky.core.ModuleDefinition;
@@ -10,11 +13,13 @@ import net.donky.core.OutboundNotification;
 import net.donky.core.Subscription;
 import net.donky.core.account.DeviceDetails;
 import net.donky.core.account.UserDetails;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.messaging.logic.mock.MockDonkyListener;
 import net.donky.core.messaging.logic.mock.MockMessageReceivedDetails;
 import net.donky.core.messaging.logic.mock.MockOutboundNotificationBatchListener;
 import net.donky.core.messaging.logic.mock.MockServerNotification;
 import net.donky.core.messaging.logic.model.MessageReceivedDetails;
+import net.donky.core.messaging.logic.model.MessageReceivedDetailsTypeAdapter;
 import net.donky.core.messaging.logic.model.mock.MockCommonMessage;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
@@ -133,6 +138,28 @@ public class MessagingLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testMessageReceivedDetailsTypeAdapterMatchesReflectiveGson() {
+
+        GsonHelper.registerTypeAdapter(MessageReceivedDetails.class, new MessageReceivedDetailsTypeAdapter());
+
+        Gson reflective = new Gson();
+
+        JsonParser parser = new JsonParser();
+
+        MessageReceivedDetails messageReceivedDetails = new MockMessageReceivedDetails(true, new MockServerNotification());
+        messageReceivedDetails.getContextItems().put("key", "value");
+
+        String json = reflective.toJson(messageReceivedDetails, MessageReceivedDetails.class);
+
+        MessageReceivedDetails expected = reflective.fromJson(json, MessageReceivedDetails.class);
+        MessageReceivedDetails decoded = GsonHelper.getGson().fromJson(json, MessageReceivedDetails.class);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(decoded));
+        assertEquals(parser.parse(json), parser.parse(GsonHelper.getGson().toJson(expected, MessageReceivedDetails.class)));
+
+    }
+
     @Test
     public void testMessageReadNotification() throws InterruptedException, JSONException {
 
@@ -1,13 +1,13 @@
 package net.donky.core.messaging.logic;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
 
 import net.donky.core.helpers.DateAndTimeHelper;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.helpers.IdHelper;
 import net.donky.core.messaging.logic.model.CommonMessage;
 import net.donky.core.messaging.logic.model.MessageReceivedDetails;
-import net.donky.core.network.AcknowledgementDetail;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -56,11 +56,12 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
 
         ClientNotification n = new ClientNotification(Type.MessageReceived.toString(), IdHelper.generateId());
 
-        Gson gson = new Gson();
-
         try {
 
-            n.data = new JSONObject(gson.toJson(createMessageReceived(n, messageReceivedDetails)));
+            JsonObject messageReceived = GsonHelper.getGson().toJsonTree(messageReceivedDetails, MessageReceivedDetails.class).getAsJsonObject();
+            messageReceived.addProperty("type", Type.MessageReceived.toString());
+
+            n.data = new JSONObject(messageReceived.toString());
 
         } catch (JSONException e) {
 
@@ -81,11 +82,9 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
 
         ClientNotification n = new ClientNotification(Type.MessageRead.toString(), IdHelper.generateId());
 
-        Gson gson = new Gson();
-
         try {
 
-            n.data = new JSONObject(gson.toJson(createMessageRead(n, richCommonMessage)));
+            n.data = new JSONObject(GsonHelper.getGson().toJson(createMessageRead(n, richCommonMessage)));
 
         } catch (JSONException e) {
 
@@ -106,11 +105,9 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
 
         ClientNotification n = new ClientNotification(Type.MessageDeleted.toString(), IdHelper.generateId());
 
-        Gson gson = new Gson();
-
         try {
 
-            n.data = new JSONObject(gson.toJson(createMessageDeleted(n, commonMessage)));
+            n.data = new JSONObject(GsonHelper.getGson().toJson(createMessageDeleted(n, commonMessage)));
 
         } catch (JSONException e) {
 
@@ -131,11 +128,9 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
 
         ClientNotification n = new ClientNotification(Type.MessageShared.toString(), IdHelper.generateId());
 
-        Gson gson = new Gson();
-
         try {
 
-            n.data = new JSONObject(gson.toJson(createMessageShared(n, richCommonMessage, sharedTo)));
+            n.data = new JSONObject(GsonHelper.getGson().toJson(createMessageShared(n, richCommonMessage, sharedTo)));
 
         } catch (JSONException e) {
 
@@ -165,27 +160,6 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
         return u;
     }
 
-    /**
-     * Create serialized object for message received data.
-     */
-    private static MessageReceived createMessageReceived(ClientNotification n, MessageReceivedDetails messageReceivedDetails) {
-
-        MessageReceived u = n.new MessageReceived();
-
-        u.type = Type.MessageReceived.toString();
-        u.senderInternalUserId = messageReceivedDetails.getSenderInternalUserId();
-        u.messageId = messageReceivedDetails.getMessageId();
-        u.senderMessageId = messageReceivedDetails.getSenderMessageId();
-        u.receivedExpired = messageReceivedDetails.isReceivedExpired();
-        u.messageType = messageReceivedDetails.getMessageType();
-        u.messageScope = messageReceivedDetails.getMessageScope();
-        u.SentTimestamp = messageReceivedDetails.getSentTimestamp();
-        u.contextItems = messageReceivedDetails.getContextItems();
-        u.acknowledgementDetail = messageReceivedDetails.getAcknowledgementDetail();
-
-        return u;
-    }
-
     /**
      * Create serialized object for message read data.
      */
@@ -229,43 +203,6 @@ public class ClientNotification extends net.donky.core.network.ClientNotificatio
         return u;
     }
 
-    /**
-     * Description of json content of 'Message Received' client notification.
-     */
-    private class MessageReceived {
-
-        @SerializedName("type")
-        private String type;
-
-        @SerializedName("senderInternalUserId")
-        private String senderInternalUserId;
-
-        @SerializedName("messageId")
-        private String messageId;
-
-        @SerializedName("senderMessageId")
-        private String senderMessageId;
-
-        @SerializedName("receivedExpired")
-        private boolean receivedExpired;
-
-        @SerializedName("messageType")
-        private String messageType;
-
-        @SerializedName("messageScope")
-        private String messageScope;
-
-        @SerializedName("sentTimestamp")
-        private String SentTimestamp;
-
-        @SerializedName("contextItems")
-        private  Map<String,String> contextItems;
-
-        @SerializedName("acknowledgementDetail")
-        private AcknowledgementDetail acknowledgementDetail;
-
-    }
-
     /**
      * Description of json content of 'Message Read' client notification.
      */
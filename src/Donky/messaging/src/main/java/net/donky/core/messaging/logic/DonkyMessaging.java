@@ -8,6 +8,10 @@ import net.donky.core.DonkyListener;
 import net.donky.core.ModuleDefinition;
 import net.donky.core.NotificationBatchListener;
 import net.donky.core.Subscription;
+import net.donky.core.helpers.GsonHelper;
+import net.donky.core.messaging.logic.model.MessageReceivedDetails;
+import net.donky.core.messaging.logic.model.MessageReceivedDetailsTypeAdapter;
+import net.donky.core.network.ClientNotificationCoalescer;
 import net.donky.core.network.ServerNotification;
 
 import java.util.LinkedList;
@@ -92,6 +96,8 @@ public class DonkyMessaging {
 
                 DonkyCore.registerModule(new ModuleDefinition(DonkyMessaging.class.getSimpleName(), version));
 
+                GsonHelper.registerTypeAdapter(MessageReceivedDetails.class, new MessageReceivedDetailsTypeAdapter());
+
                 List<Subscription<ServerNotification>> serverNotificationSubscriptions = new LinkedList<>();
 
                 serverNotificationSubscriptions.add(new Subscription<>(ServerNotification.NOTIFICATION_TYPE_SyncMsgDeleted,
@@ -129,6 +135,8 @@ public class DonkyMessaging {
                         serverNotificationSubscriptions,
                         false);
 
+                ClientNotificationCoalescer.getInstance().registerRule(new MessageNotificationsMergeRule());
+
                 initialised.set(true);
 
                 if (donkyListener != null) {
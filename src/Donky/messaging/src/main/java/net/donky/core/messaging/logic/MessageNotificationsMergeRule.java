@@ -0,0 +1,48 @@
+package net.donky.core.messaging.logic;
+
+import net.donky.core.network.ClientNotification;
+import net.donky.core.network.ClientNotificationMergeRule;
+
+import org.json.JSONObject;
+
+/**
+ * Collapses redundant 'Message Read' and 'Message Deleted' client notifications queued for the same message.
+ * Repeated notifications are sent once and 'Message Read' is not sent for a message that is deleted afterwards.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class MessageNotificationsMergeRule extends ClientNotificationMergeRule {
+
+    private static final String KEY_MESSAGE_ID = "messageId";
+
+    MessageNotificationsMergeRule() {
+        super(net.donky.core.messaging.logic.ClientNotification.Type.MessageRead.toString(),
+                net.donky.core.messaging.logic.ClientNotification.Type.MessageDeleted.toString());
+    }
+
+    @Override
+    public String getKey(ClientNotification notification) {
+
+        JSONObject json = notification.getJson();
+
+        if (json != null) {
+            return json.optString(KEY_MESSAGE_ID, null);
+        }
+
+        return null;
+    }
+
+    @Override
+    public ClientNotification merge(ClientNotification earlier, ClientNotification later) {
+
+        String deleted = net.donky.core.messaging.logic.ClientNotification.Type.MessageDeleted.toString();
+
+        if (earlier.getBaseNotificationType().equals(later.getBaseNotificationType())) {
+            return earlier;
+        } else if (deleted.equals(later.getBaseNotificationType())) {
+            return later;
+        }
+
+        return null;
+    }
+}
@@ -1,10 +1,10 @@
 package net.donky.core.messaging.logic;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
 
 import net.donky.core.DonkyCore;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.logging.DLog;
 import net.donky.core.messaging.logic.events.SyncMessageDeletedEvent;
 import net.donky.core.messaging.logic.events.SyncMessageReadEvent;
@@ -39,9 +39,7 @@ public class NotificationHandler {
 
                     JsonObject data = serverNotification.getData();
 
-                    Gson gson = new Gson();
-
-                    final MessageReadNotification stateNotification = gson.fromJson(data.toString(), MessageReadNotification.class);
+                    final MessageReadNotification stateNotification = GsonHelper.getGson().fromJson(data, MessageReadNotification.class);
 
                     if (stateNotification != null) {
                         ids.add(stateNotification.messageId);
@@ -76,9 +74,7 @@ public class NotificationHandler {
 
                     JsonObject data = serverNotification.getData();
 
-                    Gson gson = new Gson();
-
-                    final MessageDeletedNotification stateNotification = gson.fromJson(data.toString(), MessageDeletedNotification.class);
+                    final MessageDeletedNotification stateNotification = GsonHelper.getGson().fromJson(data, MessageDeletedNotification.class);
 
                     if (stateNotification != null) {
                         ids.add(stateNotification.messageId);
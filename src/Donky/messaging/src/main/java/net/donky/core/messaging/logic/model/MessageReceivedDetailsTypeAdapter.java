@@ -0,0 +1,88 @@
+package net.donky.core.messaging.logic.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.helpers.GsonHelper;
+import net.donky.core.network.AcknowledgementDetailTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * Type adapter reading and writing {@link MessageReceivedDetails} as the content of 'Message Received' client notification, without reflection.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class MessageReceivedDetailsTypeAdapter extends TypeAdapter<MessageReceivedDetails> {
+
+    private final AcknowledgementDetailTypeAdapter acknowledgementDetailTypeAdapter = new AcknowledgementDetailTypeAdapter();
+
+    @Override
+    public void write(JsonWriter out, MessageReceivedDetails value) throws IOException {
+
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("senderInternalUserId").value(value.getSenderInternalUserId());
+        out.name("messageId").value(value.getMessageId());
+        out.name("senderMessageId").value(value.getSenderMessageId());
+        out.name("receivedExpired").value(value.isReceivedExpired());
+        out.name("messageType").value(value.getMessageType());
+        out.name("messageScope").value(value.getMessageScope());
+        out.name("sentTimestamp").value(value.getSentTimestamp());
+        out.name("contextItems");
+        GsonHelper.writeStringMap(out, value.getContextItems());
+        out.name("acknowledgementDetail");
+        acknowledgementDetailTypeAdapter.write(out, value.getAcknowledgementDetail());
+        out.endObject();
+    }
+
+    @Override
+    public MessageReceivedDetails read(JsonReader in) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        MessageReceivedDetails messageReceivedDetails = new MessageReceivedDetails();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+
+            String name = in.nextName();
+
+            if ("senderInternalUserId".equals(name)) {
+                messageReceivedDetails.setSenderInternalUserId(GsonHelper.readString(in));
+            } else if ("messageId".equals(name)) {
+                messageReceivedDetails.setMessageId(GsonHelper.readString(in));
+            } else if ("senderMessageId".equals(name)) {
+                messageReceivedDetails.setSenderMessageId(GsonHelper.readString(in));
+            } else if ("receivedExpired".equals(name)) {
+                messageReceivedDetails.setReceivedExpired(GsonHelper.readBoolean(in, false));
+            } else if ("messageType".equals(name)) {
+                messageReceivedDetails.setMessageType(GsonHelper.readString(in));
+            } else if ("messageScope".equals(name)) {
+                messageReceivedDetails.setMessageScope(GsonHelper.readString(in));
+            } else if ("sentTimestamp".equals(name)) {
+                messageReceivedDetails.setSentTimestamp(GsonHelper.readString(in));
+            } else if ("contextItems".equals(name)) {
+                messageReceivedDetails.setContextItems(GsonHelper.readStringMap(in));
+            } else if ("acknowledgementDetail".equals(name)) {
+                messageReceivedDetails.setAcknowledgementDetail(acknowledgementDetailTypeAdapter.read(in));
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return messageReceivedDetails;
+    }
+}
@@ -6,6 +6,9 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.test.ApplicationTestCase;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
 import net.donky.core.DonkyCore;
 import net.donky.core.DonkyException;
 import net.donky.core.ModuleDefinition;
@@ -14,8 +17,10 @@ import net.donky.core.Subscription;
 import net.donky.core.account.DeviceDetails;
 import net.donky.core.account.UserDetails;
 import net.donky.core.events.CoreInitialisedSuccessfullyEvent;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.messaging.push.logic.PushLogicController;
 import net.donky.core.messaging.push.logic.SimplePushData;
+import net.donky.core.messaging.push.logic.SimplePushDataTypeAdapter;
 import net.donky.core.messaging.push.logic.SimplePushHandler;
 import net.donky.core.messaging.push.logic.events.SimplePushMessageEvent;
 import net.donky.core.messaging.push.mock.MockDonkyEventListener;
@@ -159,6 +164,28 @@ public class PushMessageLogicTest extends ApplicationTestCase<Application> {
         assertEquals(mockSimplePushData.getMessageId(), outboundNotification.getJsonData().getString("messageId"));
     }
 
+    @Test
+    public void testSimplePushDataTypeAdapterMatchesReflectiveGson() {
+
+        GsonHelper.registerTypeAdapter(SimplePushData.class, new SimplePushDataTypeAdapter());
+
+        Gson reflective = new Gson();
+
+        JsonParser parser = new JsonParser();
+
+        for (int numberOfButtons = 0; numberOfButtons <= 2; numberOfButtons++) {
+
+            String json = reflective.toJson(new MockSimplePushData(numberOfButtons), SimplePushData.class);
+
+            SimplePushData expected = reflective.fromJson(json, SimplePushData.class);
+            SimplePushData decoded = GsonHelper.getGson().fromJson(json, SimplePushData.class);
+
+            assertEquals(reflective.toJson(expected), reflective.toJson(decoded));
+            assertEquals(parser.parse(reflective.toJson(expected)), parser.parse(GsonHelper.getGson().toJson(expected, SimplePushData.class)));
+        }
+
+    }
+
     @Test
     public void testHandleServerNotificationInDifferentTimezones() throws InterruptedException, DonkyException {
 
@@ -10,8 +10,11 @@ import net.donky.core.ModuleDefinition;
 import net.donky.core.NotificationBatchListener;
 import net.donky.core.Subscription;
 import net.donky.core.assets.DonkyAssets;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.messaging.logic.DonkyMessaging;
 import net.donky.core.messaging.push.logic.PushLogicController;
+import net.donky.core.messaging.push.logic.SimplePushData;
+import net.donky.core.messaging.push.logic.SimplePushDataTypeAdapter;
 import net.donky.core.messaging.push.logic.SimplePushHandler;
 import net.donky.core.messaging.push.ui.SimplePushUIConfiguration;
 import net.donky.core.network.ServerNotification;
@@ -98,6 +101,8 @@ public class DonkyPush {
 
                 DonkyCore.registerModule(new ModuleDefinition(DonkyPush.class.getSimpleName(), version));
 
+                GsonHelper.registerTypeAdapter(SimplePushData.class, new SimplePushDataTypeAdapter());
+
                 DonkyMessaging.initialiseDonkyMessaging(application, new DonkyListener() {
 
                     @Override
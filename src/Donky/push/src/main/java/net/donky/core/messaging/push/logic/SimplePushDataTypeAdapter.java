@@ -0,0 +1,245 @@
+package net.donky.core.messaging.push.logic;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.helpers.GsonHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Type adapter reading and writing {@link SimplePushData} from Simple Push server notification data without reflection.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class SimplePushDataTypeAdapter extends TypeAdapter<SimplePushData> {
+
+    @Override
+    public void write(JsonWriter out, SimplePushData value) throws IOException {
+
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("messageType").value(value.getMessageType());
+        out.name("msgSentTimeStamp").value(value.getMsgSentTimeStamp());
+        out.name("senderDisplayName").value(value.getSenderDisplayName());
+        out.name("buttonSets");
+        writeButtonSets(out, value.getButtonSets());
+        out.name("body").value(value.getBody());
+        out.name("senderInternalUserId").value(value.getSenderInternalUserId());
+        out.name("senderMessageId").value(value.getSenderMessageId());
+        out.name("messageId").value(value.getMessageId());
+        out.name("contextItems");
+        GsonHelper.writeStringMap(out, value.getContextItems());
+        out.name("avatarAssetId").value(value.getAvatarAssetId());
+        out.name("sentTimestamp").value(value.getSentTimestamp());
+        out.name("expiryTimeStamp").value(value.getExpiryTimeStamp());
+        out.name("receivedExpired").value(value.isReceivedExpired());
+        out.endObject();
+    }
+
+    @Override
+    public SimplePushData read(JsonReader in) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        SimplePushData simplePushData = new SimplePushData();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+
+            String name = in.nextName();
+
+            if ("messageType".equals(name)) {
+                simplePushData.setMessageType(GsonHelper.readString(in));
+            } else if ("msgSentTimeStamp".equals(name)) {
+                simplePushData.setMsgSentTimeStamp(GsonHelper.readString(in));
+            } else if ("senderDisplayName".equals(name)) {
+                simplePushData.setSenderDisplayName(GsonHelper.readString(in));
+            } else if ("buttonSets".equals(name)) {
+                simplePushData.setButtonSets(readButtonSets(in, simplePushData));
+            } else if ("body".equals(name)) {
+                simplePushData.setBody(GsonHelper.readString(in));
+            } else if ("senderInternalUserId".equals(name)) {
+                simplePushData.setSenderInternalUserId(GsonHelper.readString(in));
+            } else if ("senderMessageId".equals(name)) {
+                simplePushData.setSenderMessageId(GsonHelper.readString(in));
+            } else if ("messageId".equals(name)) {
+                simplePushData.setMessageId(GsonHelper.readString(in));
+            } else if ("contextItems".equals(name)) {
+                simplePushData.setContextItems(GsonHelper.readStringMap(in));
+            } else if ("avatarAssetId".equals(name)) {
+                simplePushData.setAvatarAssetId(GsonHelper.readString(in));
+            } else if ("sentTimestamp".equals(name)) {
+                simplePushData.setSentTimestamp(GsonHelper.readString(in));
+            } else if ("expiryTimeStamp".equals(name)) {
+                simplePushData.setExpiryTimeStamp(GsonHelper.readString(in));
+            } else if ("receivedExpired".equals(name)) {
+                simplePushData.setReceivedExpired(GsonHelper.readBoolean(in, false));
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return simplePushData;
+    }
+
+    private List<SimplePushData.ButtonSet> readButtonSets(JsonReader in, SimplePushData simplePushData) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<SimplePushData.ButtonSet> buttonSets = new ArrayList<>();
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                buttonSets.add(null);
+                continue;
+            }
+
+            SimplePushData.ButtonSet buttonSet = simplePushData.new ButtonSet();
+
+            in.beginObject();
+
+            while (in.hasNext()) {
+
+                String name = in.nextName();
+
+                if ("buttonSetId".equals(name)) {
+                    buttonSet.setButtonSetId(GsonHelper.readString(in));
+                } else if ("platform".equals(name)) {
+                    buttonSet.setPlatform(GsonHelper.readString(in));
+                } else if ("interactionType".equals(name)) {
+                    buttonSet.setInteractionType(GsonHelper.readString(in));
+                } else if ("buttonSetActions".equals(name)) {
+                    buttonSet.setButtonSetActions(readButtonSetActions(in, simplePushData));
+                } else {
+                    in.skipValue();
+                }
+            }
+
+            in.endObject();
+
+            buttonSets.add(buttonSet);
+        }
+
+        in.endArray();
+
+        return buttonSets;
+    }
+
+    private SimplePushData.ButtonSetAction[] readButtonSetActions(JsonReader in, SimplePushData simplePushData) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<SimplePushData.ButtonSetAction> buttonSetActions = new ArrayList<>();
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                buttonSetActions.add(null);
+                continue;
+            }
+
+            SimplePushData.ButtonSetAction buttonSetAction = simplePushData.new ButtonSetAction();
+
+            in.beginObject();
+
+            while (in.hasNext()) {
+
+                String name = in.nextName();
+
+                if ("actionType".equals(name)) {
+                    buttonSetAction.setActionType(GsonHelper.readString(in));
+                } else if ("data".equals(name)) {
+                    buttonSetAction.setData(GsonHelper.readString(in));
+                } else if ("label".equals(name)) {
+                    buttonSetAction.setLabel(GsonHelper.readString(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+
+            in.endObject();
+
+            buttonSetActions.add(buttonSetAction);
+        }
+
+        in.endArray();
+
+        return buttonSetActions.toArray(new SimplePushData.ButtonSetAction[buttonSetActions.size()]);
+    }
+
+    private void writeButtonSets(JsonWriter out, List<SimplePushData.ButtonSet> buttonSets) throws IOException {
+
+        if (buttonSets == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+
+        for (SimplePushData.ButtonSet buttonSet : buttonSets) {
+
+            if (buttonSet == null) {
+                out.nullValue();
+                continue;
+            }
+
+            out.beginObject();
+            out.name("buttonSetId").value(buttonSet.getButtonSetId());
+            out.name("platform").value(buttonSet.getPlatform());
+            out.name("interactionType").value(buttonSet.getInteractionType());
+            out.name("buttonSetActions");
+
+            SimplePushData.ButtonSetAction[] buttonSetActions = buttonSet.getButtonSetActions();
+
+            if (buttonSetActions != null) {
+                out.beginArray();
+                for (SimplePushData.ButtonSetAction buttonSetAction : buttonSetActions) {
+                    if (buttonSetAction == null) {
+                        out.nullValue();
+                    } else {
+                        out.beginObject();
+                        out.name("actionType").value(buttonSetAction.getActionType());
+                        out.name("data").value(buttonSetAction.getData());
+                        out.name("label").value(buttonSetAction.getLabel());
+                        out.endObject();
+                    }
+                }
+                out.endArray();
+            } else {
+                out.nullValue();
+            }
+
+            out.endObject();
+        }
+
+        out.endArray();
+    }
+}
@@ -2,11 +2,11 @@ package net.donky.core.messaging.push.logic;
 
 import android.content.Context;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import net.donky.core.DonkyCore;
 import net.donky.core.helpers.DateAndTimeHelper;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.lifecycle.LifeCycleObserver;
 import net.donky.core.messaging.logic.MessagingInternalController;
 import net.donky.core.messaging.logic.model.MessageReceivedDetails;
@@ -51,9 +51,7 @@ public class SimplePushHandler {
 
                 JsonObject data = serverNotification.getData();
 
-                Gson gson = new Gson();
-
-                SimplePushData simplePushData = gson.fromJson(data.toString(), SimplePushData.class);
+                SimplePushData simplePushData = GsonHelper.getGson().fromJson(data, SimplePushData.class);
 
                 MessageReceivedDetails messageReceivedDetails = new MessageReceivedDetails();
 
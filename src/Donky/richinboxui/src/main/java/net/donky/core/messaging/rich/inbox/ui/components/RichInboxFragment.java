@@ -9,6 +9,8 @@ import android.database.CursorIndexOutOfBoundsException;
 import android.graphics.Typeface;
 import android.os.AsyncTask;
 import android.os.Bundle;
+import android.support.v4.app.LoaderManager;
+import android.support.v4.content.Loader;
 import android.support.v4.widget.SwipeRefreshLayout;
 import android.support.v7.widget.ListPopupWindow;
 import android.text.TextUtils;
@@ -32,6 +34,7 @@ import net.donky.core.messaging.rich.inbox.ui.RichInboxUIController;
 import net.donky.core.messaging.rich.inbox.ui.RichMessagesListener;
 import net.donky.core.messaging.rich.inbox.ui.components.internal.DeleteExpiredDialogFragment;
 import net.donky.core.messaging.rich.inbox.ui.components.internal.RichInboxAdapter;
+import net.donky.core.messaging.rich.inbox.ui.components.internal.RichInboxCursorLoader;
 import net.donky.core.messaging.rich.inbox.ui.components.internal.ViewHolder;
 import net.donky.core.messaging.rich.logic.helpers.RichMessageHelper;
 import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
@@ -60,8 +63,53 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
     public static String TAG_DELETE_EXP_MSG_DIALOG = "TAG_DELETE_EXP_MSG_DIALOG";
 
+    private static final int LOADER_ID_INBOX = 1;
+
+    /**
+     * Number of rich messages loaded at once. The list loads next page when the user scrolls close to the last loaded message.
+     */
+    private static final int INBOX_PAGE_SIZE = 50;
+
     private RichInboxAdapter adapter;
 
+    private int inboxWindowSize = INBOX_PAGE_SIZE;
+
+    private boolean isInboxLoaded;
+
+    private boolean isSelectFirstPending;
+
+    private boolean isSearchActive;
+
+    private final LoaderManager.LoaderCallbacks<Cursor> inboxLoaderCallbacks = new LoaderManager.LoaderCallbacks<Cursor>() {
+
+        @Override
+        public Loader<Cursor> onCreateLoader(int id, Bundle args) {
+            return new RichInboxCursorLoader(appContext, inboxWindowSize);
+        }
+
+        @Override
+        public void onLoadFinished(Loader<Cursor> loader, Cursor data) {
+
+            inboxWindowSize = ((RichInboxCursorLoader) loader).getLimit();
+
+            adapter.swapCursor(data);
+
+            if (!isInboxLoaded) {
+                isInboxLoaded = true;
+                isSelectFirstPending = false;
+                setSavedSelectionOrFirstListElement();
+            } else if (isSelectFirstPending) {
+                isSelectFirstPending = false;
+                selectFirstListElement();
+            }
+        }
+
+        @Override
+        public void onLoaderReset(Loader<Cursor> loader) {
+            adapter.swapCursor(null);
+        }
+    };
+
     private RichMessagesListener listener;
 
     DeleteExpiredDialogFragment deleteExpiredDialogFragment;
@@ -312,10 +360,28 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
         if (appContext != null) {
 
-            adapter = new RichInboxAdapter(appContext, RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCursorForUI(null), this);
+            adapter = new RichInboxAdapter(appContext, null, this);
 
             getListView().setAdapter(adapter);
 
+            getListView().setOnScrollListener(new AbsListView.OnScrollListener() {
+
+                @Override
+                public void onScrollStateChanged(AbsListView view, int scrollState) {
+
+                }
+
+                @Override
+                public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+
+                    // Window is full so there may be older messages, load next page before the user reaches the end of the list.
+                    if (!isSearchActive && totalItemCount >= inboxWindowSize && firstVisibleItem + visibleItemCount >= totalItemCount - INBOX_PAGE_SIZE / 2) {
+                        inboxWindowSize = totalItemCount + INBOX_PAGE_SIZE;
+                        refreshListView();
+                    }
+                }
+            });
+
             getListView().setOnItemLongClickListener(new AdapterView.OnItemLongClickListener() {
 
                 @Override
@@ -354,7 +420,8 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
                 }
             });
 
-            setSavedSelectionOrFirstListElement();
+            isInboxLoaded = false;
+            getLoaderManager().initLoader(LOADER_ID_INBOX, null, inboxLoaderCallbacks);
         }
 
     }
@@ -720,7 +787,7 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
                 try {
                     dateSent = DateAndTimeHelper.parseUtcDate(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestamp)));
                     dateExpiry = DateAndTimeHelper.parseUtcDate(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiryTimeStamp)));
-                    hasEmptyExpiredBody = TextUtils.isEmpty(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody)));
+                    hasEmptyExpiredBody = cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody)) == 0;
                 } catch (CursorIndexOutOfBoundsException exception) {
 
                     //List View not updated yet
@@ -755,8 +822,7 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
         getListView().postDelayed(new Runnable() {
             public void run() {
-                refreshListView();
-                selectFirstListElement();
+                refreshListViewAndSelectFirstListElement();
             }
         }, delay);
     }
@@ -797,7 +863,7 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
                 List<String> richMessageIdsToRemove = new LinkedList<>();
 
-                Cursor cursor = RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCursorForUI(null);
+                Cursor cursor = RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesListCursor(null, 0);
 
                 cursor.moveToPosition(-1);
 
@@ -821,10 +887,9 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
             @Override
             protected void onPostExecute(Void aVoid) {
 
-                refreshListView();
                 setSingleSelectedIdToDelete(null);
                 clearListViewSingleSelection();
-                selectFirstListElement();
+                refreshListViewAndSelectFirstListElement();
 
             }
         }.execute();
@@ -898,15 +963,27 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
         getListView().post(new Runnable() {
             public void run() {
-                adapter.changeCursor(RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCursorForUI(null));
+                if (isAdded()) {
+                    getLoaderManager().restartLoader(LOADER_ID_INBOX, null, inboxLoaderCallbacks);
+                }
             }
         });
 
     }
 
+    /**
+     * Reload the list and select the latest rich message when loading finishes.
+     */
+    private void refreshListViewAndSelectFirstListElement() {
+        isSelectFirstPending = true;
+        refreshListView();
+    }
+
     @Override
     protected void searchViewActionClosed() {
 
+        isSearchActive = false;
+
         getListView().post(new Runnable() {
             public void run() {
                 setSavedSelectionOrFirstListElement();
@@ -917,7 +994,7 @@ public class RichInboxFragment extends DonkyMessagingBaseListFragment<RichMessag
 
     @Override
     protected void searchViewActionOpened() {
-
+        isSearchActive = true;
     }
 
     @Override
@@ -70,10 +70,10 @@ public class RichInboxAdapter extends CursorAdapterWithImageCache {
             public Cursor runQuery(CharSequence constraint) {
 
                 if (constraint != null) {
-                    return RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCursorForUI(constraint.toString());
+                    return RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesListCursor(constraint.toString(), 0);
                 }
 
-                return RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCursorForUI(null);
+                return RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesListCursor(null, 0);
             }
         });
 
@@ -105,7 +105,7 @@ public class RichInboxAdapter extends CursorAdapterWithImageCache {
         holder.id = cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId));
         holder.isRead = cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead)) != 0;
         holder.avatarAssetId = cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_avatarAssetId));
-        holder.hasExpiredBody = !TextUtils.isEmpty(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody)));
+        holder.hasExpiredBody = cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody)) != 0;
 
         if (!holder.isRead) {
             holder.timestamp.setTypeface(Typeface.create(holder.timestamp.getTypeface(), Typeface.BOLD), Typeface.BOLD);
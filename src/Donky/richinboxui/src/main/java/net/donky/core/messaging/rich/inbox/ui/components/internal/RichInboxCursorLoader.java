@@ -0,0 +1,50 @@
+package net.donky.core.messaging.rich.inbox.ui.components.internal;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.support.v4.content.CursorLoader;
+
+import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
+
+/**
+ * Loads the newest rich messages for the inbox list on a background thread. Reloads automatically when rich messages change.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichInboxCursorLoader extends CursorLoader {
+
+    private final ForceLoadContentObserver observer;
+
+    private final int limit;
+
+    /**
+     * @param context Context.
+     * @param limit   Maximum number of rich messages to load.
+     */
+    public RichInboxCursorLoader(Context context, int limit) {
+        super(context);
+        this.observer = new ForceLoadContentObserver();
+        this.limit = limit;
+    }
+
+    @Override
+    public Cursor loadInBackground() {
+
+        Cursor cursor = RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesListCursor(null, limit);
+
+        if (cursor != null) {
+            // Fill the cursor window on this thread
+            cursor.getCount();
+            cursor.registerContentObserver(observer);
+        }
+
+        return cursor;
+    }
+
+    /**
+     * @return Maximum number of rich messages to load.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
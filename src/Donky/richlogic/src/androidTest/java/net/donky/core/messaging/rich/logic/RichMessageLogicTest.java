@@ -1,16 +1,27 @@
 package net.donky.core.messaging.rich.logic;
 
 import android.app.Application;
+import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
 import android.net.Uri;
 import android.os.HandlerThread;
 import android.test.ApplicationTestCase;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
 import net.donky.core.DonkyCore;
 import net.donky.core.DonkyException;
 import net.donky.core.account.DeviceDetails;
 import net.donky.core.account.UserDetails;
 import net.donky.core.events.CoreInitialisedSuccessfullyEvent;
+import net.donky.core.helpers.GsonHelper;
+import net.donky.core.messaging.rich.logic.database.RichMessageBodies;
+import net.donky.core.messaging.rich.logic.database.RichMsgContentProvider;
+import net.donky.core.messaging.rich.logic.database.RichMsgSQLiteHelper;
+import net.donky.core.messaging.rich.logic.database.migration.DBMigrationController;
 import net.donky.core.messaging.rich.logic.helpers.RichMessageHelper;
 import net.donky.core.messaging.rich.logic.mock.MockDonkyEventListener;
 import net.donky.core.messaging.rich.logic.mock.MockDonkyListener;
@@ -20,6 +31,8 @@ import net.donky.core.messaging.rich.logic.mock.MockServerNotification;
 import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
 import net.donky.core.messaging.rich.logic.model.RichMessage;
 import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
+import net.donky.core.messaging.rich.logic.model.RichMessageTypeAdapter;
+import net.donky.core.messaging.rich.logic.model.RichMessagesCounts;
 import net.donky.core.messaging.rich.logic.model.RichMessagesDAO;
 import net.donky.core.network.ServerNotification;
 
@@ -32,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by Marcin Swierczek
@@ -117,6 +131,22 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testRichMessageTypeAdapterMatchesReflectiveGson() {
+
+        GsonHelper.registerTypeAdapter(RichMessage.class, new RichMessageTypeAdapter());
+
+        JsonObject data = new MockServerNotification().getData();
+
+        Gson reflective = new Gson();
+
+        RichMessage expected = reflective.fromJson(data.toString(), RichMessage.class);
+        RichMessage decoded = GsonHelper.getGson().fromJson(data, RichMessage.class);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(decoded));
+
+    }
+
     @Test
     public void testRichMessageSaveAndLoadShouldBeTheSame() {
 
@@ -143,6 +173,120 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testRichMessageBodiesStoredCompressed() {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+
+        assertNotNull(richMessagesDAO);
+
+        richMessagesDAO.removeAllRichMessages();
+
+        MockRichMessage richMessageA = new MockRichMessage(false, false, false, true, false, false, false);
+        richMessagesDAO.saveRichMessage(richMessageA);
+
+        Cursor cursor = getContext().getContentResolver().query(RichMsgContentProvider.getContentUri(getContext()),
+                new String[]{DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId}, null, null, null);
+        assertNotNull(cursor);
+        assertEquals(-1, cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body));
+        cursor.close();
+
+        RichMessage richMessageLoadedA = richMessagesDAO.getRichMessage(richMessageA.getInternalId());
+        assertEquals(richMessageA.getBody(), richMessageLoadedA.getBody());
+        assertEquals(richMessageA.getExpiredBody(), richMessageLoadedA.getExpiredBody());
+
+        richMessageA.setBody("<p>updated body</p>");
+        assertEquals(1, richMessagesDAO.updateRichMessage(richMessageA));
+
+        // Bulk reads skip the bodies, they are read when first accessed
+        richMessageLoadedA = richMessagesDAO.getAllRichMessages().get(0);
+        assertEquals("<p>updated body</p>", richMessageLoadedA.getBody());
+        assertEquals(richMessageA.getExpiredBody(), richMessageLoadedA.getExpiredBody());
+
+        // Updating message read without bodies keeps them
+        richMessageLoadedA = richMessagesDAO.getUnreadRichMessages().get(0);
+        richMessageLoadedA.setDescription("updated description");
+        assertEquals(1, richMessagesDAO.updateRichMessage(richMessageLoadedA));
+        assertEquals("<p>updated body</p>", richMessagesDAO.getRichMessage(richMessageA.getInternalId()).getBody());
+
+        cursor = richMessagesDAO.getRichMessagesCursorForUI(null);
+        assertNotNull(cursor);
+        assertEquals(-1, cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body));
+        assertEquals(-1, cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody));
+        cursor.close();
+
+        cursor = getContext().getContentResolver().query(RichMsgContentProvider.getContentUri(getContext()), new String[]{"*"}, null, null, null);
+        assertNotNull(cursor);
+        assertTrue(cursor.moveToFirst());
+        assertEquals("<p>updated body</p>", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body)));
+        cursor.close();
+
+        richMessagesDAO.removeAllRichMessages();
+    }
+
+    @Test
+    public void testRichMessageBodyCompression() {
+
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            html.append("<tr><td><p>Rich message body ").append(i).append("</p></td></tr>");
+        }
+        String body = html.toString();
+
+        byte[] compressed = RichMessageBodies.compress(body);
+        assertTrue(compressed.length < body.length());
+        assertEquals(body, RichMessageBodies.decompress(compressed));
+        assertEquals("", RichMessageBodies.decompress(RichMessageBodies.compress("")));
+        assertNull(RichMessageBodies.compress(null));
+        assertNull(RichMessageBodies.decompress(null));
+        assertNull(RichMessageBodies.decompress(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void testMigrateInlineRichMessageBodies() {
+
+        String table = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+
+        // Database version 5 kept bodies in rich messages table.
+        SQLiteDatabase db = SQLiteDatabase.create(null);
+        new RichMsgSQLiteHelper(getContext()).onCreate(db);
+        db.execSQL("DROP TRIGGER " + DatabaseSQLContract.RichMessageBodyEntry.TABLE_NAME + "_delete");
+        db.execSQL("DROP TABLE " + DatabaseSQLContract.RichMessageBodyEntry.TABLE_NAME);
+
+        try {
+
+            ContentValues values = new ContentValues();
+            values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, "internalA");
+            values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body, "<p>body</p>");
+            values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody, "<p>expired body</p>");
+            db.insert(table, null, values);
+
+            values = new ContentValues();
+            values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, "internalB");
+            db.insert(table, null, values);
+
+            DBMigrationController.migrateSchema(db, 5, 6);
+
+            assertEquals(0, DatabaseUtils.queryNumEntries(db, table, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body + " IS NOT NULL"));
+            assertEquals(1, DatabaseUtils.queryNumEntries(db, DatabaseSQLContract.RichMessageBodyEntry.TABLE_NAME));
+
+            Cursor cursor = RichMessageBodies.withBodies(db, db.query(table, null, null, null, null, null, DatabaseSQLContract.RichMessageEntry._ID));
+            int bodyIndex = cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body);
+            assertTrue(cursor.moveToNext());
+            assertEquals("<p>body</p>", cursor.getString(bodyIndex));
+            assertEquals("<p>expired body</p>", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody)));
+            assertTrue(cursor.moveToNext());
+            assertTrue(cursor.isNull(bodyIndex));
+            cursor.close();
+
+            db.delete(table, null, null);
+            assertEquals(0, DatabaseUtils.queryNumEntries(db, DatabaseSQLContract.RichMessageBodyEntry.TABLE_NAME));
+
+        } finally {
+            db.close();
+        }
+    }
+
     @Test
     public void testSaveLoadDeleteAllLoadAllAsync() throws InterruptedException {
 
@@ -380,6 +524,49 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testRichMessagesCounts() throws InterruptedException {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+
+        assertNotNull(richMessagesDAO);
+
+        richMessagesDAO.removeAllRichMessages();
+
+        assertEquals(new RichMessagesCounts(0, 0), richMessagesDAO.getRichMessagesCounts());
+
+        MockRichMessage richMessageA = new MockRichMessage(false, false, false, false, false, false, false);
+        MockRichMessage richMessageB = new MockRichMessage(false, false, false, false, false, false, false);
+        MockRichMessage richMessageC = new MockRichMessage(false, false, false, false, false, false, false);
+
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
+        richMessagesToSave.add(richMessageA);
+        richMessagesToSave.add(richMessageB);
+        richMessagesToSave.add(richMessageC);
+
+        richMessagesDAO.saveRichMessages(richMessagesToSave);
+
+        assertEquals(new RichMessagesCounts(3, 3), richMessagesDAO.getRichMessagesCounts());
+
+        MockDonkyEventListener mockDonkyEventListener = new MockDonkyEventListener<>(RichMessagesCountsChangedEvent.class);
+        DonkyCore.subscribeToLocalEvent(mockDonkyEventListener);
+
+        richMessagesDAO.markAsRead(richMessageA.getInternalId());
+
+        synchronized (mockDonkyEventListener) {
+            mockDonkyEventListener.wait(TIME_OUT);
+        }
+
+        RichMessagesCountsChangedEvent event = (RichMessagesCountsChangedEvent) mockDonkyEventListener.getEvent();
+        assertNotNull(event);
+        assertEquals(new RichMessagesCounts(3, 2), event.getRichMessagesCounts());
+
+        richMessagesDAO.removeRichMessage(richMessageB);
+
+        assertEquals(new RichMessagesCounts(2, 1), richMessagesDAO.getRichMessagesCounts());
+        assertEquals(richMessagesDAO.getUnreadRichMessages().size(), richMessagesDAO.getRichMessagesCounts().getUnread());
+    }
+
     @Test
     public void testMarkAsReadAsync() throws InterruptedException {
 
@@ -523,6 +710,91 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testRichMessagesSearchInBody() {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+
+        assertNotNull(richMessagesDAO);
+
+        richMessagesDAO.removeAllRichMessages();
+
+        MockRichMessage richMessageA = new MockRichMessage(false, false, false, false, false, false, false);
+        richMessageA.setBody("<html><head><style>.searchable { color: red; }</style></head><body><p class=\"searchable\">Caf&eacute; Opening&nbsp;Hours</p></body></html>");
+        MockRichMessage richMessageB = new MockRichMessage(false, false, false, false, false, false, false);
+
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
+        richMessagesToSave.add(richMessageA);
+        richMessagesToSave.add(richMessageB);
+
+        richMessagesDAO.saveRichMessages(richMessagesToSave);
+
+        Cursor cursor = richMessagesDAO.getRichMessagesCursorForUI("open hour");
+        assertEquals(1, cursor.getCount());
+        cursor.moveToFirst();
+        assertEquals(richMessageA.getInternalId(), cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId)));
+        cursor.close();
+
+        cursor = richMessagesDAO.getRichMessagesCursorForUI("searchable");
+        assertEquals(0, cursor.getCount());
+        cursor.close();
+
+        cursor = richMessagesDAO.getRichMessagesCursorForUI("DISPLAY");
+        assertEquals(2, cursor.getCount());
+        cursor.close();
+
+        richMessagesDAO.removeRichMessage(richMessageA);
+
+        cursor = richMessagesDAO.getRichMessagesCursorForUI("open hour");
+        assertEquals(0, cursor.getCount());
+        cursor.close();
+    }
+
+    @Test
+    public void testRichMessagesListPages() {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+
+        assertNotNull(richMessagesDAO);
+
+        richMessagesDAO.removeAllRichMessages();
+
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
+        for (int i = 0; i < 5; i++) {
+            richMessagesToSave.add(new MockRichMessage(false, false, false, i % 2 == 0, false, false, false));
+        }
+        richMessagesDAO.saveRichMessages(richMessagesToSave);
+
+        Set<String> loadedIds = new HashSet<>();
+        int expiredBodies = 0;
+
+        Cursor cursor = richMessagesDAO.getRichMessagesListCursor(null, 2);
+
+        while (cursor.getCount() > 0) {
+
+            assertEquals(true, cursor.getCount() <= 2);
+            assertEquals(-1, cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body));
+
+            long lastSentTimestamp = 0;
+            long lastId = 0;
+
+            while (cursor.moveToNext()) {
+                assertEquals(true, loadedIds.add(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId))));
+                expiredBodies += cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody));
+                lastSentTimestamp = cursor.getLong(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong));
+                lastId = cursor.getLong(cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry._ID));
+            }
+
+            cursor.close();
+            cursor = richMessagesDAO.getRichMessagesListCursor(null, lastSentTimestamp, lastId, 2);
+        }
+
+        cursor.close();
+
+        assertEquals(5, loadedIds.size());
+        assertEquals(3, expiredBodies);
+    }
+
     @Test
     public void testRichMessagesFilteringAsync() throws InterruptedException {
 
@@ -706,6 +978,79 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
         assertEquals(true, richMessages.get(0).getInternalId().equals(richMessageB.getInternalId()));
     }
 
+    @Test
+    public void testRemoveRichMessagesSentBefore() {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+        assertNotNull(richMessagesDAO);
+        richMessagesDAO.removeAllRichMessages();
+        assertNull(richMessagesDAO.getOldestSentTimestamp());
+
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
+        Set<String> expiredIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            MockRichMessage richMessage = new MockRichMessage(true, false, false, false, false, false, false);
+            richMessagesToSave.add(richMessage);
+            expiredIds.add(richMessage.getInternalId());
+        }
+        MockRichMessage richMessageB = new MockRichMessage(false, false, false, false, false, false, false);
+        richMessagesToSave.add(richMessageB);
+
+        richMessagesDAO.saveRichMessages(richMessagesToSave);
+
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(365);
+
+        Long oldestSentTimestamp = richMessagesDAO.getOldestSentTimestamp();
+        assertNotNull(oldestSentTimestamp);
+        assertTrue(oldestSentTimestamp < cutoff);
+
+        List<String> deletedIds = richMessagesDAO.removeRichMessagesSentBefore(cutoff, 3);
+        assertEquals(3, deletedIds.size());
+
+        deletedIds.addAll(richMessagesDAO.removeRichMessagesSentBefore(cutoff, 3));
+        assertEquals(expiredIds, new HashSet<>(deletedIds));
+        assertTrue(richMessagesDAO.removeRichMessagesSentBefore(cutoff, 3).isEmpty());
+
+        List<RichMessage> richMessages = richMessagesDAO.getAllRichMessages();
+        assertEquals(1, richMessages.size());
+        assertEquals(richMessageB.getInternalId(), richMessages.get(0).getInternalId());
+    }
+
+    @Test
+    public void testExpiryScheduler() throws InterruptedException {
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+        assertNotNull(richMessagesDAO);
+        richMessagesDAO.removeAllRichMessages();
+
+        MockRichMessage richMessageA = new MockRichMessage(true, false, false, false, false, false, false);
+        MockRichMessage richMessageB = new MockRichMessage(false, false, false, false, false, false, false);
+
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
+        richMessagesToSave.add(richMessageA);
+        richMessagesToSave.add(richMessageB);
+
+        richMessagesDAO.saveRichMessages(richMessagesToSave);
+
+        MockDonkyEventListener mockDonkyEventListener = new MockDonkyEventListener<>(RichMessagesExpiredEvent.class);
+        DonkyCore.subscribeToLocalEvent(mockDonkyEventListener);
+
+        RichMessagesExpiryScheduler.getInstance().scheduleNextPurge(0);
+
+        synchronized (mockDonkyEventListener) {
+            mockDonkyEventListener.wait(TIME_OUT);
+        }
+
+        RichMessagesExpiredEvent event = (RichMessagesExpiredEvent) mockDonkyEventListener.getEvent();
+        assertNotNull(event);
+        assertEquals(1, event.getRichMessageInternalIds().size());
+        assertEquals(richMessageA.getInternalId(), event.getRichMessageInternalIds().get(0));
+
+        List<RichMessage> richMessages = richMessagesDAO.getAllRichMessages();
+        assertEquals(1, richMessages.size());
+        assertEquals(richMessageB.getInternalId(), richMessages.get(0).getInternalId());
+    }
+
     @Test
     public void testHandleServerNotification() throws InterruptedException {
 
@@ -739,6 +1084,42 @@ public class RichMessageLogicTest extends ApplicationTestCase<Application> {
 
     }
 
+    @Test
+    public void testHandleDuplicatedServerNotifications() throws InterruptedException {
+
+        String messageId = "51c75d24-1ca3-4971-935d-f85c2bd7034b";
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+        assertNotNull(richMessagesDAO);
+        richMessagesDAO.removeAllRichMessages();
+        assertEquals(true, richMessagesDAO.getAllRichMessages().isEmpty());
+
+        List<ServerNotification> serverNotifications = new LinkedList<>();
+        serverNotifications.add(new MockServerNotification());
+        serverNotifications.add(new MockServerNotification());
+
+        MockDonkyEventListener mockDonkyEventListener = new MockDonkyEventListener<>(RichMessageEvent.class);
+        DonkyCore.subscribeToLocalEvent(mockDonkyEventListener);
+
+        new NotificationHandler().handleRichMessageNotification(serverNotifications);
+        synchronized (mockDonkyEventListener) {
+            mockDonkyEventListener.wait(TIME_OUT);
+        }
+
+        assertEquals(1, richMessagesDAO.getAllRichMessages().size());
+        assertEquals(1, ((RichMessageEvent) mockDonkyEventListener.getEvent()).getRichMessages().size());
+
+        Set<String> messageIds = new HashSet<>();
+        messageIds.add(messageId);
+        messageIds.add("not_saved");
+        assertEquals(1, richMessagesDAO.getExistingMessageIds(messageIds).size());
+        assertEquals(true, richMessagesDAO.getExistingMessageIds(messageIds).contains(messageId));
+
+        new NotificationHandler().handleRichMessageNotification(serverNotifications);
+
+        assertEquals(1, richMessagesDAO.getAllRichMessages().size());
+    }
+
     @Test
     public void testHandleServerNotificationInDifferentTimezones() throws InterruptedException, DonkyException {
 
@@ -0,0 +1,148 @@
+package net.donky.core.messaging.rich.logic.model;
+
+import android.app.Application;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQueryBuilder;
+import android.test.ApplicationTestCase;
+
+import net.donky.core.messaging.rich.logic.database.RichMessageBodies;
+import net.donky.core.messaging.rich.logic.database.RichMsgSQLiteHelper;
+
+import org.junit.Test;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that queries run by RichMessagesDAO are answered from indexes instead of full table scans.
+ * Queries are built from the same selections and sort orders the DAO passes to the content provider.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessageQueryPlanTest extends ApplicationTestCase<Application> {
+
+    private static final String TABLE = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+
+    private SQLiteDatabase db;
+
+    public RichMessageQueryPlanTest() {
+        super(Application.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        db = SQLiteDatabase.create(null);
+        new RichMsgSQLiteHelper(getContext()).onCreate(db);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        db.close();
+        super.tearDown();
+    }
+
+    @Test
+    public void testQueryByReadState() {
+        assertUsesIndex(query(DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, RichMessagesDAO.SELECTION_UNREAD, null, null), "0");
+    }
+
+    @Test
+    public void testQueryByInternalIdOrMessageId() {
+        assertUsesIndex(query(null, RichMessagesDAO.SELECTION_ID, null, null), "id", "id");
+        assertUsesIndex(query(null, RichMessagesDAO.SELECTION_MESSAGE_ID, null, null), "id");
+    }
+
+    @Test
+    public void testQueryByMessageIds() {
+        String[] projection = {DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId};
+        assertUsesIndex(query(projection, RichMessagesDAO.getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId, 2), null, null), "a", "b");
+        assertUsesIndex(delete(RichMessagesDAO.getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId, 2)), "a", "b");
+    }
+
+    @Test
+    public void testQueryByInternalIds() {
+        assertUsesIndex(query(null, RichMessagesDAO.getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, 2), null, null), "a", "b");
+        assertUsesIndex(delete(RichMessagesDAO.getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, 2)), "a", "b");
+        assertUsesIndex(delete(RichMessagesDAO.SELECTION_INTERNAL_ID), "a");
+    }
+
+    @Test
+    public void testInboxQuery() {
+
+        assertUsesIndex(query(null, null, RichMessagesDAO.ORDER_NEWEST_FIRST, null));
+
+        String plan = assertUsesIndex(query(DatabaseSQLContract.RichMessageEntry.INBOX_LIST_COLUMNS, null, DatabaseSQLContract.RichMessageEntry.INBOX_LIST_ORDER, "50"));
+        assertTrue(plan, plan.contains("COVERING INDEX " + DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox));
+    }
+
+    @Test
+    public void testInboxNextPageQuery() {
+
+        String plan = assertUsesIndex(query(DatabaseSQLContract.RichMessageEntry.INBOX_LIST_COLUMNS, RichMessagesDAO.SELECTION_NEXT_PAGE,
+                DatabaseSQLContract.RichMessageEntry.INBOX_LIST_ORDER, "50"), "1", "1", "1");
+        assertTrue(plan, plan.contains("COVERING INDEX " + DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox));
+    }
+
+    @Test
+    public void testRemoveExceededAvailabilityPeriod() {
+        assertUsesIndex(delete(RichMessagesDAO.SELECTION_SENT_BEFORE), "0");
+    }
+
+    @Test
+    public void testExpiryPurgeQueries() {
+
+        String[] sentTimeProjection = {DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong};
+
+        assertUsesIndex(query(sentTimeProjection, RichMessagesDAO.SELECTION_HAS_SENT_TIME, RichMessagesDAO.ORDER_OLDEST_FIRST, "1"));
+
+        String[] idProjection = {DatabaseSQLContract.RichMessageEntry._ID, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId};
+
+        String plan = assertUsesIndex(query(idProjection, RichMessagesDAO.SELECTION_SENT_BEFORE, RichMessagesDAO.ORDER_OLDEST_FIRST, "50"), "0");
+        assertTrue(plan, plan.contains("COVERING INDEX " + DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox));
+    }
+
+    /**
+     * Builds query on rich messages table the same way the content provider does.
+     */
+    private String query(String[] projection, String selection, String sortOrder, String limit) {
+
+        if (RichMessageBodies.isBodyRequested(projection)) {
+            projection = RichMessageBodies.getQueryProjection(projection);
+        }
+
+        return SQLiteQueryBuilder.buildQueryString(false, TABLE, projection, selection, null, null, sortOrder, limit);
+    }
+
+    private String delete(String selection) {
+        return "DELETE FROM " + TABLE + " WHERE " + selection;
+    }
+
+    /**
+     * Asserts that every step of the query plan reading rich messages table uses an index and no temporary b-tree is needed for sorting.
+     *
+     * @return Query plan details.
+     */
+    private String assertUsesIndex(String sql, String... args) {
+
+        StringBuilder plan = new StringBuilder();
+
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+
+        try {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                String detail = cursor.getString(detailIndex);
+                plan.append(detail).append('\n');
+                if (detail.contains(TABLE)) {
+                    assertTrue(sql + " -> " + detail, detail.contains("INDEX"));
+                }
+                assertFalse(sql + " -> " + detail, detail.contains("TEMP B-TREE"));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        assertTrue(sql, plan.length() > 0);
+
+        return plan.toString();
+    }
+}
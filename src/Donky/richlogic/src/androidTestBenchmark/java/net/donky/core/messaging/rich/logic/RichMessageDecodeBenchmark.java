@@ -0,0 +1,69 @@
+package net.donky.core.messaging.rich.logic;
+
+import android.app.Application;
+import android.os.Debug;
+import android.test.ApplicationTestCase;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import net.donky.core.helpers.GsonHelper;
+import net.donky.core.messaging.rich.logic.mock.MockServerNotification;
+import net.donky.core.messaging.rich.logic.model.RichMessage;
+import net.donky.core.messaging.rich.logic.model.RichMessageTypeAdapter;
+
+import org.junit.Test;
+
+/**
+ * Compares per message cost of decoding Rich Message notification data with the shared Gson and {@link RichMessageTypeAdapter}
+ * with the previous approach of creating new Gson and re-parsing the serialised data for every message.
+ * Results are written to logcat with tag RichMessageDecodeBenchmark.
+ * Not part of the regular test run, run with ./gradlew connectedAndroidTest -Pbenchmark.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessageDecodeBenchmark extends ApplicationTestCase<Application> {
+
+    private static final String TAG = "RichMessageDecodeBenchmark";
+
+    private static final int ITERATIONS = 2000;
+
+    public RichMessageDecodeBenchmark() {
+        super(Application.class);
+    }
+
+    @Test
+    public void testDecodePerformance() {
+
+        GsonHelper.registerTypeAdapter(RichMessage.class, new RichMessageTypeAdapter());
+
+        JsonObject data = new MockServerNotification().getData();
+
+        int checksum = 0;
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Gson gson = new Gson();
+            checksum += gson.fromJson(data.toString(), RichMessage.class).getMessageId().length();
+        }
+        long legacyNanos = System.nanoTime() - start;
+        int legacyAllocations = Debug.getThreadAllocCount();
+
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum -= GsonHelper.getGson().fromJson(data, RichMessage.class).getMessageId().length();
+        }
+        long nanos = System.nanoTime() - start;
+        int allocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+
+        assertEquals(0, checksum);
+
+        Log.i(TAG, "Per message decode: new Gson and re-parse " + legacyNanos / ITERATIONS + " ns, " + legacyAllocations / ITERATIONS + " allocations. "
+                + "Shared Gson with type adapter " + nanos / ITERATIONS + " ns, " + allocations / ITERATIONS + " allocations.");
+    }
+}
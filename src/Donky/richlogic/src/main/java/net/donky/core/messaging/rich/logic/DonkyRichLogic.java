@@ -12,12 +12,15 @@ import net.donky.core.Subscription;
 import net.donky.core.events.CoreInitialisedSuccessfullyEvent;
 import net.donky.core.events.DonkyEventListener;
 import net.donky.core.events.RegistrationChangedEvent;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.logging.DLog;
 import net.donky.core.messaging.logic.DonkyMessaging;
 import net.donky.core.messaging.logic.events.SyncMessageDeletedEvent;
 import net.donky.core.messaging.logic.events.SyncMessageReadEvent;
 import net.donky.core.messaging.rich.logic.database.migration.DBMigrationController;
+import net.donky.core.messaging.rich.logic.model.RichMessage;
 import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
+import net.donky.core.messaging.rich.logic.model.RichMessageTypeAdapter;
 import net.donky.core.messaging.rich.logic.model.RichMessagingSQLiteHelper;
 import net.donky.core.model.AbstractDonkySQLiteHelper;
 import net.donky.core.network.ServerNotification;
@@ -102,10 +105,14 @@ public class DonkyRichLogic {
 
                         DonkyCore.registerModule(new ModuleDefinition(DonkyRichLogic.class.getSimpleName(), version));
 
+                        GsonHelper.registerTypeAdapter(RichMessage.class, new RichMessageTypeAdapter());
+
                         DonkyCore.getInstance().registerService(RICH_MESSAGES_SQLITE_HELPER, AbstractDonkySQLiteHelper.SERVICE_CATEGORY_SQLITE_HELPER, new RichMessagingSQLiteHelper());
 
                         RichMessageDataController.getInstance().init(application.getApplicationContext());
 
+                        new RichMessagesCountsObserver().register(application.getApplicationContext());
+
                         List<Subscription<ServerNotification>> serverNotificationSubscriptions = new LinkedList<>();
 
                         serverNotificationSubscriptions.add(new Subscription<>(ServerNotification.NOTIFICATION_TYPE_RichMessage,
@@ -132,7 +139,7 @@ public class DonkyRichLogic {
                             @Override
                             public void onDonkyEvent(CoreInitialisedSuccessfullyEvent event) {
 
-                                RichMessageDataController.getInstance().getRichMessagesDAO().removeMessagesThatExceededTheAvailabilityPeriod();
+                                RichMessagesExpiryScheduler.getInstance().scheduleNextPurge(RichMessagesExpiryScheduler.PURGE_DELAY);
 
                                 new DBMigrationController(application.getApplicationContext()).migrateDBContent();
 
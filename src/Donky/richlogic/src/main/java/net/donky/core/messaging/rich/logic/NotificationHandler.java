@@ -1,11 +1,11 @@
 package net.donky.core.messaging.rich.logic;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import net.donky.core.DonkyCore;
 import net.donky.core.gcm.AssemblingManager;
 import net.donky.core.helpers.DateAndTimeHelper;
+import net.donky.core.helpers.GsonHelper;
 import net.donky.core.helpers.IdHelper;
 import net.donky.core.lifecycle.LifeCycleObserver;
 import net.donky.core.messaging.rich.logic.model.RichMessage;
@@ -17,8 +17,11 @@ import net.donky.core.network.DonkyNetworkController;
 import net.donky.core.network.ServerNotification;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Handler for received server notification.
@@ -36,7 +39,9 @@ public class NotificationHandler {
      */
     public void handleRichMessageNotification(List<ServerNotification> serverNotifications) {
 
-        List<RichMessage> richMessages = new LinkedList<>();
+        List<ServerNotification> richMessageNotifications = new LinkedList<>();
+        List<RichMessage> decodedRichMessages = new LinkedList<>();
+        Set<String> messageIds = new HashSet<>();
 
         for (ServerNotification serverNotification : serverNotifications) {
 
@@ -44,57 +49,81 @@ public class NotificationHandler {
 
                 JsonObject data = serverNotification.getData();
 
-                Gson gson = new Gson();
+                RichMessage richMessage = GsonHelper.getGson().fromJson(data, RichMessage.class);
 
-                final RichMessage richMessage = gson.fromJson(data.toString(), RichMessage.class);
+                richMessageNotifications.add(serverNotification);
+                decodedRichMessages.add(richMessage);
 
-                if (RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessageWithMessageId(richMessage.getMessageId()) != null) {
-                    continue;
+                if (richMessage.getMessageId() != null) {
+                    messageIds.add(richMessage.getMessageId());
                 }
+            }
+        }
 
-                MessageReceivedDetails messageReceivedDetails = new MessageReceivedDetails();
+        // Single query for all messages in this batch, ids found here or earlier in the batch are duplicates.
+        Set<String> processedMessageIds = RichMessageDataController.getInstance().getRichMessagesDAO().getExistingMessageIds(messageIds);
 
-                messageReceivedDetails.setMessageType(richMessage.getMessageType());
-                messageReceivedDetails.setMessageId(richMessage.getMessageId());
-                messageReceivedDetails.setMessageScope(MessageReceivedDetails.MessageScope.A2P.toString());
-                messageReceivedDetails.setContextItems(richMessage.getContextItems());
-                messageReceivedDetails.setSenderInternalUserId(richMessage.getSenderInternalUserId());
-                messageReceivedDetails.setSenderMessageId(richMessage.getSenderMessageId());
-                messageReceivedDetails.setSentTimestamp(richMessage.getSentTimestamp());
+        List<RichMessage> richMessages = new LinkedList<>();
+        List<RichMessage> richMessagesToSave = new LinkedList<>();
 
-                Date expiredTime = DateAndTimeHelper.parseUtcDate(richMessage.getExpiryTimeStamp());
+        Iterator<ServerNotification> notificationIterator = richMessageNotifications.iterator();
+        Iterator<RichMessage> richMessageIterator = decodedRichMessages.iterator();
 
-                boolean receivedExpired = false;
+        while (notificationIterator.hasNext()) {
 
-                if (expiredTime != null) {
-                    receivedExpired = new Date().after(expiredTime);
-                    messageReceivedDetails.setReceivedExpired(receivedExpired);
-                }
+            ServerNotification serverNotification = notificationIterator.next();
+            RichMessage richMessage = richMessageIterator.next();
 
-                AcknowledgementDetail acknowledgementDetail = new AcknowledgementDetail();
-                acknowledgementDetail.setCustomNotificationType(null);
-                acknowledgementDetail.setType(serverNotification.getType());
-                acknowledgementDetail.setResult(AcknowledgementDetail.Result.Delivered.toString());
-                acknowledgementDetail.setSentTime(serverNotification.getCreatedOn());
-                acknowledgementDetail.setServerNotificationId(serverNotification.getId());
-                messageReceivedDetails.setAcknowledgementDetail(acknowledgementDetail);
+            if (richMessage.getMessageId() != null && !processedMessageIds.add(richMessage.getMessageId())) {
+                continue;
+            }
 
-                MessagingInternalController.getInstance().queueMessageReceivedNotification(messageReceivedDetails);
+            MessageReceivedDetails messageReceivedDetails = new MessageReceivedDetails();
 
-                richMessage.setInternalId(IdHelper.generateId());
+            messageReceivedDetails.setMessageType(richMessage.getMessageType());
+            messageReceivedDetails.setMessageId(richMessage.getMessageId());
+            messageReceivedDetails.setMessageScope(MessageReceivedDetails.MessageScope.A2P.toString());
+            messageReceivedDetails.setContextItems(richMessage.getContextItems());
+            messageReceivedDetails.setSenderInternalUserId(richMessage.getSenderInternalUserId());
+            messageReceivedDetails.setSenderMessageId(richMessage.getSenderMessageId());
+            messageReceivedDetails.setSentTimestamp(richMessage.getSentTimestamp());
 
-                if (!receivedExpired) {
+            Date expiredTime = DateAndTimeHelper.parseUtcDate(richMessage.getExpiryTimeStamp());
 
-                    RichMessageDataController.getInstance().getRichMessagesDAO().saveRichMessage(richMessage);
+            boolean receivedExpired = false;
 
-                }
+            if (expiredTime != null) {
+                receivedExpired = new Date().after(expiredTime);
+                messageReceivedDetails.setReceivedExpired(receivedExpired);
+            }
+
+            AcknowledgementDetail acknowledgementDetail = new AcknowledgementDetail();
+            acknowledgementDetail.setCustomNotificationType(null);
+            acknowledgementDetail.setType(serverNotification.getType());
+            acknowledgementDetail.setResult(AcknowledgementDetail.Result.Delivered.toString());
+            acknowledgementDetail.setSentTime(serverNotification.getCreatedOn());
+            acknowledgementDetail.setServerNotificationId(serverNotification.getId());
+            messageReceivedDetails.setAcknowledgementDetail(acknowledgementDetail);
 
-                richMessage.setReceivedExpired(receivedExpired);
-                richMessages.add(richMessage);
+            MessagingInternalController.getInstance().queueMessageReceivedNotification(messageReceivedDetails);
 
-                AssemblingManager.getInstance().removeAssembly(serverNotification.getId());
+            richMessage.setInternalId(IdHelper.generateId());
 
+            if (!receivedExpired) {
+                richMessagesToSave.add(richMessage);
             }
+
+            richMessage.setReceivedExpired(receivedExpired);
+            richMessages.add(richMessage);
+
+            AssemblingManager.getInstance().removeAssembly(serverNotification.getId());
+        }
+
+        RichMessageDataController.getInstance().getRichMessagesDAO().saveRichMessages(richMessagesToSave);
+
+        if (!richMessagesToSave.isEmpty()) {
+            // Saved messages can be the first ones in the inbox or older than the ones already saved.
+            RichMessagesExpiryScheduler.getInstance().scheduleNextPurge(RichMessagesExpiryScheduler.PURGE_DELAY);
         }
 
         if (LifeCycleObserver.getInstance().isApplicationForegrounded()) {
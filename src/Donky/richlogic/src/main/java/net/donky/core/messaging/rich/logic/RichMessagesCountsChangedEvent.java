@@ -0,0 +1,31 @@
+package net.donky.core.messaging.rich.logic;
+
+import net.donky.core.events.LocalEvent;
+import net.donky.core.messaging.rich.logic.model.RichMessagesCounts;
+
+/**
+ * Local event published when total or unread number of saved rich messages changed.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessagesCountsChangedEvent extends LocalEvent {
+
+    private final RichMessagesCounts richMessagesCounts;
+
+    /**
+     * Local event published when total or unread number of saved rich messages changed.
+     *
+     * @param richMessagesCounts Current number of rich messages.
+     */
+    public RichMessagesCountsChangedEvent(RichMessagesCounts richMessagesCounts) {
+        super();
+        this.richMessagesCounts = richMessagesCounts;
+    }
+
+    /**
+     * @return Current number of rich messages.
+     */
+    public RichMessagesCounts getRichMessagesCounts() {
+        return richMessagesCounts;
+    }
+}
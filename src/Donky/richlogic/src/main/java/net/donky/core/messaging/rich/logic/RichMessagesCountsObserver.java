@@ -0,0 +1,66 @@
+package net.donky.core.messaging.rich.logic;
+
+import android.content.Context;
+import android.database.ContentObserver;
+import android.os.Handler;
+import android.os.Looper;
+
+import net.donky.core.DonkyCore;
+import net.donky.core.messaging.rich.logic.database.RichMsgContentProvider;
+import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
+import net.donky.core.messaging.rich.logic.model.RichMessagesCounts;
+
+/**
+ * Observes rich messages content provider and publishes {@link RichMessagesCountsChangedEvent} when total or unread number of rich messages changed.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class RichMessagesCountsObserver extends ContentObserver {
+
+    private RichMessagesCounts lastCounts;
+
+    private final Runnable checkCounts = new Runnable() {
+        @Override
+        public void run() {
+            checkCounts();
+        }
+    };
+
+    RichMessagesCountsObserver() {
+        super(new Handler(Looper.getMainLooper()));
+    }
+
+    /**
+     * Start observing rich messages changes.
+     *
+     * @param context Application context.
+     */
+    void register(Context context) {
+        context.getContentResolver().registerContentObserver(RichMsgContentProvider.getContentUri(context), true, this);
+        DonkyCore.getInstance().processInBackground(checkCounts);
+    }
+
+    @Override
+    public void onChange(boolean selfChange) {
+        DonkyCore.getInstance().processInBackground(checkCounts);
+    }
+
+    /**
+     * Read current counts and publish the event if they are different than last seen. Counts read when registering are not published.
+     */
+    private synchronized void checkCounts() {
+
+        RichMessagesCounts counts = RichMessageDataController.getInstance().getRichMessagesDAO().getRichMessagesCounts();
+
+        if (counts != null && !counts.equals(lastCounts)) {
+
+            boolean isInitialRead = lastCounts == null;
+
+            lastCounts = counts;
+
+            if (!isInitialRead) {
+                DonkyCore.publishLocalEvent(new RichMessagesCountsChangedEvent(counts));
+            }
+        }
+    }
+}
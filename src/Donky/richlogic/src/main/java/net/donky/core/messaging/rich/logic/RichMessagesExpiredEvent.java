@@ -0,0 +1,32 @@
+package net.donky.core.messaging.rich.logic;
+
+import net.donky.core.events.LocalEvent;
+
+import java.util.List;
+
+/**
+ * Local event published once for every purge of rich messages that exceeded the availability period.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessagesExpiredEvent extends LocalEvent {
+
+    private final List<String> richMessageInternalIds;
+
+    /**
+     * Local event published once for every purge of rich messages that exceeded the availability period.
+     *
+     * @param richMessageInternalIds Internal ids of deleted rich messages.
+     */
+    public RichMessagesExpiredEvent(List<String> richMessageInternalIds) {
+        super();
+        this.richMessageInternalIds = richMessageInternalIds;
+    }
+
+    /**
+     * @return Internal ids of deleted rich messages.
+     */
+    public List<String> getRichMessageInternalIds() {
+        return richMessageInternalIds;
+    }
+}
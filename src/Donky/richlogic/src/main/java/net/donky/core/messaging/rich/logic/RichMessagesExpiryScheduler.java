@@ -0,0 +1,161 @@
+package net.donky.core.messaging.rich.logic;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import net.donky.core.DonkyCore;
+import net.donky.core.logging.DLog;
+import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
+import net.donky.core.messaging.rich.logic.model.RichMessagesDAO;
+import net.donky.core.model.DonkyDataController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes rich messages that exceeded the availability period. Instead of scanning the whole table on every start, a single wake-up is scheduled for the
+ * moment the oldest saved rich message expires. The purge runs in the background and deletes in small chunks, so the database is not locked for long
+ * and one {@link RichMessagesExpiredEvent} is published for all deleted messages. Wake-up is kept in memory only and is scheduled again on every SDK start.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+class RichMessagesExpiryScheduler {
+
+    /**
+     * Minimum delay of the purge of already expired rich messages, so it doesn't compete with SDK start or notifications processing.
+     */
+    static final long PURGE_DELAY = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Maximum number of rich messages deleted in a single statement.
+     */
+    private static final int PURGE_CHUNK_SIZE = 50;
+
+    /**
+     * Maximum delay of the next purge when previous purges didn't delete anything.
+     */
+    private static final long MAX_PURGE_RETRY_DELAY = TimeUnit.HOURS.toMillis(1);
+
+    private final DLog log;
+
+    private final Handler handler;
+
+    /**
+     * Delay of the next purge, doubled after every purge that deleted nothing so a failing database is not queried in a loop.
+     */
+    private long purgeRetryDelay = PURGE_DELAY;
+
+    private final Runnable wakeUp = new Runnable() {
+        @Override
+        public void run() {
+            DonkyCore.getInstance().processInBackground(purge);
+        }
+    };
+
+    private final Runnable purge = new Runnable() {
+        @Override
+        public void run() {
+            purgeExpiredMessages();
+        }
+    };
+
+    private RichMessagesExpiryScheduler() {
+        log = new DLog("RichMessagesExpiryScheduler");
+        handler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * Initializes singleton.
+     *
+     * SingletonHolder is loaded on the first execution of Singleton.getInstance()
+     * or the first access to SingletonHolder.INSTANCE, not before.
+     */
+    private static class SingletonHolder {
+        private static final RichMessagesExpiryScheduler INSTANCE = new RichMessagesExpiryScheduler();
+    }
+
+    /**
+     * @return Static instance of the scheduler singleton.
+     */
+    static RichMessagesExpiryScheduler getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Schedule the wake-up for the moment the oldest saved rich message exceeds the availability period, replacing the one already scheduled.
+     * Reads the database in the background.
+     *
+     * @param minDelayMillis Minimum delay of the purge, used when some rich messages have already expired.
+     */
+    void scheduleNextPurge(final long minDelayMillis) {
+        DonkyCore.getInstance().processInBackground(new Runnable() {
+            @Override
+            public void run() {
+                schedule(minDelayMillis);
+            }
+        });
+    }
+
+    /**
+     * Read the earliest expiry time and post the wake-up. This method is blocking.
+     */
+    private synchronized void schedule(long minDelayMillis) {
+
+        handler.removeCallbacks(wakeUp);
+
+        Integer availabilityDays = DonkyDataController.getInstance().getConfigurationDAO().getMaxAvailabilityDays();
+
+        if (availabilityDays == null) {
+            return;
+        }
+
+        Long oldestSentTimestamp = RichMessageDataController.getInstance().getRichMessagesDAO().getOldestSentTimestamp();
+
+        if (oldestSentTimestamp == null) {
+            return;
+        }
+
+        long expiryTime = oldestSentTimestamp + TimeUnit.DAYS.toMillis(availabilityDays);
+
+        long delay = Math.max(expiryTime - System.currentTimeMillis(), minDelayMillis);
+
+        handler.postDelayed(wakeUp, delay);
+    }
+
+    /**
+     * Delete expired rich messages chunk by chunk, publish one event for all of them and schedule the next wake-up. When nothing was deleted, e.g. because
+     * of a database error, the next wake-up is delayed by at least {@link #PURGE_DELAY}. This method is blocking.
+     */
+    private synchronized void purgeExpiredMessages() {
+
+        Integer availabilityDays = DonkyDataController.getInstance().getConfigurationDAO().getMaxAvailabilityDays();
+
+        if (availabilityDays == null) {
+            return;
+        }
+
+        long acceptableSentTimeMillisUTC = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(availabilityDays);
+
+        RichMessagesDAO richMessagesDAO = RichMessageDataController.getInstance().getRichMessagesDAO();
+
+        List<String> deletedIds = new ArrayList<>();
+
+        List<String> chunk;
+
+        do {
+            chunk = richMessagesDAO.removeRichMessagesSentBefore(acceptableSentTimeMillisUTC, PURGE_CHUNK_SIZE);
+            deletedIds.addAll(chunk);
+        } while (chunk.size() == PURGE_CHUNK_SIZE);
+
+        if (!deletedIds.isEmpty()) {
+            log.info("Deleted " + deletedIds.size() + " Rich Messages that exceeded maximum " + availabilityDays + " availability days.");
+            DonkyCore.publishLocalEvent(new RichMessagesExpiredEvent(deletedIds));
+            purgeRetryDelay = PURGE_DELAY;
+            schedule(0);
+        } else {
+            schedule(purgeRetryDelay);
+            purgeRetryDelay = Math.min(purgeRetryDelay * 2, MAX_PURGE_RETRY_DELAY);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package net.donky.core.messaging.rich.logic.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.sqlite.SQLiteDatabase;
+
+import net.donky.core.logging.DLog;
+import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Off-row storage of rich message html bodies. Body and expired body are deflate compressed and kept in {@link DatabaseSQLContract.RichMessageBodyEntry#TABLE_NAME}
+ * with the rich message row id, so rows of rich messages table stay small and queries that don't ask for the bodies never read them. Content provider writes
+ * and reads bodies through this class, body columns of rich messages table are left null.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessageBodies {
+
+    private static final String RICH_TABLE = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+
+    private static final String BODIES_TABLE = DatabaseSQLContract.RichMessageBodyEntry.TABLE_NAME;
+
+    private static final String ID = DatabaseSQLContract.RichMessageEntry._ID;
+
+    private static final String BODY = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body;
+
+    private static final String EXPIRED_BODY = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody;
+
+    private static final String ALL_COLUMNS = "*";
+
+    private static final String[] BODIES_PROJECTION = {
+            DatabaseSQLContract.RichMessageBodyEntry._ID,
+            DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_body,
+            DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_expiredBody
+    };
+
+    /**
+     * Maximum number of ids bound in a single IN (...) selection, kept below SQLite limit of 999 host parameters.
+     */
+    private static final int MAX_SELECTION_ARGS = 500;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Create bodies table and trigger deleting bodies together with rich messages.
+     *
+     * @param db Database to update.
+     */
+    public static void createBodiesTable(SQLiteDatabase db) {
+
+        db.execSQL("CREATE TABLE " + BODIES_TABLE + "(" +
+                DatabaseSQLContract.RichMessageBodyEntry._ID + " INTEGER PRIMARY KEY," +
+                DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_body + " BLOB," +
+                DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_expiredBody + " BLOB)");
+
+        db.execSQL("CREATE TRIGGER " + BODIES_TABLE + "_delete AFTER DELETE ON " + RICH_TABLE + " BEGIN " +
+                "DELETE FROM " + BODIES_TABLE + " WHERE " + DatabaseSQLContract.RichMessageBodyEntry._ID + " = old." + ID + "; END");
+    }
+
+    /**
+     * Insert rich message row and its compressed bodies. Should be called inside a transaction.
+     *
+     * @param db     Database to update.
+     * @param values Rich message column values.
+     * @return Row id of inserted rich message or -1 if an error occurred.
+     */
+    public static long insert(SQLiteDatabase db, ContentValues values) {
+
+        ContentValues bodies = getCompressedBodies(values);
+
+        long id = db.insert(RICH_TABLE, null, getRowValues(values));
+
+        if (id != -1 && bodies != null) {
+            bodies.put(DatabaseSQLContract.RichMessageBodyEntry._ID, id);
+            db.insert(BODIES_TABLE, null, bodies);
+        }
+
+        return id;
+    }
+
+    /**
+     * Update rich messages rows and their compressed bodies. Should be called inside a transaction.
+     *
+     * @param db            Database to update.
+     * @param values        Rich message column values.
+     * @param selection     Rows to update.
+     * @param selectionArgs Selection arguments.
+     * @return Number of updated rich messages.
+     */
+    public static int update(SQLiteDatabase db, ContentValues values, String selection, String[] selectionArgs) {
+
+        ContentValues bodies = getCompressedBodies(values);
+
+        if (bodies == null) {
+            return db.update(RICH_TABLE, values, selection, selectionArgs);
+        }
+
+        // Rows are selected before the update because it can change the columns used in the selection.
+        List<Long> ids = new ArrayList<>();
+
+        Cursor cursor = db.query(RICH_TABLE, new String[]{ID}, selection, selectionArgs, null, null, null);
+
+        try {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getLong(0));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        ContentValues rowValues = getRowValues(values);
+
+        int rowsUpdated = rowValues.size() > 0 ? db.update(RICH_TABLE, rowValues, selection, selectionArgs) : ids.size();
+
+        String[] args = new String[1];
+
+        for (Long id : ids) {
+
+            args[0] = id.toString();
+
+            if (db.update(BODIES_TABLE, bodies, DatabaseSQLContract.RichMessageBodyEntry._ID + " = ?", args) == 0) {
+                ContentValues newBodies = new ContentValues(bodies);
+                newBodies.put(DatabaseSQLContract.RichMessageBodyEntry._ID, id);
+                db.insert(BODIES_TABLE, null, newBodies);
+            }
+        }
+
+        return rowsUpdated;
+    }
+
+    /**
+     * Insert compressed bodies of existing rich message row. Should be called inside a transaction.
+     *
+     * @param db          Database to update.
+     * @param id          Row id of rich message.
+     * @param body        Rich message body.
+     * @param expiredBody Rich message expired body.
+     */
+    public static void insertBodies(SQLiteDatabase db, long id, String body, String expiredBody) {
+
+        ContentValues values = new ContentValues();
+        values.put(DatabaseSQLContract.RichMessageBodyEntry._ID, id);
+        values.put(DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_body, compress(body));
+        values.put(DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_expiredBody, compress(expiredBody));
+
+        db.insertWithOnConflict(BODIES_TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * @param projection Columns requested from rich messages table, null or "*" for all columns.
+     * @return True if body or expired body is requested.
+     */
+    public static boolean isBodyRequested(String[] projection) {
+        return projection == null || containsAny(projection, BODY, EXPIRED_BODY, ALL_COLUMNS, RICH_TABLE + "." + ALL_COLUMNS);
+    }
+
+    /**
+     * Get projection to query rich messages table with. Row id is added when bodies are requested, as it's needed to find them.
+     *
+     * @param projection Columns requested from rich messages table, null or "*" for all columns.
+     * @return Projection to query rich messages table with.
+     */
+    public static String[] getQueryProjection(String[] projection) {
+
+        if (projection == null || !isBodyRequested(projection) || containsAny(projection, ID, ALL_COLUMNS, RICH_TABLE + "." + ALL_COLUMNS)) {
+            return projection;
+        }
+
+        String[] queryProjection = Arrays.copyOf(projection, projection.length + 1);
+        queryProjection[projection.length] = ID;
+
+        return queryProjection;
+    }
+
+    /**
+     * Wrap rich messages cursor so body and expired body columns return decompressed bodies. Bodies of all rows are read and decompressed up front,
+     * on the thread running the query.
+     *
+     * @param db     Database to read bodies from.
+     * @param cursor Cursor over rich messages table.
+     * @return Cursor returning rich message bodies.
+     */
+    public static Cursor withBodies(SQLiteDatabase db, Cursor cursor) {
+
+        int idIndex = cursor.getColumnIndex(ID);
+        int bodyIndex = cursor.getColumnIndex(BODY);
+        int expiredBodyIndex = cursor.getColumnIndex(EXPIRED_BODY);
+
+        if (idIndex < 0 || (bodyIndex < 0 && expiredBodyIndex < 0)) {
+            return cursor;
+        }
+
+        List<String> ids = new ArrayList<>(cursor.getCount());
+
+        while (cursor.moveToNext()) {
+            ids.add(cursor.getString(idIndex));
+        }
+
+        cursor.moveToPosition(-1);
+
+        Map<Long, String[]> bodies = new HashMap<>(ids.size());
+
+        for (int start = 0; start < ids.size(); start += MAX_SELECTION_ARGS) {
+
+            List<String> batch = ids.subList(start, Math.min(start + MAX_SELECTION_ARGS, ids.size()));
+
+            StringBuilder inList = new StringBuilder();
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    inList.append(",");
+                }
+                inList.append("?");
+            }
+
+            Cursor bodiesCursor = db.query(BODIES_TABLE, BODIES_PROJECTION, DatabaseSQLContract.RichMessageBodyEntry._ID + " IN (" + inList + ")",
+                    batch.toArray(new String[batch.size()]), null, null, null);
+
+            try {
+                while (bodiesCursor.moveToNext()) {
+                    bodies.put(bodiesCursor.getLong(0), new String[]{decompress(bodiesCursor.getBlob(1)), decompress(bodiesCursor.getBlob(2))});
+                }
+            } finally {
+                bodiesCursor.close();
+            }
+        }
+
+        return new BodiesCursor(cursor, bodies, idIndex, bodyIndex, expiredBodyIndex);
+    }
+
+    /**
+     * Deflate compress text.
+     *
+     * @param text Text to compress.
+     * @return Compressed UTF-8 bytes of the text or null for null text.
+     */
+    public static byte[] compress(String text) {
+
+        if (text == null) {
+            return null;
+        }
+
+        byte[] bytes = text.getBytes(UTF_8);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+
+        OutputStream out = new DeflaterOutputStream(compressed);
+
+        try {
+            out.write(bytes);
+            out.close();
+        } catch (IOException e) {
+            // Not thrown when writing to byte array
+            throw new IllegalStateException(e);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Decompress text compressed with {@link #compress(String)}.
+     *
+     * @param data Compressed UTF-8 bytes of the text.
+     * @return Decompressed text or null for null or corrupted data.
+     */
+    public static String decompress(byte[] data) {
+
+        if (data == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(data.length * 4);
+
+        InputStream in = new InflaterInputStream(new ByteArrayInputStream(data));
+
+        try {
+
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+
+        } catch (IOException e) {
+            new DLog("RichMessageBodies").error("Error decompressing rich message body.", e);
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                new DLog("RichMessageBodies").error("Error closing inflater.", e);
+            }
+        }
+
+        return new String(decompressed.toByteArray(), UTF_8);
+    }
+
+    /**
+     * True if the projection contains any of the columns.
+     */
+    private static boolean containsAny(String[] projection, String... columns) {
+
+        List<String> projectionList = Arrays.asList(projection);
+
+        for (String column : columns) {
+            if (projectionList.contains(column)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Rich message column values with bodies removed.
+     */
+    private static ContentValues getRowValues(ContentValues values) {
+
+        if (!values.containsKey(BODY) && !values.containsKey(EXPIRED_BODY)) {
+            return values;
+        }
+
+        ContentValues rowValues = new ContentValues(values);
+        rowValues.remove(BODY);
+        rowValues.remove(EXPIRED_BODY);
+
+        return rowValues;
+    }
+
+    /**
+     * Compressed body and expired body from rich message column values, or null if the values contain neither of them.
+     */
+    private static ContentValues getCompressedBodies(ContentValues values) {
+
+        if (!values.containsKey(BODY) && !values.containsKey(EXPIRED_BODY)) {
+            return null;
+        }
+
+        ContentValues bodies = new ContentValues();
+
+        if (values.containsKey(BODY)) {
+            bodies.put(DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_body, compress(values.getAsString(BODY)));
+        }
+
+        if (values.containsKey(EXPIRED_BODY)) {
+            bodies.put(DatabaseSQLContract.RichMessageBodyEntry.COLUMN_NAME_expiredBody, compress(values.getAsString(EXPIRED_BODY)));
+        }
+
+        return bodies;
+    }
+
+    /**
+     * Cursor returning decompressed bodies in body and expired body columns of rich messages table. Rows without compressed bodies return values
+     * stored in rich messages table.
+     */
+    private static class BodiesCursor extends CursorWrapper {
+
+        private final Map<Long, String[]> bodies;
+
+        private final int idIndex;
+
+        private final int bodyIndex;
+
+        private final int expiredBodyIndex;
+
+        BodiesCursor(Cursor cursor, Map<Long, String[]> bodies, int idIndex, int bodyIndex, int expiredBodyIndex) {
+            super(cursor);
+            this.bodies = bodies;
+            this.idIndex = idIndex;
+            this.bodyIndex = bodyIndex;
+            this.expiredBodyIndex = expiredBodyIndex;
+        }
+
+        private boolean isBodyColumn(int columnIndex) {
+            return columnIndex == bodyIndex || columnIndex == expiredBodyIndex;
+        }
+
+        private String getBody(int columnIndex) {
+
+            String[] values = bodies.get(super.getLong(idIndex));
+
+            if (values == null) {
+                return super.getString(columnIndex);
+            }
+
+            return columnIndex == bodyIndex ? values[0] : values[1];
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            return isBodyColumn(columnIndex) ? getBody(columnIndex) : super.getString(columnIndex);
+        }
+
+        @Override
+        public boolean isNull(int columnIndex) {
+            return isBodyColumn(columnIndex) ? getBody(columnIndex) == null : super.isNull(columnIndex);
+        }
+
+        @Override
+        public int getType(int columnIndex) {
+            if (isBodyColumn(columnIndex)) {
+                return getBody(columnIndex) == null ? FIELD_TYPE_NULL : FIELD_TYPE_STRING;
+            }
+            return super.getType(columnIndex);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package net.donky.core.messaging.rich.logic.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+
+import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full text search over rich messages. FTS4 table {@link DatabaseSQLContract.RichMessageSearchEntry#TABLE_NAME} holds description, sender display name
+ * and plain text of the body for every rich message, using rich message row id as docid. Triggers on rich messages table keep it in sync.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessageSearch {
+
+    private static final Pattern HTML_SCRIPT_OR_STYLE = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1\\s*>");
+
+    private static final Pattern HTML_TAG_OR_COMMENT = Pattern.compile("(?s)<!--.*?-->|<[^>]*>");
+
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(#?[A-Za-z0-9]+);");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String SEARCH_TABLE = DatabaseSQLContract.RichMessageSearchEntry.TABLE_NAME;
+
+    private static final String RICH_TABLE = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+
+    private static final String SEARCH_COLUMNS =
+            DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + "," +
+                    DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + "," +
+                    DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText;
+
+    private static final String NEW_SEARCH_VALUES =
+            "new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + "," +
+                    "new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + "," +
+                    "new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText;
+
+    /**
+     * Selection matching rich messages rows found by full text search. Takes the match query from {@link #getMatchQuery(String)} as the only argument.
+     */
+    public static final String SELECTION_MATCH = DatabaseSQLContract.RichMessageEntry._ID + " IN (SELECT docid FROM " + SEARCH_TABLE + " WHERE " + SEARCH_TABLE + " MATCH ?)";
+
+    /**
+     * Create search table, fill it with existing rich messages and create triggers keeping it in sync. Column with plain text body must be already populated.
+     *
+     * @param db Database to update.
+     */
+    public static void createSearchTable(SQLiteDatabase db) {
+
+        db.execSQL("CREATE VIRTUAL TABLE " + SEARCH_TABLE + " USING fts4(" + SEARCH_COLUMNS + ")");
+
+        db.execSQL("INSERT INTO " + SEARCH_TABLE + "(docid," + SEARCH_COLUMNS + ") SELECT " + DatabaseSQLContract.RichMessageEntry._ID + "," + SEARCH_COLUMNS + " FROM " + RICH_TABLE);
+
+        db.execSQL("CREATE TRIGGER " + SEARCH_TABLE + "_insert AFTER INSERT ON " + RICH_TABLE + " BEGIN " +
+                "INSERT INTO " + SEARCH_TABLE + "(docid," + SEARCH_COLUMNS + ") VALUES (new." + DatabaseSQLContract.RichMessageEntry._ID + "," + NEW_SEARCH_VALUES + "); END");
+
+        db.execSQL("CREATE TRIGGER " + SEARCH_TABLE + "_update AFTER UPDATE OF " + SEARCH_COLUMNS + " ON " + RICH_TABLE + " BEGIN " +
+                "UPDATE " + SEARCH_TABLE + " SET " +
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + " = new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + "," +
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + " = new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + "," +
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText + " = new." + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText +
+                " WHERE docid = old." + DatabaseSQLContract.RichMessageEntry._ID + "; END");
+
+        db.execSQL("CREATE TRIGGER " + SEARCH_TABLE + "_delete AFTER DELETE ON " + RICH_TABLE + " BEGIN " +
+                "DELETE FROM " + SEARCH_TABLE + " WHERE docid = old." + DatabaseSQLContract.RichMessageEntry._ID + "; END");
+    }
+
+    /**
+     * Translate text typed by the user into FTS match query. Every word is matched as a prefix and all words have to be found in the message.
+     *
+     * @param filter Text typed by the user.
+     * @return Match query or null if the filter doesn't contain any searchable word.
+     */
+    public static String getMatchQuery(String filter) {
+
+        if (TextUtils.isEmpty(filter)) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+
+        for (int i = 0; i <= filter.length(); i++) {
+
+            char c = i < filter.length() ? filter.charAt(i) : ' ';
+
+            // Same word characters as FTS simple tokenizer, so the query never contains FTS operators.
+            if (c >= 128 || Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(word).append('*');
+                word.setLength(0);
+            }
+        }
+
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Get searchable plain text of rich message html body.
+     *
+     * @param html Rich message body.
+     * @return Plain text of the body.
+     */
+    public static String getPlainText(String html) {
+
+        if (TextUtils.isEmpty(html)) {
+            return html;
+        }
+
+        String text = HTML_SCRIPT_OR_STYLE.matcher(html).replaceAll(" ");
+        text = HTML_TAG_OR_COMMENT.matcher(text).replaceAll(" ");
+        text = decodeEntities(text);
+
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * Decode numeric and most common named html entities. Other entities are replaced with space.
+     */
+    private static String decodeEntities(String text) {
+
+        Matcher matcher = HTML_ENTITY.matcher(text);
+
+        if (!matcher.find()) {
+            return text;
+        }
+
+        StringBuffer decoded = new StringBuffer(text.length());
+
+        do {
+
+            String entity = matcher.group(1);
+            String replacement = " ";
+
+            try {
+                if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                    replacement = new String(Character.toChars(Integer.parseInt(entity.substring(2), 16)));
+                } else if (entity.startsWith("#")) {
+                    replacement = new String(Character.toChars(Integer.parseInt(entity.substring(1))));
+                } else if ("amp".equals(entity)) {
+                    replacement = "&";
+                } else if ("lt".equals(entity)) {
+                    replacement = "<";
+                } else if ("gt".equals(entity)) {
+                    replacement = ">";
+                } else if ("quot".equals(entity)) {
+                    replacement = "\"";
+                } else if ("apos".equals(entity)) {
+                    replacement = "'";
+                }
+            } catch (IllegalArgumentException e) {
+                replacement = " ";
+            }
+
+            matcher.appendReplacement(decoded, Matcher.quoteReplacement(replacement));
+
+        } while (matcher.find());
+
+        matcher.appendTail(decoded);
+
+        return decoded.toString();
+    }
+}
@@ -25,6 +25,11 @@ public class RichMsgContentProvider extends ContentProvider {
 
     private final static String AUTHORITY_POSTFIX = ".donky.rich.provider";
 
+    /**
+     * Optional query parameter of content uri limiting the number of returned rows.
+     */
+    public final static String QUERY_PARAMETER_LIMIT = "limit";
+
     private static String AUTHORITY;
 
     private static String BASE_PATH;
@@ -33,10 +38,14 @@ public class RichMsgContentProvider extends ContentProvider {
 
     private static final int RICH = 1;
 
+    private static final int COUNTS = 2;
+
     private RichMsgSQLiteHelper databaseSQLHelper;
 
     private static Uri CONTENT_URI_RICH;
 
+    private static Uri CONTENT_URI_COUNTS;
+
     @Override
     public boolean onCreate() {
 
@@ -48,6 +57,17 @@ public class RichMsgContentProvider extends ContentProvider {
         return true;
     }
 
+    /**
+     * Gets content uri for rich messages query returning at most given number of rows.
+     *
+     * @param context Application context.
+     * @param limit   Maximum number of rows.
+     * @return Content uri with limit query parameter.
+     */
+    public static Uri getContentUri(Context context, int limit) {
+        return getContentUri(context).buildUpon().appendQueryParameter(QUERY_PARAMETER_LIMIT, Integer.toString(limit)).build();
+    }
+
     public synchronized static Uri getContentUri(Context context) {
 
         if (context != null) {
@@ -60,15 +80,30 @@ public class RichMsgContentProvider extends ContentProvider {
             if (uriMatcher == null) {
                 uriMatcher = new UriMatcher(UriMatcher.NO_MATCH);
                 uriMatcher.addURI(AUTHORITY, DatabaseSQLContract.RichMessageEntry.TABLE_NAME, RICH);
+                uriMatcher.addURI(AUTHORITY, DatabaseSQLContract.RichMessageCountsEntry.TABLE_NAME, COUNTS);
             }
             if (CONTENT_URI_RICH == null) {
                 CONTENT_URI_RICH = Uri.parse(BASE_PATH + DatabaseSQLContract.RichMessageEntry.TABLE_NAME);
             }
+            if (CONTENT_URI_COUNTS == null) {
+                CONTENT_URI_COUNTS = Uri.parse(BASE_PATH + DatabaseSQLContract.RichMessageCountsEntry.TABLE_NAME);
+            }
         }
 
         return CONTENT_URI_RICH;
     }
 
+    /**
+     * Gets content uri for read only query of total and unread number of rich messages. Changes are notified with {@link #getContentUri(Context)}.
+     *
+     * @param context Application context.
+     * @return Content uri for rich messages counts.
+     */
+    public synchronized static Uri getCountsContentUri(Context context) {
+        getContentUri(context);
+        return CONTENT_URI_COUNTS;
+    }
+
     public Cursor query(
             @NonNull Uri uri,
             String[] projection,
@@ -77,19 +112,31 @@ public class RichMsgContentProvider extends ContentProvider {
             String sortOrder) {
 
         SQLiteQueryBuilder queryBuilder = new SQLiteQueryBuilder();
+        Uri notificationUri = uri;
         int uriType = uriMatcher.match(uri);
         switch (uriType) {
             case RICH:
                 queryBuilder.setTables(DatabaseSQLContract.RichMessageEntry.TABLE_NAME);
                 break;
+            case COUNTS:
+                queryBuilder.setTables(DatabaseSQLContract.RichMessageCountsEntry.TABLE_NAME);
+                // Counts are changed by triggers on rich messages table
+                notificationUri = CONTENT_URI_RICH;
+                break;
             default:
                 throw new IllegalArgumentException("Unknown URI: " + uri);
         }
 
         SQLiteDatabase db = databaseSQLHelper.getWritableDatabase();
-        Cursor cursor = queryBuilder.query(db, projection, selection, selectionArgs, null, null, sortOrder);
+        Cursor cursor;
+        if (uriType == RICH && RichMessageBodies.isBodyRequested(projection)) {
+            // Bodies are stored compressed in separate table and loaded only for queries asking for them
+            cursor = RichMessageBodies.withBodies(db, queryBuilder.query(db, RichMessageBodies.getQueryProjection(projection), selection, selectionArgs, null, null, sortOrder, uri.getQueryParameter(QUERY_PARAMETER_LIMIT)));
+        } else {
+            cursor = queryBuilder.query(db, projection, selection, selectionArgs, null, null, sortOrder, uri.getQueryParameter(QUERY_PARAMETER_LIMIT));
+        }
         if (getContext() != null) {
-            cursor.setNotificationUri(getContext().getContentResolver(), uri);
+            cursor.setNotificationUri(getContext().getContentResolver(), notificationUri);
         } else {
             new DLog("RichMessagesContentProvider").error("No context available.");
         }
@@ -110,7 +157,13 @@ public class RichMsgContentProvider extends ContentProvider {
         long id;
         switch (uriType) {
             case RICH:
-                id = sqlDB.insert(DatabaseSQLContract.RichMessageEntry.TABLE_NAME, null, values);
+                sqlDB.beginTransaction();
+                try {
+                    id = RichMessageBodies.insert(sqlDB, values);
+                    sqlDB.setTransactionSuccessful();
+                } finally {
+                    sqlDB.endTransaction();
+                }
                 break;
             default:
                 throw new IllegalArgumentException("Unknown URI: " + uri);
@@ -123,6 +176,39 @@ public class RichMsgContentProvider extends ContentProvider {
         return Uri.parse(BASE_PATH + "/" + id);
     }
 
+    @Override
+    public int bulkInsert(@NonNull Uri uri, @NonNull ContentValues[] values) {
+
+        int uriType = uriMatcher.match(uri);
+        SQLiteDatabase sqlDB = databaseSQLHelper.getWritableDatabase();
+        int rowsInserted = 0;
+        switch (uriType) {
+            case RICH:
+                sqlDB.beginTransaction();
+                try {
+                    for (ContentValues contentValues : values) {
+                        if (RichMessageBodies.insert(sqlDB, contentValues) != -1) {
+                            rowsInserted++;
+                        }
+                    }
+                    sqlDB.setTransactionSuccessful();
+                } finally {
+                    sqlDB.endTransaction();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown URI: " + uri);
+        }
+        if (rowsInserted > 0) {
+            if (getContext() != null) {
+                getContext().getContentResolver().notifyChange(uri, null);
+            } else {
+                new DLog("RichMessagesContentProvider").error("No context available.");
+            }
+        }
+        return rowsInserted;
+    }
+
     @Override
     public int delete(@NonNull Uri uri, String selection, String[] selectionArgs) {
 
@@ -153,10 +239,13 @@ public class RichMsgContentProvider extends ContentProvider {
         int rowsUpdated;
         switch (uriType) {
             case RICH:
-                rowsUpdated = sqlDB.update(DatabaseSQLContract.RichMessageEntry.TABLE_NAME,
-                        values,
-                        selection,
-                        selectionArgs);
+                sqlDB.beginTransaction();
+                try {
+                    rowsUpdated = RichMessageBodies.update(sqlDB, values, selection, selectionArgs);
+                    sqlDB.setTransactionSuccessful();
+                } finally {
+                    sqlDB.endTransaction();
+                }
                 break;
             default:
                 throw new IllegalArgumentException("Unknown URI: " + uri);
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
+import net.donky.core.messaging.rich.logic.database.migration.DBMigrationController;
 import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
 
 /**
@@ -18,7 +19,7 @@ public class RichMsgSQLiteHelper extends SQLiteOpenHelper {
     /**
      * If the database schema change, the database version will be incremented.
      */
-    public static final int DATABASE_VERSION = 1;
+    public static final int DATABASE_VERSION = 6;
 
     /**
      * File name for SQLite database.
@@ -74,11 +75,12 @@ public class RichMsgSQLiteHelper extends SQLiteOpenHelper {
     @Override
     public void onCreate(SQLiteDatabase db) {
         db.execSQL(SQL_CREATE_RICH_MESSAGES_TABLE);
+        DBMigrationController.migrateSchema(db, 1, DATABASE_VERSION);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-
+        DBMigrationController.migrateSchema(db, oldVersion, newVersion);
     }
 
     @Override
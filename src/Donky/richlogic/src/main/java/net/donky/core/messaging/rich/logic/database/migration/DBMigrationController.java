@@ -1,15 +1,19 @@
 package net.donky.core.messaging.rich.logic.database.migration;
 
 import android.annotation.SuppressLint;
+import android.content.ContentValues;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
+import android.text.TextUtils;
 
 import net.donky.core.DonkyCore;
 import net.donky.core.logging.DLog;
 import net.donky.core.messaging.logic.database.BaseDAO;
+import net.donky.core.messaging.rich.logic.database.RichMessageBodies;
+import net.donky.core.messaging.rich.logic.database.RichMessageSearch;
 import net.donky.core.messaging.rich.logic.model.DatabaseSQLContract;
 import net.donky.core.messaging.rich.logic.model.RichMessage;
 import net.donky.core.messaging.rich.logic.model.RichMessageDataController;
@@ -42,6 +46,185 @@ public class DBMigrationController extends BaseDAO {
         databaseSQLHelper = DonkyDataController.getInstance().getDatabaseSQLHelper();
     }
 
+    /**
+     * Migrates Rich Logic Module DB schema one version at a time. Called from {@link android.database.sqlite.SQLiteOpenHelper#onUpgrade(SQLiteDatabase, int, int)}
+     * inside its transaction and from onCreate with old version 1, so newly created databases get the same schema as upgraded ones.
+     *
+     * @param db         Database to migrate.
+     * @param oldVersion Current schema version.
+     * @param newVersion Target schema version.
+     */
+    public static void migrateSchema(SQLiteDatabase db, int oldVersion, int newVersion) {
+
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+
+            switch (version) {
+                case 2:
+                    migrateToVersion2(db);
+                    break;
+                case 3:
+                    migrateToVersion3(db);
+                    break;
+                case 4:
+                    migrateToVersion4(db);
+                    break;
+                case 5:
+                    migrateToVersion5(db);
+                    break;
+                case 6:
+                    migrateToVersion6(db);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Indexes for lookups by internal id, message id and read state and covering index for the inbox list ordered by sent time.
+     */
+    private static void migrateToVersion2(SQLiteDatabase db) {
+
+        createIndex(db, DatabaseSQLContract.RichMessageEntry.INDEX_NAME_internalId,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId);
+
+        createIndex(db, DatabaseSQLContract.RichMessageEntry.INDEX_NAME_messageId,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId);
+
+        createIndex(db, DatabaseSQLContract.RichMessageEntry.INDEX_NAME_messageRead,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong);
+
+        createIndex(db, DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestamp,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiryTimeStamp,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_avatarAssetId);
+    }
+
+    /**
+     * Plain text body column and full text search table over description, sender display name and plain text body.
+     */
+    private static void migrateToVersion3(SQLiteDatabase db) {
+
+        db.execSQL("ALTER TABLE " + DatabaseSQLContract.RichMessageEntry.TABLE_NAME + " ADD COLUMN " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText + " TEXT");
+
+        Cursor cursor = db.query(DatabaseSQLContract.RichMessageEntry.TABLE_NAME,
+                new String[]{DatabaseSQLContract.RichMessageEntry._ID, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body},
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body + " IS NOT NULL", null, null, null, null);
+
+        try {
+
+            ContentValues values = new ContentValues();
+            String[] args = new String[1];
+
+            while (cursor.moveToNext()) {
+                values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText, RichMessageSearch.getPlainText(cursor.getString(1)));
+                args[0] = Long.toString(cursor.getLong(0));
+                db.update(DatabaseSQLContract.RichMessageEntry.TABLE_NAME, values, DatabaseSQLContract.RichMessageEntry._ID + " = ?", args);
+            }
+
+        } finally {
+            cursor.close();
+        }
+
+        RichMessageSearch.createSearchTable(db);
+    }
+
+    /**
+     * Flag column telling if rich message has expired body, so the inbox list doesn't have to read the body, and inbox index covering
+     * {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_COLUMNS} in order of {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_ORDER}.
+     */
+    private static void migrateToVersion4(SQLiteDatabase db) {
+
+        db.execSQL("ALTER TABLE " + DatabaseSQLContract.RichMessageEntry.TABLE_NAME + " ADD COLUMN " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody + " INT DEFAULT 0");
+
+        db.execSQL("UPDATE " + DatabaseSQLContract.RichMessageEntry.TABLE_NAME + " SET " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody + " = 1 WHERE "
+                + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody + " IS NOT NULL AND " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody + " != ''");
+
+        db.execSQL("DROP INDEX IF EXISTS " + DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox);
+
+        createIndex(db, DatabaseSQLContract.RichMessageEntry.INDEX_NAME_inbox,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong,
+                DatabaseSQLContract.RichMessageEntry._ID,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestamp,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiryTimeStamp,
+                DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_avatarAssetId);
+    }
+
+    /**
+     * Single row table with total and unread number of rich messages, kept up to date by triggers so counting doesn't need to read rich messages table.
+     */
+    private static void migrateToVersion5(SQLiteDatabase db) {
+
+        final String rich = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+        final String counts = DatabaseSQLContract.RichMessageCountsEntry.TABLE_NAME;
+        final String total = DatabaseSQLContract.RichMessageCountsEntry.COLUMN_NAME_total;
+        final String unread = DatabaseSQLContract.RichMessageCountsEntry.COLUMN_NAME_unread;
+        final String messageRead = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead;
+
+        db.execSQL("CREATE TABLE " + counts + "(" +
+                DatabaseSQLContract.RichMessageCountsEntry._ID + " INTEGER PRIMARY KEY," +
+                total + " INT NOT NULL," +
+                unread + " INT NOT NULL)");
+
+        db.execSQL("INSERT INTO " + counts + "(" + DatabaseSQLContract.RichMessageCountsEntry._ID + "," + total + "," + unread + ") " +
+                "SELECT 1, COUNT(*), COUNT(CASE WHEN " + messageRead + " = 0 THEN 1 END) FROM " + rich);
+
+        db.execSQL("CREATE TRIGGER " + counts + "_insert AFTER INSERT ON " + rich + " BEGIN " +
+                "UPDATE " + counts + " SET " + total + " = " + total + " + 1, " +
+                unread + " = " + unread + " + (CASE WHEN new." + messageRead + " = 0 THEN 1 ELSE 0 END); END");
+
+        db.execSQL("CREATE TRIGGER " + counts + "_delete AFTER DELETE ON " + rich + " BEGIN " +
+                "UPDATE " + counts + " SET " + total + " = " + total + " - 1, " +
+                unread + " = " + unread + " - (CASE WHEN old." + messageRead + " = 0 THEN 1 ELSE 0 END); END");
+
+        db.execSQL("CREATE TRIGGER " + counts + "_update AFTER UPDATE OF " + messageRead + " ON " + rich + " BEGIN " +
+                "UPDATE " + counts + " SET " +
+                unread + " = " + unread + " + (CASE WHEN new." + messageRead + " = 0 THEN 1 ELSE 0 END) - (CASE WHEN old." + messageRead + " = 0 THEN 1 ELSE 0 END); END");
+    }
+
+    /**
+     * Table with deflate compressed bodies. Existing bodies are moved there and cleared in rich messages table, freed pages are reused by SQLite for new rows.
+     */
+    private static void migrateToVersion6(SQLiteDatabase db) {
+
+        final String rich = DatabaseSQLContract.RichMessageEntry.TABLE_NAME;
+        final String body = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body;
+        final String expiredBody = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody;
+        final String hasBodies = body + " IS NOT NULL OR " + expiredBody + " IS NOT NULL";
+
+        RichMessageBodies.createBodiesTable(db);
+
+        Cursor cursor = db.query(rich, new String[]{DatabaseSQLContract.RichMessageEntry._ID, body, expiredBody}, hasBodies, null, null, null, null);
+
+        try {
+            while (cursor.moveToNext()) {
+                RichMessageBodies.insertBodies(db, cursor.getLong(0), cursor.getString(1), cursor.getString(2));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        db.execSQL("UPDATE " + rich + " SET " + body + " = NULL, " + expiredBody + " = NULL WHERE " + hasBodies);
+    }
+
+    /**
+     * Create index on rich messages table. Column lists are spelled out in every migration step so later changes to the contract don't alter older steps.
+     */
+    private static void createIndex(SQLiteDatabase db, String indexName, String... columns) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + indexName + " ON " + DatabaseSQLContract.RichMessageEntry.TABLE_NAME + "(" + TextUtils.join(",", columns) + ")");
+    }
+
     /**
      * Migrates all Rich Messages from core DB to Rich Logic Module DB. Executes only once.
      */
@@ -8,8 +8,6 @@ import net.donky.core.messaging.rich.logic.model.RichMessage;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.settings.AppSettings;
 
-import java.util.Date;
-
 /**
  * Helper for rich messaging modules.
  *
@@ -59,11 +57,11 @@ public class RichMessageHelper {
 
         if (richMessage != null) {
 
-            Date dateSent = DateAndTimeHelper.parseUtcDate(richMessage.getSentTimestamp());
-            Date dateExpiry = DateAndTimeHelper.parseUtcDate(richMessage.getExpiryTimeStamp());
+            long timeSent = DateAndTimeHelper.parseUtcMillis(richMessage.getSentTimestamp());
+            long timeExpiry = DateAndTimeHelper.parseUtcMillis(richMessage.getExpiryTimeStamp());
             Integer availabilityDays = DonkyDataController.getInstance().getConfigurationDAO().getMaxAvailabilityDays();
 
-            return DateAndTimeHelper.isExpired(dateSent, dateExpiry, new Date(), availabilityDays);
+            return DateAndTimeHelper.isExpired(timeSent, timeExpiry, System.currentTimeMillis(), availabilityDays);
 
         } else {
 
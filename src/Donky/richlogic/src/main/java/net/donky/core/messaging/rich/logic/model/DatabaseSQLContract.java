@@ -42,5 +42,93 @@ public class DatabaseSQLContract {
         public static final String COLUMN_NAME_sentTimestamp = "sentTimestamp";
         public static final String COLUMN_NAME_expiryTimeStamp = "expiryTimeStamp";
         public static final String COLUMN_NAME_sentTimestampLong = "sentTimestampL";
+        public static final String COLUMN_NAME_bodyText = "bodyText";
+        public static final String COLUMN_NAME_hasExpiredBody = "hasExpiredBody";
+
+        public static final String INDEX_NAME_internalId = "RichMessages_internalId";
+        public static final String INDEX_NAME_messageId = "RichMessages_messageId";
+        public static final String INDEX_NAME_messageRead = "RichMessages_messageRead";
+        public static final String INDEX_NAME_inbox = "RichMessages_inbox";
+
+        /**
+         * Columns read by the inbox list. Covered by {@link #INDEX_NAME_inbox} so the list can be read from the index without touching table rows.
+         */
+        public static final String[] INBOX_LIST_COLUMNS = {
+                _ID,
+                COLUMN_NAME_sentTimestampLong,
+                COLUMN_NAME_internalId,
+                COLUMN_NAME_messageRead,
+                COLUMN_NAME_hasExpiredBody,
+                COLUMN_NAME_senderDisplayName,
+                COLUMN_NAME_description,
+                COLUMN_NAME_sentTimestamp,
+                COLUMN_NAME_expiryTimeStamp,
+                COLUMN_NAME_avatarAssetId
+        };
+
+        /**
+         * Order of the inbox list, newest first. Row id makes the order stable for messages sent at the same time.
+         */
+        public static final String INBOX_LIST_ORDER = COLUMN_NAME_sentTimestampLong + " DESC, " + _ID + " DESC";
+
+        /**
+         * All columns of rich messages table except body and expired body. Queries with this projection don't read or decompress bodies kept in
+         * {@link RichMessageBodyEntry#TABLE_NAME}.
+         */
+        public static final String[] COLUMNS_WITHOUT_BODIES = {
+                _ID,
+                COLUMN_NAME_internalId,
+                COLUMN_NAME_messageRead,
+                COLUMN_NAME_messageType,
+                COLUMN_NAME_senderExternalUserId,
+                COLUMN_NAME_externalRef,
+                COLUMN_NAME_description,
+                COLUMN_NAME_canReply,
+                COLUMN_NAME_canForward,
+                COLUMN_NAME_canShare,
+                COLUMN_NAME_urlToShare,
+                COLUMN_NAME_silentNotification,
+                COLUMN_NAME_msgSentTimeStamp,
+                COLUMN_NAME_forwardedBy,
+                COLUMN_NAME_forwardingOverlayMessage,
+                COLUMN_NAME_conversationId,
+                COLUMN_NAME_senderAccountType,
+                COLUMN_NAME_senderDisplayName,
+                COLUMN_NAME_messageScope,
+                COLUMN_NAME_senderInternalUserId,
+                COLUMN_NAME_senderMessageId,
+                COLUMN_NAME_messageId,
+                COLUMN_NAME_contextItems,
+                COLUMN_NAME_avatarAssetId,
+                COLUMN_NAME_sentTimestamp,
+                COLUMN_NAME_expiryTimeStamp,
+                COLUMN_NAME_sentTimestampLong,
+                COLUMN_NAME_bodyText,
+                COLUMN_NAME_hasExpiredBody
+        };
+    }
+
+    /* Defines the full text search table for RichMessages */
+    public static abstract class RichMessageSearchEntry {
+
+        public static final String TABLE_NAME = "RichMessagesSearch";
+    }
+
+    /* Defines the single row table with number of RichMessages maintained by triggers */
+    public static abstract class RichMessageCountsEntry implements BaseColumns {
+
+        public static final String TABLE_NAME = "RichMessagesCounts";
+
+        public static final String COLUMN_NAME_total = "total";
+        public static final String COLUMN_NAME_unread = "unread";
+    }
+
+    /* Defines the table with deflate compressed bodies of RichMessages, row id is the same as in RichMessages table */
+    public static abstract class RichMessageBodyEntry implements BaseColumns {
+
+        public static final String TABLE_NAME = "RichMessageBodies";
+
+        public static final String COLUMN_NAME_body = "body";
+        public static final String COLUMN_NAME_expiredBody = "expiredBody";
     }
 }
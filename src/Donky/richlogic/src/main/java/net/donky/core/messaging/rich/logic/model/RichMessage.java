@@ -6,6 +6,7 @@ import com.google.gson.annotations.SerializedName;
 
 import net.donky.core.messaging.logic.model.CommonMessage;
 
+import java.io.ObjectStreamException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 
@@ -61,6 +62,11 @@ public class RichMessage extends CommonMessage {
     @SerializedName("senderAccountType")
     private String senderAccountType;
 
+    /**
+     * True for messages read from the database without body and expired body, they are read on first access.
+     */
+    private transient boolean bodiesNotLoaded;
+
     public String getSenderExternalUserId() {
         return senderExternalUserId;
     }
@@ -69,7 +75,14 @@ public class RichMessage extends CommonMessage {
         return externalRef;
     }
 
+    @Override
+    public String getBody() {
+        loadBodies();
+        return super.getBody();
+    }
+
     public String getExpiredBody() {
+        loadBodies();
         return expiredBody;
     }
 
@@ -121,7 +134,14 @@ public class RichMessage extends CommonMessage {
         this.externalRef = externalRef;
     }
 
+    @Override
+    public void setBody(String body) {
+        loadBodies();
+        super.setBody(body);
+    }
+
     public void setExpiredBody(String expiredBody) {
+        loadBodies();
         this.expiredBody = expiredBody;
     }
 
@@ -181,6 +201,31 @@ public class RichMessage extends CommonMessage {
         this.receivedExpired = receivedExpired;
     }
 
+    /**
+     * Marks message read from the database without body and expired body, so they will be read from the database on first access.
+     */
+    void setBodiesNotLoaded() {
+        this.bodiesNotLoaded = true;
+    }
+
+    /**
+     * Reads body and expired body from the database if the message was loaded without them. This method is blocking.
+     */
+    private void loadBodies() {
+        if (bodiesNotLoaded) {
+            bodiesNotLoaded = false;
+            RichMessageDataController.getInstance().getRichMessagesDAO().loadBodies(this);
+        }
+    }
+
+    /**
+     * Reads bodies before the message is serialized, e.g. to be passed to rich message activity in an intent.
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        loadBodies();
+        return this;
+    }
+
     /**
      * Return the rich message's body, URL encoded.
      * This is mostly useful for showing in a {@link android.webkit.WebView}, where Android 2.3 has a bug: https://code.google.com/p/android/issues/detail?id=4401
@@ -210,6 +255,8 @@ public class RichMessage extends CommonMessage {
      */
     public String getURLEncodedExpiredBody() {
 
+        String expiredBody = getExpiredBody();
+
         if (expiredBody != null) {
 
             try {
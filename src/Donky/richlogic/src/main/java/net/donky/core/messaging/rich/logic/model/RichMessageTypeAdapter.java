@@ -0,0 +1,132 @@
+package net.donky.core.messaging.rich.logic.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import net.donky.core.helpers.GsonHelper;
+
+import java.io.IOException;
+
+/**
+ * Type adapter reading and writing {@link RichMessage} from Rich Message server notification data without reflection.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessageTypeAdapter extends TypeAdapter<RichMessage> {
+
+    @Override
+    public void write(JsonWriter out, RichMessage value) throws IOException {
+
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("avatarAssetId").value(value.getAvatarAssetId());
+        out.name("body").value(value.getBody());
+        out.name("contextItems");
+        GsonHelper.writeStringMap(out, value.getContextItems());
+        out.name("expiryTimeStamp").value(value.getExpiryTimeStamp());
+        out.name("messageId").value(value.getMessageId());
+        out.name("messageScope").value(value.getMessageScope());
+        out.name("senderDisplayName").value(value.getSenderDisplayName());
+        out.name("senderInternalUserId").value(value.getSenderInternalUserId());
+        out.name("senderMessageId").value(value.getSenderMessageId());
+        out.name("sentTimestamp").value(value.getSentTimestamp());
+        out.name("messageType").value(value.getMessageType());
+        out.name("description").value(value.getDescription());
+        out.name("senderExternalUserId").value(value.getSenderExternalUserId());
+        out.name("externalRef").value(value.getExternalRef());
+        out.name("expiredBody").value(value.getExpiredBody());
+        out.name("canReply").value(value.isCanReply());
+        out.name("canForward").value(value.isCanForward());
+        out.name("canShare").value(value.isCanShare());
+        out.name("urlToShare").value(value.getUrlToShare());
+        out.name("silentNotification").value(value.isSilentNotification());
+        out.name("msgSentTimeStamp").value(value.getMsgSentTimeStamp());
+        out.name("forwardedBy").value(value.getForwardedBy());
+        out.name("forwardingOverlayMessage").value(value.getForwardingOverlayMessage());
+        out.name("conversationId").value(value.getConversationId());
+        out.name("senderAccountType").value(value.getSenderAccountType());
+        out.endObject();
+    }
+
+    @Override
+    public RichMessage read(JsonReader in) throws IOException {
+
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        RichMessage richMessage = new RichMessage();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+
+            String name = in.nextName();
+
+            if ("avatarAssetId".equals(name)) {
+                richMessage.setAvatarAssetId(GsonHelper.readString(in));
+            } else if ("body".equals(name)) {
+                richMessage.setBody(GsonHelper.readString(in));
+            } else if ("contextItems".equals(name)) {
+                richMessage.setContextItems(GsonHelper.readStringMap(in));
+            } else if ("expiryTimeStamp".equals(name)) {
+                richMessage.setExpiryTimeStamp(GsonHelper.readString(in));
+            } else if ("messageId".equals(name)) {
+                richMessage.setMessageId(GsonHelper.readString(in));
+            } else if ("messageScope".equals(name)) {
+                richMessage.setMessageScope(GsonHelper.readString(in));
+            } else if ("senderDisplayName".equals(name)) {
+                richMessage.setSenderDisplayName(GsonHelper.readString(in));
+            } else if ("senderInternalUserId".equals(name)) {
+                richMessage.setSenderInternalUserId(GsonHelper.readString(in));
+            } else if ("senderMessageId".equals(name)) {
+                richMessage.setSenderMessageId(GsonHelper.readString(in));
+            } else if ("sentTimestamp".equals(name)) {
+                richMessage.setSentTimestamp(GsonHelper.readString(in));
+            } else if ("messageType".equals(name)) {
+                richMessage.setMessageType(GsonHelper.readString(in));
+            } else if ("description".equals(name)) {
+                richMessage.setDescription(GsonHelper.readString(in));
+            } else if ("senderExternalUserId".equals(name)) {
+                richMessage.setSenderExternalUserId(GsonHelper.readString(in));
+            } else if ("externalRef".equals(name)) {
+                richMessage.setExternalRef(GsonHelper.readString(in));
+            } else if ("expiredBody".equals(name)) {
+                richMessage.setExpiredBody(GsonHelper.readString(in));
+            } else if ("canReply".equals(name)) {
+                richMessage.setCanReply(GsonHelper.readBoolean(in, false));
+            } else if ("canForward".equals(name)) {
+                richMessage.setCanForward(GsonHelper.readBoolean(in, false));
+            } else if ("canShare".equals(name)) {
+                richMessage.setCanShare(GsonHelper.readBoolean(in, false));
+            } else if ("urlToShare".equals(name)) {
+                richMessage.setUrlToShare(GsonHelper.readString(in));
+            } else if ("silentNotification".equals(name)) {
+                richMessage.setSilentNotification(GsonHelper.readBoolean(in, false));
+            } else if ("msgSentTimeStamp".equals(name)) {
+                richMessage.setMsgSentTimeStamp(GsonHelper.readString(in));
+            } else if ("forwardedBy".equals(name)) {
+                richMessage.setForwardedBy(GsonHelper.readString(in));
+            } else if ("forwardingOverlayMessage".equals(name)) {
+                richMessage.setForwardingOverlayMessage(GsonHelper.readString(in));
+            } else if ("conversationId".equals(name)) {
+                richMessage.setConversationId(GsonHelper.readString(in));
+            } else if ("senderAccountType".equals(name)) {
+                richMessage.setSenderAccountType(GsonHelper.readString(in));
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return richMessage;
+    }
+}
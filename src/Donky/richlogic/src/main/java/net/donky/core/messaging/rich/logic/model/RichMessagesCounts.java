@@ -0,0 +1,62 @@
+package net.donky.core.messaging.rich.logic.model;
+
+/**
+ * Total and unread number of rich messages saved in local database.
+ *
+ * Copyright (C) Donky Networks Ltd. All rights reserved.
+ */
+public class RichMessagesCounts {
+
+    private final int total;
+
+    private final int unread;
+
+    /**
+     * @param total  Number of all saved rich messages.
+     * @param unread Number of saved rich messages not marked as read.
+     */
+    public RichMessagesCounts(int total, int unread) {
+        this.total = total;
+        this.unread = unread;
+    }
+
+    /**
+     * @return Number of all saved rich messages.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Number of saved rich messages not marked as read.
+     */
+    public int getUnread() {
+        return unread;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RichMessagesCounts)) {
+            return false;
+        }
+
+        RichMessagesCounts that = (RichMessagesCounts) o;
+
+        return total == that.total && unread == that.unread;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * total + unread;
+    }
+
+    @Override
+    public String toString() {
+        return "RichMessagesCounts{total=" + total + ", unread=" + unread + "}";
+    }
+}
@@ -18,6 +18,7 @@ import net.donky.core.messaging.logic.database.listeners.DonkyDeleteListener;
 import net.donky.core.messaging.logic.database.listeners.DonkyInsertListener;
 import net.donky.core.messaging.logic.database.listeners.DonkyQueryListener;
 import net.donky.core.messaging.logic.database.listeners.DonkyUpdateListener;
+import net.donky.core.messaging.rich.logic.database.RichMessageSearch;
 import net.donky.core.messaging.rich.logic.database.RichMsgContentProvider;
 import net.donky.core.model.DonkyDataController;
 import net.donky.core.network.DonkyNetworkController;
@@ -25,9 +26,12 @@ import net.donky.core.network.DonkyNetworkController;
 import org.json.JSONException;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -44,6 +48,45 @@ public class RichMessagesDAO extends BaseDAO {
     private static final int REQUEST_CODE_UPDATE_RICH_MESSAGES = 3;
     private static final int REQUEST_CODE_INSERT_RICH_MESSAGE = 4;
 
+    /**
+     * Maximum number of ids bound in a single IN (...) selection, kept below SQLite limit of 999 host parameters.
+     */
+    private static final int MAX_SELECTION_ARGS = 500;
+
+    static final String SELECTION_UNREAD = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead + " = ?";
+
+    static final String SELECTION_ID = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?";
+
+    static final String SELECTION_INTERNAL_ID = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ?";
+
+    static final String SELECTION_MESSAGE_ID = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?";
+
+    static final String SELECTION_SENT_BEFORE = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " < ?";
+
+    static final String SELECTION_SENT_AFTER = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " > ?";
+
+    static final String SELECTION_HAS_SENT_TIME = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " IS NOT NULL";
+
+    /**
+     * Keyset pagination of the inbox list: (sentTimestampL, _id) lower than in the last row of previous page, written so SQLite can search the inbox index by sent time.
+     */
+    static final String SELECTION_NEXT_PAGE = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " <= ? AND ("
+            + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " < ? OR " + DatabaseSQLContract.RichMessageEntry._ID + " < ?)";
+
+    static final String ORDER_OLDEST_FIRST = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " ASC";
+
+    static final String ORDER_NEWEST_FIRST = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " DESC";
+
+    private static final String[] BODIES_PROJECTION = {
+            DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body,
+            DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody
+    };
+
+    private static final String[] COUNTS_PROJECTION = {
+            DatabaseSQLContract.RichMessageCountsEntry.COLUMN_NAME_total,
+            DatabaseSQLContract.RichMessageCountsEntry.COLUMN_NAME_unread
+    };
+
     private final DLog log;
 
     Context context;
@@ -57,22 +100,107 @@ public class RichMessagesDAO extends BaseDAO {
     }
 
     /**
-     * Gets all rich messages marked as unread. This method is blocking.
+     * Gets total and unread number of rich messages. Counts are maintained by the database so this doesn't load any rich message.
+     * Use instead of {@link #getUnreadRichMessages()} when only the number is needed. This method is blocking.
+     *
+     * @return Total and unread number of rich messages or null if reading the database failed.
+     */
+    public RichMessagesCounts getRichMessagesCounts() {
+
+        Cursor cursor = null;
+
+        try {
+
+            cursor = context.getContentResolver().query(RichMsgContentProvider.getCountsContentUri(context), COUNTS_PROJECTION, null, null, null);
+
+            if (cursor != null) {
+                return getRichMessagesCounts(cursor);
+            }
+
+        } catch (Exception e) {
+            log.error("Error loading rich messages counts.", e);
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets total and unread number of rich messages. Counts are maintained by the database so this doesn't load any rich message. This method is non-blocking.
+     *
+     * @param listener Callback with total and unread number of rich messages.
+     */
+    public void getRichMessagesCounts(final DonkyResultListener<RichMessagesCounts> listener) {
+
+        try {
+
+            DonkyAsyncQueryHandler queryHandler = new DonkyAsyncQueryHandler(context, new DonkyQueryListener() {
+
+                @Override
+                public void onQueryComplete(int token, Object cookie, Cursor cursor) {
+
+                    RichMessagesCounts counts = null;
+
+                    if (cursor != null) {
+                        try {
+                            counts = getRichMessagesCounts(cursor);
+                        } catch (Exception e) {
+                            log.error("Error loading rich messages counts.", e);
+                        } finally {
+                            if (!cursor.isClosed()) {
+                                cursor.close();
+                            }
+                        }
+                    }
+
+                    if (listener != null) {
+                        if (counts != null) {
+                            listener.success(counts);
+                        } else {
+                            reportError(new DonkyException("Error loading rich messages counts."), listener);
+                        }
+                    }
+                }
+            });
+
+            queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getCountsContentUri(context), COUNTS_PROJECTION, null, null, null);
+
+        } catch (Exception exception) {
+            log.error("Error querying rich messages counts from db", exception);
+            reportError(exception, listener);
+        }
+    }
+
+    private RichMessagesCounts getRichMessagesCounts(Cursor cursor) {
+        if (cursor.moveToFirst()) {
+            return new RichMessagesCounts(cursor.getInt(0), cursor.getInt(1));
+        }
+        return new RichMessagesCounts(0, 0);
+    }
+
+    /**
+     * Gets all rich messages marked as unread. Bodies are not read until {@link RichMessage#getBody()} or {@link RichMessage#getExpiredBody()} is called.
+     * This method is blocking.
      *
      * @return All rich messages marked as unread.
+     * @see #getRichMessagesCounts()
      */
     public List<RichMessage> getUnreadRichMessages() {
-        return getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead + " = ?", new String[]{Integer.toString(0)}, null);
+        return getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, SELECTION_UNREAD, new String[]{Integer.toString(0)}, null);
     }
 
     /**
-     * Gets all rich messages marked as unread. This method is non-blocking.
+     * Gets all rich messages marked as unread. Bodies are not read until {@link RichMessage#getBody()} or {@link RichMessage#getExpiredBody()} is called.
+     * This method is non-blocking.
      *
      * @param listener Callback with all the unread rich messages in local database.
      */
     public void getUnreadRichMessages(final DonkyResultListener<List<RichMessage>> listener) {
 
-        getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageRead + " = ?", new String[]{Integer.toString(0)}, null, new DonkyResultListener<List<RichMessage>>() {
+        getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, SELECTION_UNREAD, new String[]{Integer.toString(0)}, null, new DonkyResultListener<List<RichMessage>>() {
 
             @Override
             public void success(List<RichMessage> result) {
@@ -97,7 +225,7 @@ public class RichMessagesDAO extends BaseDAO {
      */
     public RichMessage getRichMessage(final String id) {
 
-        List<RichMessage> list = getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?", new String[]{id, id}, null);
+        List<RichMessage> list = getRichMessages(null, SELECTION_ID, new String[]{id, id}, null);
 
         if (!list.isEmpty()) {
             if (list.size() > 1) {
@@ -117,7 +245,7 @@ public class RichMessagesDAO extends BaseDAO {
      */
     public void getRichMessage(final String id, final DonkyResultListener<RichMessage> listener) {
 
-        getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?", new String[]{id, id}, null, new DonkyResultListener<List<RichMessage>>() {
+        getRichMessages(null, SELECTION_ID, new String[]{id, id}, null, new DonkyResultListener<List<RichMessage>>() {
 
             @Override
             public void success(List<RichMessage> result) {
@@ -154,7 +282,7 @@ public class RichMessagesDAO extends BaseDAO {
     @Deprecated
     public RichMessage getRichMessageWithMessageId(final String messageId) {
 
-        List<RichMessage> list = getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?", new String[]{messageId}, null);
+        List<RichMessage> list = getRichMessages(null, SELECTION_MESSAGE_ID, new String[]{messageId}, null);
 
         if (!list.isEmpty()) {
             if (list.size() > 1) {
@@ -167,21 +295,23 @@ public class RichMessagesDAO extends BaseDAO {
     }
 
     /**
-     * Gets all rich messages. This method is blocking.
+     * Gets all rich messages. Bodies are not read until {@link RichMessage#getBody()} or {@link RichMessage#getExpiredBody()} is called.
+     * This method is blocking.
      *
      * @return All rich messages.
      */
     public List<RichMessage> getAllRichMessages() {
-        return getRichMessages(null, null, null);
+        return getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, null, null, null);
     }
 
     /**
-     * Gets all rich messages. This method is non-blocking.
+     * Gets all rich messages. Bodies are not read until {@link RichMessage#getBody()} or {@link RichMessage#getExpiredBody()} is called.
+     * This method is non-blocking.
      *
      * @param listener Callback with all rich messages in local database.
      */
     public void getAllRichMessages(final DonkyResultListener<List<RichMessage>> listener) {
-        getRichMessages(null, null, null, new DonkyResultListener<List<RichMessage>>() {
+        getRichMessages(DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, null, null, null, new DonkyResultListener<List<RichMessage>>() {
             @Override
             public void success(List<RichMessage> result) {
                 if (listener != null) {
@@ -211,7 +341,7 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?";
+                String selection = SELECTION_ID;
                 String[] selectionArgs = {id, id};
 
                 ContentValues cv = new ContentValues();
@@ -241,7 +371,7 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " = ?";
+                String selection = SELECTION_ID;
                 String[] selectionArgs = {id, id};
 
                 ContentValues cv = new ContentValues();
@@ -273,6 +403,7 @@ public class RichMessagesDAO extends BaseDAO {
     /**
      * Gets rich messages with given SQLite selection and selectionArgs. This method is blocking.
      *
+     * @param projection    Columns to read, null for all columns including bodies. Messages read without bodies load them on first access.
      * @param selection     A filter declaring which rows to return, formatted as an
      *                      SQL WHERE clause (excluding the WHERE itself). Passing null
      *                      will return all rows for the given table.
@@ -284,7 +415,7 @@ public class RichMessagesDAO extends BaseDAO {
      *                      default sort order, which may be unordered.
      * @return List of found rich messages.
      */
-    private List<RichMessage> getRichMessages(String selection, String[] selectionArgs, String sortOrder) {
+    private List<RichMessage> getRichMessages(String[] projection, String selection, String[] selectionArgs, String sortOrder) {
 
         LinkedList<RichMessage> richMessages = new LinkedList<>();
 
@@ -292,7 +423,7 @@ public class RichMessagesDAO extends BaseDAO {
 
         try {
 
-            cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, sortOrder);
+            cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), projection, selection, selectionArgs, sortOrder);
 
             if (cursor != null && cursor.moveToFirst()) {
                 do {
@@ -314,6 +445,7 @@ public class RichMessagesDAO extends BaseDAO {
     /**
      * Gets rich messages with given SQLite selection and selectionArgs. This method is non-blocking.
      *
+     * @param projection    Columns to read, null for all columns including bodies. Messages read without bodies load them on first access.
      * @param selection     A filter declaring which rows to return, formatted as an
      *                      SQL WHERE clause (excluding the WHERE itself). Passing null
      *                      will return all rows for the given table.
@@ -325,7 +457,7 @@ public class RichMessagesDAO extends BaseDAO {
      *                      default sort order, which may be unordered.
      * @param listener      Callback with list of found rich messages.
      */
-    private void getRichMessages(String selection, String[] selectionArgs, String sortOrder, final DonkyResultListener<List<RichMessage>> listener) {
+    private void getRichMessages(String[] projection, String selection, String[] selectionArgs, String sortOrder, final DonkyResultListener<List<RichMessage>> listener) {
 
         try {
 
@@ -361,7 +493,7 @@ public class RichMessagesDAO extends BaseDAO {
                 }
             });
 
-            queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, sortOrder);
+            queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), projection, selection, selectionArgs, sortOrder);
 
         } catch (Exception exception) {
             log.error("Error querying rich messages from db", exception);
@@ -385,9 +517,6 @@ public class RichMessagesDAO extends BaseDAO {
         richMessage.setSenderDisplayName(cursor.getString(
                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName)));
 
-        richMessage.setBody(cursor.getString(
-                cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body)));
-
         richMessage.setCanForward(toBoolean(cursor.getInt(
                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_canForward))));
 
@@ -412,9 +541,6 @@ public class RichMessagesDAO extends BaseDAO {
         richMessage.setDescription(cursor.getString(
                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description)));
 
-        richMessage.setExpiredBody(cursor.getString(
-                cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody)));
-
         richMessage.setExternalRef(cursor.getString(
                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_externalRef)));
 
@@ -463,22 +589,127 @@ public class RichMessagesDAO extends BaseDAO {
         richMessage.setSilentNotification(toBoolean(cursor.getInt(
                 cursor.getColumnIndexOrThrow(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_silentNotification))));
 
+        int bodyIndex = cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body);
+        int expiredBodyIndex = cursor.getColumnIndex(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody);
+
+        if (bodyIndex != -1 && expiredBodyIndex != -1) {
+            richMessage.setBody(cursor.getString(bodyIndex));
+            richMessage.setExpiredBody(cursor.getString(expiredBodyIndex));
+        } else {
+            richMessage.setBodiesNotLoaded();
+        }
+
         return richMessage;
     }
 
+    /**
+     * Reads body and expired body of rich message loaded from database without them. This method is blocking.
+     *
+     * @param richMessage Rich message to read the bodies for.
+     */
+    void loadBodies(RichMessage richMessage) {
+
+        if (TextUtils.isEmpty(richMessage.getInternalId())) {
+            return;
+        }
+
+        Cursor cursor = null;
+
+        try {
+
+            cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), BODIES_PROJECTION, SELECTION_INTERNAL_ID, new String[]{richMessage.getInternalId()}, null);
+
+            if (cursor != null && cursor.moveToFirst()) {
+                richMessage.setBody(cursor.getString(0));
+                richMessage.setExpiredBody(cursor.getString(1));
+            }
+
+        } catch (Exception e) {
+            log.error("Error loading rich message body from db.", e);
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+    }
+
     /**
      * Save Rich Messages into database. This method is blocking.
      *
      * @param richMessageList Rich Message list to be saved.
      */
     public void saveRichMessages(List<RichMessage> richMessageList) {
+
         if (richMessageList != null && !richMessageList.isEmpty()) {
+
+            List<ContentValues> contentValuesList = new ArrayList<>(richMessageList.size());
+
             for (RichMessage richMessage : richMessageList) {
-                saveRichMessage(richMessage);
+                if (richMessage != null && !TextUtils.isEmpty(richMessage.getInternalId())) {
+                    contentValuesList.add(getContentValues(richMessage));
+                }
+            }
+
+            if (!contentValuesList.isEmpty()) {
+                try {
+                    context.getContentResolver().bulkInsert(RichMsgContentProvider.getContentUri(context), contentValuesList.toArray(new ContentValues[contentValuesList.size()]));
+                } catch (Exception exception) {
+                    log.error("Error saving rich messages in db", exception);
+                }
             }
         }
     }
 
+    /**
+     * Gets external message ids of rich messages already saved in database. Queries in batches of {@link #MAX_SELECTION_ARGS} ids. This method is blocking.
+     *
+     * @param messageIds Rich message external ids to check.
+     * @return Set of given external ids that are already saved in database.
+     */
+    public Set<String> getExistingMessageIds(Collection<String> messageIds) {
+
+        Set<String> existingMessageIds = new HashSet<>();
+
+        if (messageIds == null || messageIds.isEmpty()) {
+            return existingMessageIds;
+        }
+
+        List<String> ids = new ArrayList<>(messageIds);
+
+        String[] projection = new String[]{DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId};
+
+        for (int start = 0; start < ids.size(); start += MAX_SELECTION_ARGS) {
+
+            List<String> batch = ids.subList(start, Math.min(start + MAX_SELECTION_ARGS, ids.size()));
+
+            String[] selectionArgs = batch.toArray(new String[batch.size()]);
+
+            String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId, selectionArgs.length);
+
+            Cursor cursor = null;
+
+            try {
+
+                cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), projection, selection, selectionArgs, null);
+
+                if (cursor != null && cursor.moveToFirst()) {
+                    do {
+                        existingMessageIds.add(cursor.getString(0));
+                    } while (cursor.moveToNext());
+                }
+
+            } catch (Exception e) {
+                log.error("Error querying existing rich message ids.", e);
+            } finally {
+                if (cursor != null && !cursor.isClosed()) {
+                    cursor.close();
+                }
+            }
+        }
+
+        return existingMessageIds;
+    }
+
     /**
      * Remove Rich Messages from database. This method is blocking.
      *
@@ -535,18 +766,9 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String[] selectionArgs = new String[richMessageIdList.size()];
+                String[] selectionArgs = richMessageIdList.toArray(new String[richMessageIdList.size()]);
 
-                StringBuilder inList = new StringBuilder();
-                for (int i = 0; i < richMessageIdList.size(); i++) {
-                    if (i > 0) {
-                        inList.append(",");
-                    }
-                    inList.append("?");
-                    selectionArgs[i] = richMessageIdList.get(i);
-                }
-
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " IN (" + inList + ")";
+                String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, selectionArgs.length);
 
                 DonkyAsyncQueryHandler queryHandler = new DonkyAsyncQueryHandler(context, new DonkyQueryListener() {
                     @Override
@@ -578,7 +800,7 @@ public class RichMessagesDAO extends BaseDAO {
                     }
                 });
 
-                queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, null);
+                queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, selection, selectionArgs, null);
 
             } catch (Exception exception) {
                 log.error("Error deleting rich messages from db", exception);
@@ -598,22 +820,13 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String[] selectionArgs = new String[richMessageIdList.size()];
+                String[] selectionArgs = richMessageIdList.toArray(new String[richMessageIdList.size()]);
 
-                StringBuilder inList = new StringBuilder();
-                for (int i = 0; i < richMessageIdList.size(); i++) {
-                    if (i > 0) {
-                        inList.append(",");
-                    }
-                    inList.append("?");
-                    selectionArgs[i] = richMessageIdList.get(i);
-                }
-
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " IN (" + inList + ")";
+                String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, selectionArgs.length);
 
                 try {
 
-                    Cursor cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, null);
+                    Cursor cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, selection, selectionArgs, null);
 
                     if (cursor != null) {
 
@@ -672,18 +885,9 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String[] selectionArgs = new String[richMessageIdList.size()];
-
-                StringBuilder inList = new StringBuilder();
-                for (int i = 0; i < richMessageIdList.size(); i++) {
-                    if (i > 0) {
-                        inList.append(",");
-                    }
-                    inList.append("?");
-                    selectionArgs[i] = richMessageIdList.get(i);
-                }
+                String[] selectionArgs = richMessageIdList.toArray(new String[richMessageIdList.size()]);
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " IN (" + inList + ")";
+                String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, selectionArgs.length);
 
                 return context.getContentResolver().delete(RichMsgContentProvider.getContentUri(context), selection, selectionArgs);
 
@@ -744,18 +948,9 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String[] selectionArgs = new String[richMessageIdList.size()];
-
-                StringBuilder inList = new StringBuilder();
-                for (int i = 0; i < richMessageIdList.size(); i++) {
-                    if (i > 0) {
-                        inList.append(",");
-                    }
-                    inList.append("?");
-                    selectionArgs[i] = richMessageIdList.get(i);
-                }
+                String[] selectionArgs = richMessageIdList.toArray(new String[richMessageIdList.size()]);
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " IN (" + inList + ")";
+                String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId, selectionArgs.length);
 
                 DonkyAsyncQueryHandler queryHandler = new DonkyAsyncQueryHandler(context, new DonkyDeleteListener() {
                     @Override
@@ -792,18 +987,9 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String[] selectionArgs = new String[richMessageIdList.size()];
+                String[] selectionArgs = richMessageIdList.toArray(new String[richMessageIdList.size()]);
 
-                StringBuilder inList = new StringBuilder();
-                for (int i = 0; i < richMessageIdList.size(); i++) {
-                    if (i > 0) {
-                        inList.append(",");
-                    }
-                    inList.append("?");
-                    selectionArgs[i] = richMessageIdList.get(i);
-                }
-
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId + " IN (" + inList + ")";
+                String selection = getInSelection(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageId, selectionArgs.length);
 
                 DonkyAsyncQueryHandler queryHandler = new DonkyAsyncQueryHandler(context, new DonkyDeleteListener() {
                     @Override
@@ -874,7 +1060,7 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ?";
+                String selection = SELECTION_INTERNAL_ID;
                 String[] arg = {richMessageInternalId};
 
                 return context.getContentResolver().delete(RichMsgContentProvider.getContentUri(context), selection, arg);
@@ -936,7 +1122,7 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ?";
+                String selection = SELECTION_INTERNAL_ID;
                 String[] arg = {richMessageInternalId};
 
                 DonkyAsyncQueryHandler queryHandler = new DonkyAsyncQueryHandler(context, new DonkyDeleteListener() {
@@ -971,9 +1157,10 @@ public class RichMessagesDAO extends BaseDAO {
     }
 
     /**
-     * Gets rich message cursor containing all rich messages that didn't exceeded maximum availability days. This method is non-blocking.
+     * Gets rich message cursor containing all rich messages that didn't exceeded maximum availability days. Cursor contains {@link DatabaseSQLContract.RichMessageEntry#COLUMNS_WITHOUT_BODIES},
+     * use {@link #getRichMessage(String)} to load the whole message and {@link #getRichMessagesListCursor(String, int)} for lists. This method is non-blocking.
      *
-     * @param filter String to filter the rich message sender display name and description
+     * @param filter Words to search for in the rich message sender display name, description and body. Every word is matched as a prefix.
      */
     public void getRichMessagesCursorForUI(final String filter, final DonkyResultListener<Cursor> listener) {
 
@@ -997,16 +1184,16 @@ public class RichMessagesDAO extends BaseDAO {
             acceptableSentTimeMillisUTC = currentTimeUTC - TimeUnit.DAYS.toMillis(availabilityDays);
 
             String selection = null;
-            String arg;
             String[] selectionArgs = null;
 
-            if (!TextUtils.isEmpty(filter)) {
-                selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + " LIKE ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + " LIKE ? AND " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " > ?";
-                arg = "%" + filter + "%";
-                selectionArgs = new String[]{arg, arg, String.valueOf(acceptableSentTimeMillisUTC)};
+            String matchQuery = RichMessageSearch.getMatchQuery(filter);
+
+            if (matchQuery != null) {
+                selection = SELECTION_SENT_AFTER + " AND " + RichMessageSearch.SELECTION_MATCH;
+                selectionArgs = new String[]{String.valueOf(acceptableSentTimeMillisUTC), matchQuery};
             }
 
-            queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " DESC");
+            queryHandler.startQuery(REQUEST_CODE_QUERY_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, selection, selectionArgs, ORDER_NEWEST_FIRST);
 
         } catch (Exception exception) {
             log.error("Error querying rich messages from db", exception);
@@ -1015,9 +1202,10 @@ public class RichMessagesDAO extends BaseDAO {
     }
 
     /**
-     * Gets rich message cursor containing all rich messages that didn't exceeded maximum availability days. This method is blocking.
+     * Gets rich message cursor containing all rich messages that didn't exceeded maximum availability days. Cursor contains {@link DatabaseSQLContract.RichMessageEntry#COLUMNS_WITHOUT_BODIES},
+     * use {@link #getRichMessage(String)} to load the whole message and {@link #getRichMessagesListCursor(String, int)} for lists. This method is blocking.
      *
-     * @param filter String to filter the rich message sender display name and description
+     * @param filter Words to search for in the rich message sender display name, description and body. Every word is matched as a prefix.
      * @return Cursor with filtered rich messages.
      */
     public Cursor getRichMessagesCursorForUI(String filter) {
@@ -1030,17 +1218,17 @@ public class RichMessagesDAO extends BaseDAO {
         acceptableSentTimeMillisUTC = currentTimeUTC - TimeUnit.DAYS.toMillis(availabilityDays);
 
         String selection = null;
-        String arg;
         String[] selectionArgs = null;
 
-        if (!TextUtils.isEmpty(filter)) {
-            selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description + " LIKE ? OR " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName + " LIKE ? AND " + DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " > ?";
-            arg = "%" + filter + "%";
-            selectionArgs = new String[]{arg, arg, String.valueOf(acceptableSentTimeMillisUTC)};
+        String matchQuery = RichMessageSearch.getMatchQuery(filter);
+
+        if (matchQuery != null) {
+            selection = SELECTION_SENT_AFTER + " AND " + RichMessageSearch.SELECTION_MATCH;
+            selectionArgs = new String[]{String.valueOf(acceptableSentTimeMillisUTC), matchQuery};
         }
 
         try {
-            return context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), null, selection, selectionArgs, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " DESC");
+            return context.getContentResolver().query(RichMsgContentProvider.getContentUri(context), DatabaseSQLContract.RichMessageEntry.COLUMNS_WITHOUT_BODIES, selection, selectionArgs, ORDER_NEWEST_FIRST);
         } catch (Exception exception) {
             log.error("Error loading rich message from db", exception);
         }
@@ -1048,12 +1236,78 @@ public class RichMessagesDAO extends BaseDAO {
         return null;
     }
 
+    /**
+     * Gets cursor with the newest rich messages for the inbox list. Cursor contains only {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_COLUMNS}
+     * and is ordered by {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_ORDER}. Use {@link #getRichMessage(String)} to load the whole message. This method is blocking.
+     *
+     * @param filter Words to search for in the rich message sender display name, description and body. Every word is matched as a prefix.
+     * @param limit  Maximum number of rows, 0 for no limit.
+     * @return Cursor with rich messages for the inbox list.
+     */
+    public Cursor getRichMessagesListCursor(String filter, int limit) {
+        return queryRichMessagesList(filter, null, null, limit);
+    }
+
+    /**
+     * Gets cursor with the next page of rich messages for the inbox list, older than the last row of previous page. Cursor contains only
+     * {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_COLUMNS} and is ordered by {@link DatabaseSQLContract.RichMessageEntry#INBOX_LIST_ORDER}. This method is blocking.
+     *
+     * @param filter             Words to search for in the rich message sender display name, description and body. Every word is matched as a prefix.
+     * @param lastSentTimestamp  Value of {@link DatabaseSQLContract.RichMessageEntry#COLUMN_NAME_sentTimestampLong} in the last row of previous page.
+     * @param lastId             Value of {@link DatabaseSQLContract.RichMessageEntry#_ID} in the last row of previous page.
+     * @param limit              Maximum number of rows, 0 for no limit.
+     * @return Cursor with rich messages for the inbox list.
+     */
+    public Cursor getRichMessagesListCursor(String filter, long lastSentTimestamp, long lastId, int limit) {
+        return queryRichMessagesList(filter, lastSentTimestamp, lastId, limit);
+    }
+
+    private Cursor queryRichMessagesList(String filter, Long lastSentTimestamp, Long lastId, int limit) {
+
+        StringBuilder selection = new StringBuilder();
+        List<String> selectionArgs = new ArrayList<>(4);
+
+        if (lastSentTimestamp != null && lastId != null) {
+            selection.append(SELECTION_NEXT_PAGE);
+            selectionArgs.add(lastSentTimestamp.toString());
+            selectionArgs.add(lastSentTimestamp.toString());
+            selectionArgs.add(lastId.toString());
+        }
+
+        String matchQuery = RichMessageSearch.getMatchQuery(filter);
+
+        if (matchQuery != null) {
+
+            Integer availabilityDays = DonkyDataController.getInstance().getConfigurationDAO().getMaxAvailabilityDays();
+
+            if (selection.length() > 0) {
+                selection.append(" AND ");
+            }
+            selection.append(SELECTION_SENT_AFTER).append(" AND ").append(RichMessageSearch.SELECTION_MATCH);
+            selectionArgs.add(String.valueOf(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(availabilityDays)));
+            selectionArgs.add(matchQuery);
+        }
+
+        Uri uri = limit > 0 ? RichMsgContentProvider.getContentUri(context, limit) : RichMsgContentProvider.getContentUri(context);
+
+        try {
+            return context.getContentResolver().query(uri, DatabaseSQLContract.RichMessageEntry.INBOX_LIST_COLUMNS,
+                    selection.length() > 0 ? selection.toString() : null,
+                    selectionArgs.isEmpty() ? null : selectionArgs.toArray(new String[selectionArgs.size()]),
+                    DatabaseSQLContract.RichMessageEntry.INBOX_LIST_ORDER);
+        } catch (Exception exception) {
+            log.error("Error loading rich messages list from db", exception);
+        }
+
+        return null;
+    }
+
     /**
      * Clean the database deleting unavailable rich messages. This method is blocking.
      */
     public int removeMessagesThatExceededTheAvailabilityPeriod() {
 
-        String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " < ?";
+        String selection = SELECTION_SENT_BEFORE;
 
         final long acceptableSentTimeMillisUTC = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(DonkyDataController.getInstance().getConfigurationDAO().getMaxAvailabilityDays());
 
@@ -1079,7 +1333,7 @@ public class RichMessagesDAO extends BaseDAO {
 
         if (availabilityDays != null) {
 
-            String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong + " < ?";
+            String selection = SELECTION_SENT_BEFORE;
 
             final long acceptableSentTimeMillisUTC = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(availabilityDays);
 
@@ -1110,6 +1364,98 @@ public class RichMessagesDAO extends BaseDAO {
         }
     }
 
+    /**
+     * Gets sent time of the oldest saved rich message, read from the first entry of sent time index. This method is blocking.
+     *
+     * @return Sent time in milliseconds UTC or null if there are no rich messages.
+     */
+    public Long getOldestSentTimestamp() {
+
+        String[] projection = {DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_sentTimestampLong};
+
+        String selection = SELECTION_HAS_SENT_TIME;
+
+        String sortOrder = ORDER_OLDEST_FIRST;
+
+        Cursor cursor = null;
+
+        try {
+
+            cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context, 1), projection, selection, null, sortOrder);
+
+            if (cursor != null && cursor.moveToFirst()) {
+                return cursor.getLong(0);
+            }
+
+        } catch (Exception exception) {
+            log.error("Error reading oldest rich message sent time from db", exception);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Delete the oldest rich messages sent before given time, at most limit rows in a single statement. Deleted messages are not reported to the Donky Network.
+     * This method is blocking.
+     *
+     * @param sentTimeMillisUTC Rich messages sent before this time will be deleted.
+     * @param limit             Maximum number of rich messages to delete, not more than {@link #MAX_SELECTION_ARGS}.
+     * @return Internal ids of deleted rich messages.
+     */
+    public List<String> removeRichMessagesSentBefore(long sentTimeMillisUTC, int limit) {
+
+        List<String> ids = new ArrayList<>();
+        List<String> internalIds = new ArrayList<>();
+
+        String[] projection = {DatabaseSQLContract.RichMessageEntry._ID, DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId};
+
+        String selection = SELECTION_SENT_BEFORE;
+
+        String sortOrder = ORDER_OLDEST_FIRST;
+
+        String[] arg = {String.valueOf(sentTimeMillisUTC)};
+
+        Cursor cursor = null;
+
+        try {
+
+            cursor = context.getContentResolver().query(RichMsgContentProvider.getContentUri(context, Math.min(limit, MAX_SELECTION_ARGS)), projection, selection, arg, sortOrder);
+
+            if (cursor != null) {
+                while (cursor.moveToNext()) {
+                    ids.add(cursor.getString(0));
+                    internalIds.add(cursor.getString(1));
+                }
+            }
+
+        } catch (Exception exception) {
+            log.error("Error reading rich messages to delete from db", exception);
+            return new ArrayList<>();
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        if (!ids.isEmpty()) {
+
+            String deleteSelection = getInSelection(DatabaseSQLContract.RichMessageEntry._ID, ids.size());
+
+            try {
+                context.getContentResolver().delete(RichMsgContentProvider.getContentUri(context), deleteSelection, ids.toArray(new String[ids.size()]));
+            } catch (Exception exception) {
+                log.error("Error deleting rich messages from db", exception);
+                return new ArrayList<>();
+            }
+        }
+
+        return internalIds;
+    }
+
     /**
      * Add Rich Message to database. This method is blocking.
      *
@@ -1176,7 +1522,7 @@ public class RichMessagesDAO extends BaseDAO {
 
             try {
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ?";
+                String selection = SELECTION_INTERNAL_ID;
                 String[] arg = {richMessage.getInternalId()};
 
                 return context.getContentResolver().update(RichMsgContentProvider.getContentUri(context), getContentValues(richMessage), selection, arg);
@@ -1210,7 +1556,7 @@ public class RichMessagesDAO extends BaseDAO {
                     }
                 });
 
-                String selection = DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_internalId + " = ?";
+                String selection = SELECTION_INTERNAL_ID;
                 String[] arg = {richMessage.getInternalId()};
 
                 queryHandler.startUpdate(REQUEST_CODE_UPDATE_RICH_MESSAGES, null, RichMsgContentProvider.getContentUri(context), getContentValues(richMessage), selection, arg);
@@ -1357,6 +1703,26 @@ public class RichMessagesDAO extends BaseDAO {
         }
     }
 
+    /**
+     * Gets selection matching given column against a list of host parameters.
+     *
+     * @param column Column name.
+     * @param count  Number of selection arguments, not more than {@link #MAX_SELECTION_ARGS}.
+     * @return Selection in format column IN (?,?,...).
+     */
+    static String getInSelection(String column, int count) {
+
+        StringBuilder selection = new StringBuilder(column).append(" IN (");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                selection.append(",");
+            }
+            selection.append("?");
+        }
+
+        return selection.append(")").toString();
+    }
+
     /**
      * Creates content values for rich message to be saved in database.
      */
@@ -1371,6 +1737,7 @@ public class RichMessagesDAO extends BaseDAO {
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_externalRef, richMessage.getExternalRef());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_description, richMessage.getDescription());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_expiredBody, richMessage.getExpiredBody());
+        values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_hasExpiredBody, !TextUtils.isEmpty(richMessage.getExpiredBody()));
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_canReply, richMessage.isCanReply());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_canForward, richMessage.isCanForward());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_canShare, richMessage.isCanShare());
@@ -1383,6 +1750,7 @@ public class RichMessagesDAO extends BaseDAO {
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderAccountType, richMessage.getSenderAccountType());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderDisplayName, richMessage.getSenderDisplayName());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_body, richMessage.getBody());
+        values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_bodyText, RichMessageSearch.getPlainText(richMessage.getBody()));
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_messageScope, richMessage.getMessageScope());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderInternalUserId, richMessage.getSenderInternalUserId());
         values.put(DatabaseSQLContract.RichMessageEntry.COLUMN_NAME_senderMessageId, richMessage.getSenderMessageId());
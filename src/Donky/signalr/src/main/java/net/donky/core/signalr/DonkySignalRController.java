@@ -271,7 +271,7 @@ public class DonkySignalRController extends SignalRController implements PushHan
 
                                                 if (serverNotification != null) {
                                                     SynchronisationHandler synchronisationHandler = new SynchronisationHandler(serverNotification);
-                                                    log.debug("SignalR: serverNotification downloaded " + serverNotification.getData());
+                                                    log.debug("SignalR: serverNotification downloaded %s", serverNotification);
                                                     synchronisationHandler.processServerNotifications(true);
                                                 } else {
                                                     log.debug("SignalR: serverNotification missing when tried to download. Falling back to full sync.");